@@ -0,0 +1,23 @@
+#!/bin/sh
+# Runs FootprintBenchmark for every implementation under G1, ZGC and Parallel
+# and appends one JSON object per line to bench/results/footprint.jsonl.
+#
+# Usage: bench/run-footprint.sh [size] [heap]
+#   size  elements per list (default 100000000)
+#   heap  -Xmx value (default 16g)
+
+cd "$(dirname "$0")/.." || exit 1
+SIZE=${1:-100000000}
+HEAP=${2:-16g}
+OUT=bench/results/footprint.jsonl
+JAR=bench/target/benchmarks.jar
+
+mvn -B -q install && mvn -B -q -f bench/pom.xml package || exit 1
+mkdir -p bench/results
+
+for GC in -XX:+UseG1GC -XX:+UseZGC -XX:+UseParallelGC; do
+	for IMPL in IUDoubleLinkedList IUArenaLinkedList IUUnrolledLinkedList IUSkipList IntDoubleLinkedList LinkedList ArrayList; do
+		java -Xms"$HEAP" -Xmx"$HEAP" $GC -Djdk.attach.allowAttachSelf=true -cp "$JAR" dll.bench.FootprintBenchmark --impl "$IMPL" --size "$SIZE" >> "$OUT" \
+			|| echo "{\"implementation\":\"$IMPL\",\"size\":$SIZE,\"gc\":\"$GC\",\"failed\":true}" >> "$OUT"
+	done
+done
@@ -0,0 +1,495 @@
+package dll.bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import dll.IUArenaLinkedList;
+import dll.IUDoubleLinkedList;
+import dll.IUSkipList;
+import dll.IUUnrolledLinkedList;
+import dll.IndexedUnsortedList;
+import dll.IntDoubleLinkedList;
+
+/**
+ * Footprint and GC pause harness for very large lists. One run builds a list
+ * of the given size, churns it with a mix of addToRear, removeFirst and
+ * remove(int), and scans it with its iterator, then prints one JSON object:
+ *
+ * <pre>
+ * {"implementation":..., "size":..., "gc":..., "bytesPerElement":...,
+ *  "layout":[{"size":..., "totalBytes":..., "objects":..., "bytesPerElement":...}, ...],
+ *  "phases":{"build":{...}, "churn":{...}, "scan":{...}}}
+ * </pre>
+ *
+ * Every phase reports its time, the bytes allocated by the benchmark thread,
+ * the allocation rate, and the GC pauses that happened during it (count, total
+ * and percentiles, from the collectors' GC notifications).
+ *
+ * layout is the exact footprint from JOL: GraphLayout walks a list built to
+ * each of the layout sizes (10 up to 10^7, capped at the run size) and totals
+ * the objects reachable from it. The elements are the cached Integers
+ * -128..127, so beyond the smallest sizes the totals are the cost of the list
+ * structure alone. Walking the graph needs memory in proportion to the
+ * objects, so the run size itself is measured from the heap instead:
+ * bytesPerElement is the growth of the used heap across the build, after full
+ * collections. At the sizes both cover, the two agree to within the heap's
+ * noise.
+ *
+ * The collector is chosen on the java command line; run-footprint.sh runs
+ * every implementation under G1, ZGC and Parallel.
+ *
+ * <pre>
+ * java -Xmx16g -XX:+UseG1GC -Djdk.attach.allowAttachSelf=true -cp bench/target/benchmarks.jar \
+ *     dll.bench.FootprintBenchmark --impl IUDoubleLinkedList --size 100000000
+ * </pre>
+ *
+ * allowAttachSelf lets JOL attach to its own JVM; without it JOL prints a
+ * warning line into the JSON output.
+ *
+ * Options: --impl name, --size n, --churn n (operations, default size / 10),
+ * --remove-index-every n (every nth churn operation is a remove(int) at a
+ * random index, default 10000), --scans n (default 3), --layout-sizes n,n,...
+ * (default 10,1000,100000,1000000,10000000; empty for none).
+ *
+ * @author Joshua McKerracher
+ */
+public class FootprintBenchmark {
+
+	private static volatile long sink; // keeps results alive so the JIT cannot drop the work
+
+	/**
+	 * The operations the harness needs from a list.
+	 */
+	private interface Subject {
+		void addToRear(int element);
+
+		void removeFirst();
+
+		void remove(int index);
+
+		int size();
+
+		long scan();
+
+		Object structure();
+	}
+
+	/**
+	 * Subject over any IndexedUnsortedList.
+	 */
+	private static class IUSubject implements Subject {
+		private final IndexedUnsortedList<Integer> list; // list under test
+
+		IUSubject(IndexedUnsortedList<Integer> list) {
+			this.list = list;
+		}
+
+		public void addToRear(int element) {
+			list.addToRear(Integer.valueOf((byte) element));
+		}
+
+		public void removeFirst() {
+			list.removeFirst();
+		}
+
+		public void remove(int index) {
+			list.remove(index);
+		}
+
+		public int size() {
+			return list.size();
+		}
+
+		public long scan() {
+			long sum = 0;
+			for (Integer element : list) {
+				sum += element;
+			}
+			return sum;
+		}
+
+		public Object structure() {
+			return list;
+		}
+	}
+
+	/**
+	 * Subject over a java.util.List.
+	 */
+	private static class ListSubject implements Subject {
+		private final List<Integer> list; // list under test
+
+		ListSubject(List<Integer> list) {
+			this.list = list;
+		}
+
+		public void addToRear(int element) {
+			list.add(Integer.valueOf((byte) element));
+		}
+
+		public void removeFirst() {
+			list.remove(0);
+		}
+
+		public void remove(int index) {
+			list.remove(index);
+		}
+
+		public int size() {
+			return list.size();
+		}
+
+		public long scan() {
+			long sum = 0;
+			for (Integer element : list) {
+				sum += element;
+			}
+			return sum;
+		}
+
+		public Object structure() {
+			return list;
+		}
+	}
+
+	/**
+	 * Subject over the primitive int list.
+	 */
+	private static class IntSubject implements Subject {
+		private final IntDoubleLinkedList list = new IntDoubleLinkedList(); // list under test
+
+		public void addToRear(int element) {
+			list.addToRear(element);
+		}
+
+		public void removeFirst() {
+			list.removeFirst();
+		}
+
+		public void remove(int index) {
+			list.removeInt(index);
+		}
+
+		public int size() {
+			return list.size();
+		}
+
+		public long scan() {
+			long sum = 0;
+			for (IntDoubleLinkedList.IntListIterator it = list.iterator(); it.hasNext();) {
+				sum += it.nextInt();
+			}
+			return sum;
+		}
+
+		public Object structure() {
+			return list;
+		}
+	}
+
+	/**
+	 * Returns the implementations that can be measured, by name.
+	 *
+	 * @return factories of empty subjects
+	 */
+	private static Map<String, Supplier<Subject>> implementations() {
+		Map<String, Supplier<Subject>> impls = new LinkedHashMap<String, Supplier<Subject>>();
+		impls.put("IUDoubleLinkedList", () -> new IUSubject(new IUDoubleLinkedList<Integer>()));
+		impls.put("IUArenaLinkedList", () -> new IUSubject(new IUArenaLinkedList<Integer>()));
+		impls.put("IUUnrolledLinkedList", () -> new IUSubject(new IUUnrolledLinkedList<Integer>()));
+		impls.put("IUSkipList", () -> new IUSubject(new IUSkipList<Integer>()));
+		impls.put("IntDoubleLinkedList", () -> new IntSubject());
+		impls.put("LinkedList", () -> new ListSubject(new LinkedList<Integer>()));
+		impls.put("ArrayList", () -> new ListSubject(new ArrayList<Integer>()));
+		return impls;
+	}
+
+	/*******************************************************
+	 *
+	 * Measurement
+	 *
+	 ********************************************************/
+
+	/**
+	 * Collects the pause of every collection reported by the collectors' GC
+	 * notifications.
+	 */
+	private static class PauseRecorder implements NotificationListener {
+		private final List<Long> pauses = new ArrayList<Long>(); // durations in ms since the last take()
+
+		/**
+		 * Registers with every collector.
+		 */
+		void install() {
+			for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+				if (gc instanceof NotificationEmitter) {
+					((NotificationEmitter) gc).addNotificationListener(this, null, null);
+				}
+			}
+		}
+
+		@Override
+		public void handleNotification(Notification notification, Object handback) {
+			if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+				return;
+			}
+			GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+					.from((CompositeData) notification.getUserData());
+
+			// ZGC (and G1 on newer JDKs) also report concurrent work; only pauses count.
+			if (info.getGcName().contains("Cycles") || info.getGcName().contains("Concurrent")) {
+				return;
+			}
+			synchronized (pauses) {
+				pauses.add(info.getGcInfo().getDuration());
+			}
+		}
+
+		/**
+		 * Returns the pauses recorded since the last call and starts over.
+		 *
+		 * @return pause durations in ms
+		 */
+		long[] take() {
+			synchronized (pauses) {
+				long[] taken = new long[pauses.size()];
+				for (int i = 0; i < taken.length; i++) {
+					taken[i] = pauses.get(i);
+				}
+				pauses.clear();
+				return taken;
+			}
+		}
+	}
+
+	/**
+	 * Returns the bytes allocated by the current thread so far, or -1 if the JVM
+	 * does not tell.
+	 *
+	 * @return allocated bytes
+	 */
+	private static long allocatedBytes() {
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if (threads instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the used heap after full collections, repeated until it settles.
+	 *
+	 * @return used heap in bytes
+	 */
+	private static long settledHeap() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		long previous = Long.MAX_VALUE;
+		for (int i = 0; i < 10; i++) {
+			System.gc();
+			long used = memory.getHeapMemoryUsage().getUsed();
+			if (Math.abs(previous - used) < 1024 * 1024) {
+				return used;
+			}
+			previous = used;
+		}
+		return previous;
+	}
+
+	/**
+	 * Builds a list of each size and formats the JOL footprint of each as a JSON
+	 * array. Sizes above the run size are skipped.
+	 *
+	 * @param factory the implementation factory
+	 * @param sizes   the sizes to build
+	 * @param maxSize the run size
+	 * @return the JSON array
+	 */
+	private static String layoutJson(Supplier<Subject> factory, int[] sizes, int maxSize) {
+		StringBuilder json = new StringBuilder("[");
+		for (int size : sizes) {
+			if (size > maxSize) {
+				continue;
+			}
+			Subject subject = factory.get();
+			for (int i = 0; i < size; i++) {
+				subject.addToRear(i);
+			}
+			GraphLayout layout = GraphLayout.parseInstance(subject.structure());
+			if (json.length() > 1) {
+				json.append(',');
+			}
+			json.append(String.format(Locale.ROOT,
+					"{\"size\":%d,\"totalBytes\":%d,\"objects\":%d,\"bytesPerElement\":%.2f}", size,
+					layout.totalSize(), layout.totalCount(), (size == 0) ? 0.0 : (double) layout.totalSize() / size));
+		}
+		return json.append(']').toString();
+	}
+
+	/**
+	 * Returns the given percentile of sorted values.
+	 *
+	 * @param sorted  the values, in ascending order
+	 * @param percent the percentile
+	 * @return the value at the percentile, 0 if there are no values
+	 */
+	private static long percentile(long[] sorted, double percent) {
+		if (sorted.length == 0) {
+			return 0;
+		}
+		int index = (int) Math.ceil(percent / 100.0 * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+	}
+
+	/**
+	 * Formats the numbers of one phase as a JSON object.
+	 *
+	 * @param nanos  time taken
+	 * @param bytes  bytes allocated, -1 if unknown
+	 * @param pauses GC pauses during the phase, in ms
+	 * @return the JSON object
+	 */
+	private static String phaseJson(long nanos, long bytes, long[] pauses) {
+		Arrays.sort(pauses);
+		long total = 0;
+		for (long pause : pauses) {
+			total += pause;
+		}
+		double seconds = nanos / 1e9;
+		return String.format(Locale.ROOT,
+				"{\"millis\":%.1f,\"allocatedBytes\":%d,\"allocationMBPerSecond\":%.1f,"
+						+ "\"gcPauses\":{\"count\":%d,\"totalMillis\":%d,\"p50\":%d,\"p90\":%d,\"p99\":%d,\"max\":%d}}",
+				nanos / 1e6, bytes, (bytes < 0 || seconds == 0) ? -1.0 : bytes / seconds / (1024 * 1024), pauses.length,
+				total, percentile(pauses, 50), percentile(pauses, 90), percentile(pauses, 99),
+				percentile(pauses, 100));
+	}
+
+	/**
+	 * Returns the name of the collector the JVM runs with.
+	 *
+	 * @return the collector names, joined
+	 */
+	private static String collectorName() {
+		StringBuilder names = new StringBuilder();
+		for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+			if (names.length() > 0) {
+				names.append(" + ");
+			}
+			names.append(gc.getName());
+		}
+		return names.toString();
+	}
+
+	/**
+	 * Runs the harness.
+	 *
+	 * @param args the options described in the class comment
+	 */
+	public static void main(String[] args) {
+		String name = "IUDoubleLinkedList";
+		int size = 1_000_000;
+		long churn = -1;
+		int removeIndexEvery = 10_000;
+		int scans = 3;
+		int[] layoutSizes = { 10, 1_000, 100_000, 1_000_000, 10_000_000 };
+
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			switch (args[i]) {
+			case "--impl":
+				name = args[i + 1];
+				break;
+			case "--size":
+				size = Integer.parseInt(args[i + 1]);
+				break;
+			case "--churn":
+				churn = Long.parseLong(args[i + 1]);
+				break;
+			case "--remove-index-every":
+				removeIndexEvery = Integer.parseInt(args[i + 1]);
+				break;
+			case "--scans":
+				scans = Integer.parseInt(args[i + 1]);
+				break;
+			case "--layout-sizes":
+				layoutSizes = args[i + 1].isEmpty() ? new int[0]
+						: Arrays.stream(args[i + 1].split(",")).mapToInt(Integer::parseInt).toArray();
+				break;
+			default:
+				throw new IllegalArgumentException("Source: main - unknown option " + args[i]);
+			}
+		}
+		if (churn < 0) {
+			churn = size / 10;
+		}
+		Supplier<Subject> factory = implementations().get(name);
+		if (factory == null) {
+			throw new IllegalArgumentException("Source: main - unknown implementation " + name);
+		}
+
+		// Layout, before anything is timed; its lists are garbage by the build.
+		String layout = layoutJson(factory, layoutSizes, size);
+
+		PauseRecorder recorder = new PauseRecorder();
+		recorder.install();
+		long heapBefore = settledHeap();
+		recorder.take();
+
+		// Build.
+		long bytes = allocatedBytes();
+		long start = System.nanoTime();
+		Subject subject = factory.get();
+		for (int i = 0; i < size; i++) {
+			subject.addToRear(i);
+		}
+		String build = phaseJson(System.nanoTime() - start, allocatedBytes() - bytes, recorder.take());
+		double bytesPerElement = (size == 0) ? 0 : (double) (settledHeap() - heapBefore) / size;
+		recorder.take();
+
+		// Churn: the list keeps its size, so every removal is followed by an add.
+		Random random = new Random(size);
+		bytes = allocatedBytes();
+		start = System.nanoTime();
+		for (long i = 1; i <= churn && subject.size() > 0; i++) {
+			if (i % removeIndexEvery == 0) {
+				subject.remove(random.nextInt(subject.size()));
+			} else {
+				subject.removeFirst();
+			}
+			subject.addToRear((int) i);
+		}
+		String churned = phaseJson(System.nanoTime() - start, allocatedBytes() - bytes, recorder.take());
+
+		// Scan.
+		bytes = allocatedBytes();
+		start = System.nanoTime();
+		for (int i = 0; i < scans; i++) {
+			sink += subject.scan();
+		}
+		String scan = phaseJson(System.nanoTime() - start, allocatedBytes() - bytes, recorder.take());
+
+		System.out.printf(Locale.ROOT,
+				"{\"implementation\":\"%s\",\"size\":%d,\"gc\":\"%s\",\"maxHeapBytes\":%d,\"bytesPerElement\":%.2f,"
+						+ "\"layout\":%s,\"churnOperations\":%d,\"scans\":%d,"
+						+ "\"phases\":{\"build\":%s,\"churn\":%s,\"scan\":%s}}%n",
+				name, size, collectorName(), Runtime.getRuntime().maxMemory(), bytesPerElement, layout, churn, scans,
+				build, churned, scan);
+	}
+}
@@ -0,0 +1,159 @@
+package dll.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import dll.ElementCodec;
+import dll.IUDoubleLinkedList;
+import dll.IUJournaledList;
+import dll.IndexedUnsortedList;
+
+/**
+ * Write throughput of IUJournaledList against the in-memory IUDoubleLinkedList.
+ * Every configuration runs the same mutation mix (addToRear, removeFirst and
+ * set(0), all O(1) so the journal cost shows) on a list of the given size and
+ * reports the mean time per mutation, mutations per second and journal bytes
+ * per second.
+ * The journaled configurations differ in how many mutations share one fsync
+ * (group commit); "no fsync" only writes. Automatic checkpoints are off, so
+ * the journal growth is the bytes written.
+ *
+ * <pre>
+ * java -cp bench/target/benchmarks.jar dll.bench.JournalBenchmark [--size n] [--seconds n] [--dir path]
+ * </pre>
+ *
+ * The directory (default: a new temporary directory) should sit on the disk
+ * whose fsync cost is of interest; tmpfs makes fsync nearly free.
+ *
+ * @author Joshua McKerracher
+ */
+public class JournalBenchmark {
+
+	private static volatile long sink; // keeps results alive so the JIT cannot drop the work
+
+	/**
+	 * Runs the mutation mix on a list until the time is up.
+	 *
+	 * @param list  the list
+	 * @param nanos how long to run
+	 * @return the number of mutations done
+	 */
+	private static long churn(IndexedUnsortedList<Integer> list, long nanos) {
+		long done = 0;
+		long deadline = System.nanoTime() + nanos;
+		int value = 0;
+		while (System.nanoTime() < deadline) {
+			for (int i = 0; i < 256; i++) {
+				list.addToRear(value++ & 127);
+				sink += list.removeFirst();
+				list.set(0, value & 127);
+			}
+			done += 768;
+		}
+		return done;
+	}
+
+	/**
+	 * Measures one configuration and prints its line.
+	 *
+	 * @param name  the name of the configuration
+	 * @param list  the list, already filled
+	 * @param dir   the journal directory, null for the in-memory list
+	 * @param nanos how long to measure
+	 * @throws IOException if the journal fails
+	 */
+	private static void measure(String name, IndexedUnsortedList<Integer> list, Path dir, long nanos)
+			throws IOException {
+		churn(list, nanos / 4); // warmup
+		long bytesBefore = (dir == null) ? 0 : directorySize(dir);
+		long start = System.nanoTime();
+		long done = churn(list, nanos);
+		long elapsed = System.nanoTime() - start;
+		long bytes = (dir == null) ? 0 : Math.max(0, directorySize(dir) - bytesBefore);
+		System.out.printf("%-28s %12.1f %14.0f %12.1f%n", name, (double) elapsed / done, done * 1e9 / elapsed,
+				bytes / 1048576.0 / (elapsed / 1e9));
+	}
+
+	/**
+	 * Returns the number of bytes of the files in a directory.
+	 *
+	 * @param dir the directory
+	 * @return the total size of its files
+	 * @throws IOException if the directory could not be read
+	 */
+	private static long directorySize(Path dir) throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.mapToLong(file -> file.toFile().length()).sum();
+		}
+	}
+
+	/**
+	 * Deletes a directory and its files.
+	 *
+	 * @param dir the directory
+	 * @throws IOException if a file could not be deleted
+	 */
+	private static void delete(Path dir) throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+				Files.delete(file);
+			}
+		}
+	}
+
+	/**
+	 * Runs the benchmark.
+	 *
+	 * @param args the options described in the class comment
+	 * @throws IOException if a journal fails
+	 */
+	public static void main(String[] args) throws IOException {
+		int size = 10_000;
+		long nanos = 3_000_000_000L;
+		Path base = null;
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			switch (args[i]) {
+			case "--size":
+				size = Integer.parseInt(args[i + 1]);
+				break;
+			case "--seconds":
+				nanos = (long) (Double.parseDouble(args[i + 1]) * 1e9);
+				break;
+			case "--dir":
+				base = Path.of(args[i + 1]);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown option " + args[i]);
+			}
+		}
+		if (base == null) {
+			base = Files.createTempDirectory("journal-bench");
+		}
+
+		System.out.printf("# java %s, size %d, directory %s%n", System.getProperty("java.version"), size, base);
+		System.out.printf("%-28s %12s %14s %12s%n", "configuration", "ns/mutation", "mutations/s", "journal MB/s");
+
+		IUDoubleLinkedList<Integer> memory = new IUDoubleLinkedList<Integer>(true);
+		for (int i = 0; i < size; i++) {
+			memory.addToRear(i & 127);
+		}
+		measure("in-memory (hash indexed)", memory, null, nanos);
+
+		int[] syncEvery = { 1, 16, 256, 4096, 0 };
+		for (int every : syncEvery) {
+			Path dir = Files.createDirectories(base.resolve("sync-" + every));
+			try (IUJournaledList<Integer> list = new IUJournaledList<Integer>(dir, ElementCodec.INTEGER, every, 0L,
+					IUJournaledList.DEFAULT_SEGMENT_BYTES, 0L)) {
+				for (int i = 0; i < size; i++) {
+					list.addToRear(i & 127);
+				}
+				list.checkpoint();
+				measure(every == 0 ? "journaled, no fsync" : "journaled, fsync every " + every, list, dir, nanos);
+			}
+			delete(dir);
+		}
+	}
+}
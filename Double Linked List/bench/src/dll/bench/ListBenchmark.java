@@ -0,0 +1,477 @@
+package dll.bench;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import dll.IUArenaLinkedList;
+import dll.IUDoubleLinkedList;
+import dll.IUSkipList;
+import dll.IUUnrolledLinkedList;
+import dll.IndexedUnsortedList;
+
+/**
+ * JMH benchmark of the IndexedUnsortedList operations against
+ * java.util.LinkedList, ArrayList and ArrayDeque, at sizes 10 to 10^7.
+ *
+ * Build the library, then the benchmark jar, and run it with the GC profiler
+ * for the allocation numbers:
+ *
+ * <pre>
+ * mvn -B install
+ * mvn -B -f bench/pom.xml package
+ * java -jar bench/target/benchmarks.jar ListBenchmark -prof gc
+ * </pre>
+ *
+ * The defaults below are the warm run. The cold run skips warmup and measures
+ * a single iteration: add -wi 0 -i 1. A subset is picked with the usual JMH
+ * options, e.g. -p size=10,1000 -p impl=IUDoubleLinkedList,LinkedList.
+ *
+ * Mutating operations are paired with a cheap inverse so the list keeps its
+ * size; the pair is what gets measured, and the benchmark name says so.
+ * ArrayDeque has no indexed operations, so only the benchmarks on AnyList
+ * include it.
+ *
+ * @author Joshua McKerracher
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms3g", "-Xmx3g" })
+public class ListBenchmark {
+
+	/**
+	 * The operations measured, over one implementation. Unsupported operations
+	 * throw UnsupportedOperationException.
+	 */
+	private interface Subject {
+		void addToFront(Integer element);
+
+		Integer removeFirst();
+
+		void add(int index, Integer element);
+
+		Integer remove(int index);
+
+		Integer get(int index);
+
+		int indexOf(Integer element);
+
+		void remove(Integer element);
+
+		void addToRear(Integer element);
+
+		long traverse();
+
+		String string();
+	}
+
+	/**
+	 * Subject over any IndexedUnsortedList.
+	 */
+	private static class IUSubject implements Subject {
+		private final IndexedUnsortedList<Integer> list; // list under test
+
+		IUSubject(IndexedUnsortedList<Integer> list) {
+			this.list = list;
+		}
+
+		public void addToFront(Integer element) {
+			list.addToFront(element);
+		}
+
+		public Integer removeFirst() {
+			return list.removeFirst();
+		}
+
+		public void add(int index, Integer element) {
+			list.add(index, element);
+		}
+
+		public Integer remove(int index) {
+			return list.remove(index);
+		}
+
+		public Integer get(int index) {
+			return list.get(index);
+		}
+
+		public int indexOf(Integer element) {
+			return list.indexOf(element);
+		}
+
+		public void remove(Integer element) {
+			list.remove(element);
+		}
+
+		public void addToRear(Integer element) {
+			list.addToRear(element);
+		}
+
+		public long traverse() {
+			long sum = 0;
+			for (Integer element : list) {
+				sum += element;
+			}
+			return sum;
+		}
+
+		public String string() {
+			return list.toString();
+		}
+	}
+
+	/**
+	 * Subject over an IUDoubleLinkedList. Its toString() stops after
+	 * IUDoubleLinkedList.TO_STRING_LIMIT elements, so the string is written with
+	 * writeTo(Appendable) instead, which has no limit, to render every element
+	 * like the java.util toString() does.
+	 */
+	private static class DLLSubject extends IUSubject {
+		private final IUDoubleLinkedList<Integer> list; // list under test
+
+		DLLSubject(IUDoubleLinkedList<Integer> list) {
+			super(list);
+			this.list = list;
+		}
+
+		@Override
+		public String string() {
+			StringBuilder str = new StringBuilder();
+			try {
+				list.writeTo(str);
+			} catch (IOException e) {
+				// A StringBuilder does not throw.
+				throw new UncheckedIOException(e);
+			}
+			return str.toString();
+		}
+	}
+
+	/**
+	 * Subject over a java.util.List.
+	 */
+	private static class ListSubject implements Subject {
+		private final List<Integer> list; // list under test
+
+		ListSubject(List<Integer> list) {
+			this.list = list;
+		}
+
+		public void addToFront(Integer element) {
+			list.add(0, element);
+		}
+
+		public Integer removeFirst() {
+			return list.remove(0);
+		}
+
+		public void add(int index, Integer element) {
+			list.add(index, element);
+		}
+
+		public Integer remove(int index) {
+			return list.remove(index);
+		}
+
+		public Integer get(int index) {
+			return list.get(index);
+		}
+
+		public int indexOf(Integer element) {
+			return list.indexOf(element);
+		}
+
+		public void remove(Integer element) {
+			list.remove(element);
+		}
+
+		public void addToRear(Integer element) {
+			list.add(element);
+		}
+
+		public long traverse() {
+			long sum = 0;
+			for (Integer element : list) {
+				sum += element;
+			}
+			return sum;
+		}
+
+		public String string() {
+			return list.toString();
+		}
+	}
+
+	/**
+	 * Subject over an ArrayDeque, which has no indexed operations.
+	 */
+	private static class DequeSubject implements Subject {
+		private final ArrayDeque<Integer> deque; // deque under test
+
+		DequeSubject(ArrayDeque<Integer> deque) {
+			this.deque = deque;
+		}
+
+		public void addToFront(Integer element) {
+			deque.addFirst(element);
+		}
+
+		public Integer removeFirst() {
+			return deque.removeFirst();
+		}
+
+		public void add(int index, Integer element) {
+			throw new UnsupportedOperationException();
+		}
+
+		public Integer remove(int index) {
+			throw new UnsupportedOperationException();
+		}
+
+		public Integer get(int index) {
+			throw new UnsupportedOperationException();
+		}
+
+		public int indexOf(Integer element) {
+			throw new UnsupportedOperationException();
+		}
+
+		public void remove(Integer element) {
+			deque.removeFirstOccurrence(element);
+		}
+
+		public void addToRear(Integer element) {
+			deque.addLast(element);
+		}
+
+		public long traverse() {
+			long sum = 0;
+			for (Iterator<Integer> it = deque.iterator(); it.hasNext();) {
+				sum += it.next();
+			}
+			return sum;
+		}
+
+		public String string() {
+			return deque.toString();
+		}
+	}
+
+	/**
+	 * Returns an empty subject of the named implementation.
+	 *
+	 * @param impl the implementation name
+	 * @return the subject
+	 * @throws IllegalArgumentException if the name is unknown
+	 */
+	private static Subject newSubject(String impl) {
+		switch (impl) {
+		case "IUDoubleLinkedList":
+			return new DLLSubject(new IUDoubleLinkedList<Integer>());
+		case "IUArenaLinkedList":
+			return new IUSubject(new IUArenaLinkedList<Integer>());
+		case "IUUnrolledLinkedList":
+			return new IUSubject(new IUUnrolledLinkedList<Integer>());
+		case "IUSkipList":
+			return new IUSubject(new IUSkipList<Integer>());
+		case "LinkedList":
+			return new ListSubject(new LinkedList<Integer>());
+		case "ArrayList":
+			return new ListSubject(new ArrayList<Integer>());
+		case "ArrayDeque":
+			return new DequeSubject(new ArrayDeque<Integer>());
+		default:
+			throw new IllegalArgumentException("Source: newSubject - unknown implementation " + impl);
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * States
+	 *
+	 ********************************************************/
+
+	/**
+	 * A list of the given size holding elements[0..size), built once per trial.
+	 * The subclasses declare which implementations they cover.
+	 */
+	@State(Scope.Thread)
+	public abstract static class Lists {
+		@Param({ "10", "100", "1000", "10000", "100000", "1000000", "10000000" })
+		public int size; // elements in the list
+
+		Subject subject; // list under test
+		Integer[] elements; // the elements in the list, in order
+		SplittableRandom random; // source of indexes
+
+		/**
+		 * Returns the name of the implementation under test.
+		 *
+		 * @return the implementation name
+		 */
+		abstract String impl();
+
+		/**
+		 * Builds the list.
+		 */
+		@Setup(Level.Trial)
+		public void build() {
+			subject = newSubject(impl());
+			elements = new Integer[size];
+			for (int i = 0; i < size; i++) {
+				elements[i] = Integer.valueOf(i);
+				subject.addToRear(elements[i]);
+			}
+			random = new SplittableRandom(size);
+		}
+
+		/**
+		 * Returns a random index of the list.
+		 *
+		 * @return an index in [0, size)
+		 */
+		int nextIndex() {
+			return random.nextInt(size);
+		}
+	}
+
+	/**
+	 * Every implementation, for the operations ArrayDeque has.
+	 */
+	@State(Scope.Thread)
+	public static class AnyList extends Lists {
+		@Param({ "IUDoubleLinkedList", "IUArenaLinkedList", "IUUnrolledLinkedList", "IUSkipList", "LinkedList",
+				"ArrayList", "ArrayDeque" })
+		public String impl; // implementation under test
+
+		@Override
+		String impl() {
+			return impl;
+		}
+	}
+
+	/**
+	 * The implementations with indexed operations.
+	 */
+	@State(Scope.Thread)
+	public static class IndexedList extends Lists {
+		@Param({ "IUDoubleLinkedList", "IUArenaLinkedList", "IUUnrolledLinkedList", "IUSkipList", "LinkedList",
+				"ArrayList" })
+		public String impl; // implementation under test
+
+		@Override
+		String impl() {
+			return impl;
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Benchmarks
+	 *
+	 ********************************************************/
+
+	/**
+	 * Adds an element at the front and removes it again.
+	 *
+	 * @param state the list
+	 * @return the result, consumed by JMH
+	 */
+	@Benchmark
+	public Integer addToFrontRemoveFirst(AnyList state) {
+		state.subject.addToFront(state.elements[0]);
+		return state.subject.removeFirst();
+	}
+
+	/**
+	 * Adds an element at a random index and removes it again.
+	 *
+	 * @param state the list
+	 * @return the result, consumed by JMH
+	 */
+	@Benchmark
+	public Integer addAtIndexRemoveAtIndex(IndexedList state) {
+		int index = state.nextIndex();
+		state.subject.add(index, state.elements[index]);
+		return state.subject.remove(index);
+	}
+
+	/**
+	 * Gets the element at a random index.
+	 *
+	 * @param state the list
+	 * @return the result, consumed by JMH
+	 */
+	@Benchmark
+	public Integer get(IndexedList state) {
+		return state.subject.get(state.nextIndex());
+	}
+
+	/**
+	 * Finds the index of a random element.
+	 *
+	 * @param state the list
+	 * @return the result, consumed by JMH
+	 */
+	@Benchmark
+	public int indexOf(IndexedList state) {
+		return state.subject.indexOf(state.elements[state.nextIndex()]);
+	}
+
+	/**
+	 * Removes a random element and adds it back at the rear.
+	 *
+	 * @param state the list
+	 * @return the result, consumed by JMH
+	 */
+	@Benchmark
+	public Integer removeElementAddToRear(AnyList state) {
+		Integer element = state.elements[state.nextIndex()];
+		state.subject.remove(element);
+		state.subject.addToRear(element);
+		return element;
+	}
+
+	/**
+	 * Traverses the whole list with its iterator.
+	 *
+	 * @param state the list
+	 * @return the result, consumed by JMH
+	 */
+	@Benchmark
+	public long iterator(AnyList state) {
+		return state.subject.traverse();
+	}
+
+	/**
+	 * Returns the string of the whole list, every element included.
+	 *
+	 * @param state the list
+	 * @return the result, consumed by JMH
+	 */
+	@Benchmark
+	public String toStringOfList(AnyList state) {
+		return state.subject.string();
+	}
+}
@@ -0,0 +1,241 @@
+package dll;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Padding in front of the producer field. The padding classes form a chain of
+ * superclasses because the JVM lays out superclass fields first; that keeps
+ * the producer and consumer fields on different cache lines, so a producer
+ * adding elements does not keep invalidating the line the consumer polls from.
+ */
+abstract class LinkedQueuePad0 {
+	long p00, p01, p02, p03, p04, p05, p06, p07; // padding
+	long p10, p11, p12, p13, p14, p15, p16, p17; // padding
+}
+
+/**
+ * Producer side of the queue.
+ */
+abstract class LinkedQueueProducerFields<T> extends LinkedQueuePad0 {
+	protected volatile QueueNode<T> producerNode; // last node, written by producers
+}
+
+/**
+ * Padding between the producer and consumer fields.
+ */
+abstract class LinkedQueuePad1<T> extends LinkedQueueProducerFields<T> {
+	long p20, p21, p22, p23, p24, p25, p26, p27; // padding
+	long p30, p31, p32, p33, p34, p35, p36, p37; // padding
+}
+
+/**
+ * Consumer side of the queue.
+ */
+abstract class LinkedQueueConsumerFields<T> extends LinkedQueuePad1<T> {
+	protected volatile QueueNode<T> consumerNode; // node before the first element, written by the consumer
+}
+
+/**
+ * Padding behind the consumer field.
+ */
+abstract class LinkedQueuePad2<T> extends LinkedQueueConsumerFields<T> {
+	long p40, p41, p42, p43, p44, p45, p46, p47; // padding
+	long p50, p51, p52, p53, p54, p55, p56, p57; // padding
+}
+
+/**
+ * Base of the linked FIFO queues used for addToRear/removeFirst pipelines. The
+ * queue is a singly linked list of QueueNodes that always starts with a node
+ * whose element has already been consumed, so producers only touch the last
+ * node and the consumer only touches the first one.
+ *
+ * Only one thread may consume (poll, removeFirst, drain, first). How many
+ * threads may produce is decided by the subclass. size and isEmpty may be
+ * called from any thread and are estimates while the queue is in use.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public abstract class AbstractLinkedQueue<T> extends LinkedQueuePad2<T> {
+
+	private static final VarHandle CONSUMER; // access to consumerNode with memory ordering
+	protected static final VarHandle PRODUCER; // access to producerNode with memory ordering, for subclasses
+
+	static {
+		try {
+			PRODUCER = MethodHandles.lookup().findVarHandle(LinkedQueueProducerFields.class, "producerNode",
+					QueueNode.class);
+			CONSUMER = MethodHandles.lookup().findVarHandle(LinkedQueueConsumerFields.class, "consumerNode",
+					QueueNode.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/**
+	 * Default constructor
+	 */
+	protected AbstractLinkedQueue() {
+		QueueNode<T> stub = new QueueNode<T>(null);
+		consumerNode = stub;
+		producerNode = stub;
+	}
+
+	/**
+	 * Adds the specified element to the rear of this queue.
+	 *
+	 * @param element the element to be added to the rear of this queue
+	 * @throws NullPointerException if element is null
+	 */
+	public abstract void addToRear(T element);
+
+	/**
+	 * Returns the node after the given consumer node. Called when the node has no
+	 * next yet, to wait for a producer that has claimed the rear but not linked
+	 * it.
+	 *
+	 * @param node the current consumer node
+	 * @return the next node, or null if the queue is empty
+	 */
+	protected QueueNode<T> awaitNext(QueueNode<T> node) {
+		return null;
+	}
+
+	/**
+	 * Moves the consumer past the given node and takes its element.
+	 *
+	 * @param node the node after the current consumer node
+	 * @return the element of the node
+	 */
+	private T consume(QueueNode<T> node) {
+		T element = node.getElement();
+
+		// The node becomes the new stub, so it must not keep the element alive.
+		node.setElement(null);
+		return element;
+	}
+
+	/**
+	 * Removes and returns the first element, or returns null if the queue is
+	 * empty. Must only be called by the consumer thread.
+	 *
+	 * @return the first element, or null
+	 */
+	public T poll() {
+		QueueNode<T> current = consumerNode;
+		QueueNode<T> next = current.getNext();
+		if (next == null) {
+			next = awaitNext(current);
+			if (next == null) {
+				return null;
+			}
+		}
+		T element = consume(next);
+		CONSUMER.setRelease(this, next);
+		return element;
+	}
+
+	/**
+	 * Removes and returns the first element of this queue. Must only be called by
+	 * the consumer thread.
+	 *
+	 * @return the first element of this queue
+	 * @throws NoSuchElementException if the queue contains no elements
+	 */
+	public T removeFirst() {
+		T element = poll();
+		if (element == null) {
+			throw new NoSuchElementException("Source: removeFirst");
+		}
+		return element;
+	}
+
+	/**
+	 * Returns the first element without removing it. Must only be called by the
+	 * consumer thread.
+	 *
+	 * @return the first element of this queue
+	 * @throws NoSuchElementException if the queue contains no elements
+	 */
+	public T first() {
+		QueueNode<T> current = consumerNode;
+		QueueNode<T> next = current.getNext();
+		if (next == null) {
+			next = awaitNext(current);
+			if (next == null) {
+				throw new NoSuchElementException("Source: first() method.");
+			}
+		}
+		return next.getElement();
+	}
+
+	/**
+	 * Removes up to max elements and hands them to the action in FIFO order. The
+	 * consumer position is published once for the whole batch instead of once
+	 * per element. Elements that a producer has not finished linking are left
+	 * for the next call. Must only be called by the consumer thread.
+	 *
+	 * @param action the action to run on every removed element
+	 * @param max    the most elements to remove
+	 * @return the number of elements removed
+	 */
+	public int drain(Consumer<? super T> action, int max) {
+		if (max < 0) {
+			throw new IllegalArgumentException("Source: drain(action, max)");
+		}
+
+		QueueNode<T> current = consumerNode;
+		int drained = 0;
+		try {
+			while (drained < max) {
+				QueueNode<T> next = current.getNext();
+				if (next == null) {
+					break;
+				}
+				T element = consume(next);
+				current = next;
+				drained++;
+				action.accept(element);
+			}
+		} finally {
+			// Publishes how far the batch got, even if the action threw.
+			CONSUMER.setRelease(this, current);
+		}
+		return drained;
+	}
+
+	/**
+	 * Returns true if the queue contains no elements.
+	 *
+	 * @return true if the queue contains no elements
+	 */
+	public boolean isEmpty() {
+		return consumerNode == producerNode;
+	}
+
+	/**
+	 * Returns the number of elements in the queue by walking it. While producers
+	 * or the consumer are active, the result is an estimate.
+	 *
+	 * @return the number of elements in the queue
+	 */
+	public int size() {
+		QueueNode<T> current = consumerNode;
+		QueueNode<T> last = producerNode;
+		int size = 0;
+		while (current != last && size < Integer.MAX_VALUE) {
+			QueueNode<T> next = current.getNext();
+			if (next == null) {
+				// The producer of the next node has not linked it yet.
+				break;
+			}
+			current = next;
+			size++;
+		}
+		return size;
+	}
+}
@@ -0,0 +1,167 @@
+package dll;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Node of a double linked list that is changed by compare-and-set from many
+ * threads. The next links are the authoritative order of the list; the
+ * previous links are only hints that always point to some node earlier in the
+ * list.
+ *
+ * A node is removed by swapping its next link for a marker node that holds the
+ * old successor. From then on the next link of the node never changes again, so
+ * no thread can link a new node after a removed one.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class ConcurrentDLLNode<T> {
+
+	private static final VarHandle NEXT; // access to next with compare-and-set
+
+	static {
+		try {
+			NEXT = MethodHandles.lookup().findVarHandle(ConcurrentDLLNode.class, "next", ConcurrentDLLNode.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private volatile ConcurrentDLLNode<T> next; // reference to next node
+	private volatile ConcurrentDLLNode<T> previous; // hint to an earlier node
+	private volatile T element; // reference to object stored in node
+	private final boolean marker; // true if this node marks its predecessor as removed
+
+	/**
+	 * Constructor - with given element
+	 *
+	 * @param element - object of type T
+	 */
+	public ConcurrentDLLNode(T element) {
+		this.element = element;
+		this.marker = false;
+	}
+
+	/**
+	 * Constructor for a marker node.
+	 *
+	 * @param next   - the successor of the removed node
+	 * @param marker - always true
+	 */
+	private ConcurrentDLLNode(ConcurrentDLLNode<T> next, boolean marker) {
+		this.next = next;
+		this.marker = marker;
+	}
+
+	/**
+	 * Returns reference to next node
+	 *
+	 * @return - ref to ConcurrentDLLNode<T> object.
+	 */
+	public ConcurrentDLLNode<T> getNext() {
+		return next;
+	}
+
+	/**
+	 * Assign reference to next node. Only for a node that is not linked yet.
+	 *
+	 * @param next - ref to ConcurrentDLLNode<T> object
+	 */
+	public void setNext(ConcurrentDLLNode<T> next) {
+		this.next = next;
+	}
+
+	/**
+	 * Atomically sets the next node if it is still the expected one.
+	 *
+	 * @param expected - the next node this node should still have
+	 * @param next     - the new next node
+	 * @return - true if the next node was replaced
+	 */
+	public boolean casNext(ConcurrentDLLNode<T> expected, ConcurrentDLLNode<T> next) {
+		return NEXT.compareAndSet(this, expected, next);
+	}
+
+	/**
+	 * Returns the hint to an earlier node
+	 *
+	 * @return - ref to ConcurrentDLLNode<T> object.
+	 */
+	public ConcurrentDLLNode<T> getPrevious() {
+		return previous;
+	}
+
+	/**
+	 * Assign the hint to an earlier node
+	 *
+	 * @param previous - ref to ConcurrentDLLNode<T> object
+	 */
+	public void setPrevious(ConcurrentDLLNode<T> previous) {
+		this.previous = previous;
+	}
+
+	/**
+	 * Returns reference to element stored in node
+	 *
+	 * @return - ref to object of type T
+	 */
+	public T getElement() {
+		return element;
+	}
+
+	/**
+	 * Sets reference to element stored at node
+	 *
+	 * @param element - ref to object of type T
+	 */
+	public void setElement(T element) {
+		this.element = element;
+	}
+
+	/**
+	 * Returns true if this is a marker node.
+	 *
+	 * @return - true if this node marks its predecessor as removed
+	 */
+	public boolean isMarker() {
+		return marker;
+	}
+
+	/**
+	 * Returns true if this node has been removed from its list.
+	 *
+	 * @return - true if the next link is a marker
+	 */
+	public boolean isRemoved() {
+		ConcurrentDLLNode<T> n = next;
+		return n != null && n.marker;
+	}
+
+	/**
+	 * Marks this node as removed, unless another thread already did.
+	 *
+	 * @return - true if this call removed the node
+	 */
+	public boolean markRemoved() {
+		while (true) {
+			ConcurrentDLLNode<T> n = next;
+			if (n != null && n.marker) {
+				return false;
+			}
+			if (NEXT.compareAndSet(this, n, new ConcurrentDLLNode<T>(n, true))) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Marks this node as removed if it is still the last node.
+	 *
+	 * @return - true if this call removed the node
+	 */
+	public boolean markRemovedIfLast() {
+		return NEXT.compareAndSet(this, null, new ConcurrentDLLNode<T>(null, true));
+	}
+}
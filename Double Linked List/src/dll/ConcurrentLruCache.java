@@ -0,0 +1,373 @@
+package dll;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A thread safe LruCache. A ConcurrentHashMap finds the node of a key and the
+ * DLLNode chain keeps the recency order, guarded by one lock.
+ *
+ * Hits do not take the lock. A hit reads the value straight from the map and
+ * records its node in a small ring buffer, one per stripe of threads. Once a
+ * buffer is half full, the hitting thread tries the lock and, if it is free,
+ * replays all buffered hits onto the chain. A thread that finds the lock busy
+ * or its buffer full moves on, so hits never wait on each other; a dropped
+ * hit only makes the recency order slightly less exact. Writes take the lock,
+ * replay the buffered hits first, then change the chain and evict.
+ *
+ * The hit, miss and eviction counts are exact.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class ConcurrentLruCache<K, V> {
+
+	private static final int BUFFER_SIZE = 32; // hits buffered per stripe, a power of two
+	private static final int DRAIN_THRESHOLD = BUFFER_SIZE / 2; // buffered hits that trigger a drain
+
+	private final ConcurrentHashMap<K, DLLNode<LruCache.Entry<K, V>>> nodes; // node of each key
+	private final LruCache.Chain<K, V> chain; // entries from most to least recently used, guarded by lock
+	private final ReentrantLock lock = new ReentrantLock(); // guards the chain and evictions
+	private final ReadBuffer<?, ?>[] buffers; // buffered hits, one per stripe of threads
+	private volatile int maxSize; // most entries kept
+	private final LongAdder hits = new LongAdder(); // get calls that found their key
+	private final LongAdder misses = new LongAdder(); // get calls that did not find their key
+	private final LongAdder evictions = new LongAdder(); // entries evicted for the maximum size
+
+	/**
+	 * A ring buffer of hits. Any thread may add to it; only the lock holder
+	 * drains it.
+	 *
+	 * @param <K> the type of the keys
+	 * @param <V> the type of the values
+	 */
+	private static final class ReadBuffer<K, V> {
+		final AtomicReferenceArray<DLLNode<LruCache.Entry<K, V>>> slots = new AtomicReferenceArray<DLLNode<LruCache.Entry<K, V>>>(
+				BUFFER_SIZE); // buffered nodes
+		final AtomicLong writeCount = new AtomicLong(); // hits ever added
+		volatile long readCount; // hits ever drained, written under the lock
+
+		/**
+		 * Adds a hit unless the buffer is full.
+		 *
+		 * @param node the node that was hit
+		 * @return the number of buffered hits, or -1 if the hit was dropped
+		 */
+		long offer(DLLNode<LruCache.Entry<K, V>> node) {
+			long write = writeCount.get();
+			long pending = write - readCount;
+			if (pending >= BUFFER_SIZE || !writeCount.compareAndSet(write, write + 1)) {
+				return -1;
+			}
+			slots.lazySet((int) write & (BUFFER_SIZE - 1), node);
+			return pending + 1;
+		}
+	}
+
+	/**
+	 * Constructor for a cache that keeps at most maxSize entries.
+	 *
+	 * @param maxSize the most entries kept
+	 * @throws IllegalArgumentException if maxSize is not positive
+	 */
+	public ConcurrentLruCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Source: ConcurrentLruCache - maxSize must be positive");
+		}
+		this.maxSize = maxSize;
+		nodes = new ConcurrentHashMap<K, DLLNode<LruCache.Entry<K, V>>>();
+		chain = new LruCache.Chain<K, V>();
+
+		// One stripe per processor, rounded up to a power of two.
+		int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1));
+		buffers = new ReadBuffer<?, ?>[stripes];
+		for (int i = 0; i < stripes; i++) {
+			buffers[i] = new ReadBuffer<K, V>();
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Recency
+	 *
+	 ********************************************************/
+
+	/**
+	 * Records a hit in the buffer of the calling thread's stripe, draining the
+	 * buffers if it is filling up and the lock is free.
+	 *
+	 * @param node the node that was hit
+	 */
+	private void recordHit(DLLNode<LruCache.Entry<K, V>> node) {
+		int stripe = (int) mix(Thread.currentThread().getId()) & (buffers.length - 1);
+		long pending = buffer(stripe).offer(node);
+		if ((pending < 0 || pending >= DRAIN_THRESHOLD) && lock.tryLock()) {
+			try {
+				drainBuffers();
+			} finally {
+				lock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Returns the buffer of a stripe. Every buffer is created for this cache's
+	 * key and value types, which the array type cannot express.
+	 *
+	 * @param stripe the stripe
+	 * @return the buffer of the stripe
+	 */
+	@SuppressWarnings("unchecked")
+	private ReadBuffer<K, V> buffer(int stripe) {
+		return (ReadBuffer<K, V>) buffers[stripe];
+	}
+
+	/**
+	 * Spreads the bits of a thread id so neighbouring ids use different stripes.
+	 *
+	 * @param id the thread id
+	 * @return the mixed id
+	 */
+	private static long mix(long id) {
+		id *= 0x9E3779B97F4A7C15L;
+		return id ^ (id >>> 32);
+	}
+
+	/**
+	 * Replays the buffered hits onto the chain. Must be called with the lock held.
+	 * Nodes removed since their hit are skipped.
+	 */
+	private void drainBuffers() {
+		for (int stripe = 0; stripe < buffers.length; stripe++) {
+			ReadBuffer<K, V> buffer = buffer(stripe);
+			long read = buffer.readCount;
+			long write = buffer.writeCount.get();
+			for (; read < write; read++) {
+				int index = (int) read & (BUFFER_SIZE - 1);
+				DLLNode<LruCache.Entry<K, V>> node = buffer.slots.get(index);
+
+				// The writer claimed the slot but has not stored its node yet.
+				if (node == null) {
+					break;
+				}
+				buffer.slots.lazySet(index, null);
+				if (node.getElement().linked) {
+					chain.moveToFront(node);
+				}
+			}
+			buffer.readCount = read;
+		}
+	}
+
+	/**
+	 * Evicts least recently used entries until the cache fits its maximum size.
+	 * Must be called with the lock held.
+	 */
+	private void evict() {
+		while (nodes.size() > maxSize && chain.tail != null) {
+			DLLNode<LruCache.Entry<K, V>> victim = chain.tail;
+			chain.unlink(victim);
+			nodes.remove(victim.getElement().key, victim);
+			evictions.increment();
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Cache operations
+	 *
+	 ********************************************************/
+
+	/**
+	 * Returns the value of a key and marks the entry as recently used. Does not
+	 * wait for the lock.
+	 *
+	 * @param key the key
+	 * @return the value of the key, or null if it is not cached
+	 */
+	public V get(K key) {
+		DLLNode<LruCache.Entry<K, V>> node = nodes.get(key);
+		if (node == null) {
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		recordHit(node);
+		return node.getElement().value;
+	}
+
+	/**
+	 * Caches a value as the most recently used entry, evicting the least recently
+	 * used entry if the cache is full.
+	 *
+	 * @param key   the key
+	 * @param value the value
+	 * @return the previous value of the key, or null if it was not cached
+	 * @throws NullPointerException if the key or the value is null
+	 */
+	public V put(K key, V value) {
+		if (key == null || value == null) {
+			throw new NullPointerException("Source: ConcurrentLruCache put(key, value)");
+		}
+		lock.lock();
+		try {
+			drainBuffers();
+			DLLNode<LruCache.Entry<K, V>> node = nodes.get(key);
+			if (node != null) {
+				V previous = node.getElement().value;
+				node.getElement().value = value;
+				chain.moveToFront(node);
+				return previous;
+			}
+			node = new DLLNode<LruCache.Entry<K, V>>(new LruCache.Entry<K, V>(key, value));
+			nodes.put(key, node);
+			chain.linkFirst(node);
+			evict();
+			return null;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Removes the entry of a key.
+	 *
+	 * @param key the key
+	 * @return the value of the key, or null if it was not cached
+	 */
+	public V remove(K key) {
+		lock.lock();
+		try {
+			DLLNode<LruCache.Entry<K, V>> node = nodes.remove(key);
+			if (node == null) {
+				return null;
+			}
+			chain.unlink(node);
+			return node.getElement().value;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns true if a key is cached, without marking it as used or counting a
+	 * hit or miss.
+	 *
+	 * @param key the key
+	 * @return true if the key is cached
+	 */
+	public boolean containsKey(K key) {
+		return nodes.containsKey(key);
+	}
+
+	/**
+	 * Removes all entries. The statistics are kept.
+	 */
+	public void clear() {
+		lock.lock();
+		try {
+			drainBuffers();
+			nodes.clear();
+			chain.clear();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Returns the number of cached entries.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return nodes.size();
+	}
+
+	/**
+	 * Returns the most entries the cache keeps.
+	 *
+	 * @return the maximum size
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Changes the most entries the cache keeps, evicting least recently used
+	 * entries if it shrinks below the current size.
+	 *
+	 * @param maxSize the most entries kept
+	 * @throws IllegalArgumentException if maxSize is not positive
+	 */
+	public void setMaxSize(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Source: ConcurrentLruCache setMaxSize - maxSize must be positive");
+		}
+		lock.lock();
+		try {
+			this.maxSize = maxSize;
+			drainBuffers();
+			evict();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Statistics
+	 *
+	 ********************************************************/
+
+	/**
+	 * @return the number of get calls that found their key
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of get calls that did not find their key
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of entries evicted to respect the maximum size
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Sets the hit, miss and eviction counts back to zero.
+	 */
+	public void resetStatistics() {
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+	/**
+	 * Returns the entries from most to least recently used, after replaying the
+	 * buffered hits.
+	 *
+	 * @return a string of key=value pairs
+	 */
+	@Override
+	public String toString() {
+		lock.lock();
+		try {
+			drainBuffers();
+			return chain.toString();
+		} finally {
+			lock.unlock();
+		}
+	}
+}
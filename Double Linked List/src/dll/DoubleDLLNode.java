@@ -0,0 +1,79 @@
+package dll;
+
+/**
+ * Node of a double linked list that stores a primitive double element.
+ *
+ * @author Joshua McKerracher
+ */
+public class DoubleDLLNode {
+
+	private DoubleDLLNode next; // reference to next node
+	private DoubleDLLNode previous; // reference to previous node
+	private double element; // value stored in node
+
+	/**
+	 * Constructor - with given element
+	 *
+	 * @param element - double value
+	 */
+	public DoubleDLLNode(double element) {
+		setElement(element);
+		setNext(null);
+		setPrevious(null);
+	}
+
+	/**
+	 * Returns reference to next node.
+	 *
+	 * @return - ref to DoubleDLLNode object.
+	 */
+	public DoubleDLLNode getNext() {
+		return next;
+	}
+
+	/**
+	 * Returns a reference to the previous node.
+	 *
+	 * @return - reference to DoubleDLLNode object.
+	 */
+	public DoubleDLLNode getPrevious() {
+		return previous;
+	}
+
+	/**
+	 * Assign reference to next node
+	 *
+	 * @param next - ref to DoubleDLLNode object
+	 */
+	public void setNext(DoubleDLLNode next) {
+		this.next = next;
+	}
+
+	/**
+	 * Assign a reference to the previous node.
+	 *
+	 * @param previous - reference to DoubleDLLNode object
+	 */
+	public void setPrevious(DoubleDLLNode previous) {
+		this.previous = previous;
+	}
+
+	/**
+	 * Returns the value stored in node
+	 *
+	 * @return - double value
+	 */
+	public double getElement() {
+		return element;
+	}
+
+	/**
+	 * Sets the value stored at node
+	 *
+	 * @param element - double value
+	 */
+	public void setElement(double element) {
+		this.element = element;
+	}
+
+}
@@ -0,0 +1,179 @@
+package dll;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Turns elements into bytes and back, for the binary list format of
+ * IUListSerializer. A codec either writes every element in the same number of
+ * bytes (fixed width) or says how many bytes each element takes.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public interface ElementCodec<T> {
+
+	/**
+	 * Returns the name of the codec. It is stored in the file header, so a file
+	 * is only read back with the codec that wrote it.
+	 *
+	 * @return the name of the codec
+	 */
+	String name();
+
+	/**
+	 * Returns the number of bytes every element takes, if that is fixed.
+	 * Fixed-width codecs cannot encode null.
+	 *
+	 * @return the width of an element, or -1 if it depends on the element
+	 */
+	int fixedSize();
+
+	/**
+	 * Returns the number of bytes encode() writes for the element.
+	 *
+	 * @param element an element, not null
+	 * @return the encoded size of the element
+	 */
+	int encodedSize(T element);
+
+	/**
+	 * Writes the element at the position of the buffer and advances the
+	 * position by encodedSize(element).
+	 *
+	 * @param element an element, not null
+	 * @param out     a buffer with at least encodedSize(element) bytes remaining
+	 */
+	void encode(T element, ByteBuffer out);
+
+	/**
+	 * Reads an element of the given length at the position of the buffer.
+	 *
+	 * @param in     a buffer with at least length bytes remaining
+	 * @param length the number of bytes of the element
+	 * @return the element
+	 */
+	T decode(ByteBuffer in, int length);
+
+	/**
+	 * Codec for Integers, 4 bytes each.
+	 */
+	ElementCodec<Integer> INTEGER = new ElementCodec<Integer>() {
+		public String name() {
+			return "int32";
+		}
+
+		public int fixedSize() {
+			return Integer.BYTES;
+		}
+
+		public int encodedSize(Integer element) {
+			return Integer.BYTES;
+		}
+
+		public void encode(Integer element, ByteBuffer out) {
+			out.putInt(element);
+		}
+
+		public Integer decode(ByteBuffer in, int length) {
+			return in.getInt();
+		}
+	};
+
+	/**
+	 * Codec for Longs, 8 bytes each.
+	 */
+	ElementCodec<Long> LONG = new ElementCodec<Long>() {
+		public String name() {
+			return "int64";
+		}
+
+		public int fixedSize() {
+			return Long.BYTES;
+		}
+
+		public int encodedSize(Long element) {
+			return Long.BYTES;
+		}
+
+		public void encode(Long element, ByteBuffer out) {
+			out.putLong(element);
+		}
+
+		public Long decode(ByteBuffer in, int length) {
+			return in.getLong();
+		}
+	};
+
+	/**
+	 * Codec for Doubles, 8 bytes each.
+	 */
+	ElementCodec<Double> DOUBLE = new ElementCodec<Double>() {
+		public String name() {
+			return "float64";
+		}
+
+		public int fixedSize() {
+			return Double.BYTES;
+		}
+
+		public int encodedSize(Double element) {
+			return Double.BYTES;
+		}
+
+		public void encode(Double element, ByteBuffer out) {
+			out.putDouble(element);
+		}
+
+		public Double decode(ByteBuffer in, int length) {
+			return in.getDouble();
+		}
+	};
+
+	/**
+	 * Codec for Strings as UTF-8.
+	 */
+	ElementCodec<String> STRING = new ElementCodec<String>() {
+		public String name() {
+			return "utf8";
+		}
+
+		public int fixedSize() {
+			return -1;
+		}
+
+		public int encodedSize(String element) {
+			// Counts the UTF-8 bytes without encoding the string.
+			int size = 0;
+			for (int i = 0; i < element.length(); i++) {
+				char c = element.charAt(i);
+				if (c < 0x80) {
+					size += 1;
+				} else if (c < 0x800) {
+					size += 2;
+				} else if (Character.isHighSurrogate(c) && i + 1 < element.length()
+						&& Character.isLowSurrogate(element.charAt(i + 1))) {
+					size += 4;
+					i++;
+				} else if (Character.isSurrogate(c)) {
+					// getBytes replaces an unpaired surrogate with '?'.
+					size += 1;
+				} else {
+					size += 3;
+				}
+			}
+			return size;
+		}
+
+		public void encode(String element, ByteBuffer out) {
+			out.put(element.getBytes(StandardCharsets.UTF_8));
+		}
+
+		public String decode(ByteBuffer in, int length) {
+			byte[] bytes = new byte[length];
+			in.get(bytes);
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+	};
+}
@@ -0,0 +1,633 @@
+package dll;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * This class implements the IndexedUnsortedList interface as a double linked
+ * list whose nodes live in parallel arrays. A node is a slot number: its
+ * element, next and previous links are stored at that position of the
+ * elements, next and previous arrays, and links are int slot numbers instead of
+ * object references.
+ *
+ * Removed slots go onto a free list (threaded through the next array) and are
+ * reused by later adds, so a list that churns at a steady size does not
+ * allocate at all once its arrays are big enough.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class IUArenaLinkedList<T> implements IndexedUnsortedList<T> {
+	private static final int NIL = -1; // link value meaning "no node"
+	private static final int DEFAULT_CAPACITY = 16; // initial number of slots
+
+	private int count; // size of the list
+	private int modCount; // tracks changes to the list
+	private Object[] elements; // element of every slot
+	private int[] next; // next slot of every slot, or the next free slot
+	private int[] previous; // previous slot of every slot
+	private int head, tail; // head and tail slots
+	private int freeHead; // first slot of the free list
+	private int used; // number of slots ever handed out
+	private int finger; // most recently used slot of an indexed operation
+	private int fingerIndex; // index of the finger slot
+	private int fingerModCount; // modCount at the time the finger was set
+
+	/**
+	 * Default constructor
+	 */
+	public IUArenaLinkedList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Constructor with a given number of preallocated slots.
+	 *
+	 * @param initialCapacity the number of slots allocated up front
+	 *
+	 * @throws IllegalArgumentException if initialCapacity is negative
+	 */
+	public IUArenaLinkedList(int initialCapacity) {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException("Source: IUArenaLinkedList(initialCapacity)");
+		}
+		elements = new Object[initialCapacity];
+		next = new int[initialCapacity];
+		previous = new int[initialCapacity];
+		head = tail = NIL;
+		freeHead = NIL;
+		finger = NIL;
+		used = 0;
+		count = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * Takes a slot from the free list, or a fresh one from the arrays, growing
+	 * them when they are full.
+	 *
+	 * @param element the element stored in the slot
+	 * @return the slot number
+	 */
+	private int allocate(T element) {
+		int slot;
+		if (freeHead != NIL) {
+			slot = freeHead;
+			freeHead = next[slot];
+		} else {
+			if (used == elements.length) {
+				int capacity = Math.max(DEFAULT_CAPACITY, elements.length * 2);
+				elements = Arrays.copyOf(elements, capacity);
+				next = Arrays.copyOf(next, capacity);
+				previous = Arrays.copyOf(previous, capacity);
+			}
+			slot = used++;
+		}
+		elements[slot] = element;
+		return slot;
+	}
+
+	/**
+	 * Returns a slot to the free list.
+	 *
+	 * @param slot the slot number
+	 */
+	private void release(int slot) {
+		// Clears the element so it can be collected.
+		elements[slot] = null;
+		previous[slot] = NIL;
+		next[slot] = freeHead;
+		freeHead = slot;
+	}
+
+	/**
+	 * Returns the element stored in a slot.
+	 *
+	 * @param slot the slot number
+	 * @return the element of the slot
+	 */
+	@SuppressWarnings("unchecked")
+	private T element(int slot) {
+		return (T) elements[slot];
+	}
+
+	/**
+	 * Returns the slot at the specified index. The walk starts from whichever of
+	 * head, tail or the finger is closest to the index.
+	 *
+	 * @param index the index of the slot, must be in range (0 <= index < size)
+	 * @return the slot at the given index
+	 */
+	private int getSlot(int index) {
+		int current = head;
+		int position = 0;
+		if (index > (count - 1) - index) {
+			current = tail;
+			position = count - 1;
+		}
+
+		// The finger is only used while no modification happened since it was set.
+		if (finger != NIL && fingerModCount == modCount
+				&& Math.abs(fingerIndex - index) < Math.abs(position - index)) {
+			current = finger;
+			position = fingerIndex;
+		}
+
+		while (position < index) {
+			current = next[current];
+			position++;
+		}
+		while (position > index) {
+			current = previous[current];
+			position--;
+		}
+
+		finger = current;
+		fingerIndex = index;
+		fingerModCount = modCount;
+		return current;
+	}
+
+	/**
+	 * Returns the first slot holding the given element.
+	 *
+	 * @param element the element to look for
+	 * @return the slot, or NIL if the element is not in the list
+	 */
+	private int findSlot(T element) {
+		for (int current = head; current != NIL; current = next[current]) {
+			if (Objects.equals(elements[current], element)) {
+				return current;
+			}
+		}
+		return NIL;
+	}
+
+	/**
+	 * Links a new slot in front of the given slot, or at the rear if the given
+	 * slot is NIL.
+	 *
+	 * @param successor the slot the new slot precedes, NIL to add at the rear
+	 * @param element   the element of the new slot
+	 */
+	private void linkBefore(int successor, T element) {
+		int slot = allocate(element);
+		int predecessor = (successor == NIL) ? tail : previous[successor];
+
+		previous[slot] = predecessor;
+		next[slot] = successor;
+		if (predecessor == NIL) {
+			head = slot;
+		} else {
+			next[predecessor] = slot;
+		}
+		if (successor == NIL) {
+			tail = slot;
+		} else {
+			previous[successor] = slot;
+		}
+		count++;
+		modCount++;
+	}
+
+	/**
+	 * Unlinks a slot from the list and puts it on the free list.
+	 *
+	 * @param slot the slot to be removed
+	 * @return the element of the removed slot
+	 */
+	private T unlink(int slot) {
+		T element = element(slot);
+		if (previous[slot] == NIL) {
+			head = next[slot];
+		} else {
+			next[previous[slot]] = next[slot];
+		}
+		if (next[slot] == NIL) {
+			tail = previous[slot];
+		} else {
+			previous[next[slot]] = previous[slot];
+		}
+		release(slot);
+		count--;
+		modCount++;
+		return element;
+	}
+
+	/**
+	 * Adds the specified element to the front of this list.
+	 *
+	 * @param element the element to be added to the front of this list
+	 */
+	@Override
+	public void addToFront(T element) {
+		linkBefore(head, element);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of this list
+	 */
+	@Override
+	public void addToRear(T element) {
+		linkBefore(NIL, element);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of the list
+	 */
+	@Override
+	public void add(T element) {
+		linkBefore(NIL, element);
+	}
+
+	/**
+	 * Adds the specified element after the specified target.
+	 *
+	 * @param element the element to be added after the target
+	 *
+	 * @param target  the target is the item that the element will be added after
+	 *
+	 * @throws NoSuchElementException if target element is not in this list
+	 */
+	@Override
+	public void addAfter(T element, T target) {
+		int targetSlot = findSlot(target);
+		if (targetSlot == NIL) {
+			throw new NoSuchElementException("Source: addAfter(T element, T target)");
+		}
+		linkBefore(next[targetSlot], element);
+	}
+
+	/**
+	 * Inserts the specified element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be
+	 *                inserted.
+	 * @param element the element to be inserted into the array
+	 *
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index > size)
+	 */
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > count) {
+			throw new IndexOutOfBoundsException("Source: add(index, element)");
+		}
+		linkBefore((index == count) ? NIL : getSlot(index), element);
+	}
+
+	/**
+	 * Removes and returns the first element from this list.
+	 *
+	 * @return the first element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeFirst() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: removeFirst");
+		}
+		return unlink(head);
+	}
+
+	/**
+	 * Removes and returns the last element from this list.
+	 *
+	 * @return the last element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeLast() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: removeLast");
+		}
+		return unlink(tail);
+	}
+
+	/**
+	 * Removes and returns the specified element from this list.
+	 *
+	 * @param element the element to be removed from the list
+	 *
+	 * @return the element that is removed.
+	 *
+	 * @throws NoSuchElementException if element is not in this list
+	 */
+	@Override
+	public T remove(T element) {
+		int slot = findSlot(element);
+		if (slot == NIL) {
+			throw new NoSuchElementException("Source: remove(element)");
+		}
+		return unlink(slot);
+	}
+
+	/**
+	 * Removes and returns the element at the specified index.
+	 *
+	 * @param index the index of the element to be retrieved
+	 * @return the element that is removed.
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: remove(index)");
+		}
+		return unlink(getSlot(index));
+	}
+
+	/**
+	 * Sets the element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be set
+	 * @param element the element to be set into the list
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: set(index, element)");
+		}
+		elements[getSlot(index)] = element;
+		modCount++;
+
+		// The structure didn't change, so the finger is still valid.
+		fingerModCount = modCount;
+	}
+
+	/**
+	 * Returns a reference to the element at the specified index.
+	 *
+	 * @param index the index to which the reference is to be retrieved from
+	 * @return the element at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: get(index)");
+		}
+		return element(getSlot(index));
+	}
+
+	/**
+	 * Returns the index of the specified element.
+	 *
+	 * @param element the element for the index is to be retrieved
+	 * @return the integer index for this element or -1 if element is not in the
+	 *         list
+	 */
+	@Override
+	public int indexOf(T element) {
+		int index = 0;
+		for (int current = head; current != NIL; current = next[current]) {
+			if (Objects.equals(elements[current], element)) {
+				return index;
+			}
+			index++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns a reference to the first element in this list.
+	 *
+	 * @return a reference to the first element in this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T first() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: first() method.");
+		}
+		return element(head);
+	}
+
+	/**
+	 * Returns a reference to the last element in this list.
+	 *
+	 * @return a reference to the last element in this list
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T last() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: last() method.");
+		}
+		return element(tail);
+	}
+
+	/**
+	 * Returns true if this list contains the specified target element.
+	 *
+	 * @param target the target that is being sought in the list
+	 * @return true if the list contains this element, else false
+	 */
+	@Override
+	public boolean contains(T target) {
+		return findSlot(target) != NIL;
+	}
+
+	/**
+	 * Returns true if this list contains no elements.
+	 *
+	 * @return true if this list contains no elements
+	 */
+	@Override
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return count the integer representation of number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns a string representation of the contents of the list.
+	 *
+	 * @return a string of the elements
+	 */
+	@Override
+	public String toString() {
+		if (count == 0) {
+			return "The list is empty.";
+		}
+
+		StringBuilder str = new StringBuilder();
+		for (int current = head; current != NIL; current = next[current]) {
+			if (current != head) {
+				str.append(", ");
+			}
+			str.append(elements[current]);
+		}
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return listIterator();
+	}
+
+	/**
+	 * Returns a new List Iterator object starting at the starting index.
+	 *
+	 * @param startingIndex the index that the new List Iterator starts at.
+	 *
+	 * @return listIterator the new list iterator object at the specified index
+	 */
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new ArenaListIterator(startingIndex);
+	}
+
+	/**
+	 * @return a new ListIterator object.
+	 *
+	 */
+	@Override
+	public ListIterator<T> listIterator() {
+		return new ArenaListIterator(0);
+	}
+
+	/*******************************************************
+	 *
+	 * ListIterator class
+	 *
+	 ********************************************************/
+	private class ArenaListIterator implements ListIterator<T> {
+
+		private int nextSlot; // slot returned by next(), NIL at the end
+		private int position; // index of nextSlot
+		private int iteratorModCount; // modCount expected by the iterator
+		private int lastSlot; // last returned slot, NIL if none
+
+		/**
+		 * Constructor that starts the iterator at the given index.
+		 *
+		 * @param startIndex the index the new List Iterator starts at.
+		 */
+		public ArenaListIterator(int startIndex) {
+			if (startIndex < 0 || startIndex > count) {
+				throw new IndexOutOfBoundsException("Source: listIterator(startingIndex)");
+			}
+			nextSlot = (startIndex == count) ? NIL : getSlot(startIndex);
+			position = startIndex;
+			iteratorModCount = modCount;
+			lastSlot = NIL;
+		}
+
+		/**
+		 * Throws an exception if the list was changed outside the iterator.
+		 */
+		private void checkForComodification() {
+			if (modCount != iteratorModCount) {
+				throw new ConcurrentModificationException("Source: ArenaListIterator");
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < count;
+		}
+
+		@Override
+		public T next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException("Iterator - next - end of list");
+			}
+			lastSlot = nextSlot;
+			nextSlot = next[nextSlot];
+			position++;
+			return element(lastSlot);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return position > 0;
+		}
+
+		@Override
+		public T previous() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException("Iterator - previous - end of list");
+			}
+			nextSlot = (nextSlot == NIL) ? tail : previous[nextSlot];
+			position--;
+			lastSlot = nextSlot;
+			return element(lastSlot);
+		}
+
+		@Override
+		public int nextIndex() {
+			return position;
+		}
+
+		@Override
+		public int previousIndex() {
+			return position - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (lastSlot == NIL) {
+				throw new IllegalStateException("Source: List Iterator remove method");
+			}
+			checkForComodification();
+
+			// The cursor moves back if the removed slot was before it, otherwise the
+			// removed slot was the next one.
+			if (lastSlot == nextSlot) {
+				nextSlot = next[nextSlot];
+			} else {
+				position--;
+			}
+			unlink(lastSlot);
+			lastSlot = NIL;
+			iteratorModCount = modCount;
+		}
+
+		@Override
+		public void set(T e) {
+			if (lastSlot == NIL) {
+				throw new IllegalStateException("Source: List Iterator set method");
+			}
+			checkForComodification();
+			elements[lastSlot] = e;
+			modCount++;
+			iteratorModCount = modCount;
+		}
+
+		@Override
+		public void add(T e) {
+			checkForComodification();
+			linkBefore(nextSlot, e);
+			position++;
+			lastSlot = NIL;
+			iteratorModCount = modCount;
+		}
+	}
+}
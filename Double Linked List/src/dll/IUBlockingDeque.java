@@ -0,0 +1,583 @@
+package dll;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A bounded blocking deque built from DLLNodes, for use as a work buffer
+ * between threads. Threads block while the deque is full (puts) or empty
+ * (takes) instead of spinning on isEmpty.
+ *
+ * The deque has two locks, like LinkedBlockingQueue: a put lock for the rear
+ * and a take lock for the front. The list starts with a dummy node whose next
+ * is the first element, and the count is atomic, so putLast and takeFirst never
+ * touch the same node or lock and producers and consumers do not contend. The
+ * operations at the other ends (putFirst, takeLast) take both locks, always the
+ * put lock first.
+ *
+ * Waiting uses ReentrantLock conditions, which park through LockSupport rather
+ * than blocking inside a monitor, so waiting threads release their carrier
+ * cleanly.
+ *
+ * Null elements are not allowed, because null is what the timed polls return
+ * when they time out.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class IUBlockingDeque<T> {
+
+	private final int capacity; // most elements the deque holds
+	private final AtomicInteger count; // size of the deque
+	private DLLNode<T> head; // dummy node, head.next is the first element
+	private DLLNode<T> last; // last node, head if the deque is empty
+	private final ReentrantLock takeLock; // held by operations on the front
+	private final Condition notEmpty; // waited on by takes
+	private final ReentrantLock putLock; // held by operations on the rear
+	private final Condition notFull; // waited on by puts
+
+	/**
+	 * Default constructor, with no practical bound.
+	 */
+	public IUBlockingDeque() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Constructor with a given capacity.
+	 *
+	 * @param capacity the most elements the deque holds
+	 * @throws IllegalArgumentException if capacity is less than 1
+	 */
+	public IUBlockingDeque(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Source: IUBlockingDeque(capacity)");
+		}
+		this.capacity = capacity;
+		count = new AtomicInteger();
+		head = last = new DLLNode<T>(null);
+		takeLock = new ReentrantLock();
+		notEmpty = takeLock.newCondition();
+		putLock = new ReentrantLock();
+		notFull = putLock.newCondition();
+	}
+
+	/**
+	 * Links a node at the rear. Caller holds the put lock.
+	 *
+	 * @param node the node to be linked
+	 */
+	private void linkLast(DLLNode<T> node) {
+		node.setPrevious(last);
+		last.setNext(node);
+		last = node;
+	}
+
+	/**
+	 * Links a node at the front. Caller holds both locks.
+	 *
+	 * @param node the node to be linked
+	 */
+	private void linkFirst(DLLNode<T> node) {
+		DLLNode<T> first = head.getNext();
+		node.setPrevious(head);
+		node.setNext(first);
+		if (first == null) {
+			last = node;
+		} else {
+			first.setPrevious(node);
+		}
+		head.setNext(node);
+	}
+
+	/**
+	 * Unlinks the first element. The first node becomes the new dummy node.
+	 * Caller holds the take lock and the deque is not empty.
+	 *
+	 * @return the removed element
+	 */
+	private T unlinkFirst() {
+		DLLNode<T> oldHead = head;
+		DLLNode<T> first = oldHead.getNext();
+		head = first;
+
+		// Cuts the old dummy loose so it does not keep the chain behind it alive.
+		oldHead.setNext(null);
+		first.setPrevious(null);
+
+		T element = first.getElement();
+		first.setElement(null);
+		return element;
+	}
+
+	/**
+	 * Unlinks the last element. Caller holds both locks and the deque is not
+	 * empty.
+	 *
+	 * @return the removed element
+	 */
+	private T unlinkLast() {
+		DLLNode<T> node = last;
+		last = node.getPrevious();
+		last.setNext(null);
+		node.setPrevious(null);
+		return node.getElement();
+	}
+
+	/**
+	 * Wakes one thread waiting to take. Called without the take lock held.
+	 */
+	private void signalNotEmpty() {
+		takeLock.lock();
+		try {
+			notEmpty.signal();
+		} finally {
+			takeLock.unlock();
+		}
+	}
+
+	/**
+	 * Wakes one thread waiting to put. Called without the put lock held.
+	 */
+	private void signalNotFull() {
+		putLock.lock();
+		try {
+			notFull.signal();
+		} finally {
+			putLock.unlock();
+		}
+	}
+
+	/**
+	 * Adds an element at the rear, waiting for room as allowed.
+	 *
+	 * @param element the element to be added
+	 * @param timed   true to give up after nanos
+	 * @param nanos   how long to wait for room if timed
+	 * @return true if the element was added
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private boolean insertLast(T element, boolean timed, long nanos) throws InterruptedException {
+		if (element == null) {
+			throw new NullPointerException("Source: putLast(element)");
+		}
+		DLLNode<T> node = new DLLNode<T>(element);
+		int c;
+		putLock.lockInterruptibly();
+		try {
+			while (count.get() == capacity) {
+				if (!timed) {
+					notFull.await();
+				} else if (nanos <= 0L) {
+					return false;
+				} else {
+					nanos = notFull.awaitNanos(nanos);
+				}
+			}
+			linkLast(node);
+			c = count.getAndIncrement();
+
+			// Passes the wakeup on to the next waiting producer if there is still room.
+			if (c + 1 < capacity) {
+				notFull.signal();
+			}
+		} finally {
+			putLock.unlock();
+		}
+		if (c == 0) {
+			signalNotEmpty();
+		}
+		return true;
+	}
+
+	/**
+	 * Adds an element at the front, waiting for room as allowed. Waits holding
+	 * only the put lock, then takes the take lock as well; with both held the
+	 * count cannot grow, so the room is still there.
+	 *
+	 * @param element the element to be added
+	 * @param timed   true to give up after nanos
+	 * @param nanos   how long to wait for room if timed
+	 * @return true if the element was added
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private boolean insertFirst(T element, boolean timed, long nanos) throws InterruptedException {
+		if (element == null) {
+			throw new NullPointerException("Source: putFirst(element)");
+		}
+		DLLNode<T> node = new DLLNode<T>(element);
+		putLock.lockInterruptibly();
+		try {
+			while (count.get() == capacity) {
+				if (!timed) {
+					notFull.await();
+				} else if (nanos <= 0L) {
+					return false;
+				} else {
+					nanos = notFull.awaitNanos(nanos);
+				}
+			}
+			takeLock.lock();
+			try {
+				linkFirst(node);
+				int c = count.getAndIncrement();
+				if (c + 1 < capacity) {
+					notFull.signal();
+				}
+				if (c == 0) {
+					notEmpty.signal();
+				}
+			} finally {
+				takeLock.unlock();
+			}
+		} finally {
+			putLock.unlock();
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the first element, waiting for one as allowed.
+	 *
+	 * @param timed true to give up after nanos
+	 * @param nanos how long to wait for an element if timed
+	 * @return the removed element, or null if the wait timed out
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private T removeFirst(boolean timed, long nanos) throws InterruptedException {
+		T element;
+		int c;
+		takeLock.lockInterruptibly();
+		try {
+			while (count.get() == 0) {
+				if (!timed) {
+					notEmpty.await();
+				} else if (nanos <= 0L) {
+					return null;
+				} else {
+					nanos = notEmpty.awaitNanos(nanos);
+				}
+			}
+			element = unlinkFirst();
+			c = count.getAndDecrement();
+
+			// Passes the wakeup on to the next waiting consumer if elements are left.
+			if (c > 1) {
+				notEmpty.signal();
+			}
+		} finally {
+			takeLock.unlock();
+		}
+		if (c == capacity) {
+			signalNotFull();
+		}
+		return element;
+	}
+
+	/**
+	 * Removes the last element, waiting for one as allowed. Needs both locks, but
+	 * must not hold the put lock while waiting or no producer could add. It
+	 * therefore waits holding only the take lock, then lets go and starts over
+	 * with both locks in the usual order.
+	 *
+	 * @param timed true to give up after nanos
+	 * @param nanos how long to wait for an element if timed
+	 * @return the removed element, or null if the wait timed out
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	private T removeLast(boolean timed, long nanos) throws InterruptedException {
+		putLock.lockInterruptibly();
+		while (true) {
+			takeLock.lock();
+			if (count.get() > 0) {
+				try {
+					T element = unlinkLast();
+					int c = count.getAndDecrement();
+					if (c > 1) {
+						notEmpty.signal();
+					}
+					if (c == capacity) {
+						notFull.signal();
+					}
+					return element;
+				} finally {
+					takeLock.unlock();
+					putLock.unlock();
+				}
+			}
+
+			// Waits for an element with only the take lock held.
+			putLock.unlock();
+			try {
+				if (!timed) {
+					notEmpty.await();
+				} else if (nanos <= 0L) {
+					return null;
+				} else {
+					nanos = notEmpty.awaitNanos(nanos);
+				}
+			} finally {
+				takeLock.unlock();
+			}
+			putLock.lock();
+		}
+	}
+
+	/**
+	 * Adds the specified element to the front, waiting for room if the deque is
+	 * full.
+	 *
+	 * @param element the element to be added
+	 * @throws InterruptedException if interrupted while waiting
+	 * @throws NullPointerException if element is null
+	 */
+	public void putFirst(T element) throws InterruptedException {
+		insertFirst(element, false, 0L);
+	}
+
+	/**
+	 * Adds the specified element to the rear, waiting for room if the deque is
+	 * full.
+	 *
+	 * @param element the element to be added
+	 * @throws InterruptedException if interrupted while waiting
+	 * @throws NullPointerException if element is null
+	 */
+	public void putLast(T element) throws InterruptedException {
+		insertLast(element, false, 0L);
+	}
+
+	/**
+	 * Removes and returns the first element, waiting for one if the deque is
+	 * empty.
+	 *
+	 * @return the first element
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public T takeFirst() throws InterruptedException {
+		return removeFirst(false, 0L);
+	}
+
+	/**
+	 * Removes and returns the last element, waiting for one if the deque is
+	 * empty.
+	 *
+	 * @return the last element
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public T takeLast() throws InterruptedException {
+		return removeLast(false, 0L);
+	}
+
+	/**
+	 * Adds the specified element to the front if there is room.
+	 *
+	 * @param element the element to be added
+	 * @return true if the element was added, false if the deque is full
+	 * @throws NullPointerException if element is null
+	 */
+	public boolean offerFirst(T element) {
+		try {
+			return insertFirst(element, true, 0L);
+		} catch (InterruptedException e) {
+			// Never waits, but keeps the interrupt for the caller.
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Adds the specified element to the rear if there is room.
+	 *
+	 * @param element the element to be added
+	 * @return true if the element was added, false if the deque is full
+	 * @throws NullPointerException if element is null
+	 */
+	public boolean offerLast(T element) {
+		try {
+			return insertLast(element, true, 0L);
+		} catch (InterruptedException e) {
+			// Never waits, but keeps the interrupt for the caller.
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Adds the specified element to the front, waiting up to the given time for
+	 * room.
+	 *
+	 * @param element the element to be added
+	 * @param timeout how long to wait
+	 * @param unit    the unit of timeout
+	 * @return true if the element was added, false if the wait timed out
+	 * @throws InterruptedException if interrupted while waiting
+	 * @throws NullPointerException if element is null
+	 */
+	public boolean offerFirst(T element, long timeout, TimeUnit unit) throws InterruptedException {
+		return insertFirst(element, true, unit.toNanos(timeout));
+	}
+
+	/**
+	 * Adds the specified element to the rear, waiting up to the given time for
+	 * room.
+	 *
+	 * @param element the element to be added
+	 * @param timeout how long to wait
+	 * @param unit    the unit of timeout
+	 * @return true if the element was added, false if the wait timed out
+	 * @throws InterruptedException if interrupted while waiting
+	 * @throws NullPointerException if element is null
+	 */
+	public boolean offerLast(T element, long timeout, TimeUnit unit) throws InterruptedException {
+		return insertLast(element, true, unit.toNanos(timeout));
+	}
+
+	/**
+	 * Removes and returns the first element, or returns null if the deque is
+	 * empty.
+	 *
+	 * @return the first element, or null
+	 */
+	public T pollFirst() {
+		if (count.get() == 0) {
+			return null;
+		}
+		try {
+			return removeFirst(true, 0L);
+		} catch (InterruptedException e) {
+			// Never waits, but keeps the interrupt for the caller.
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/**
+	 * Removes and returns the last element, or returns null if the deque is
+	 * empty.
+	 *
+	 * @return the last element, or null
+	 */
+	public T pollLast() {
+		if (count.get() == 0) {
+			return null;
+		}
+		try {
+			return removeLast(true, 0L);
+		} catch (InterruptedException e) {
+			// Never waits, but keeps the interrupt for the caller.
+			Thread.currentThread().interrupt();
+			return null;
+		}
+	}
+
+	/**
+	 * Removes and returns the first element, waiting up to the given time for
+	 * one.
+	 *
+	 * @param timeout how long to wait
+	 * @param unit    the unit of timeout
+	 * @return the first element, or null if the wait timed out
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public T pollFirst(long timeout, TimeUnit unit) throws InterruptedException {
+		return removeFirst(true, unit.toNanos(timeout));
+	}
+
+	/**
+	 * Removes and returns the last element, waiting up to the given time for one.
+	 *
+	 * @param timeout how long to wait
+	 * @param unit    the unit of timeout
+	 * @return the last element, or null if the wait timed out
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public T pollLast(long timeout, TimeUnit unit) throws InterruptedException {
+		return removeLast(true, unit.toNanos(timeout));
+	}
+
+	/**
+	 * Removes up to max elements from the front and adds them to the collection,
+	 * in order, under one acquisition of the take lock. If adding to the
+	 * collection throws, the elements added so far are removed and the rest stay
+	 * in the deque.
+	 *
+	 * @param collection the collection the elements are added to
+	 * @param max        the most elements to move
+	 * @return the number of elements moved
+	 */
+	public int drainTo(Collection<? super T> collection, int max) {
+		if (collection == null) {
+			throw new NullPointerException("Source: drainTo(collection, max)");
+		}
+		if (max <= 0) {
+			return 0;
+		}
+
+		boolean wasFull = false;
+		int drained = 0;
+		takeLock.lock();
+		try {
+			int n = Math.min(max, count.get());
+			try {
+				while (drained < n) {
+					// Adds before unlinking, so a failing add loses nothing.
+					collection.add(head.getNext().getElement());
+					unlinkFirst();
+					drained++;
+				}
+			} finally {
+				if (drained > 0) {
+					wasFull = count.getAndAdd(-drained) == capacity;
+				}
+			}
+		} finally {
+			takeLock.unlock();
+		}
+		if (wasFull) {
+			signalNotFull();
+		}
+		return drained;
+	}
+
+	/**
+	 * Removes all elements from the front and adds them to the collection.
+	 *
+	 * @param collection the collection the elements are added to
+	 * @return the number of elements moved
+	 */
+	public int drainTo(Collection<? super T> collection) {
+		return drainTo(collection, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns the number of elements in the deque.
+	 *
+	 * @return the number of elements
+	 */
+	public int size() {
+		return count.get();
+	}
+
+	/**
+	 * Returns how many more elements fit before puts start waiting.
+	 *
+	 * @return the remaining capacity
+	 */
+	public int remainingCapacity() {
+		return capacity - count.get();
+	}
+
+	/**
+	 * Returns true if the deque contains no elements.
+	 *
+	 * @return true if the deque contains no elements
+	 */
+	public boolean isEmpty() {
+		return count.get() == 0;
+	}
+}
@@ -0,0 +1,816 @@
+package dll;
+
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class implements the IndexedUnsortedList interface as a lock-free list
+ * that can be shared between threads without external locking. The nodes are
+ * linked by compare-and-set, in the style of a concurrent linked deque:
+ * addToFront, addToRear, add, removeFirst and removeLast are non-blocking and
+ * linearizable, so each takes effect atomically at one point between its call
+ * and its return.
+ *
+ * The next links are the authoritative order of the list. A node is removed in
+ * two steps: its next link is first swapped for a marker, which removes it
+ * logically and stops any thread from linking after it, and then its
+ * predecessor is linked past it. Any thread that walks over a marked node
+ * finishes the second step. The previous links are only hints that lead back
+ * to some earlier node, which is enough to find the rear and to step an
+ * iterator backwards.
+ *
+ * Everything that depends on a position (get, set, add(index, element),
+ * addAfter, remove(index), indexOf) walks the list while other threads may be
+ * changing it. These operations are best-effort: the index they use or return
+ * is correct for the moment the walk passed it, not necessarily for the moment
+ * they return. A node found by a walk is only changed if it is still in the
+ * list, so an insert after it or a removal of it never acts on a node that
+ * another thread removed. set only replaces the element of a node, so a
+ * concurrent removal of that node may win and drop the new element. size() is
+ * an estimate while adds and removes are in flight.
+ *
+ * Iterators and list iterators are weakly consistent: they never throw
+ * ConcurrentModificationException, return each element at most once per
+ * direction of travel, and may or may not see changes made after they were
+ * created. Their indexes, set, add and remove are best-effort in the same way
+ * as the indexed operations.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class IUConcurrentLinkedList<T> implements IndexedUnsortedList<T> {
+
+	private final ConcurrentDLLNode<T> head; // dummy node in front of the first element, never removed
+	private volatile ConcurrentDLLNode<T> tail; // hint to the last node, or to a node before it
+	private final LongAdder count; // number of nodes linked, updated after each link
+
+	/**
+	 * Default constructor
+	 */
+	public IUConcurrentLinkedList() {
+		head = new ConcurrentDLLNode<T>(null);
+		tail = head;
+		count = new LongAdder();
+	}
+
+	/**
+	 * Returns the first node after the given node that is still in the list. Nodes
+	 * that are marked as removed are unlinked on the way. If the given node was
+	 * removed itself, the walk carries on from the successor it had when it was
+	 * removed.
+	 *
+	 * @param node the node to start after
+	 * @return the next node in the list, or null if there is none
+	 */
+	private ConcurrentDLLNode<T> nextLive(ConcurrentDLLNode<T> node) {
+		ConcurrentDLLNode<T> current = node;
+		while (true) {
+			ConcurrentDLLNode<T> next = current.getNext();
+			if (next == null) {
+				return null;
+			}
+			if (next.isMarker()) {
+				// The current node was removed; its marker holds the old successor.
+				current = next;
+				continue;
+			}
+			ConcurrentDLLNode<T> afterNext = next.getNext();
+			if (afterNext == null || !afterNext.isMarker()) {
+				return next;
+			}
+
+			// The next node was removed but not unlinked yet.
+			if (current.isMarker()) {
+				current = afterNext;
+			} else {
+				unlink(current, next);
+			}
+		}
+	}
+
+	/**
+	 * Follows the previous hints from a node back to the nearest node that is
+	 * still in the list.
+	 *
+	 * @param node a node other than the head
+	 * @return an earlier node that is still in the list, or the head
+	 */
+	private ConcurrentDLLNode<T> backOff(ConcurrentDLLNode<T> node) {
+		ConcurrentDLLNode<T> current = node.getPrevious();
+		while (current != head && current.isRemoved()) {
+			current = current.getPrevious();
+		}
+		return current;
+	}
+
+	/**
+	 * Returns the last node in the list that comes before the given node. If the
+	 * node was removed, its old place in the list is used.
+	 *
+	 * @param node a node other than the head
+	 * @return the node before it, or the head if there is none
+	 */
+	private ConcurrentDLLNode<T> livePredecessor(ConcurrentDLLNode<T> node) {
+		// A removed node may be unlinked already; the walk then stops at the node
+		// that took its place.
+		ConcurrentDLLNode<T> bound = node.isRemoved() ? nextLive(node) : node;
+		ConcurrentDLLNode<T> current = backOff(node);
+		while (true) {
+			ConcurrentDLLNode<T> next = nextLive(current);
+			if (next == null || next == node || next == bound) {
+				return current;
+			}
+			current = next;
+		}
+	}
+
+	/**
+	 * Returns the last node of the list. Starts at the tail hint, backs off to a
+	 * node that is still in the list and walks forwards to the node without a
+	 * successor.
+	 *
+	 * @return the last node, or the head if the list is empty
+	 */
+	private ConcurrentDLLNode<T> findLast() {
+		ConcurrentDLLNode<T> current = tail;
+		if (current != head && current.isRemoved()) {
+			current = backOff(current);
+		}
+		while (true) {
+			ConcurrentDLLNode<T> next = current.getNext();
+			if (next == null) {
+				return current;
+			}
+			if (next.isMarker()) {
+				// Removed while we were on it. Carry on past it, or back off if it was last.
+				current = (next.getNext() != null) ? next.getNext() : backOff(current);
+				continue;
+			}
+			ConcurrentDLLNode<T> afterNext = next.getNext();
+			if (afterNext != null && afterNext.isMarker()) {
+				unlink(current, next);
+				continue;
+			}
+			current = next;
+		}
+	}
+
+	/**
+	 * Links a node that was marked as removed out of the list, if the given node
+	 * is still its predecessor. Otherwise a later walk unlinks it.
+	 *
+	 * @param previous the node in front of the removed node
+	 * @param node     the removed node
+	 */
+	private void unlink(ConcurrentDLLNode<T> previous, ConcurrentDLLNode<T> node) {
+		ConcurrentDLLNode<T> successor = node.getNext().getNext();
+		if (previous.casNext(node, successor)) {
+			if (successor != null) {
+				successor.setPrevious(previous);
+			} else if (tail == node) {
+				tail = previous;
+			}
+		}
+	}
+
+	/**
+	 * Links a new node right after the given node.
+	 *
+	 * @param node    the node the new node follows
+	 * @param newNode the node to be linked
+	 * @return false if the given node has been removed
+	 */
+	private boolean linkAfter(ConcurrentDLLNode<T> node, ConcurrentDLLNode<T> newNode) {
+		while (true) {
+			ConcurrentDLLNode<T> next = node.getNext();
+			if (next != null && next.isMarker()) {
+				return false;
+			}
+			newNode.setPrevious(node);
+			newNode.setNext(next);
+			if (node.casNext(next, newNode)) {
+				if (next != null) {
+					next.setPrevious(newNode);
+				} else {
+					tail = newNode;
+				}
+				count.increment();
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Removes a node found by a walk, if no other thread has removed it first.
+	 *
+	 * @param previous the node in front of it when the walk found it
+	 * @param node     the node to remove
+	 * @return true if this call removed the node
+	 */
+	private boolean removeNode(ConcurrentDLLNode<T> previous, ConcurrentDLLNode<T> node) {
+		if (!node.markRemoved()) {
+			return false;
+		}
+		count.decrement();
+		unlink(previous, node);
+		return true;
+	}
+
+	/**
+	 * Returns the node at the specified index as seen by one walk of the list.
+	 *
+	 * @param index the index of the node, or -1 for the head
+	 * @return the node, or null if the walk ended before the index
+	 */
+	private ConcurrentDLLNode<T> nodeAt(int index) {
+		ConcurrentDLLNode<T> current = head;
+		for (int i = -1; i < index && current != null; i++) {
+			current = nextLive(current);
+		}
+		return current;
+	}
+
+	/**
+	 * Adds the specified element to the front of this list.
+	 *
+	 * @param element the element to be added to the front of this list
+	 */
+	@Override
+	public void addToFront(T element) {
+		// The head is never removed, so this always succeeds.
+		linkAfter(head, new ConcurrentDLLNode<T>(element));
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list. The new node is only
+	 * linked after a node that has no successor at that moment.
+	 *
+	 * @param element the element to be added to the rear of this list
+	 */
+	@Override
+	public void addToRear(T element) {
+		ConcurrentDLLNode<T> newNode = new ConcurrentDLLNode<T>(element);
+		while (true) {
+			ConcurrentDLLNode<T> last = findLast();
+			newNode.setPrevious(last);
+			if (last.casNext(null, newNode)) {
+				tail = newNode;
+				count.increment();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of the list
+	 */
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	/**
+	 * Adds the specified element after the first occurrence of the target. If
+	 * another thread removes that occurrence first, the target is looked up
+	 * again.
+	 *
+	 * @param element the element to be added after the target
+	 * @param target  the target is the item that the element will be added after
+	 * @throws NoSuchElementException if target element is not in this list
+	 */
+	@Override
+	public void addAfter(T element, T target) {
+		ConcurrentDLLNode<T> newNode = new ConcurrentDLLNode<T>(element);
+		while (true) {
+			ConcurrentDLLNode<T> current = nextLive(head);
+			while (current != null && !Objects.equals(current.getElement(), target)) {
+				current = nextLive(current);
+			}
+			if (current == null) {
+				throw new NoSuchElementException("Source: addAfter(element, target)");
+			}
+			if (linkAfter(current, newNode)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Inserts the specified element at the specified index. If another thread
+	 * removes the node in front of the index first, the index is looked up again.
+	 *
+	 * @param index   the index into the array to which the element is to be
+	 *                inserted.
+	 * @param element the element to be inserted into the array
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0
+	 *                                   || index > size)
+	 */
+	@Override
+	public void add(int index, T element) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException("Source: add(index, element)");
+		}
+		ConcurrentDLLNode<T> newNode = new ConcurrentDLLNode<T>(element);
+		while (true) {
+			ConcurrentDLLNode<T> previous = nodeAt(index - 1);
+			if (previous == null) {
+				throw new IndexOutOfBoundsException("Source: add(index, element)");
+			}
+			if (linkAfter(previous, newNode)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the first element from this list. The first node is
+	 * only taken while it directly follows the head, so the removal takes effect
+	 * when this call last saw it there.
+	 *
+	 * @return the first element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeFirst() {
+		while (true) {
+			ConcurrentDLLNode<T> first = head.getNext();
+			if (first == null) {
+				throw new NoSuchElementException("Source: removeFirst");
+			}
+			if (first.isRemoved()) {
+				unlink(head, first);
+				continue;
+			}
+			if (removeNode(head, first)) {
+				return first.getElement();
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the last element from this list. The last node is only
+	 * marked as removed while it still has no successor.
+	 *
+	 * @return the last element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeLast() {
+		while (true) {
+			ConcurrentDLLNode<T> last = findLast();
+			if (last == head) {
+				throw new NoSuchElementException("Source: removeLast");
+			}
+			if (last.markRemovedIfLast()) {
+				count.decrement();
+				unlink(backOff(last), last);
+				return last.getElement();
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the first occurrence of the specified element. If
+	 * another thread removes that occurrence first, the walk starts over.
+	 *
+	 * @param element the element to be removed from the list
+	 *
+	 * @return the element that is removed.
+	 *
+	 * @throws NoSuchElementException if element is not in this list
+	 */
+	@Override
+	public T remove(T element) {
+		while (true) {
+			ConcurrentDLLNode<T> previous = head;
+			ConcurrentDLLNode<T> current = nextLive(head);
+			while (current != null && !Objects.equals(current.getElement(), element)) {
+				previous = current;
+				current = nextLive(current);
+			}
+			if (current == null) {
+				throw new NoSuchElementException("Source: remove(element)");
+			}
+			T removed = current.getElement();
+			if (removeNode(previous, current)) {
+				return removed;
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the element at the specified index. If another thread
+	 * removes the node first, the index is looked up again.
+	 *
+	 * @param index the index of the element to be retrieved
+	 * @return the element that is removed.
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T remove(int index) {
+		if (index < 0) {
+			throw new IndexOutOfBoundsException("Source: remove(index)");
+		}
+		while (true) {
+			ConcurrentDLLNode<T> previous = nodeAt(index - 1);
+			ConcurrentDLLNode<T> current = (previous == null) ? null : nextLive(previous);
+			if (current == null) {
+				throw new IndexOutOfBoundsException("Source: remove(index)");
+			}
+			T removed = current.getElement();
+			if (removeNode(previous, current)) {
+				return removed;
+			}
+		}
+	}
+
+	/**
+	 * Sets the element at the specified index. The element is replaced inside
+	 * its node, so a concurrent remove of that node may win and drop the new
+	 * element.
+	 *
+	 * @param index   the index into the array to which the element is to be set
+	 * @param element the element to be set into the list
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public void set(int index, T element) {
+		ConcurrentDLLNode<T> node = (index < 0) ? null : nodeAt(index);
+		if (node == null) {
+			throw new IndexOutOfBoundsException("Source: set(index, element)");
+		}
+		node.setElement(element);
+	}
+
+	/**
+	 * Returns a reference to the element at the specified index.
+	 *
+	 * @param index the index to which the reference is to be retrieved from
+	 * @return the element at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T get(int index) {
+		ConcurrentDLLNode<T> node = (index < 0) ? null : nodeAt(index);
+		if (node == null) {
+			throw new IndexOutOfBoundsException("Source: get(index)");
+		}
+		return node.getElement();
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the specified element.
+	 *
+	 * @param element the element for the index is to be retrieved
+	 * @return the integer index for this element or -1 if element is not in the
+	 *         list
+	 */
+	@Override
+	public int indexOf(T element) {
+		int index = 0;
+		for (ConcurrentDLLNode<T> current = nextLive(head); current != null; current = nextLive(current)) {
+			if (Objects.equals(current.getElement(), element)) {
+				return index;
+			}
+			index++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns a reference to the first element in this list.
+	 *
+	 * @return a reference to the first element in this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T first() {
+		ConcurrentDLLNode<T> node = nextLive(head);
+		if (node == null) {
+			throw new NoSuchElementException("Source: first() method.");
+		}
+		return node.getElement();
+	}
+
+	/**
+	 * Returns a reference to the last element in this list.
+	 *
+	 * @return a reference to the last element in this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T last() {
+		ConcurrentDLLNode<T> node = findLast();
+		if (node == head) {
+			throw new NoSuchElementException("Source: last() method.");
+		}
+		return node.getElement();
+	}
+
+	/**
+	 * Returns true if this list contains the specified target element.
+	 *
+	 * @param target the target that is being looked for.
+	 * @return true if this list contains the target
+	 */
+	@Override
+	public boolean contains(T target) {
+		return indexOf(target) != -1;
+	}
+
+	/**
+	 * Returns true if this list contains no elements.
+	 *
+	 * @return true if this list contains no elements
+	 */
+	@Override
+	public boolean isEmpty() {
+		return nextLive(head) == null;
+	}
+
+	/**
+	 * Returns the number of elements in this list. While other threads are adding
+	 * or removing, the result is an estimate.
+	 *
+	 * @return the integer representation of number of elements in this list
+	 */
+	@Override
+	public int size() {
+		long size = count.sum();
+		return (int) Math.max(0, Math.min(size, Integer.MAX_VALUE));
+	}
+
+	/**
+	 * Returns a string representation of the contents of the list.
+	 *
+	 * @return a string of the elements
+	 */
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		for (ConcurrentDLLNode<T> current = nextLive(head); current != null; current = nextLive(current)) {
+			if (str.length() > 0) {
+				str.append(", ");
+			}
+			str.append(current.getElement());
+		}
+		return (str.length() == 0) ? "The list is empty." : str.toString();
+	}
+
+	/**
+	 * Returns a weakly consistent iterator. Its remove removes the node that was
+	 * last returned, if no other thread has removed it already.
+	 *
+	 * @return an iterator over the elements in list order
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new ConcurrentListIterator(head, 0);
+	}
+
+	/**
+	 * Returns a weakly consistent list iterator positioned before the element
+	 * that one walk of the list finds at the starting index.
+	 *
+	 * @param startingIndex the index that the new List Iterator starts at.
+	 * @return a list iterator over the elements in list order
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index > size)
+	 */
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		ConcurrentDLLNode<T> cursor = (startingIndex < 0) ? null : nodeAt(startingIndex - 1);
+		if (cursor == null) {
+			throw new IndexOutOfBoundsException("Source: listIterator(startingIndex)");
+		}
+		return new ConcurrentListIterator(cursor, startingIndex);
+	}
+
+	/**
+	 * Returns a weakly consistent list iterator positioned before the first
+	 * element.
+	 *
+	 * @return a list iterator over the elements in list order
+	 */
+	@Override
+	public ListIterator<T> listIterator() {
+		return new ConcurrentListIterator(head, 0);
+	}
+
+	/**
+	 * Returns a weakly consistent spliterator. It is not SIZED, because the size
+	 * may change while it runs.
+	 *
+	 * @return a spliterator over the elements in list order
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED | Spliterator.CONCURRENT);
+	}
+
+	/*******************************************************
+	 *
+	 * ListIterator class
+	 *
+	 ********************************************************/
+	private class ConcurrentListIterator implements ListIterator<T> {
+
+		private ConcurrentDLLNode<T> cursor; // node previous() would return, the head at the start
+		private ConcurrentDLLNode<T> lastReturned; // node returned by the last next() or previous(), else null
+		private int position; // index of the element next() would return, best-effort
+		private ConcurrentDLLNode<T> pending; // node found by hasNext() or hasPrevious(), else null
+		private T pendingElement; // element of the pending node when it was found
+		private boolean pendingForward; // true if the pending node was found by hasNext()
+
+		/**
+		 * Constructor that starts the iterator after the given node.
+		 *
+		 * @param cursor   the node before the first element next() returns
+		 * @param position the index of that element
+		 */
+		private ConcurrentListIterator(ConcurrentDLLNode<T> cursor, int position) {
+			this.cursor = cursor;
+			this.position = position;
+		}
+
+		/**
+		 * Remembers the node the next call in the given direction returns, so a
+		 * true hasNext() or hasPrevious() is never followed by a
+		 * NoSuchElementException.
+		 *
+		 * @param forward true to look after the cursor, false to look at or before it
+		 * @return true if there is such a node
+		 */
+		private boolean findPending(boolean forward) {
+			if (pending == null || pendingForward != forward) {
+				ConcurrentDLLNode<T> node;
+				if (forward) {
+					node = nextLive(cursor);
+				} else if (cursor == head) {
+					node = null;
+				} else {
+					node = cursor.isRemoved() ? livePredecessor(cursor) : cursor;
+					if (node == head) {
+						node = null;
+					}
+				}
+				pending = node;
+				pendingElement = (node == null) ? null : node.getElement();
+				pendingForward = forward;
+			}
+			return pending != null;
+		}
+
+		/**
+		 * Returns true if there is a next element, as seen by one walk from the
+		 * cursor.
+		 *
+		 * @return true if next() will return an element
+		 */
+		@Override
+		public boolean hasNext() {
+			return findPending(true);
+		}
+
+		/**
+		 * Returns the next element and moves the cursor past it.
+		 *
+		 * @return the next element
+		 * @throws NoSuchElementException if there is no next element
+		 */
+		@Override
+		public T next() {
+			if (!findPending(true)) {
+				throw new NoSuchElementException("Iterator - next - end of list");
+			}
+			T element = pendingElement;
+			cursor = pending;
+			lastReturned = pending;
+			pending = null;
+			position++;
+			return element;
+		}
+
+		/**
+		 * Returns true if there is a previous element, as seen from the cursor.
+		 *
+		 * @return true if previous() will return an element
+		 */
+		@Override
+		public boolean hasPrevious() {
+			return findPending(false);
+		}
+
+		/**
+		 * Returns the previous element and moves the cursor in front of it.
+		 *
+		 * @return the previous element
+		 * @throws NoSuchElementException if there is no previous element
+		 */
+		@Override
+		public T previous() {
+			if (!findPending(false)) {
+				throw new NoSuchElementException("Iterator - previous - end of list");
+			}
+			T element = pendingElement;
+			lastReturned = pending;
+			cursor = livePredecessor(pending);
+			pending = null;
+			position = Math.max(0, position - 1);
+			return element;
+		}
+
+		/**
+		 * Returns the index of the element that would be returned by a subsequent call
+		 * to next(), counted by this iterator's own moves.
+		 *
+		 * @return position the index of the next element
+		 */
+		@Override
+		public int nextIndex() {
+			return position;
+		}
+
+		/**
+		 * Returns the index of the element that would be returned by a subsequent call
+		 * to previous(), counted by this iterator's own moves.
+		 *
+		 * @return the index of the previous element
+		 */
+		@Override
+		public int previousIndex() {
+			return position - 1;
+		}
+
+		/**
+		 * Removes the node last returned by next() or previous(), if no other thread
+		 * has removed it already.
+		 */
+		@Override
+		public void remove() {
+			if (lastReturned == null) {
+				throw new IllegalStateException("Source: List Iterator remove method");
+			}
+			ConcurrentDLLNode<T> previous = livePredecessor(lastReturned);
+			removeNode(previous, lastReturned);
+			if (lastReturned == cursor) {
+				// Removed after next(): the cursor steps back over the gap.
+				cursor = previous;
+				position = Math.max(0, position - 1);
+			}
+			lastReturned = null;
+			pending = null;
+		}
+
+		/**
+		 * Replaces the element of the node last returned by next() or previous().
+		 * If another thread removes that node, the new element goes with it.
+		 *
+		 * @param e the new element inserted into the list
+		 */
+		@Override
+		public void set(T e) {
+			if (lastReturned == null) {
+				throw new IllegalStateException("Source: List Iterator set method");
+			}
+			lastReturned.setElement(e);
+			pending = null;
+		}
+
+		/**
+		 * Inserts the specified element at the cursor: after the element previous()
+		 * would return and before the element next() would return. If the node in
+		 * front of the cursor was removed by another thread, the element goes after
+		 * the nearest node in front of it that is still in the list.
+		 *
+		 * @param e the new element added to the list
+		 */
+		@Override
+		public void add(T e) {
+			ConcurrentDLLNode<T> newNode = new ConcurrentDLLNode<T>(e);
+			ConcurrentDLLNode<T> previous = cursor;
+			while (!linkAfter(previous, newNode)) {
+				previous = livePredecessor(previous);
+			}
+			cursor = newNode;
+			lastReturned = null;
+			pending = null;
+			position++;
+		}
+	}
+}
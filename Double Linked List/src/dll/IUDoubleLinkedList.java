@@ -0,0 +1,2970 @@
+package dll;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * This class implements the IndexedUnsortedList interface as a double linked
+ * list.
+ *
+ * A list constructed as hash indexed keeps a map from every element to the
+ * nodes holding it. contains, remove(element) and addAfter then find their node
+ * in constant expected time, and elements are compared with equals and
+ * hashCode instead of ==. If an element occurs more than once, the by-value
+ * operations use its most recently added occurrence.
+ *
+ * A list constructed as versioned can hand out snapshot iterators, which walk
+ * the list as it was when they were created while the list keeps changing.
+ * While snapshots are open, nodes remember the links and elements that later
+ * writes replace; once no open snapshot needs them they are dropped.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class IUDoubleLinkedList<T> implements IndexedUnsortedList<T> {
+	private static final int PARALLEL_THRESHOLD = 8192; // smallest list scanned in parallel
+	private static final int STOP_CHECK_INTERVAL = 1024; // nodes scanned between early exit checks
+	public static final int DEFAULT_TRAVERSAL_EVENT_THRESHOLD = 1024; // nodes walked before a JFR event
+	public static final int TO_STRING_LIMIT = 1000; // most elements toString() writes out
+
+	private int count; // size of the list
+	private int modCount; // tracks changes to the list
+	public DLLNode<T> head, tail; // head and tail nodes
+	public DLLNode<T> end; // dummy node for the end of the list
+	private DLLNode<T> finger; // most recently used node of an indexed operation
+	private int fingerIndex; // index of the finger node
+	private int fingerModCount; // modCount at the time the finger was set
+	private HashMap<T, Occurrence<T>> nodeIndex; // element to its newest occurrence, null if not hash indexed
+	private IdentityHashMap<DLLNode<T>, Occurrence<T>> duplicates; // occurrences of elements held more than once
+	private IdentityHashMap<DLLNode<T>, Handle<T>> handles; // handles of live nodes, null until one is issued
+	private boolean versioned; // true if nodes keep history for snapshot iterators
+	private int version; // current version, advanced by every snapshot
+	private TreeMap<Integer, Integer> snapshots; // number of open snapshots per version
+	private ListMetricsRecorder metrics; // records operations, null while metrics are disabled
+	private int walked; // nodes walked by the operation in progress
+	private int traversalEventThreshold = DEFAULT_TRAVERSAL_EVENT_THRESHOLD; // nodes walked before a JFR event
+
+	/**
+	 * Default constructor
+	 */
+	public IUDoubleLinkedList() {
+
+		// Initializes head and tail nodes.
+		head = tail = null;
+
+		// Sets number of nodes to 0.
+		count = 0;
+
+		modCount = 0;
+
+		end = new DLLNode<T>(null);
+
+		// No node has been visited yet.
+		finger = null;
+
+		// The hash index is off by default.
+		nodeIndex = null;
+	}
+
+	/**
+	 * Constructor that optionally keeps a hash index from elements to nodes.
+	 *
+	 * @param hashIndexed true to look elements up through a hash index
+	 */
+	public IUDoubleLinkedList(boolean hashIndexed) {
+		this();
+		if (hashIndexed) {
+			nodeIndex = new HashMap<T, Occurrence<T>>();
+		}
+	}
+
+	/**
+	 * Constructor that optionally keeps a hash index and optionally keeps the
+	 * history snapshot iterators need.
+	 *
+	 * @param hashIndexed true to look elements up through a hash index
+	 * @param versioned   true to support snapshotIterator()
+	 */
+	public IUDoubleLinkedList(boolean hashIndexed, boolean versioned) {
+		this(hashIndexed);
+		if (versioned) {
+			this.versioned = true;
+			snapshots = new TreeMap<Integer, Integer>();
+		}
+	}
+
+	/**
+	 * Creates a node for an element of this list.
+	 *
+	 * @param element the element of the node
+	 * @return a versioned node if the list is versioned, else a plain node
+	 */
+	private DLLNode<T> createNode(T element) {
+		if (versioned) {
+			return new VersionedDLLNode<T>(element, this);
+		}
+		return new DLLNode<T>(element);
+	}
+
+	/**
+	 * One node of an element in the hash index. The occurrences of an element form
+	 * a chain from the most recently indexed node to the oldest, and the index
+	 * maps the element to the newest one. Occurrences of an element held more
+	 * than once are also kept in the duplicates map, so any of them can be
+	 * unindexed in O(1).
+	 *
+	 * @param <T>
+	 */
+	private static final class Occurrence<T> {
+		private final DLLNode<T> node; // the indexed node
+		private Occurrence<T> older, newer; // neighbouring occurrences of the same element
+
+		private Occurrence(DLLNode<T> node) {
+			this.node = node;
+		}
+	}
+
+	/**
+	 * Adds a node to the hash index under its element.
+	 *
+	 * @param node the node to be indexed
+	 */
+	private void indexNode(DLLNode<T> node) {
+		// The end node holds no element and is never indexed.
+		if (nodeIndex != null && node != end) {
+			Occurrence<T> occurrence = new Occurrence<T>(node);
+			Occurrence<T> newest = nodeIndex.put(node.getElement(), occurrence);
+			if (newest != null) {
+				// The element is now held more than once.
+				occurrence.older = newest;
+				newest.newer = occurrence;
+				if (duplicates == null) {
+					duplicates = new IdentityHashMap<DLLNode<T>, Occurrence<T>>();
+				}
+				if (newest.older == null) {
+					duplicates.put(newest.node, newest);
+				}
+				duplicates.put(node, occurrence);
+			}
+		}
+	}
+
+	/**
+	 * Removes a node from the hash index in O(1), however often its element
+	 * occurs.
+	 *
+	 * @param node the node to be removed from the index
+	 */
+	private void unindexNode(DLLNode<T> node) {
+		if (nodeIndex == null || node == end) {
+			return;
+		}
+		T element = node.getElement();
+		Occurrence<T> newest = nodeIndex.get(element);
+		if (newest == null) {
+			return;
+		}
+
+		// The only occurrence of its element.
+		if (newest.node == node && newest.older == null) {
+			nodeIndex.remove(element);
+			return;
+		}
+
+		Occurrence<T> occurrence = (duplicates == null) ? null : duplicates.remove(node);
+		if (occurrence == null) {
+			return;
+		}
+		if (occurrence.older != null) {
+			occurrence.older.newer = occurrence.newer;
+		}
+		if (occurrence.newer != null) {
+			occurrence.newer.older = occurrence.older;
+		} else {
+			newest = occurrence.older;
+			nodeIndex.put(element, newest);
+		}
+
+		// An element left with one occurrence no longer needs the duplicates map.
+		if (newest.older == null) {
+			duplicates.remove(newest.node);
+		}
+	}
+
+	/**
+	 * Returns the most recently added node holding the element, using the hash
+	 * index.
+	 *
+	 * @param element the element to look for
+	 * @return the node, or null if the element is not in the list
+	 */
+	private DLLNode<T> findIndexedNode(T element) {
+		Occurrence<T> newest = nodeIndex.get(element);
+		return (newest == null) ? null : newest.node;
+	}
+
+	/**
+	 * Called after a node was linked into the list.
+	 *
+	 * @param node the new node
+	 */
+	private void nodeLinked(DLLNode<T> node) {
+		indexNode(node);
+	}
+
+	/**
+	 * Called after a node was unlinked from the list.
+	 *
+	 * @param node the removed node
+	 */
+	private void nodeUnlinked(DLLNode<T> node) {
+		unindexNode(node);
+
+		// A handle to a removed node goes stale.
+		if (handles != null) {
+			Handle<T> handle = handles.remove(node);
+			if (handle != null) {
+				handle.node = null;
+			}
+		}
+	}
+
+	/**
+	 * Links a new node right after the given node.
+	 *
+	 * @param node    the node the new node follows
+	 * @param newNode the node to be linked
+	 */
+	private void linkAfter(DLLNode<T> node, DLLNode<T> newNode) {
+		newNode.setPrevious(node);
+		if (node == tail) {
+			// The new node becomes the tail.
+			node.setNext(newNode);
+			tail = newNode;
+			tail.setNext(end);
+			end.setPrevious(tail);
+		} else {
+			newNode.setNext(node.getNext());
+			node.getNext().setPrevious(newNode);
+			node.setNext(newNode);
+		}
+		count++;
+		modCount++;
+		nodeLinked(newNode);
+	}
+
+	/**
+	 * Links a new node right before the given node.
+	 *
+	 * @param node    the node the new node precedes
+	 * @param newNode the node to be linked
+	 */
+	private void linkBefore(DLLNode<T> node, DLLNode<T> newNode) {
+		if (node != head) {
+			linkAfter(node.getPrevious(), newNode);
+			return;
+		}
+
+		// The new node becomes the head.
+		newNode.setPrevious(null);
+		newNode.setNext(head);
+		head.setPrevious(newNode);
+		head = newNode;
+		count++;
+		modCount++;
+		nodeLinked(newNode);
+	}
+
+	/**
+	 * Unlinks the given node from the list.
+	 *
+	 * @param node the node to be removed
+	 * @return the element of the removed node
+	 */
+	private T unlinkNode(DLLNode<T> node) {
+		if (count == 1) {
+			// Removes the only node.
+			head = null;
+			tail = null;
+			end.setPrevious(null);
+		} else if (node == head) {
+			head = node.getNext();
+			head.setPrevious(null);
+		} else if (node == tail) {
+			tail = node.getPrevious();
+			tail.setNext(end);
+			end.setPrevious(tail);
+		} else {
+			node.getPrevious().setNext(node.getNext());
+			node.getNext().setPrevious(node.getPrevious());
+		}
+		node.setNext(null);
+		node.setPrevious(null);
+		count--;
+		modCount++;
+		nodeUnlinked(node);
+		return node.getElement();
+	}
+
+	/**
+	 * Returns the node at the specified index. The walk starts from whichever of
+	 * head, tail or the finger is closest to the index and moves in the right
+	 * direction, then leaves the finger on the returned node.
+	 *
+	 * @param index the index of the node, must be in range (0 <= index < size)
+	 * @return the node at the given index
+	 */
+	private DLLNode<T> getNode(int index) {
+
+		// Starts from the head or the tail, whichever is closer.
+		DLLNode<T> current = head;
+		int position = 0;
+		if (index > (count - 1) - index) {
+			current = tail;
+			position = count - 1;
+		}
+
+		// The finger is only used while no modification happened since it was set.
+		if (finger != null && fingerModCount == modCount
+				&& Math.abs(fingerIndex - index) < Math.abs(position - index)) {
+			current = finger;
+			position = fingerIndex;
+		}
+		walked += Math.abs(position - index);
+
+		// Walks towards the index in whichever direction is needed.
+		while (position < index) {
+			current = current.getNext();
+			position++;
+		}
+		while (position > index) {
+			current = current.getPrevious();
+			position--;
+		}
+
+		setFinger(index, current);
+		return current;
+	}
+
+	/**
+	 * Remembers the node at the given index so the next indexed operation can
+	 * start from it. The finger is stamped with the current modCount.
+	 *
+	 * @param index the index of the node
+	 * @param node  the node at the given index
+	 */
+	private void setFinger(int index, DLLNode<T> node) {
+		finger = node;
+		fingerIndex = index;
+		fingerModCount = modCount;
+	}
+
+	/**
+	 * Adds the specified element to the front of this list.
+	 *
+	 * @param element the element to be added to the front of this list
+	 */
+	@Override
+	public void addToFront(T element) {
+		DLLNode<T> temp = createNode(element);
+		DLLNode<T> oldHead = head;
+		// Adds the new element to an empty list.
+		if (head == null && tail == null) {
+			head = temp;
+			tail = temp;
+			head.setNext(tail);
+			tail.setPrevious(head);
+			tail.setNext(end);
+			end.setPrevious(tail);
+			// Adds the new element to the list.
+		} else {
+			head = temp;
+			head.setNext(oldHead);
+			oldHead.setPrevious(head);
+		}
+		count++;
+		modCount++;
+		nodeLinked(temp);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of this list
+	 */
+	@Override
+	public void addToRear(T element) {
+		// Creates a new node to be added to the list.
+		DLLNode<T> temp = createNode(element);
+
+		// Adds the new element to an empty list.
+		if (tail == null && head == null) {
+			head = temp;
+			tail = temp;
+			head.setNext(tail);
+			tail.setPrevious(head);
+			tail.setNext(end);
+			end.setPrevious(tail);
+
+			// Adds the new element to the list.
+		} else {
+			tail.setNext(temp);
+			temp.setPrevious(tail);
+			tail = temp;
+			tail.setNext(end);
+			end.setPrevious(tail);
+		}
+		count++;
+		modCount++;
+		nodeLinked(temp);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of the list
+	 */
+	@Override
+	public void add(T element) {
+
+		// Creates a new node to be added to the list.
+		DLLNode<T> temp = createNode(element);
+
+		// Adds the new element to an empty list.
+		if (tail == null && head == null) {
+			head = temp;
+			tail = temp;
+			head.setNext(tail);
+			tail.setPrevious(head);
+			tail.setNext(end);
+			end.setPrevious(tail);
+
+		} else {
+
+			// Adds the new element to an unempty list.
+			tail.setNext(temp);
+			temp.setPrevious(tail);
+			tail = temp;
+			tail.setNext(end);
+			end.setPrevious(tail);
+		}
+		count++;
+		modCount++;
+		nodeLinked(temp);
+	}
+
+	/**
+	 * Adds the specified element after the specified target.
+	 *
+	 * @param element the element to be added after the target
+	 *
+	 * @param target  the target is the item that the element will be added after
+	 *
+	 * @throws NoSuchElementException if target element is not in this list
+	 */
+	@Override
+	public void addAfter(T element, T target) {
+		long start = startOperation();
+
+		// initializes the new node to be added to the list.
+		DLLNode<T> newNode = createNode(element);
+
+		// Finds the target node through the hash index and links after it.
+		if (nodeIndex != null) {
+			DLLNode<T> targetNode = findIndexedNode(target);
+			if (targetNode == null) {
+				throw new NoSuchElementException("Source: addAfter(T element, T target");
+			}
+			linkAfter(targetNode, newNode);
+			finishOperation(ListMetrics.Operation.ADD_AFTER, start);
+			return;
+		}
+
+		// Initializes the node used to iterate over the elements in the list.
+		DLLNode<T> current = head;
+
+		// Gets the index of the target. Returns -1 if the element isn't in the list.
+		int targetIndex = findIndex(target);
+
+		// Throws exception if the target isn't in the list.
+		if (targetIndex == -1) {
+			throw new NoSuchElementException("Source: addAfter(T element, T target");
+		}
+
+		// If there's only one element, makes the new node the tail.
+		if (count == 1 && (head.getElement().equals(target))) {
+
+			// The only element must be the head, sets the head's next to the new element.
+			head.setNext(newNode);
+			newNode.setPrevious(head);
+
+			// The new node is now the tail.
+			tail = newNode;
+			tail.setNext(end);
+			end.setPrevious(tail);
+		}
+
+		// Three potential add cases for the list if there's more than one element.
+		if (count > 1) {
+
+			// If the target element is the head:
+			if (targetIndex == 0) {
+				// Assigns the new node's next as head's next.
+				newNode.setNext(head.getNext());
+
+				// Gets head's next and sets its previous to the new node.
+				head.getNext().setPrevious(newNode);
+
+				// The new node's previous is the head.
+				newNode.setPrevious(head);
+
+				// Head's next is the new node.
+				head.setNext(newNode);
+			}
+
+			// If the target is the tail:
+			if (targetIndex == (count - 1)) {
+				// Sets the tail's next as the new node.
+				tail.setNext(newNode);
+
+				// Assigns newNode's previous to the tail.
+				newNode.setPrevious(tail);
+
+				// Assigns the tail variable to the newNode.
+				tail = newNode;
+
+				// Ensures tail's next is still the end node.
+				tail.setNext(end);
+
+				// Ensures the end node's previous is still tail.
+				end.setPrevious(tail);
+			}
+
+			// If the target isn't the head of the tail:
+			if (targetIndex > 0 && targetIndex < (count - 1)) {
+				// Gets the target node, starting from the closest known node.
+				current = getNode(targetIndex);
+
+				// Assigns newNode's next to current's next.
+				newNode.setNext(current.getNext());
+
+				// Assigns current's next to newNode.
+				current.getNext().setPrevious(newNode);
+
+				// Sets newNode's previous to current.
+				newNode.setPrevious(current);
+
+				// Sets current's next to the newNode.
+				current.setNext(newNode);
+			}
+		}
+		count++;
+		modCount++;
+		nodeLinked(newNode);
+		finishOperation(ListMetrics.Operation.ADD_AFTER, start);
+	}
+
+	/**
+	 * Inserts the specified element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be
+	 *                inserted.
+	 * @param element the element to be inserted into the array
+	 *
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index > size)
+	 */
+	@Override
+	public void add(int index, T element) {
+
+		// Checks if the index is valid.
+		if ((index < 0 || index > count)) {
+			throw new IndexOutOfBoundsException("Source: Add(index, element) method");
+		}
+		long start = startOperation();
+
+		// Creates the new nodes.
+		DLLNode<T> newNode = createNode(element);
+
+		// Creates the node used to iterate through the list.
+		DLLNode<T> current = head;
+
+		/******************************************
+		 * Special cases.
+		 ******************************************/
+
+		// If adding to index 0 and the list is empty:
+		if (tail == null && head == null && index == 0) {
+			head = newNode;
+			tail = newNode;
+			head.setNext(tail);
+			tail.setPrevious(head);
+			tail.setNext(end);
+			end.setPrevious(tail);
+		}
+
+		// If there's only one element and index = 1.
+		if (count == 1 && index == 1) {
+			head.setNext(newNode);
+			newNode.setPrevious(head);
+			tail = newNode;
+			tail.setNext(end);
+			end.setPrevious(tail);
+		}
+		// If there's only one element and index = 0.
+		if (count == 1 && index == 0) {
+			head = newNode;
+			tail = current;
+			head.setNext(tail);
+			tail.setPrevious(head);
+		}
+
+		// If the newNode is going into head's position.
+		if (index == 0 && count > 1) {
+			newNode.setNext(head);
+			head.setPrevious(newNode);
+			head = newNode;
+		}
+
+		// If adding to the index after tail:
+		if (index == (count) && count > 1) {
+			tail.setNext(newNode);
+			newNode.setPrevious(tail);
+			tail = newNode;
+			tail.setNext(end);
+			end.setPrevious(tail);
+		}
+
+		/******************************************
+		 * End of special cases.
+		 ******************************************/
+
+		// General add case.
+		if (index > 0 && index < (count)) {
+			current = getNode(index);
+			newNode.setPrevious(current.getPrevious());
+			current.getPrevious().setNext(newNode);
+			newNode.setNext(current);
+			current.setPrevious(newNode);
+		}
+		count++;
+		modCount++;
+
+		nodeLinked(newNode);
+
+		// The new node now sits at the index.
+		setFinger(index, newNode);
+		finishOperation(ListMetrics.Operation.ADD_AT, start);
+	}
+
+	/**
+	 * Removes and returns the first element from this list.
+	 *
+	 * @return the first element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeFirst() {
+
+		// Checks if the list is empty and throws exception if it is.
+		if (count <= 0) {
+			throw new NoSuchElementException("Source: removeFirst");
+		}
+
+		// Captures the head in a temporary variable.
+		DLLNode<T> temp = head;
+
+		// Captures the element to be returned.
+		T tempElement = temp.getElement();
+
+		// Removes the only item in the list.
+		if (count == 1) {
+			head = null;
+			tail = null;
+			end.setPrevious(null);
+
+		} else {
+
+			// Removes from list with more than one element.
+			DLLNode<T> newHead = head.getNext();
+			head = newHead;
+			temp.setNext(null);
+			temp.setPrevious(null);
+		}
+
+		count--;
+		modCount++;
+		nodeUnlinked(temp);
+		return tempElement;
+	}
+
+	/**
+	 * Removes and returns the last element from this list.
+	 *
+	 * @return the last element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeLast() {
+
+		// Throws an exception if the list is empty.
+		if (count <= 0) {
+			throw new NoSuchElementException("Source: removeFirst");
+		}
+
+		// Captures the node and the element to be returned.
+		DLLNode<T> oldTail = tail;
+		T tempElement = tail.getElement();
+
+		// Removes the only element in the list.
+		if (count == 1) {
+			head = null;
+			tail = null;
+			end.setPrevious(null);
+
+		} else {
+
+			// Removes from list with more than one element.
+			DLLNode<T> newTail = tail.getPrevious();
+			tail.setPrevious(null);
+			tail = newTail;
+			tail.setNext(end);
+			end.setPrevious(tail);
+		}
+
+		count--;
+		modCount++;
+		nodeUnlinked(oldTail);
+		return tempElement;
+	}
+
+	/**
+	 * Removes and returns the specified element from this list.
+	 *
+	 * @param element the element to be removed from the list
+	 *
+	 * @return tempElement the element that is removed.
+	 *
+	 * @throws NoSuchElementException if element is not in this list
+	 */
+	@Override
+	public T remove(T element) {
+		long start = startOperation();
+
+		// Finds the node through the hash index and unlinks it directly.
+		if (nodeIndex != null) {
+			DLLNode<T> node = findIndexedNode(element);
+			if (node == null) {
+				throw new NoSuchElementException("Source: remove(element)");
+			}
+			T removed = unlinkNode(node);
+			finishOperation(ListMetrics.Operation.REMOVE_ELEMENT, start);
+			return removed;
+		}
+
+		// Gets the index of the element to be removed. Returns -1 if the element isn't
+		// in the list.
+		int targ = findIndex(element);
+
+		// Throws an exception if the target element isn't in the list.
+		if (targ == -1) {
+			throw new NoSuchElementException("Source: remove(element)");
+		}
+
+		// Initializes the node used to iterate through the list.
+		DLLNode<T> temp = head;
+
+		// Initializes the element to be returned by this method.
+		T tempElement = null;
+
+		// The node that gets removed.
+		DLLNode<T> removed = null;
+
+		// Removes the only element in the list.
+		if (count == 1) {
+			removed = head;
+			tempElement = head.getElement();
+			head = null;
+			tail = null;
+			end.setPrevious(null);
+
+		} else {
+
+			/******************************
+			 * 3 general remove cases *****
+			 ******************************/
+
+			// Removes the head.
+			if (targ == 0) {
+
+				// Gets head's next and assigns it to newHead.
+				DLLNode<T> newHead = head.getNext();
+
+				// Gets the element to be returned.
+				removed = head;
+				tempElement = head.getElement();
+
+				// Assigns head to the newHead.
+				head = newHead;
+
+				// Removes the old head's next reference.
+				temp.setNext(null);
+			}
+
+			// Removes the tail.
+			if (targ == (count - 1)) {
+
+				// Assigns tail's previous to newTail.
+				DLLNode<T> newTail = tail.getPrevious();
+
+				// Gets the element to be retured.
+				removed = tail;
+				tempElement = tail.getElement();
+
+				// Removes tail's previous link.
+				tail.setPrevious(null);
+
+				// Assigns tail to the newTail.
+				tail = newTail;
+
+				// Sets the new tail's next link to end.
+				tail.setNext(end);
+				end.setPrevious(tail);
+			}
+
+			// Removes an element that's not the head or tail.
+			if (targ > 0 && targ < (count - 1)) {
+
+				// Gets the node, starting from the closest known node.
+				temp = getNode(targ);
+
+				// Gets the element to be returned.
+				removed = temp;
+				tempElement = temp.getElement();
+
+				// Removes the node.
+				temp.getPrevious().setNext(temp.getNext());
+				temp.getNext().setPrevious(temp.getPrevious());
+			}
+		}
+
+		count--;
+		modCount++;
+		nodeUnlinked(removed);
+		finishOperation(ListMetrics.Operation.REMOVE_ELEMENT, start);
+		return tempElement;
+	}
+
+	/**
+	 * Removes and returns the element at the specified index.
+	 *
+	 * @param index the index of the element to be retrieved
+	 * @return tempElement the element that is removed.
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T remove(int index) {
+
+		// Checks if the index is in bounds.
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: remove(index)");
+		}
+		long start = startOperation();
+
+		// Captures the element to be returned.
+		DLLNode<T> temp = head;
+		T tempElement = null;
+
+		// The node that takes over the index of the removed node.
+		DLLNode<T> successor = null;
+
+		// The node that gets removed.
+		DLLNode<T> removed = null;
+
+		// Removes the only element in the list.
+		if (count == 1) {
+			removed = head;
+			tempElement = head.getElement();
+			head = null;
+			tail = null;
+			end.setPrevious(null);
+
+			// The rest of the remove cases.
+		} else {
+
+			// Removes the head.
+			if (index == 0) {
+				DLLNode<T> newHead = head.getNext();
+				removed = head;
+				tempElement = head.getElement();
+				head = newHead;
+				temp.setNext(null);
+			}
+
+			// Removes the tail.
+			if (index == (count - 1)) {
+				DLLNode<T> newTail = tail.getPrevious();
+				removed = tail;
+				tempElement = tail.getElement();
+				tail.setPrevious(null);
+				tail = newTail;
+				tail.setNext(end);
+				end.setPrevious(tail);
+			}
+
+			// Removes an element that's not a head or tail.
+			if (index > 0 && index < (count - 1)) {
+				// Gets the node, starting from the closest known node.
+				temp = getNode(index);
+				// Removes the node.
+				removed = temp;
+				tempElement = temp.getElement();
+				successor = temp.getNext();
+				temp.getPrevious().setNext(successor);
+				successor.setPrevious(temp.getPrevious());
+			}
+		}
+		count--;
+		modCount++;
+		nodeUnlinked(removed);
+
+		// Leaves the finger on the node that moved into the index.
+		if (successor != null) {
+			setFinger(index, successor);
+		}
+		finishOperation(ListMetrics.Operation.REMOVE_AT, start);
+		return tempElement;
+	}
+
+	/**
+	 * Returns a reference to the element at the specified index.
+	 *
+	 * @param index the index to which the reference is to be retrieved from
+	 * @return the element at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public void set(int index, T element) {
+
+		// Checks if the index is in range.
+		if ((index < 0 || index >= count)) {
+			throw new IndexOutOfBoundsException("Source: set(index, element");
+		}
+		long start = startOperation();
+
+		// Gets the node, starting from the closest known node.
+		DLLNode<T> temp = getNode(index);
+
+		// Files the node under its new element in the hash index.
+		unindexNode(temp);
+		temp.setElement(element);
+		indexNode(temp);
+		modCount++;
+
+		// The structure didn't change, so the finger is still valid.
+		setFinger(index, temp);
+		finishOperation(ListMetrics.Operation.SET, start);
+	}
+
+	/**
+	 * Returns a reference to the element at the specified index.
+	 *
+	 * @param index the index to which the reference is to be retrieved from
+	 * @return the element at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T get(int index) {
+
+		// Checks if the index is valid.
+		if ((index < 0 || index >= count)) {
+			throw new IndexOutOfBoundsException("Source: set element at index method.");
+		}
+
+		// Gets the node at the target index, starting from the closest known node.
+		long start = startOperation();
+		T element = getNode(index).getElement();
+		finishOperation(ListMetrics.Operation.GET, start);
+		return element;
+	}
+
+	/**
+	 * Returns the index of the specified element.
+	 *
+	 * @param element the element for the index is to be retrieved
+	 * @return the integer index for this element or -1 if element is not in the
+	 *         list
+	 */
+	@Override
+	public int indexOf(T element) {
+		long start = startOperation();
+		int index = findIndex(element);
+		finishOperation(ListMetrics.Operation.INDEX_OF, start);
+		return index;
+	}
+
+	/**
+	 * Returns the index of the specified element without recording an
+	 * operation, for the operations that look an element up on their way.
+	 *
+	 * @param element the element for the index is to be retrieved
+	 * @return the integer index for this element or -1 if element is not in the
+	 *         list
+	 */
+	private int findIndex(T element) {
+
+		// Finds the node through the hash index and counts the steps back to the head.
+		if (nodeIndex != null) {
+			DLLNode<T> node = findIndexedNode(element);
+			if (node == null) {
+				return -1;
+			}
+			int index = 0;
+			for (DLLNode<T> temp = node; temp != head; temp = temp.getPrevious()) {
+				index++;
+			}
+			walked += index;
+			setFinger(index, node);
+			return index;
+		}
+
+		// Sets the default return index value to -1.
+		int index = -1;
+
+		// Used to track how many times the while loop runs.
+		int tracker = 0;
+
+		// Initializes a node used to iterate through the list.
+		DLLNode<T> temp = head;
+
+		// Runs while temp isn't null *OR* tracker is less than count.
+		while (temp != null || tracker < count) {
+
+			// Checks if the current node's element is the target element.
+			if (temp.getElement() == element) {
+
+				// If the element has been found, assign tracker's value to index.
+				index = tracker;
+			}
+
+			// While the element hasn't been found, increment tracker.
+			tracker++;
+
+			// While the element hasn't been found, get the next node.
+			temp = temp.getNext();
+		}
+		walked += tracker;
+
+		return index;
+	}
+
+	/**
+	 * Returns a reference to the first element in this list.
+	 *
+	 * @return a reference to the first element in this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T first() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: first() method.");
+		}
+
+		return head.getElement();
+	}
+
+	/**
+	 * Returns a reference to the last element in this list.
+	 *
+	 * @return a reference to the last element in this list
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T last() {
+
+		if (head == null && tail == null) {
+			throw new NoSuchElementException("Source: last() method.");
+		}
+
+		return tail.getElement();
+	}
+
+	/**
+	 * Returns true if this list contains the specified target element.
+	 *
+	 * @param target the target that is being sought in the list
+	 * @return bool true if the list contains this element, else false
+	 */
+	@Override
+	public boolean contains(T target) {
+
+		long start = startOperation();
+
+		// Looks the target up in the hash index.
+		if (nodeIndex != null) {
+			boolean found = nodeIndex.containsKey(target);
+			finishOperation(ListMetrics.Operation.CONTAINS, start);
+			return found;
+		}
+
+		boolean bool = false;
+
+		// Creates the iterating node.
+		DLLNode<T> temp = head;
+
+		// Iterates through the list until the target is found.
+		while (temp != null) {
+			if (temp.getElement() == target) {
+				bool = true;
+			}
+			temp = temp.getNext();
+		}
+		walked += count;
+		finishOperation(ListMetrics.Operation.CONTAINS, start);
+		return bool;
+	}
+
+	/**
+	 * Returns true if this list contains no elements.
+	 *
+	 * @return bool true if this list contains no elements
+	 */
+	@Override
+	public boolean isEmpty() {
+		boolean bool = true;
+
+		// False if there's at least one element.
+		if (count > 0) {
+			bool = false;
+		}
+		// Flase if the head isn't empty.
+		if (head != null) {
+			bool = false;
+		}
+
+		return bool;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return count the integer representation of number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns a string representation of the contents of the double linked list.
+	 * At most TO_STRING_LIMIT elements are written out; the rest are counted as
+	 * "... and N more".
+	 *
+	 * @return a string of the elements
+	 */
+	@Override
+	public String toString() {
+		if (count == 0) {
+			return "The list is empty.";
+		}
+
+		// Sizes the builder from the first element so it rarely has to grow.
+		int shown = Math.min(count, TO_STRING_LIMIT);
+		StringBuilder str = new StringBuilder((String.valueOf(head.getElement()).length() + 2) * shown + 32);
+		try {
+			writeTo(str, ", ", TO_STRING_LIMIT);
+		} catch (IOException e) {
+			// A StringBuilder does not throw.
+			throw new UncheckedIOException(e);
+		}
+		return str.toString();
+	}
+
+	/**
+	 * Writes the elements of the list to the given Appendable, for example a
+	 * Writer or a StringBuilder, separated by ", ". Nothing is built in memory
+	 * first, so writing a long list costs O(n) and no garbage beyond the
+	 * elements' strings.
+	 *
+	 * @param out the Appendable written to
+	 * @throws IOException if writing to out fails
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		writeTo(out, ", ", Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Writes at most limit elements of the list to the given Appendable, joined
+	 * by the separator. If the list holds more, the rest are counted as "...
+	 * and N more" after one more separator. An empty list is written as "The
+	 * list is empty.".
+	 *
+	 * @param out       the Appendable written to
+	 * @param separator the string written between two elements
+	 * @param limit     the most elements written out
+	 * @throws IOException              if writing to out fails
+	 * @throws IllegalArgumentException if limit is negative
+	 */
+	public void writeTo(Appendable out, String separator, int limit) throws IOException {
+		if (limit < 0) {
+			throw new IllegalArgumentException("Source: writeTo(out, separator, limit)");
+		}
+		if (count == 0) {
+			out.append("The list is empty.");
+			return;
+		}
+
+		int shown = Math.min(count, limit);
+		DLLNode<T> temp = head;
+		for (int i = 0; i < shown; i++) {
+			if (i > 0) {
+				out.append(separator);
+			}
+			out.append(String.valueOf(temp.getElement()));
+			temp = temp.getNext();
+		}
+
+		// Counts the elements that were left out.
+		if (shown < count) {
+			if (shown > 0) {
+				out.append(separator);
+			}
+			out.append("... and ").append(String.valueOf(count - shown)).append(" more");
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Side-effect-free reads
+	 *
+	 ********************************************************/
+
+	/**
+	 * Returns the element at the specified index like get, but without moving the
+	 * finger. The walk follows at most size links, so it writes nothing and ends
+	 * even if another thread changes the list while it runs; such a read may
+	 * return garbage or throw, and must be validated by the caller.
+	 *
+	 * @param index the index of the element
+	 * @return the element at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	T peek(int index) {
+		int size = count;
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Source: get(index)");
+		}
+
+		// Starts from the head or the tail, whichever is closer.
+		DLLNode<T> current;
+		if (index <= (size - 1) - index) {
+			current = head;
+			for (int i = 0; i < index; i++) {
+				current = current.getNext();
+			}
+		} else {
+			current = tail;
+			for (int i = size - 1; i > index; i--) {
+				current = current.getPrevious();
+			}
+		}
+		return current.getElement();
+	}
+
+	/**
+	 * Returns the same index as indexOf, but without moving the finger and
+	 * following at most size links.
+	 *
+	 * @param element the element for the index is to be retrieved
+	 * @return the integer index for this element or -1 if element is not in the
+	 *         list
+	 */
+	int peekIndexOf(T element) {
+		int size = count;
+
+		// Counts the steps back to the head from the indexed node.
+		if (nodeIndex != null) {
+			DLLNode<T> node = findIndexedNode(element);
+			if (node == null) {
+				return -1;
+			}
+			int index = 0;
+			for (DLLNode<T> temp = node; temp != head && index < size; temp = temp.getPrevious()) {
+				index++;
+			}
+			return index;
+		}
+
+		// Keeps the last matching index, like indexOf.
+		int index = -1;
+		DLLNode<T> temp = head;
+		for (int i = 0; i < size; i++) {
+			if (temp.getElement() == element) {
+				index = i;
+			}
+			temp = temp.getNext();
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the same result as contains, but following at most size links.
+	 *
+	 * @param target the target that is being sought in the list
+	 * @return true if the list contains this element, else false
+	 */
+	boolean peekContains(T target) {
+		if (nodeIndex != null) {
+			return nodeIndex.containsKey(target);
+		}
+		return peekIndexOf(target) != -1;
+	}
+
+	/*******************************************************
+	 *
+	 * Node handles
+	 *
+	 ********************************************************/
+
+	/**
+	 * An opaque reference to one node of a list. Handles let callers that already
+	 * know a position insert or remove around it in O(1), without searching for
+	 * it again. A handle goes stale once its node is removed from the list, and
+	 * using a stale handle, or a handle of another list, throws an exception
+	 * instead of corrupting the list.
+	 *
+	 * @param <T>
+	 */
+	public static final class Handle<T> {
+		private DLLNode<T> node; // the node, null once it was removed
+		private IUDoubleLinkedList<T> owner; // list the node belongs to
+
+		/**
+		 * Constructor - for a node of the given list
+		 *
+		 * @param owner the list the node belongs to
+		 * @param node  the node
+		 */
+		private Handle(IUDoubleLinkedList<T> owner, DLLNode<T> node) {
+			this.owner = owner;
+			this.node = node;
+		}
+
+		/**
+		 * Returns true while the node is still in the list.
+		 *
+		 * @return true if the handle can be used
+		 */
+		public boolean isValid() {
+			return node != null;
+		}
+
+		/**
+		 * Returns the element stored in the node.
+		 *
+		 * @return the element of the node
+		 * @throws NoSuchElementException if the node was removed
+		 */
+		public T getElement() {
+			if (node == null) {
+				throw new NoSuchElementException("Source: Handle getElement - stale handle");
+			}
+			return node.getElement();
+		}
+	}
+
+	/**
+	 * Returns the handle of a node, creating it the first time.
+	 *
+	 * @param node a node of this list
+	 * @return the handle of the node
+	 */
+	private Handle<T> handleFor(DLLNode<T> node) {
+		if (handles == null) {
+			handles = new IdentityHashMap<DLLNode<T>, Handle<T>>();
+		}
+		return handles.computeIfAbsent(node, n -> new Handle<T>(this, n));
+	}
+
+	/**
+	 * Returns the node of a handle after checking that it is usable on this list.
+	 *
+	 * @param handle the handle
+	 * @return the node of the handle
+	 * @throws IllegalArgumentException if the handle belongs to another list
+	 * @throws NoSuchElementException   if the node was removed
+	 */
+	private DLLNode<T> nodeOf(Handle<T> handle) {
+		if (handle.owner != this) {
+			throw new IllegalArgumentException("Source: handle of another list");
+		}
+		if (handle.node == null) {
+			throw new NoSuchElementException("Source: stale handle");
+		}
+		return handle.node;
+	}
+
+	/**
+	 * Adds the specified element to the front of this list and returns a handle
+	 * to its node.
+	 *
+	 * @param element the element to be added to the front of this list
+	 * @return the handle of the new node
+	 */
+	public Handle<T> addToFrontHandle(T element) {
+		addToFront(element);
+		return handleFor(head);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list and returns a handle to
+	 * its node.
+	 *
+	 * @param element the element to be added to the rear of this list
+	 * @return the handle of the new node
+	 */
+	public Handle<T> addToRearHandle(T element) {
+		addToRear(element);
+		return handleFor(tail);
+	}
+
+	/**
+	 * Inserts the specified element at the specified index and returns a handle
+	 * to its node.
+	 *
+	 * @param index   the index to which the element is to be inserted
+	 * @param element the element to be inserted
+	 * @return the handle of the new node
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index > size)
+	 */
+	public Handle<T> addHandle(int index, T element) {
+		add(index, element);
+
+		// add(index, element) leaves the finger on the new node.
+		return handleFor(finger);
+	}
+
+	/**
+	 * Inserts the specified element right after the node of the handle in O(1).
+	 *
+	 * @param handle  the handle of the node the element will be added after
+	 * @param element the element to be inserted
+	 * @return the handle of the new node
+	 * @throws IllegalArgumentException if the handle belongs to another list
+	 * @throws NoSuchElementException   if the node of the handle was removed
+	 */
+	public Handle<T> insertAfter(Handle<T> handle, T element) {
+		DLLNode<T> newNode = createNode(element);
+		linkAfter(nodeOf(handle), newNode);
+		return handleFor(newNode);
+	}
+
+	/**
+	 * Inserts the specified element right before the node of the handle in O(1).
+	 *
+	 * @param handle  the handle of the node the element will be added before
+	 * @param element the element to be inserted
+	 * @return the handle of the new node
+	 * @throws IllegalArgumentException if the handle belongs to another list
+	 * @throws NoSuchElementException   if the node of the handle was removed
+	 */
+	public Handle<T> insertBefore(Handle<T> handle, T element) {
+		DLLNode<T> newNode = createNode(element);
+		linkBefore(nodeOf(handle), newNode);
+		return handleFor(newNode);
+	}
+
+	/**
+	 * Removes the node of the handle in O(1). The handle goes stale.
+	 *
+	 * @param handle the handle of the node to be removed
+	 * @return the removed element
+	 * @throws IllegalArgumentException if the handle belongs to another list
+	 * @throws NoSuchElementException   if the node of the handle was removed
+	 */
+	public T removeHandle(Handle<T> handle) {
+		return unlinkNode(nodeOf(handle));
+	}
+
+	/**
+	 * Moves the node of the handle to the front of the list in O(1). The node is
+	 * relinked rather than copied, so the handle stays valid.
+	 *
+	 * @param handle the handle of the node to be moved
+	 * @throws IllegalArgumentException if the handle belongs to another list
+	 * @throws NoSuchElementException   if the node of the handle was removed
+	 */
+	public void moveToFront(Handle<T> handle) {
+		DLLNode<T> node = nodeOf(handle);
+		if (node == head) {
+			return;
+		}
+
+		// Takes the node out of its place.
+		if (node == tail) {
+			tail = node.getPrevious();
+			tail.setNext(end);
+			end.setPrevious(tail);
+		} else {
+			node.getPrevious().setNext(node.getNext());
+			node.getNext().setPrevious(node.getPrevious());
+		}
+
+		// Puts it in front of the head.
+		node.setPrevious(null);
+		node.setNext(head);
+		head.setPrevious(node);
+		head = node;
+		modCount++;
+	}
+
+	/*******************************************************
+	 *
+	 * Metrics
+	 *
+	 ********************************************************/
+
+	/**
+	 * Starts recording the indexed and by-value operations of this list: calls,
+	 * nodes walked and latency per operation. While metrics are disabled an
+	 * operation only pays for a null check.
+	 *
+	 * @return the recorder, which can be registered with JMX
+	 */
+	public ListMetricsRecorder enableMetrics() {
+		if (metrics == null) {
+			metrics = new ListMetricsRecorder();
+		}
+		return metrics;
+	}
+
+	/**
+	 * Stops recording operations and unregisters the recorder from JMX.
+	 */
+	public void disableMetrics() {
+		if (metrics != null) {
+			metrics.unregister();
+			metrics = null;
+		}
+	}
+
+	/**
+	 * Returns a snapshot of the metrics recorded since they were enabled.
+	 *
+	 * @return the metrics, or null if metrics are disabled
+	 */
+	public ListMetrics metrics() {
+		return (metrics == null) ? null : metrics.snapshot();
+	}
+
+	/**
+	 * Starts an operation that is recorded while metrics are enabled, and whose
+	 * walk is reported to Flight Recorder if it gets long.
+	 *
+	 * @return the start time of the operation, or 0 if metrics are disabled
+	 */
+	private long startOperation() {
+		walked = 0;
+		if (metrics == null) {
+			return 0L;
+		}
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records an operation started by startOperation() if metrics are enabled,
+	 * and emits a traversal event if it walked at least the threshold of nodes.
+	 * Operations that throw are not recorded.
+	 *
+	 * @param operation the operation
+	 * @param start     the value startOperation() returned
+	 */
+	private void finishOperation(ListMetrics.Operation operation, long start) {
+		if (walked >= traversalEventThreshold) {
+			traversalEvent(operation);
+		}
+		if (metrics != null) {
+			metrics.record(operation, walked, System.nanoTime() - start);
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Flight Recorder events
+	 *
+	 ********************************************************/
+
+	/**
+	 * Returns the number of nodes an operation has to walk before it emits a
+	 * ListTraversalEvent.
+	 *
+	 * @return the threshold in nodes
+	 */
+	public int getTraversalEventThreshold() {
+		return traversalEventThreshold;
+	}
+
+	/**
+	 * Sets the number of nodes an operation has to walk before it emits a
+	 * ListTraversalEvent. The events are only written while Flight Recorder
+	 * records them.
+	 *
+	 * @param nodes the threshold in nodes
+	 * @throws IllegalArgumentException if nodes is less than 1
+	 */
+	public void setTraversalEventThreshold(int nodes) {
+		if (nodes < 1) {
+			throw new IllegalArgumentException("Source: setTraversalEventThreshold(nodes)");
+		}
+		traversalEventThreshold = nodes;
+	}
+
+	/**
+	 * Emits a ListTraversalEvent for the operation in progress.
+	 *
+	 * @param operation the operation
+	 */
+	private void traversalEvent(ListMetrics.Operation operation) {
+		ListTraversalEvent event = new ListTraversalEvent();
+		if (event.shouldCommit()) {
+			event.operation = operation.name();
+			event.size = count;
+			event.nodesWalked = walked;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Starts a bulk operation: returns its event with the clock running.
+	 *
+	 * @return the event of the bulk operation
+	 */
+	private ListBulkOperationEvent startBulkOperation() {
+		walked = 0;
+		ListBulkOperationEvent event = new ListBulkOperationEvent();
+		event.begin();
+		return event;
+	}
+
+	/**
+	 * Emits the event of a bulk operation started by startBulkOperation().
+	 *
+	 * @param event     the event
+	 * @param operation the name of the operation
+	 * @param elements  the number of elements moved or removed
+	 */
+	private void finishBulkOperation(ListBulkOperationEvent event, String operation, int elements) {
+		if (event.shouldCommit()) {
+			event.operation = operation;
+			event.size = count;
+			event.elements = elements;
+			event.nodesWalked = walked;
+			event.commit();
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Splicing
+	 *
+	 ********************************************************/
+
+	/**
+	 * Hands the bookkeeping of a run of nodes over to another list: hash index
+	 * entries and handles. Without either, nothing is walked.
+	 *
+	 * @param first  the first node of the run
+	 * @param length the number of nodes in the run
+	 * @param target the list the nodes now belong to
+	 */
+	private void transferNodes(DLLNode<T> first, int length, IUDoubleLinkedList<T> target) {
+		boolean hasHandles = handles != null && !handles.isEmpty();
+		if (nodeIndex == null && target.nodeIndex == null && !hasHandles) {
+			return;
+		}
+
+		DLLNode<T> temp = first;
+		for (int i = 0; i < length; i++) {
+			unindexNode(temp);
+			target.indexNode(temp);
+			if (hasHandles) {
+				Handle<T> handle = handles.remove(temp);
+				if (handle != null) {
+					handle.owner = target;
+					if (target.handles == null) {
+						target.handles = new IdentityHashMap<DLLNode<T>, Handle<T>>();
+					}
+					target.handles.put(temp, handle);
+				}
+			}
+			temp = temp.getNext();
+		}
+	}
+
+	/**
+	 * Moves all nodes of the other list to the rear of this list, leaving the
+	 * other list empty. The nodes are relinked, not copied, so this is O(1)
+	 * unless either list is hash indexed or the other list has handed out
+	 * handles; then the moved nodes are walked once to update them.
+	 *
+	 * @param other the list whose nodes are appended
+	 * @throws IllegalArgumentException if other is this list
+	 */
+	public void appendAll(IUDoubleLinkedList<T> other) {
+		if (other == this) {
+			throw new IllegalArgumentException("Source: appendAll(other) - same list");
+		}
+		if (versioned || other.versioned) {
+			// Versioned nodes keep the history of the list they were created in.
+			throw new UnsupportedOperationException("Source: appendAll(other) - versioned list");
+		}
+		if (other.count == 0) {
+			return;
+		}
+
+		ListBulkOperationEvent event = startBulkOperation();
+		DLLNode<T> first = other.head;
+		DLLNode<T> last = other.tail;
+		int moved = other.count;
+		other.transferNodes(first, moved, this);
+
+		// Hangs the other chain off this list's tail.
+		if (count == 0) {
+			head = first;
+			first.setPrevious(null);
+		} else {
+			tail.setNext(first);
+			first.setPrevious(tail);
+		}
+		tail = last;
+		tail.setNext(end);
+		end.setPrevious(tail);
+		count += moved;
+		modCount++;
+
+		// Leaves the other list empty.
+		other.head = null;
+		other.tail = null;
+		other.end.setPrevious(null);
+		other.count = 0;
+		other.modCount++;
+		finishBulkOperation(event, "appendAll", moved);
+	}
+
+	/**
+	 * Hangs a chain of new nodes off the tail of this list in one step, for
+	 * loaders that build the chain themselves instead of calling addToRear per
+	 * element. The nodes must be linked by next and previous and belong to no
+	 * list. Only a hash indexed list walks the chain, to index it.
+	 *
+	 * @param first  the first node of the chain, null if length is 0
+	 * @param last   the last node of the chain, null if length is 0
+	 * @param length the number of nodes in the chain
+	 */
+	void appendChain(DLLNode<T> first, DLLNode<T> last, int length) {
+		if (versioned) {
+			// Versioned lists have to create their own nodes.
+			throw new UnsupportedOperationException("Source: appendChain - versioned list");
+		}
+		if (length == 0) {
+			return;
+		}
+
+		if (count == 0) {
+			head = first;
+			first.setPrevious(null);
+		} else {
+			tail.setNext(first);
+			first.setPrevious(tail);
+		}
+		tail = last;
+		tail.setNext(end);
+		end.setPrevious(tail);
+		count += length;
+		modCount++;
+
+		if (nodeIndex != null) {
+			DLLNode<T> temp = first;
+			for (int i = 0; i < length; i++) {
+				indexNode(temp);
+				temp = temp.getNext();
+			}
+		}
+	}
+
+	/**
+	 * Cuts this list at the specified index. The elements from the index on are
+	 * moved, not copied, to a new list that is returned; this list keeps the
+	 * elements in front of the index. The new list is hash indexed if this list
+	 * is.
+	 *
+	 * @param index the index of the first element of the returned list
+	 * @return a new list holding the tail portion of this list
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index > size)
+	 */
+	public IUDoubleLinkedList<T> splitAt(int index) {
+		if (index < 0 || index > count) {
+			throw new IndexOutOfBoundsException("Source: splitAt(index)");
+		}
+		if (versioned) {
+			// Versioned nodes keep the history of the list they were created in.
+			throw new UnsupportedOperationException("Source: splitAt(index) - versioned list");
+		}
+
+		IUDoubleLinkedList<T> rest = new IUDoubleLinkedList<T>(nodeIndex != null);
+		if (index == count) {
+			return rest;
+		}
+
+		ListBulkOperationEvent event = startBulkOperation();
+		DLLNode<T> first = getNode(index);
+		DLLNode<T> last = tail;
+		int moved = count - index;
+		transferNodes(first, moved, rest);
+
+		// Ends this list in front of the cut.
+		if (index == 0) {
+			head = null;
+			tail = null;
+			end.setPrevious(null);
+		} else {
+			tail = first.getPrevious();
+			tail.setNext(end);
+			end.setPrevious(tail);
+		}
+		count = index;
+		modCount++;
+
+		// Starts the new list at the cut.
+		first.setPrevious(null);
+		rest.head = first;
+		rest.tail = last;
+		last.setNext(rest.end);
+		rest.end.setPrevious(last);
+		rest.count = moved;
+		finishBulkOperation(event, "splitAt", moved);
+		return rest;
+	}
+
+	/**
+	 * Removes the elements from index from (inclusive) to index to (exclusive).
+	 * The range is unlinked with one relink after seeking its two ends; the
+	 * removed nodes are only walked when hash index entries or handles have to
+	 * be dropped.
+	 *
+	 * @param from the index of the first element to be removed
+	 * @param to   the index after the last element to be removed
+	 * @throws IndexOutOfBoundsException if the range is out of bounds (from < 0 ||
+	 *                                   to > size || from > to)
+	 */
+	public void removeRange(int from, int to) {
+		if (from < 0 || to > count || from > to) {
+			throw new IndexOutOfBoundsException("Source: removeRange(from, to)");
+		}
+		if (from == to) {
+			return;
+		}
+
+		ListBulkOperationEvent event = startBulkOperation();
+		DLLNode<T> first = getNode(from);
+		DLLNode<T> last = getNode(to - 1);
+		DLLNode<T> before = (from == 0) ? null : first.getPrevious();
+		DLLNode<T> after = (to == count) ? null : last.getNext();
+
+		// Joins the nodes on both sides of the range.
+		if (before == null) {
+			head = after;
+		} else {
+			before.setNext((after == null) ? end : after);
+		}
+		if (after == null) {
+			tail = before;
+
+			// The end node follows the new tail, or nothing once the list is empty.
+			end.setPrevious(tail);
+		} else {
+			after.setPrevious(before);
+		}
+		first.setPrevious(null);
+		last.setNext(null);
+		count -= to - from;
+		modCount++;
+
+		// Drops index entries and handles of the removed nodes.
+		if (nodeIndex != null || (handles != null && !handles.isEmpty())) {
+			DLLNode<T> temp = first;
+			for (int i = from; i < to; i++) {
+				DLLNode<T> next = temp.getNext();
+				nodeUnlinked(temp);
+				temp = next;
+			}
+		}
+
+		// The node after the range now sits at from.
+		if (after != null) {
+			setFinger(from, after);
+		}
+		finishBulkOperation(event, "removeRange", to - from);
+	}
+
+	/*******************************************************
+	 *
+	 * Snapshots
+	 *
+	 ********************************************************/
+
+	/**
+	 * Returns the current version of the list. Writes are tagged with it.
+	 *
+	 * @return the current version
+	 */
+	int currentVersion() {
+		return version;
+	}
+
+	/**
+	 * Returns the version of the oldest open snapshot.
+	 *
+	 * @return the oldest snapshot version, Integer.MAX_VALUE if none is open
+	 */
+	int oldestSnapshotVersion() {
+		return (snapshots == null || snapshots.isEmpty()) ? Integer.MAX_VALUE : snapshots.firstKey();
+	}
+
+	/**
+	 * Returns true if an open snapshot can reach a node created at the given
+	 * version, which is the case if the snapshot is not older than the node.
+	 *
+	 * @param born the version the node was created at
+	 * @return true if the node has to keep history
+	 */
+	boolean snapshotMayReach(int born) {
+		return snapshots != null && !snapshots.isEmpty() && snapshots.lastKey() >= born;
+	}
+
+	/**
+	 * Returns an iterator over the list as it is now. It keeps returning that
+	 * view no matter how the list changes afterwards and never throws
+	 * ConcurrentModificationException. The snapshot should be closed when it is
+	 * no longer needed, so the history it keeps can be dropped; it closes itself
+	 * once it has returned all elements.
+	 *
+	 * The list itself is not thread-safe: if other threads write to it, each
+	 * step of the snapshot must be synchronized with those writes, but nothing
+	 * has to be held between steps.
+	 *
+	 * @return a snapshot iterator
+	 * @throws UnsupportedOperationException if the list is not versioned
+	 */
+	public SnapshotIterator snapshotIterator() {
+		if (!versioned) {
+			throw new UnsupportedOperationException("Source: snapshotIterator() - list is not versioned");
+		}
+		SnapshotIterator snapshot = new SnapshotIterator(version, head, count);
+		snapshots.merge(version, 1, Integer::sum);
+
+		// Writes from now on belong to a newer version than the snapshot.
+		version++;
+		return snapshot;
+	}
+
+	/**
+	 * Drops the history that no open snapshot needs from every node in the list.
+	 * Nodes also drop it on their own when they are written to; this walk is for
+	 * nodes that are not written again. It runs by itself when the last open
+	 * snapshot is closed.
+	 */
+	public void reclaim() {
+		if (!versioned) {
+			return;
+		}
+		DLLNode<T> temp = head;
+		for (int i = 0; i < count; i++) {
+			((VersionedDLLNode<T>) temp).reclaim();
+			temp = temp.getNext();
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * SnapshotIterator class
+	 *
+	 ********************************************************/
+
+	/**
+	 * Iterator over the list as it was at one version.
+	 */
+	public class SnapshotIterator implements Iterator<T>, AutoCloseable {
+
+		private final int snapshotVersion; // version the iterator sees
+		private DLLNode<T> current; // node of the next element
+		private int remaining; // number of elements left
+		private boolean closed; // true once the snapshot no longer holds history
+
+		/**
+		 * Constructor for the view at a version.
+		 *
+		 * @param snapshotVersion the version to be seen
+		 * @param head            the head at that version
+		 * @param count           the size at that version
+		 */
+		private SnapshotIterator(int snapshotVersion, DLLNode<T> head, int count) {
+			this.snapshotVersion = snapshotVersion;
+			current = head;
+			remaining = count;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return remaining > 0;
+		}
+
+		@Override
+		public T next() {
+			if (remaining <= 0) {
+				throw new NoSuchElementException("Source: Snapshot Iterator next method");
+			}
+			VersionedDLLNode<T> node = (VersionedDLLNode<T>) current;
+			T element = node.getElementAt(snapshotVersion);
+			remaining--;
+			if (remaining > 0) {
+				current = node.getNextAt(snapshotVersion);
+			} else {
+				close();
+			}
+			return element;
+		}
+
+		/**
+		 * Releases the snapshot. Once the last open snapshot is released, the list
+		 * drops all history.
+		 */
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			current = null;
+			remaining = 0;
+			if (snapshots.merge(snapshotVersion, -1, Integer::sum) == 0) {
+				snapshots.remove(snapshotVersion);
+			}
+			if (snapshots.isEmpty()) {
+				reclaim();
+			}
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Parallel scans
+	 *
+	 ********************************************************/
+
+	/**
+	 * Work done on one segment of the list during a parallel scan.
+	 *
+	 * @param <T>
+	 */
+	private interface SegmentScan<T> {
+
+		/**
+		 * Scans one segment.
+		 *
+		 * @param segment    the number of the segment
+		 * @param first      the first node of the segment
+		 * @param firstIndex the index of the first node
+		 * @param length     the number of nodes in the segment
+		 */
+		void scan(int segment, DLLNode<T> first, int firstIndex, int length);
+	}
+
+	/**
+	 * Fork-join task that scans a range of segments, splitting it in half until
+	 * a single segment is left.
+	 *
+	 * @param <T>
+	 */
+	private static class SegmentTask<T> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private DLLNode<T>[] starts; // first node of every segment
+		private int segmentLength; // number of nodes in a full segment
+		private int count; // size of the list
+		private int low, high; // range of segments handled by this task
+		private SegmentScan<T> scan; // work done on every segment
+
+		/**
+		 * Constructor for a range of segments.
+		 *
+		 * @param starts        the first node of every segment
+		 * @param segmentLength the number of nodes in a full segment
+		 * @param count         the size of the list
+		 * @param low           the first segment handled
+		 * @param high          one past the last segment handled
+		 * @param scan          the work done on every segment
+		 */
+		SegmentTask(DLLNode<T>[] starts, int segmentLength, int count, int low, int high, SegmentScan<T> scan) {
+			this.starts = starts;
+			this.segmentLength = segmentLength;
+			this.count = count;
+			this.low = low;
+			this.high = high;
+			this.scan = scan;
+		}
+
+		@Override
+		protected void compute() {
+			if (high - low == 1) {
+				int firstIndex = low * segmentLength;
+				scan.scan(low, starts[low], firstIndex, Math.min(segmentLength, count - firstIndex));
+			} else {
+				int middle = (low + high) >>> 1;
+				invokeAll(new SegmentTask<T>(starts, segmentLength, count, low, middle, scan),
+						new SegmentTask<T>(starts, segmentLength, count, middle, high, scan));
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of segments a parallel scan of this list uses.
+	 *
+	 * @return the number of segments
+	 */
+	private int segmentCount() {
+		int segments = ForkJoinPool.getCommonPoolParallelism() * 4;
+		return Math.max(2, Math.min(segments, count / (PARALLEL_THRESHOLD / 8)));
+	}
+
+	/**
+	 * Splits the list into segments, walking the chain once to find where each
+	 * starts, and scans the segments on the common ForkJoinPool.
+	 *
+	 * @param segments the number of segments
+	 * @param scan     the work done on every segment
+	 * @throws ConcurrentModificationException if the list changed during the scan
+	 */
+	private void scanInParallel(int segments, SegmentScan<T> scan) {
+		int expectedModCount = modCount;
+		int segmentLength = (count + segments - 1) / segments;
+
+		@SuppressWarnings("unchecked")
+		DLLNode<T>[] starts = (DLLNode<T>[]) new DLLNode<?>[segments];
+		DLLNode<T> current = head;
+		for (int i = 0; i < segments; i++) {
+			starts[i] = current;
+			for (int j = 0; j < segmentLength && current != null; j++) {
+				current = current.getNext();
+			}
+		}
+
+		ForkJoinPool.commonPool().invoke(new SegmentTask<T>(starts, segmentLength, count, 0, segments, scan));
+
+		if (modCount != expectedModCount) {
+			throw new ConcurrentModificationException("Source: parallel scan");
+		}
+	}
+
+	/**
+	 * Returns the same index as indexOf, scanning segments of the list in
+	 * parallel. Segments behind a match already found are not finished. Small
+	 * lists and hash indexed lists use indexOf directly.
+	 *
+	 * @param element the element for the index is to be retrieved
+	 * @return the integer index for this element or -1 if element is not in the
+	 *         list
+	 */
+	public int parallelIndexOf(T element) {
+		if (count < PARALLEL_THRESHOLD || nodeIndex != null) {
+			return indexOf(element);
+		}
+
+		// indexOf reports the last match, so the highest index found wins.
+		AtomicInteger found = new AtomicInteger(-1);
+		scanInParallel(segmentCount(), (segment, first, firstIndex, length) -> {
+			int match = -1;
+			DLLNode<T> temp = first;
+			for (int i = 0; i < length; i++) {
+				if (i % STOP_CHECK_INTERVAL == 0 && found.get() >= firstIndex + length) {
+					return;
+				}
+				if (temp.getElement() == element) {
+					match = firstIndex + i;
+				}
+				temp = temp.getNext();
+			}
+			if (match != -1) {
+				found.accumulateAndGet(match, Math::max);
+			}
+		});
+		return found.get();
+	}
+
+	/**
+	 * Returns true if this list contains the specified target element, scanning
+	 * segments of the list in parallel and stopping all of them at the first
+	 * match. Small lists and hash indexed lists use contains directly.
+	 *
+	 * @param target the target that is being sought in the list
+	 * @return true if the list contains this element, else false
+	 */
+	public boolean parallelContains(T target) {
+		if (count < PARALLEL_THRESHOLD || nodeIndex != null) {
+			return contains(target);
+		}
+
+		AtomicBoolean found = new AtomicBoolean(false);
+		scanInParallel(segmentCount(), (segment, first, firstIndex, length) -> {
+			DLLNode<T> temp = first;
+			for (int i = 0; i < length; i++) {
+				if (i % STOP_CHECK_INTERVAL == 0 && found.get()) {
+					return;
+				}
+				if (temp.getElement() == target) {
+					found.set(true);
+					return;
+				}
+				temp = temp.getNext();
+			}
+		});
+		return found.get();
+	}
+
+	/**
+	 * Returns the first element in list order that matches the predicate,
+	 * scanning segments of the list in parallel. Segments behind a segment that
+	 * already matched stop early. Small lists are scanned sequentially.
+	 *
+	 * @param predicate the condition the element has to meet
+	 * @return the first matching element, or an empty Optional if there is none
+	 *         (or the matching element is null)
+	 */
+	public Optional<T> parallelFindFirst(Predicate<? super T> predicate) {
+		if (count < PARALLEL_THRESHOLD) {
+			DLLNode<T> temp = head;
+			for (int i = 0; i < count; i++) {
+				if (predicate.test(temp.getElement())) {
+					return Optional.ofNullable(temp.getElement());
+				}
+				temp = temp.getNext();
+			}
+			return Optional.empty();
+		}
+
+		// Every segment keeps its own first match; the lowest matching segment wins.
+		int segments = segmentCount();
+		AtomicInteger firstSegment = new AtomicInteger(Integer.MAX_VALUE);
+		@SuppressWarnings("unchecked")
+		T[] matches = (T[]) new Object[segments];
+		scanInParallel(segments, (segment, first, firstIndex, length) -> {
+			DLLNode<T> temp = first;
+			for (int i = 0; i < length; i++) {
+				if (i % STOP_CHECK_INTERVAL == 0 && firstSegment.get() < segment) {
+					return;
+				}
+				if (predicate.test(temp.getElement())) {
+					matches[segment] = temp.getElement();
+					firstSegment.accumulateAndGet(segment, Math::min);
+					return;
+				}
+				temp = temp.getNext();
+			}
+		});
+
+		int winner = firstSegment.get();
+		return (winner == Integer.MAX_VALUE) ? Optional.empty() : Optional.ofNullable(matches[winner]);
+	}
+
+	/**
+	 * Returns the number of elements that match the predicate, counting segments
+	 * of the list in parallel. Small lists are counted sequentially.
+	 *
+	 * @param predicate the condition the elements have to meet
+	 * @return the number of matching elements
+	 */
+	public int parallelCount(Predicate<? super T> predicate) {
+		if (count < PARALLEL_THRESHOLD) {
+			int matches = 0;
+			DLLNode<T> temp = head;
+			for (int i = 0; i < count; i++) {
+				if (predicate.test(temp.getElement())) {
+					matches++;
+				}
+				temp = temp.getNext();
+			}
+			return matches;
+		}
+
+		int segments = segmentCount();
+		int[] matches = new int[segments];
+		scanInParallel(segments, (segment, first, firstIndex, length) -> {
+			int segmentMatches = 0;
+			DLLNode<T> temp = first;
+			for (int i = 0; i < length; i++) {
+				if (predicate.test(temp.getElement())) {
+					segmentMatches++;
+				}
+				temp = temp.getNext();
+			}
+			matches[segment] = segmentMatches;
+		});
+
+		int total = 0;
+		for (int segmentMatches : matches) {
+			total += segmentMatches;
+		}
+		return total;
+	}
+
+	/**
+	 * Performs the action on every element, handing segments of the list to
+	 * different threads. The action may run concurrently and in no particular
+	 * order. Small lists are processed sequentially, in order.
+	 *
+	 * @param action the action performed on every element
+	 */
+	public void parallelForEach(Consumer<? super T> action) {
+		if (count < PARALLEL_THRESHOLD) {
+			DLLNode<T> temp = head;
+			for (int i = 0; i < count; i++) {
+				action.accept(temp.getElement());
+				temp = temp.getNext();
+			}
+			return;
+		}
+
+		scanInParallel(segmentCount(), (segment, first, firstIndex, length) -> {
+			DLLNode<T> temp = first;
+			for (int i = 0; i < length; i++) {
+				action.accept(temp.getElement());
+				temp = temp.getNext();
+			}
+		});
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return (Iterator<T>) listIterator();
+	}
+
+	/*******************************************************
+	 *
+	 * ListIterator class
+	 *
+	 ********************************************************/
+	private class IUListIterator implements ListIterator<T> {
+
+		private int position; // Position of the iterator.
+		private int iteratorModCount; // Modifications done to the list by the
+		private boolean wasNextCalled; // Tracks if next was called.
+		private boolean wasPreviousCalled; // Tracks if previous was called.
+		private boolean wasRemoveCalled; // Tracks if remove was called.
+		private boolean wasAddCalled; // Tracks if add was called.
+		DLLNode<T> current;
+
+		/*
+		 * Default constructor
+		 */
+		public IUListIterator() {
+			position = 0;
+			iteratorModCount = modCount;
+			wasNextCalled = false;
+			wasPreviousCalled = false;
+			wasRemoveCalled = false;
+			wasAddCalled = false;
+			current = head;
+		}
+
+		/**
+		 * Emits a ListConcurrentModificationEvent and returns the exception the
+		 * iterator throws.
+		 *
+		 * @param operation the iterator method that noticed the change
+		 * @return the exception to be thrown
+		 */
+		private ConcurrentModificationException concurrentModification(String operation) {
+			ListConcurrentModificationEvent event = new ListConcurrentModificationEvent();
+			if (event.shouldCommit()) {
+				event.operation = operation;
+				event.size = count;
+				event.expectedModCount = iteratorModCount;
+				event.modCount = modCount;
+				event.commit();
+			}
+			return new ConcurrentModificationException("Source: IUSingleLinkedListIterator " + operation + " method");
+		}
+
+		/**
+		 * Overloaded constructor that allows a List Iterator to be constructed and
+		 * start at a particular index position in the list.
+		 *
+		 * @param startIndex the index the new List Iterator starts at.
+		 */
+		public IUListIterator(int startIndex) {
+
+			if ((startIndex < 0 || startIndex > count)) {
+				throw new IndexOutOfBoundsException();
+			}
+
+			// Gets the node at the startIndex. Past the tail the iterator rests on the
+			// end node, or on the (null) head when the list is empty.
+			if (startIndex == count) {
+				current = (count == 0) ? head : tail.getNext();
+			} else {
+				current = getNode(startIndex);
+			}
+
+			position = startIndex;
+			iteratorModCount = modCount;
+			wasNextCalled = false;
+			wasPreviousCalled = false;
+			wasRemoveCalled = false;
+			wasAddCalled = false;
+		}
+
+		/**
+		 * Returns true if this list iterator has more elements when traversing the list
+		 * in the forward direction. (In other words, returns true if next() would
+		 * return an element rather than throwing an exception.)
+		 *
+		 * @return bool
+		 */
+		@Override
+		public boolean hasNext() {
+
+			boolean bool = false;
+
+			if (position < count) {
+				bool = true;
+			}
+
+			if (wasNextCalled == true && count == 1 && position == count) {
+				bool = false;
+			}
+
+			return bool;
+		}
+
+		/**
+		 * Returns the next element in the list and advances the cursor position. This
+		 * method may be called repeatedly to iterate through the list, or intermixed
+		 * with calls to previous() to go back and forth. (Note that alternating calls
+		 * to next and previous will return the same element repeatedly.)
+		 *
+		 * @return temp
+		 */
+		@Override
+		public T next() {
+			if (modCount != iteratorModCount) {
+				throw concurrentModification("next");
+			}
+
+			if (hasNext() == false) {
+				throw new NoSuchElementException("Iterator - next - end of list");
+			}
+
+			wasNextCalled = true;
+			wasPreviousCalled = false;
+
+			// Captures the element to be returned.
+			T temp = current.getElement();
+
+			current = current.getNext();
+			position++;
+
+			return temp;
+		}
+
+		/**
+		 * Returns true if this list iterator has more elements when traversing the list
+		 * in the reverse direction. (In other words, returns true if previous() would
+		 * return an element rather than throwing an exception.)
+		 *
+		 */
+		@Override
+		public boolean hasPrevious() {
+			boolean bool = false;
+
+			if (position >= 1 && count >= 1) {
+				bool = true;
+			}
+
+			return bool;
+		}
+
+		/**
+		 * Returns the previous element in the list and moves the cursor position
+		 * backwards. This method may be called repeatedly to iterate through the list
+		 * backwards, or intermixed with calls to next() to go back and forth. (Note
+		 * that alternating calls to next and previous will return the same element
+		 * repeatedly.)
+		 *
+		 * @return temp the element
+		 */
+		@Override
+		public T previous() {
+			if (modCount != iteratorModCount) {
+				throw concurrentModification("previous");
+			}
+
+			if (hasPrevious() == false) {
+				throw new NoSuchElementException("Iterator - previous - end of list");
+			}
+
+			T temp = current.getPrevious().getElement();
+			wasPreviousCalled = true;
+			wasNextCalled = false;
+			current = current.getPrevious();
+			position--;
+			return temp;
+		}
+
+		/**
+		 * Returns the index of the element that would be returned by a subsequent call
+		 * to next(). (Returns list size if the list iterator is at the end of the
+		 * list.)
+		 *
+		 * @return position the index of the next element
+		 */
+		@Override
+		public int nextIndex() {
+			return position;
+		}
+
+		/**
+		 * Returns the index of the element that would be returned by a subsequent call
+		 * to previous(). (Returns -1 if the list iterator is at the beginning of the
+		 * list.)
+		 *
+		 * @return the index of the previous element
+		 */
+		@Override
+		public int previousIndex() {
+			return (position - 1);
+		}
+
+		/**
+		 * Removes from the list the last element that was returned by next() or
+		 * previous() (optional operation). This call can only be made once per call to
+		 * next or previous. It can be made only if add(E) has not been called after the
+		 * last call to next or previous.
+		 */
+		@Override
+		public void remove() {
+
+			if (count == 0 || (wasNextCalled == false && wasPreviousCalled == false)) {
+				throw new IllegalStateException("Source: List Iterator remove method");
+			}
+
+			if (modCount != iteratorModCount) {
+				throw concurrentModification("remove");
+			}
+
+			// can be made only if add(E) has not been called after the last call to next or
+			// previous.
+			if ((wasNextCalled == true || wasPreviousCalled == true) && (wasAddCalled == true)) {
+				throw new IllegalStateException("Source: List Iterator remove method");
+			}
+
+			// Captures the node that gets removed.
+			DLLNode<T> removed;
+			if (wasNextCalled) {
+				removed = (count == 1 || position == 1) ? head : (position == count) ? tail : current.getPrevious();
+			} else {
+				removed = (count == 1 || position == 0) ? head : (position == count - 1) ? tail : current;
+			}
+
+			// Remove after next was called
+			if (wasNextCalled) {
+
+				if (count == 1) {
+					head.setNext(null);
+					tail.setNext(null);
+					tail.setPrevious(null);
+					head = null;
+					tail = null;
+					end.setPrevious(null);
+				} else {
+
+					// Removes the head.
+					if (position == 1) {
+						DLLNode<T> tempHead = head;
+						head = head.getNext();
+						tempHead.setNext(null);
+						tempHead.setPrevious(null);
+					}
+
+					// Removes the tail.
+					if (position == count) {
+						DLLNode<T> oldTail = tail;
+						tail = tail.getPrevious();
+						tail.setNext(end);
+						end.setPrevious(tail);
+						oldTail.setNext(null);
+						oldTail.setPrevious(null);
+					}
+
+					// Removes an element that's not a head or tail.
+					if (position > 1 && position < count) {
+						current.getPrevious().getPrevious().setNext(current);
+						current.setPrevious(current.getPrevious().getPrevious());
+
+					}
+				}
+				wasNextCalled = false;
+				count--;
+				position--;
+			}
+
+			// Remove after previous was called
+			if (wasPreviousCalled) {
+
+				if (count == 1) {
+					head.setNext(null);
+					tail.setPrevious(null);
+					head = null;
+					tail = null;
+					end.setPrevious(null);
+				} else {
+
+					// Removes the head.
+					if (position == 0) {
+						DLLNode<T> tempHead = head;
+						head = head.getNext();
+						tempHead.setNext(null);
+						head.setPrevious(null);
+						current = head;
+						current.setPrevious(null);
+						current.setNext(head.getNext());
+					}
+
+					// Removes the tail.
+					if (position == (count - 1)) {
+						DLLNode<T> oldTail = tail;
+						tail = tail.getPrevious();
+						tail.setNext(end);
+						oldTail.setNext(null);
+						oldTail.setPrevious(null);
+						end.setPrevious(tail);
+						current.setPrevious(tail);
+						current.setNext(end);
+					}
+
+					// Removes an element that's not a head or tail.
+					if (position > 0 && position <= (count - 2)) {
+						current.getPrevious().setNext(current.getNext());
+						current.getNext().setPrevious(current.getPrevious());
+						current = current.getNext();
+					}
+				}
+				wasPreviousCalled = false;
+				count--;
+			}
+			wasNextCalled = false;
+			modCount++;
+			iteratorModCount++;
+			nodeUnlinked(removed);
+			// Adding this for the set method:
+			wasRemoveCalled = true;
+		}
+
+		/**
+		 * Replaces the last element returned by next() or previous() with the specified
+		 * element (optional operation). This call can be made only if neither remove()
+		 * nor add(E) have been called after the last call to next or previous.
+		 *
+		 * @param e the new element inserted into the list
+		 */
+		@Override
+		public void set(T e) {
+
+			if (wasRemoveCalled || wasAddCalled || count == 0) {
+				throw new IllegalStateException("Source: List Iterator set method");
+			}
+
+			if (!wasNextCalled && !wasPreviousCalled) {
+				throw new IllegalStateException("Source: List Iterator set method");
+			}
+
+			// next() leaves the cursor after the node it returned, previous() on it.
+			DLLNode<T> returned = wasNextCalled ? current.getPrevious() : current;
+			if (returned.getElement() != e) {
+				unindexNode(returned);
+				returned.setElement(e);
+				indexNode(returned);
+			}
+
+		}
+
+		/**
+		 * Inserts the specified element into the list (optional operation). The element
+		 * is inserted immediately before the element that would be returned by next(),
+		 * if any, and after the element that would be returned by previous(), if any.
+		 * (If the list contains no elements, the new element becomes the sole element
+		 * on the list.) The new element is inserted before the implicit cursor: a
+		 * subsequent call to next would be unaffected, and a subsequent call to
+		 * previous would return the new element. (This call increases by one the value
+		 * that would be returned by a call to nextIndex or previousIndex.)
+		 *
+		 * @param e the new element added to the list
+		 */
+		@Override
+		public void add(T e) {
+
+			DLLNode<T> addNode = createNode(e);
+
+			// Add cases preceded by a call to next.
+			if (wasNextCalled) {
+				// Only special case: empty list to node.
+				if (count == 0) {
+					head = addNode;
+					tail = addNode;
+					head.setNext(tail);
+					tail.setPrevious(head);
+					tail.setNext(end);
+					end.setPrevious(tail);
+				} else {
+					// If adding after the tail
+					if (position == count) {
+						tail.setNext(addNode);
+						addNode.setNext(end);
+						addNode.setPrevious(tail);
+						end.setPrevious(addNode);
+						current = tail;
+						tail = addNode;
+						current = current.getNext();
+						current = current.getNext();
+						position++;
+					}
+					// If adding before the head
+					if (position == 0) {
+						addNode.setNext(head);
+						head.setPrevious(addNode);
+						head = addNode;
+					}
+					// General case:
+					if (position > 0 && position < count) {
+						current.getPrevious().setNext(addNode);
+						addNode.setPrevious(current.getPrevious());
+						addNode.setNext(current);
+						current.setPrevious(addNode);
+						position++;
+					}
+				}
+			}
+
+			// Add cases preceded by a call to previous.
+			if (wasPreviousCalled) {
+				if (count == 0) {
+					head = addNode;
+					tail = addNode;
+					head.setNext(tail);
+					tail.setPrevious(head);
+					tail.setNext(end);
+					end.setPrevious(tail);
+				} else {
+
+					// If adding after the tail
+					if (position == count) {
+						tail.setNext(addNode);
+						addNode.setNext(end);
+						addNode.setPrevious(tail);
+						end.setPrevious(addNode);
+						tail = addNode;
+					}
+
+					// If adding before the head
+					if (position == 0) {
+						addNode.setNext(head);
+						head.setPrevious(addNode);
+						head = addNode;
+						current.setPrevious(head);
+					}
+
+					// General case: inserts after the element that would be returned by previous.
+					if (position > 0 && position < count) {
+						current.getPrevious().setNext(addNode);
+						addNode.setPrevious(current.getPrevious());
+						addNode.setNext(current);
+						current.setPrevious(addNode);
+
+					}
+					position++;
+				}
+			}
+
+			if (!wasPreviousCalled && !wasNextCalled && position == 0) {
+				if (count == 0) {
+					head = addNode;
+					tail = addNode;
+					head.setNext(tail);
+					tail.setPrevious(head);
+					tail.setNext(end);
+					end.setPrevious(tail);
+					current = head;
+					position++;
+				} else {
+					current.setPrevious(addNode);
+					addNode.setNext(head);
+					head.setPrevious(addNode);
+					head = addNode;
+					position++;
+				}
+			}
+			count++;
+			modCount++;
+			iteratorModCount++;
+			nodeLinked(addNode);
+			// Used in the set method.
+			wasAddCalled = true;
+		}
+	}
+
+	/**
+	 * Returns a new List Iterator object starting at the starting index.
+	 *
+	 * @param startingIndex the index that the new List Iterator starts at.
+	 *
+	 * @return listIterator the new list iterator object at the specified index
+	 */
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		long start = startOperation();
+		ListIterator<T> iterator = new IUListIterator(startingIndex);
+		finishOperation(ListMetrics.Operation.LIST_ITERATOR, start);
+		return iterator;
+	}
+
+	/**
+	 * Returns a Spliterator that knows its exact size and splits by walking to
+	 * the middle node of its range.
+	 *
+	 * @return a new Spliterator over the elements of the list
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return new IUSpliterator(head, count, modCount);
+	}
+
+	/*******************************************************
+	 *
+	 * Spliterator class
+	 *
+	 ********************************************************/
+	private class IUSpliterator implements Spliterator<T> {
+
+		private DLLNode<T> current; // next node to be returned
+		private int remaining; // number of elements left in this range
+		private int expectedModCount; // modCount when the spliterator was created
+
+		/**
+		 * Constructor for a range of nodes.
+		 *
+		 * @param current          the first node of the range
+		 * @param remaining        the number of nodes in the range
+		 * @param expectedModCount the modCount the range is valid for
+		 */
+		public IUSpliterator(DLLNode<T> current, int remaining, int expectedModCount) {
+			this.current = current;
+			this.remaining = remaining;
+			this.expectedModCount = expectedModCount;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if (remaining <= 0) {
+				return false;
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException("Source: IUSpliterator tryAdvance");
+			}
+			T element = current.getElement();
+			current = current.getNext();
+			remaining--;
+			action.accept(element);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			DLLNode<T> temp = current;
+			int left = remaining;
+
+			// Hands out the rest of the range, checking for changes once at the end.
+			current = null;
+			remaining = 0;
+			while (left > 0) {
+				action.accept(temp.getElement());
+				temp = temp.getNext();
+				left--;
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException("Source: IUSpliterator forEachRemaining");
+			}
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			if (remaining < 2) {
+				return null;
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException("Source: IUSpliterator trySplit");
+			}
+
+			// Walks to the middle node; the first half is split off.
+			int half = remaining / 2;
+			DLLNode<T> start = current;
+			for (int i = 0; i < half; i++) {
+				current = current.getNext();
+			}
+			remaining -= half;
+			return new IUSpliterator(start, half, expectedModCount);
+		}
+
+		@Override
+		public long estimateSize() {
+			return remaining;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+	}
+
+	/**
+	 * @return a new ListIterator object.
+	 *
+	 */
+	@Override
+	public ListIterator<T> listIterator() {
+		return new IUListIterator();
+	}
+}
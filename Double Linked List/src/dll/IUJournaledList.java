@@ -0,0 +1,567 @@
+package dll;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A durable IndexedUnsortedList: an IUDoubleLinkedList whose every mutation is
+ * appended to a MutationJournal in a directory before the call returns.
+ *
+ * Mutations are journaled by index, so replay does not depend on how elements
+ * compare: addAfter and remove(element) look the index up first and are
+ * journaled as add(index, element) and remove(index). Iterator add, remove and
+ * set are journaled the same way.
+ *
+ * The list is hash indexed, so by-value operations compare elements with
+ * equals: elements read back from disk are never the objects that were added.
+ *
+ * A checkpoint saves the whole list with IUListSerializer and deletes the
+ * journal segments it covers. Checkpoints run every checkpointEvery mutations
+ * and on checkpoint(). Opening a directory loads the latest checkpoint and
+ * replays the journal after it, so the list comes back as of the last synced
+ * mutation.
+ *
+ * Like IUDoubleLinkedList, the list is not thread safe. If the journal fails,
+ * the mutation that hit the failure has already changed the list in memory;
+ * every later mutation throws IllegalStateException, and the directory still
+ * holds the list as of the last sync.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class IUJournaledList<T> implements IndexedUnsortedList<T>, Closeable {
+	public static final int DEFAULT_SYNC_EVERY = 1; // sync after every mutation
+	public static final long DEFAULT_SEGMENT_BYTES = 64L << 20; // 64 MiB segments
+	public static final long DEFAULT_CHECKPOINT_EVERY = 1_000_000L; // mutations between checkpoints
+
+	private static final String CHECKPOINT_PREFIX = "checkpoint-"; // file name of a checkpoint before its sequence
+	private static final String CHECKPOINT_SUFFIX = ".iul"; // file name of a checkpoint after its sequence
+
+	private final Path directory; // directory holding checkpoints and journal
+	private final ElementCodec<T> codec; // codec of the elements
+	private final IUDoubleLinkedList<T> list; // the list in memory
+	private final MutationJournal<T> journal; // journal of the mutations since the last checkpoint
+	private final long checkpointEvery; // mutations between checkpoints, 0 for none
+	private long sinceCheckpoint; // mutations since the last checkpoint
+	private int modCount; // structural changes, for the iterators
+	private RuntimeException failure; // why the journal stopped accepting mutations, null if it didn't
+
+	/**
+	 * Constructor that opens or creates a journaled list in a directory, syncing
+	 * every mutation.
+	 *
+	 * @param directory the directory of the list
+	 * @param codec     the codec of the elements
+	 * @throws IOException if the directory could not be read or recovered
+	 */
+	public IUJournaledList(Path directory, ElementCodec<T> codec) throws IOException {
+		this(directory, codec, DEFAULT_SYNC_EVERY, 0L, DEFAULT_SEGMENT_BYTES, DEFAULT_CHECKPOINT_EVERY);
+	}
+
+	/**
+	 * Constructor that opens or creates a journaled list in a directory.
+	 *
+	 * @param directory          the directory of the list
+	 * @param codec              the codec of the elements
+	 * @param syncEvery          mutations that share one fsync, 0 to only sync on
+	 *                           the interval, on sync() and at checkpoints
+	 * @param syncIntervalMillis milliseconds between syncs of a background
+	 *                           thread, 0 for no thread
+	 * @param segmentBytes       size at which the journal starts a new segment
+	 * @param checkpointEvery    mutations between checkpoints, 0 to only
+	 *                           checkpoint on checkpoint()
+	 * @throws IOException if the directory could not be read or recovered
+	 */
+	public IUJournaledList(Path directory, ElementCodec<T> codec, int syncEvery, long syncIntervalMillis,
+			long segmentBytes, long checkpointEvery) throws IOException {
+		if (checkpointEvery < 0) {
+			throw new IllegalArgumentException("Source: IUJournaledList - negative checkpointEvery");
+		}
+		this.directory = directory;
+		this.codec = codec;
+		this.checkpointEvery = checkpointEvery;
+		Files.createDirectories(directory);
+
+		// Loads the latest checkpoint, then replays the journal after it.
+		long checkpoint = latestCheckpoint();
+		list = new IUDoubleLinkedList<T>(true);
+		if (checkpoint > 0) {
+			IUListSerializer.load(checkpointPath(checkpoint), codec, list);
+		}
+		long last = MutationJournal.replay(directory, codec, checkpoint, list);
+		sinceCheckpoint = last - checkpoint;
+		journal = new MutationJournal<T>(directory, codec, last + 1, syncEvery, syncIntervalMillis, segmentBytes);
+	}
+
+	/*******************************************************
+	 *
+	 * Checkpoints
+	 *
+	 ********************************************************/
+
+	/**
+	 * Returns the path of the checkpoint taken after the given sequence number.
+	 *
+	 * @param sequence the sequence number
+	 * @return the path of the checkpoint
+	 */
+	private Path checkpointPath(long sequence) {
+		return directory.resolve(String.format("%s%020d%s", CHECKPOINT_PREFIX, sequence, CHECKPOINT_SUFFIX));
+	}
+
+	/**
+	 * Finds the latest checkpoint and deletes older ones along with files of
+	 * checkpoints that were interrupted.
+	 *
+	 * @return the sequence number of the latest checkpoint, 0 if there is none
+	 * @throws IOException if the directory could not be read
+	 */
+	private long latestCheckpoint() throws IOException {
+		long latest = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, CHECKPOINT_PREFIX + "*")) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				if (name.endsWith(CHECKPOINT_SUFFIX)) {
+					latest = Math.max(latest, Long.parseLong(
+							name.substring(CHECKPOINT_PREFIX.length(), name.length() - CHECKPOINT_SUFFIX.length())));
+				} else {
+					Files.delete(file);
+				}
+			}
+		}
+		deleteCheckpointsBefore(latest);
+		return latest;
+	}
+
+	/**
+	 * Deletes the checkpoints older than the given sequence number.
+	 *
+	 * @param sequence the sequence number of the checkpoint that is kept
+	 * @throws IOException if a checkpoint could not be deleted
+	 */
+	private void deleteCheckpointsBefore(long sequence) throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+				CHECKPOINT_PREFIX + "*" + CHECKPOINT_SUFFIX)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				long taken = Long.parseLong(
+						name.substring(CHECKPOINT_PREFIX.length(), name.length() - CHECKPOINT_SUFFIX.length()));
+				if (taken < sequence) {
+					Files.delete(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Saves the list as a checkpoint and deletes the journal segments and older
+	 * checkpoints it makes unnecessary.
+	 *
+	 * @throws IOException if the checkpoint could not be written
+	 */
+	public void checkpoint() throws IOException {
+		checkWritable();
+		journal.sync();
+		long sequence = journal.lastSequence();
+		IUListSerializer.save(list, checkpointPath(sequence), codec);
+		MutationJournal.syncDirectory(directory);
+
+		// Records up to the checkpoint are no longer needed.
+		journal.roll();
+		journal.truncate(sequence);
+		deleteCheckpointsBefore(sequence);
+		sinceCheckpoint = 0;
+	}
+
+	/**
+	 * Forces every journaled mutation to disk.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	public void sync() throws IOException {
+		journal.sync();
+	}
+
+	/**
+	 * Syncs the journal and closes it. The list can still be read, but no longer
+	 * changed.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	@Override
+	public void close() throws IOException {
+		if (failure == null) {
+			failure = new IllegalStateException("Source: IUJournaledList - closed");
+		}
+		journal.close();
+	}
+
+	/**
+	 * Throws if the journal no longer accepts mutations.
+	 */
+	private void checkWritable() {
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * Journals a mutation that was applied to the list, and checkpoints when
+	 * enough mutations have piled up.
+	 *
+	 * @param operation one of the operation constants of MutationJournal
+	 * @param index     the index of the mutation, or -1
+	 * @param element   the element of the mutation, or null
+	 * @throws UncheckedIOException if the journal could not be written
+	 */
+	private void journal(byte operation, int index, T element) {
+		if (operation != MutationJournal.SET) {
+			modCount++;
+		}
+		try {
+			journal.append(operation, index, element);
+			sinceCheckpoint++;
+			if (checkpointEvery > 0 && sinceCheckpoint >= checkpointEvery) {
+				checkpoint();
+			}
+		} catch (IOException e) {
+			failure = new IllegalStateException("Source: IUJournaledList - journal failed", e);
+			throw new UncheckedIOException("Source: IUJournaledList - journal failed", e);
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Mutations
+	 *
+	 ********************************************************/
+
+	/**
+	 * Adds the specified element to the front of this list.
+	 *
+	 * @param element the element to be added to the front of this list
+	 */
+	@Override
+	public void addToFront(T element) {
+		checkWritable();
+		list.addToFront(element);
+		journal(MutationJournal.ADD_TO_FRONT, -1, element);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of this list
+	 */
+	@Override
+	public void addToRear(T element) {
+		checkWritable();
+		list.addToRear(element);
+		journal(MutationJournal.ADD_TO_REAR, -1, element);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of the list
+	 */
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	/**
+	 * Adds the specified element after the specified target.
+	 *
+	 * @param element the element to be added after the target
+	 * @param target  the target is the item that the element will be added after
+	 * @throws NoSuchElementException if target element is not in this list
+	 */
+	@Override
+	public void addAfter(T element, T target) {
+		checkWritable();
+		int index = list.indexOf(target);
+		if (index == -1) {
+			throw new NoSuchElementException("Source: addAfter(element, target)");
+		}
+		list.add(index + 1, element);
+		journal(MutationJournal.ADD_AT, index + 1, element);
+	}
+
+	/**
+	 * Inserts the specified element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be
+	 *                inserted.
+	 * @param element the element to be inserted into the array
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index > size)
+	 */
+	@Override
+	public void add(int index, T element) {
+		checkWritable();
+		list.add(index, element);
+		journal(MutationJournal.ADD_AT, index, element);
+	}
+
+	/**
+	 * Removes and returns the first element from this list.
+	 *
+	 * @return the first element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeFirst() {
+		checkWritable();
+		T removed = list.removeFirst();
+		journal(MutationJournal.REMOVE_FIRST, -1, null);
+		return removed;
+	}
+
+	/**
+	 * Removes and returns the last element from this list.
+	 *
+	 * @return the last element from this list
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeLast() {
+		checkWritable();
+		T removed = list.removeLast();
+		journal(MutationJournal.REMOVE_LAST, -1, null);
+		return removed;
+	}
+
+	/**
+	 * Removes and returns the specified element from this list.
+	 *
+	 * @param element the element to be removed from the list
+	 * @return the element that is removed
+	 * @throws NoSuchElementException if element is not in this list
+	 */
+	@Override
+	public T remove(T element) {
+		checkWritable();
+		int index = list.indexOf(element);
+		if (index == -1) {
+			throw new NoSuchElementException("Source: remove(element)");
+		}
+		T removed = list.remove(index);
+		journal(MutationJournal.REMOVE_AT, index, null);
+		return removed;
+	}
+
+	/**
+	 * Removes and returns the element at the specified index.
+	 *
+	 * @param index the index of the element to be retrieved
+	 * @return the element that is removed
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T remove(int index) {
+		checkWritable();
+		T removed = list.remove(index);
+		journal(MutationJournal.REMOVE_AT, index, null);
+		return removed;
+	}
+
+	/**
+	 * Replaces the element at the specified index.
+	 *
+	 * @param index   the index of the element to be replaced
+	 * @param element the new element
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public void set(int index, T element) {
+		checkWritable();
+		list.set(index, element);
+		journal(MutationJournal.SET, index, element);
+	}
+
+	/*******************************************************
+	 *
+	 * Reads
+	 *
+	 ********************************************************/
+
+	@Override
+	public T get(int index) {
+		return list.get(index);
+	}
+
+	@Override
+	public int indexOf(T element) {
+		return list.indexOf(element);
+	}
+
+	@Override
+	public T first() {
+		return list.first();
+	}
+
+	@Override
+	public T last() {
+		return list.last();
+	}
+
+	@Override
+	public boolean contains(T target) {
+		return list.contains(target);
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return list.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return list.size();
+	}
+
+	@Override
+	public String toString() {
+		return list.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return listIterator(0);
+	}
+
+	@Override
+	public ListIterator<T> listIterator() {
+		return listIterator(0);
+	}
+
+	/**
+	 * Returns a list iterator starting at the given index. Its add, remove and
+	 * set are journaled like the list's own mutations.
+	 *
+	 * @param startingIndex the index that the new List Iterator starts at.
+	 * @return the new list iterator at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		if (startingIndex < 0 || startingIndex > list.size()) {
+			throw new IndexOutOfBoundsException("Source: listIterator(startingIndex)");
+		}
+		return new JournaledIterator(startingIndex);
+	}
+
+	/*******************************************************
+	 *
+	 * ListIterator class
+	 *
+	 ********************************************************/
+
+	/**
+	 * List iterator that moves by index. Stepping to a neighbouring index is
+	 * cheap because the list starts every walk from the node it visited last.
+	 */
+	private class JournaledIterator implements ListIterator<T> {
+		private int cursor; // index of the element next() returns
+		private int lastReturned = -1; // index of the element last returned, -1 if none
+		private int expectedModCount = modCount; // modCount the iterator is valid for
+
+		private JournaledIterator(int startIndex) {
+			cursor = startIndex;
+		}
+
+		private void checkForComodification() {
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException("Source: JournaledIterator");
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return cursor < list.size();
+		}
+
+		@Override
+		public T next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException("Source: JournaledIterator next");
+			}
+			T element = list.get(cursor);
+			lastReturned = cursor;
+			cursor++;
+			return element;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return cursor > 0;
+		}
+
+		@Override
+		public T previous() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException("Source: JournaledIterator previous");
+			}
+			cursor--;
+			lastReturned = cursor;
+			return list.get(cursor);
+		}
+
+		@Override
+		public int nextIndex() {
+			return cursor;
+		}
+
+		@Override
+		public int previousIndex() {
+			return cursor - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (lastReturned < 0) {
+				throw new IllegalStateException("Source: JournaledIterator remove");
+			}
+			checkForComodification();
+			IUJournaledList.this.remove(lastReturned);
+			if (lastReturned < cursor) {
+				cursor--;
+			}
+			lastReturned = -1;
+			expectedModCount = modCount;
+		}
+
+		@Override
+		public void set(T e) {
+			if (lastReturned < 0) {
+				throw new IllegalStateException("Source: JournaledIterator set");
+			}
+			checkForComodification();
+			IUJournaledList.this.set(lastReturned, e);
+		}
+
+		@Override
+		public void add(T e) {
+			checkForComodification();
+			IUJournaledList.this.add(cursor, e);
+			cursor++;
+			lastReturned = -1;
+			expectedModCount = modCount;
+		}
+	}
+}
@@ -0,0 +1,366 @@
+package dll;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Saves an IUDoubleLinkedList in a compact binary format and loads it back.
+ * Bytes go through a direct ByteBuffer of BATCH_BYTES that is written to or
+ * filled from the channel whenever it runs full or empty, so no list, however
+ * large, is ever held as one byte array. Loading links the nodes into a chain
+ * as they are read and hands the chain to the list in one step.
+ *
+ * <pre>
+ * int    magic           0x49554C53 ("IULS")
+ * short  format version  FORMAT_VERSION
+ * byte   flags           1 if the codec is fixed width
+ * int    name length, then the codec name in UTF-8
+ * long   element count
+ * per element: the codec's bytes if it is fixed width, else an int length
+ *              (-1 for null) followed by the codec's bytes
+ * int    CRC32C of everything before it
+ * </pre>
+ *
+ * All numbers are big endian.
+ *
+ * @author Joshua McKerracher
+ */
+public final class IUListSerializer {
+	public static final int MAGIC = 0x49554C53; // "IULS"
+	public static final short FORMAT_VERSION = 1; // version of the format written
+	public static final int BATCH_BYTES = 1 << 16; // size of the transfer buffer
+	private static final byte FIXED_WIDTH = 1; // flag of a fixed-width codec
+	private static final int NULL_LENGTH = -1; // length written for a null element
+	private static final int MAX_NAME_BYTES = 1024; // longest codec name accepted
+
+	private IUListSerializer() {
+	}
+
+	/**
+	 * Saves the list to a file. The file is written next to the target, forced
+	 * to disk and then moved over the target, so a crash leaves either the old
+	 * or the new file.
+	 *
+	 * @param list  the list to be saved
+	 * @param path  the file to be written
+	 * @param codec the codec of the elements
+	 * @throws IOException if the file could not be written
+	 */
+	public static <T> void save(IUDoubleLinkedList<T> list, Path path, ElementCodec<T> codec) throws IOException {
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			write(list, channel, codec);
+			channel.force(true);
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	/**
+	 * Loads a list saved by save().
+	 *
+	 * @param path  the file to be read
+	 * @param codec the codec the file was written with
+	 * @return a new list with the saved elements
+	 * @throws IOException if the file could not be read or is not a valid list
+	 */
+	public static <T> IUDoubleLinkedList<T> load(Path path, ElementCodec<T> codec) throws IOException {
+		return load(path, codec, new IUDoubleLinkedList<T>());
+	}
+
+	/**
+	 * Loads a list saved by save() into the given list, for example a hash
+	 * indexed one. The elements are added after the list's own.
+	 *
+	 * @param path  the file to be read
+	 * @param codec the codec the file was written with
+	 * @param list  the list the elements are added to
+	 * @return the given list
+	 * @throws IOException if the file could not be read or is not a valid list
+	 */
+	public static <T> IUDoubleLinkedList<T> load(Path path, ElementCodec<T> codec, IUDoubleLinkedList<T> list)
+			throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			read(channel, codec, list);
+			return list;
+		}
+	}
+
+	/**
+	 * Writes the list to a channel in the binary format.
+	 *
+	 * @param list    the list to be written
+	 * @param channel the channel written to
+	 * @param codec   the codec of the elements
+	 * @throws IOException          if writing fails
+	 * @throws NullPointerException if a fixed-width codec meets a null element
+	 */
+	public static <T> void write(IUDoubleLinkedList<T> list, WritableByteChannel channel, ElementCodec<T> codec)
+			throws IOException {
+		BatchWriter out = new BatchWriter(channel);
+		int fixed = codec.fixedSize();
+		byte[] name = codec.name().getBytes(StandardCharsets.UTF_8);
+		if (name.length > MAX_NAME_BYTES) {
+			throw new IllegalArgumentException("Source: write - codec name too long");
+		}
+
+		// Writes the header.
+		out.reserve(Integer.BYTES + Short.BYTES + 1 + Integer.BYTES + name.length + Long.BYTES);
+		out.buffer.putInt(MAGIC).putShort(FORMAT_VERSION).put(fixed >= 0 ? FIXED_WIDTH : 0).putInt(name.length)
+				.put(name).putLong(list.size());
+
+		// Writes the elements in list order.
+		DLLNode<T> temp = list.head;
+		for (int i = 0; i < list.size(); i++) {
+			T element = temp.getElement();
+			if (fixed >= 0) {
+				if (element == null) {
+					throw new NullPointerException("Source: write - null element with a fixed-width codec");
+				}
+				out.reserve(fixed);
+				encode(codec, element, out.buffer, fixed);
+			} else if (element == null) {
+				out.reserve(Integer.BYTES);
+				out.buffer.putInt(NULL_LENGTH);
+			} else {
+				int length = codec.encodedSize(element);
+				out.reserve(Integer.BYTES + length);
+				out.buffer.putInt(length);
+				encode(codec, element, out.buffer, length);
+			}
+			temp = temp.getNext();
+		}
+		out.finish();
+	}
+
+	/**
+	 * Reads a list in the binary format from a channel and adds its elements
+	 * after those of the given list. The nodes are linked as they are read and
+	 * attached to the list in one step.
+	 *
+	 * @param channel the channel read from
+	 * @param codec   the codec the list was written with
+	 * @param list    the list the elements are added to
+	 * @throws IOException if reading fails or the bytes are not a valid list
+	 */
+	public static <T> void read(ReadableByteChannel channel, ElementCodec<T> codec, IUDoubleLinkedList<T> list)
+			throws IOException {
+		BatchReader in = new BatchReader(channel);
+		int fixed = codec.fixedSize();
+
+		// Checks the header.
+		in.require(Integer.BYTES + Short.BYTES + 1 + Integer.BYTES);
+		if (in.buffer.getInt() != MAGIC) {
+			throw new IOException("Source: read - not a list file");
+		}
+		short version = in.buffer.getShort();
+		if (version != FORMAT_VERSION) {
+			throw new IOException("Source: read - unsupported format version " + version);
+		}
+		boolean fixedWidth = in.buffer.get() == FIXED_WIDTH;
+		int nameLength = in.buffer.getInt();
+		if (nameLength < 0 || nameLength > MAX_NAME_BYTES) {
+			throw new IOException("Source: read - corrupt header");
+		}
+		in.require(nameLength + Long.BYTES);
+		byte[] name = new byte[nameLength];
+		in.buffer.get(name);
+		if (!codec.name().equals(new String(name, StandardCharsets.UTF_8)) || fixedWidth != (fixed >= 0)) {
+			throw new IOException("Source: read - written with codec " + new String(name, StandardCharsets.UTF_8));
+		}
+		long count = in.buffer.getLong();
+		if (count < 0 || count > Integer.MAX_VALUE - list.size()) {
+			throw new IOException("Source: read - corrupt element count");
+		}
+
+		// Links the nodes into a chain as the elements are read.
+		DLLNode<T> first = null;
+		DLLNode<T> last = null;
+		for (long i = 0; i < count; i++) {
+			int length = fixed;
+			if (fixed < 0) {
+				in.require(Integer.BYTES);
+				length = in.buffer.getInt();
+				if (length < NULL_LENGTH) {
+					throw new IOException("Source: read - corrupt element length");
+				}
+			}
+			T element = null;
+			if (length != NULL_LENGTH) {
+				in.require(length);
+				int start = in.buffer.position();
+				element = codec.decode(in.buffer, length);
+				in.buffer.position(start + length);
+			}
+
+			DLLNode<T> node = new DLLNode<T>(element);
+			if (last == null) {
+				first = node;
+			} else {
+				last.setNext(node);
+				node.setPrevious(last);
+			}
+			last = node;
+		}
+		in.finish();
+		list.appendChain(first, last, (int) count);
+	}
+
+	/**
+	 * Encodes an element and checks that the codec wrote the size it promised.
+	 *
+	 * @param codec   the codec
+	 * @param element the element
+	 * @param out     the buffer written to
+	 * @param length  the number of bytes the codec promised
+	 */
+	private static <T> void encode(ElementCodec<T> codec, T element, ByteBuffer out, int length) {
+		int start = out.position();
+		codec.encode(element, out);
+		if (out.position() - start != length) {
+			throw new IllegalStateException("Source: write - codec " + codec.name() + " wrote "
+					+ (out.position() - start) + " bytes instead of " + length);
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Batches
+	 *
+	 ********************************************************/
+
+	/**
+	 * Collects bytes in a direct buffer and writes them to the channel a batch
+	 * at a time, keeping the checksum of everything written.
+	 */
+	private static final class BatchWriter {
+		private final WritableByteChannel channel; // channel written to
+		private final CRC32C crc = new CRC32C(); // checksum of the bytes written so far
+		private ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_BYTES); // bytes not written yet
+
+		private BatchWriter(WritableByteChannel channel) {
+			this.channel = channel;
+		}
+
+		/**
+		 * Makes room for the given number of bytes. The buffer only grows for an
+		 * element larger than a batch.
+		 *
+		 * @param bytes the number of bytes about to be put
+		 * @throws IOException if writing fails
+		 */
+		private void reserve(int bytes) throws IOException {
+			if (buffer.remaining() < bytes) {
+				flush();
+				if (buffer.capacity() < bytes) {
+					buffer = ByteBuffer.allocateDirect(bytes);
+				}
+			}
+		}
+
+		/**
+		 * Writes the buffered bytes to the channel.
+		 *
+		 * @throws IOException if writing fails
+		 */
+		private void flush() throws IOException {
+			buffer.flip();
+			crc.update(buffer.duplicate());
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			buffer.clear();
+		}
+
+		/**
+		 * Writes the buffered bytes followed by the checksum.
+		 *
+		 * @throws IOException if writing fails
+		 */
+		private void finish() throws IOException {
+			flush();
+			buffer.putInt((int) crc.getValue());
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Reads the channel a batch at a time into a direct buffer, keeping the
+	 * checksum of every byte consumed.
+	 */
+	private static final class BatchReader {
+		private final ReadableByteChannel channel; // channel read from
+		private final CRC32C crc = new CRC32C(); // checksum of the bytes consumed so far
+		private ByteBuffer buffer = ByteBuffer.allocateDirect(BATCH_BYTES).limit(0); // bytes read, not all consumed
+		private int checked; // position up to which consumed bytes are in the checksum
+
+		private BatchReader(ReadableByteChannel channel) {
+			this.channel = channel;
+		}
+
+		/**
+		 * Makes sure the given number of bytes can be got from the buffer, reading
+		 * as much of the channel as fits.
+		 *
+		 * @param bytes the number of bytes about to be got
+		 * @throws IOException if reading fails or the channel ends first
+		 */
+		private void require(int bytes) throws IOException {
+			if (buffer.remaining() >= bytes) {
+				return;
+			}
+			checksumConsumed();
+
+			// Moves the unconsumed bytes to the front, into a bigger buffer if needed.
+			if (buffer.capacity() < bytes) {
+				ByteBuffer bigger = ByteBuffer.allocateDirect(bytes);
+				bigger.put(buffer);
+				buffer = bigger;
+			} else {
+				buffer.compact();
+			}
+			while (buffer.position() < bytes) {
+				if (channel.read(buffer) < 0) {
+					throw new EOFException("Source: read - list file is truncated");
+				}
+			}
+			buffer.flip();
+			checked = 0;
+		}
+
+		/**
+		 * Adds the bytes consumed since the last call to the checksum.
+		 */
+		private void checksumConsumed() {
+			crc.update(buffer.duplicate().limit(buffer.position()).position(checked));
+			checked = buffer.position();
+		}
+
+		/**
+		 * Reads the checksum and compares it with the bytes consumed.
+		 *
+		 * @throws IOException if the checksum does not match
+		 */
+		private void finish() throws IOException {
+			checksumConsumed();
+			int expected = (int) crc.getValue();
+			require(Integer.BYTES);
+			if (buffer.getInt() != expected) {
+				throw new IOException("Source: read - checksum mismatch");
+			}
+		}
+	}
+}
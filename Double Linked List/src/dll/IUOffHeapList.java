@@ -0,0 +1,1028 @@
+package dll;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements the IndexedUnsortedList interface as a double linked
+ * list whose nodes live outside the Java heap. Like IUArenaLinkedList, a node is
+ * a slot number, but a slot is a record in native memory: its next link, its
+ * previous link and its element encoded by a fixed-width ElementCodec. The
+ * garbage collector sees a handful of buffers, never the elements; an element
+ * only becomes an object while get, an iterator or a removal hands it out.
+ *
+ * Slots live in chunks of chunkSlots records, each a direct ByteBuffer or, for
+ * a list opened on a file, a region of the memory-mapped file. Removed slots go
+ * onto a free list and are reused. Elements are compared by their encoded
+ * bytes, so indexOf, contains, remove(element) and addAfter never decode.
+ *
+ * A list appended at the rear occupies consecutive slots, so iterating it walks
+ * memory sequentially; compact() restores that order after inserts and
+ * removals in the middle.
+ *
+ * A file-backed list writes its bookkeeping into the file header on force()
+ * and close(), and reopening the file maps it back without reading the
+ * elements. A file that was changed after its last force() and not closed is
+ * refused, since its links may not match its header; use IUJournaledList when
+ * the list has to survive a crash.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class IUOffHeapList<T> implements IndexedUnsortedList<T>, Closeable {
+	public static final int DEFAULT_CHUNK_SLOTS = 1 << 16; // slots per chunk
+	private static final int NIL = -1; // link value meaning "no node"
+	private static final int NEXT = 0; // offset of the next link in a record
+	private static final int PREVIOUS = Integer.BYTES; // offset of the previous link in a record
+	private static final int PAYLOAD = 2 * Integer.BYTES; // offset of the element in a record
+
+	// Header of a file-backed list.
+	private static final int HEADER_BYTES = 4096; // size of the header page
+	private static final int MAGIC = 0x49554F48; // "IUOH"
+	private static final int FORMAT_VERSION = 1; // version of the file layout
+	private static final int MAX_NAME_BYTES = 1024; // longest codec name in the header
+	private static final int H_MAGIC = 0, H_VERSION = 4, H_DIRTY = 8, H_WIDTH = 12, H_CHUNK_SLOTS = 16,
+			H_COUNT = 20, H_HEAD = 24, H_TAIL = 28, H_FREE_HEAD = 32, H_USED = 36, H_CHUNKS = 40,
+			H_NAME_LENGTH = 44, H_NAME = 48; // offsets of the header fields
+
+	private final ElementCodec<T> codec; // codec of the elements
+	private final int width; // bytes of an encoded element
+	private final int recordBytes; // bytes of a slot, rounded up to 8
+	private final int chunkShift; // log2 of the slots per chunk
+	private final ByteBuffer scratch; // encodes elements that are searched for
+	private final Path path; // file of the list, null if it lives in direct buffers
+	private FileChannel file; // open file of the list, null if it lives in direct buffers
+	private ByteBuffer header; // mapped header page, null if it lives in direct buffers
+	private boolean dirty; // true if the file changed since the header was last written
+	private ByteBuffer[] chunks; // storage of the slots
+	private int chunkCount; // number of chunks in use
+
+	private int count; // size of the list
+	private int modCount; // tracks changes to the list
+	private int head, tail; // head and tail slots
+	private int freeHead; // first slot of the free list
+	private int used; // number of slots ever handed out
+	private int finger; // most recently used slot of an indexed operation
+	private int fingerIndex; // index of the finger slot
+	private int fingerModCount; // modCount at the time the finger was set
+
+	/**
+	 * Constructor for a list in direct buffers.
+	 *
+	 * @param codec a fixed-width codec of the elements
+	 * @throws IllegalArgumentException if the codec is not fixed width
+	 */
+	public IUOffHeapList(ElementCodec<T> codec) {
+		this(codec, DEFAULT_CHUNK_SLOTS);
+	}
+
+	/**
+	 * Constructor for a list in direct buffers with a given chunk size.
+	 *
+	 * @param codec      a fixed-width codec of the elements
+	 * @param chunkSlots the slots per chunk, a power of two
+	 * @throws IllegalArgumentException if the codec is not fixed width or the
+	 *                                  chunk size is not a power of two
+	 */
+	public IUOffHeapList(ElementCodec<T> codec, int chunkSlots) {
+		if (codec.fixedSize() < 0) {
+			throw new IllegalArgumentException("Source: IUOffHeapList - codec is not fixed width");
+		}
+		if (chunkSlots <= 0 || Integer.bitCount(chunkSlots) != 1
+				|| (long) chunkSlots * ((codec.fixedSize() + PAYLOAD + 7) & ~7) > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Source: IUOffHeapList - bad chunkSlots");
+		}
+		this.codec = codec;
+		width = codec.fixedSize();
+		recordBytes = (width + PAYLOAD + 7) & ~7;
+		chunkShift = Integer.numberOfTrailingZeros(chunkSlots);
+		scratch = ByteBuffer.allocateDirect(Math.max(width, 1));
+		path = null;
+		chunks = new ByteBuffer[4];
+		chunkCount = 0;
+		head = tail = NIL;
+		freeHead = NIL;
+		finger = NIL;
+	}
+
+	/**
+	 * Constructor for a list backed by a memory-mapped file. An existing file is
+	 * reopened without reading its elements; a missing file is created.
+	 *
+	 * @param path       the file of the list
+	 * @param codec      a fixed-width codec of the elements
+	 * @param chunkSlots the slots per chunk of a new file, a power of two; an
+	 *                   existing file keeps its own
+	 * @throws IOException              if the file could not be opened, was
+	 *                                  written by another codec or was not closed
+	 *                                  cleanly
+	 * @throws IllegalArgumentException if the codec is not fixed width
+	 */
+	public IUOffHeapList(Path path, ElementCodec<T> codec, int chunkSlots) throws IOException {
+		if (codec.fixedSize() < 0) {
+			throw new IllegalArgumentException("Source: IUOffHeapList - codec is not fixed width");
+		}
+		this.codec = codec;
+		width = codec.fixedSize();
+		recordBytes = (width + PAYLOAD + 7) & ~7;
+		scratch = ByteBuffer.allocateDirect(Math.max(width, 1));
+		this.path = path;
+		finger = NIL;
+
+		boolean exists = Files.exists(path) && Files.size(path) >= HEADER_BYTES;
+		file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		header = file.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+		byte[] name = codec.name().getBytes(StandardCharsets.UTF_8);
+
+		if (!exists) {
+			if (chunkSlots <= 0 || Integer.bitCount(chunkSlots) != 1
+					|| (long) chunkSlots * recordBytes > Integer.MAX_VALUE || name.length > MAX_NAME_BYTES) {
+				file.close();
+				throw new IllegalArgumentException("Source: IUOffHeapList - bad chunkSlots");
+			}
+			chunkShift = Integer.numberOfTrailingZeros(chunkSlots);
+			chunks = new ByteBuffer[4];
+			head = tail = NIL;
+			freeHead = NIL;
+			header.putInt(H_MAGIC, MAGIC).putInt(H_VERSION, FORMAT_VERSION).putInt(H_WIDTH, width)
+					.putInt(H_CHUNK_SLOTS, chunkSlots).putInt(H_NAME_LENGTH, name.length);
+			header.put(H_NAME, name, 0, name.length);
+			writeHeader();
+			return;
+		}
+
+		// Checks that the file holds a list of this codec that was closed cleanly.
+		int nameLength = header.getInt(H_NAME_LENGTH);
+		byte[] stored = new byte[Math.max(0, Math.min(nameLength, MAX_NAME_BYTES))];
+		header.get(H_NAME, stored);
+		String reason = null;
+		if (header.getInt(H_MAGIC) != MAGIC || header.getInt(H_VERSION) != FORMAT_VERSION) {
+			reason = "not an off-heap list file";
+		} else if (header.getInt(H_DIRTY) != 0) {
+			reason = "file was not closed cleanly";
+		} else if (header.getInt(H_WIDTH) != width || !codec.name().equals(new String(stored, StandardCharsets.UTF_8))) {
+			reason = "written with codec " + new String(stored, StandardCharsets.UTF_8);
+		}
+		if (reason != null) {
+			file.close();
+			throw new IOException("Source: IUOffHeapList - " + reason);
+		}
+
+		chunkShift = Integer.numberOfTrailingZeros(header.getInt(H_CHUNK_SLOTS));
+		count = header.getInt(H_COUNT);
+		head = header.getInt(H_HEAD);
+		tail = header.getInt(H_TAIL);
+		freeHead = header.getInt(H_FREE_HEAD);
+		used = header.getInt(H_USED);
+		int mapped = header.getInt(H_CHUNKS);
+		chunks = new ByteBuffer[Math.max(4, mapped)];
+		for (int i = 0; i < mapped; i++) {
+			addChunk();
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Slots
+	 *
+	 ********************************************************/
+
+	/**
+	 * Returns the byte offset of a slot in its chunk.
+	 *
+	 * @param slot the slot number
+	 * @return the offset of its record
+	 */
+	private int offset(int slot) {
+		return (slot & ((1 << chunkShift) - 1)) * recordBytes;
+	}
+
+	// The links of a slot are read and written in place in its chunk.
+	private int nextOf(int slot) {
+		return chunks[slot >>> chunkShift].getInt(offset(slot) + NEXT);
+	}
+
+	private void setNextOf(int slot, int next) {
+		chunks[slot >>> chunkShift].putInt(offset(slot) + NEXT, next);
+	}
+
+	private int previousOf(int slot) {
+		return chunks[slot >>> chunkShift].getInt(offset(slot) + PREVIOUS);
+	}
+
+	private void setPreviousOf(int slot, int previous) {
+		chunks[slot >>> chunkShift].putInt(offset(slot) + PREVIOUS, previous);
+	}
+
+	/**
+	 * Decodes the element stored in a slot.
+	 *
+	 * @param slot the slot number
+	 * @return the element of the slot
+	 */
+	private T element(int slot) {
+		ByteBuffer chunk = chunks[slot >>> chunkShift];
+		chunk.position(offset(slot) + PAYLOAD);
+		return codec.decode(chunk, width);
+	}
+
+	/**
+	 * Encodes an element into a buffer at its position.
+	 *
+	 * @param element the element
+	 * @param out     the buffer
+	 * @throws NullPointerException if the element is null
+	 */
+	private void encode(T element, ByteBuffer out) {
+		if (element == null) {
+			throw new NullPointerException("Source: IUOffHeapList - null element");
+		}
+		int start = out.position();
+		codec.encode(element, out);
+		if (out.position() - start != width) {
+			throw new IllegalStateException("Source: IUOffHeapList - codec " + codec.name() + " wrote the wrong size");
+		}
+	}
+
+	/**
+	 * Encodes an element into a slot.
+	 *
+	 * @param slot    the slot number
+	 * @param element the element
+	 */
+	private void setElement(int slot, T element) {
+		ByteBuffer chunk = chunks[slot >>> chunkShift];
+		chunk.position(offset(slot) + PAYLOAD);
+		encode(element, chunk);
+	}
+
+	/**
+	 * Adds a chunk of slots: a direct buffer, or the next region of the file.
+	 *
+	 * @throws IOException if the file could not be extended
+	 */
+	private void addChunk() throws IOException {
+		int chunkBytes = recordBytes << chunkShift;
+		if (chunkCount == chunks.length) {
+			chunks = Arrays.copyOf(chunks, chunks.length * 2);
+		}
+		if (file == null) {
+			chunks[chunkCount] = ByteBuffer.allocateDirect(chunkBytes);
+		} else {
+			chunks[chunkCount] = file.map(FileChannel.MapMode.READ_WRITE,
+					HEADER_BYTES + (long) chunkCount * chunkBytes, chunkBytes);
+		}
+		chunkCount++;
+	}
+
+	/**
+	 * Takes a slot from the free list, or a fresh one, adding a chunk when all
+	 * are full.
+	 *
+	 * @param element the element stored in the slot
+	 * @return the slot number
+	 */
+	private int allocate(T element) {
+		int slot;
+		if (freeHead != NIL) {
+			slot = freeHead;
+			setElement(slot, element);
+			freeHead = nextOf(slot);
+			return slot;
+		}
+		if (used == chunkCount << chunkShift) {
+			if (chunkCount == Integer.MAX_VALUE >>> chunkShift) {
+				throw new IllegalStateException("Source: IUOffHeapList - list is full");
+			}
+			try {
+				addChunk();
+			} catch (IOException e) {
+				throw new UncheckedIOException("Source: IUOffHeapList - could not grow the file", e);
+			}
+		}
+		slot = used;
+		setElement(slot, element);
+		used++;
+		return slot;
+	}
+
+	/**
+	 * Returns a slot to the free list.
+	 *
+	 * @param slot the slot number
+	 */
+	private void release(int slot) {
+		setPreviousOf(slot, NIL);
+		setNextOf(slot, freeHead);
+		freeHead = slot;
+	}
+
+	/**
+	 * Marks the file as changed, so a crash before the next force() is detected
+	 * on reopening.
+	 */
+	private void changed() {
+		modCount++;
+		if (header != null && !dirty) {
+			header.putInt(H_DIRTY, 1);
+			dirty = true;
+		}
+	}
+
+	/**
+	 * Returns the slot at the specified index. The walk starts from whichever of
+	 * head, tail or the finger is closest to the index.
+	 *
+	 * @param index the index of the slot, must be in range (0 <= index < size)
+	 * @return the slot at the given index
+	 */
+	private int getSlot(int index) {
+		int current = head;
+		int position = 0;
+		if (index > (count - 1) - index) {
+			current = tail;
+			position = count - 1;
+		}
+
+		// The finger is only used while no modification happened since it was set.
+		if (finger != NIL && fingerModCount == modCount
+				&& Math.abs(fingerIndex - index) < Math.abs(position - index)) {
+			current = finger;
+			position = fingerIndex;
+		}
+
+		while (position < index) {
+			current = nextOf(current);
+			position++;
+		}
+		while (position > index) {
+			current = previousOf(current);
+			position--;
+		}
+
+		finger = current;
+		fingerIndex = index;
+		fingerModCount = modCount;
+		return current;
+	}
+
+	/**
+	 * Encodes an element into the scratch buffer for byte comparisons.
+	 *
+	 * @param element the element
+	 * @return false if the element is null, which the list cannot hold
+	 */
+	private boolean encodeTarget(T element) {
+		if (element == null) {
+			return false;
+		}
+		scratch.clear();
+		encode(element, scratch);
+		return true;
+	}
+
+	/**
+	 * Returns true if a slot holds the bytes in the scratch buffer.
+	 *
+	 * @param slot the slot number
+	 * @return true if the encoded elements are equal
+	 */
+	private boolean matches(int slot) {
+		ByteBuffer chunk = chunks[slot >>> chunkShift];
+		int base = offset(slot) + PAYLOAD;
+		int i = 0;
+		for (; i + Long.BYTES <= width; i += Long.BYTES) {
+			if (chunk.getLong(base + i) != scratch.getLong(i)) {
+				return false;
+			}
+		}
+		for (; i < width; i++) {
+			if (chunk.get(base + i) != scratch.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the first slot holding the given element.
+	 *
+	 * @param element the element to look for
+	 * @return the slot, or NIL if the element is not in the list
+	 */
+	private int findSlot(T element) {
+		if (!encodeTarget(element)) {
+			return NIL;
+		}
+		for (int current = head; current != NIL; current = nextOf(current)) {
+			if (matches(current)) {
+				return current;
+			}
+		}
+		return NIL;
+	}
+
+	/**
+	 * Links a new slot in front of the given slot, or at the rear if the given
+	 * slot is NIL.
+	 *
+	 * @param successor the slot the new slot precedes, NIL to add at the rear
+	 * @param element   the element of the new slot
+	 */
+	private void linkBefore(int successor, T element) {
+		int slot = allocate(element);
+		int predecessor = (successor == NIL) ? tail : previousOf(successor);
+
+		setPreviousOf(slot, predecessor);
+		setNextOf(slot, successor);
+		if (predecessor == NIL) {
+			head = slot;
+		} else {
+			setNextOf(predecessor, slot);
+		}
+		if (successor == NIL) {
+			tail = slot;
+		} else {
+			setPreviousOf(successor, slot);
+		}
+		count++;
+		changed();
+	}
+
+	/**
+	 * Unlinks a slot from the list and puts it on the free list.
+	 *
+	 * @param slot the slot to be removed
+	 * @return the element of the removed slot
+	 */
+	private T unlink(int slot) {
+		T element = element(slot);
+		int predecessor = previousOf(slot);
+		int successor = nextOf(slot);
+		if (predecessor == NIL) {
+			head = successor;
+		} else {
+			setNextOf(predecessor, successor);
+		}
+		if (successor == NIL) {
+			tail = predecessor;
+		} else {
+			setPreviousOf(successor, predecessor);
+		}
+		release(slot);
+		count--;
+		changed();
+		return element;
+	}
+
+	/*******************************************************
+	 *
+	 * List operations
+	 *
+	 ********************************************************/
+
+	/**
+	 * Adds the specified element to the front of this list.
+	 *
+	 * @param element the element to be added to the front of this list
+	 * @throws NullPointerException if the element is null
+	 */
+	@Override
+	public void addToFront(T element) {
+		linkBefore(head, element);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of this list
+	 * @throws NullPointerException if the element is null
+	 */
+	@Override
+	public void addToRear(T element) {
+		linkBefore(NIL, element);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of the list
+	 * @throws NullPointerException if the element is null
+	 */
+	@Override
+	public void add(T element) {
+		linkBefore(NIL, element);
+	}
+
+	/**
+	 * Adds the specified element after the specified target.
+	 *
+	 * @param element the element to be added after the target
+	 * @param target  the target is the item that the element will be added after
+	 * @throws NoSuchElementException if target element is not in this list
+	 */
+	@Override
+	public void addAfter(T element, T target) {
+		int targetSlot = findSlot(target);
+		if (targetSlot == NIL) {
+			throw new NoSuchElementException("Source: addAfter(T element, T target)");
+		}
+		linkBefore(nextOf(targetSlot), element);
+	}
+
+	/**
+	 * Inserts the specified element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be
+	 *                inserted.
+	 * @param element the element to be inserted into the array
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index > size)
+	 */
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > count) {
+			throw new IndexOutOfBoundsException("Source: add(index, element)");
+		}
+		linkBefore((index == count) ? NIL : getSlot(index), element);
+	}
+
+	/**
+	 * Removes and returns the first element from this list.
+	 *
+	 * @return the first element from this list
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeFirst() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: removeFirst");
+		}
+		return unlink(head);
+	}
+
+	/**
+	 * Removes and returns the last element from this list.
+	 *
+	 * @return the last element from this list
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeLast() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: removeLast");
+		}
+		return unlink(tail);
+	}
+
+	/**
+	 * Removes and returns the first element whose encoding equals that of the
+	 * specified element.
+	 *
+	 * @param element the element to be removed from the list
+	 * @return the element that is removed, decoded from the list
+	 * @throws NoSuchElementException if element is not in this list
+	 */
+	@Override
+	public T remove(T element) {
+		int slot = findSlot(element);
+		if (slot == NIL) {
+			throw new NoSuchElementException("Source: remove(element)");
+		}
+		return unlink(slot);
+	}
+
+	/**
+	 * Removes and returns the element at the specified index.
+	 *
+	 * @param index the index of the element to be retrieved
+	 * @return the element that is removed.
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: remove(index)");
+		}
+		return unlink(getSlot(index));
+	}
+
+	/**
+	 * Sets the element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be set
+	 * @param element the element to be set into the list
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: set(index, element)");
+		}
+		setElement(getSlot(index), element);
+		changed();
+
+		// The structure didn't change, so the finger is still valid.
+		fingerModCount = modCount;
+	}
+
+	/**
+	 * Returns the element at the specified index, decoded from the list.
+	 *
+	 * @param index the index to which the reference is to be retrieved from
+	 * @return the element at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: get(index)");
+		}
+		return element(getSlot(index));
+	}
+
+	/**
+	 * Returns the index of the first element whose encoding equals that of the
+	 * specified element.
+	 *
+	 * @param element the element for the index is to be retrieved
+	 * @return the integer index for this element or -1 if element is not in the
+	 *         list
+	 */
+	@Override
+	public int indexOf(T element) {
+		if (!encodeTarget(element)) {
+			return -1;
+		}
+		int index = 0;
+		for (int current = head; current != NIL; current = nextOf(current)) {
+			if (matches(current)) {
+				return index;
+			}
+			index++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the first element in this list.
+	 *
+	 * @return the first element in this list
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T first() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: first() method.");
+		}
+		return element(head);
+	}
+
+	/**
+	 * Returns the last element in this list.
+	 *
+	 * @return the last element in this list
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T last() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: last() method.");
+		}
+		return element(tail);
+	}
+
+	/**
+	 * Returns true if this list contains an element whose encoding equals that of
+	 * the target.
+	 *
+	 * @param target the target that is being sought in the list
+	 * @return true if the list contains this element, else false
+	 */
+	@Override
+	public boolean contains(T target) {
+		return findSlot(target) != NIL;
+	}
+
+	/**
+	 * Returns true if this list contains no elements.
+	 *
+	 * @return true if this list contains no elements
+	 */
+	@Override
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return count the integer representation of number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns a string representation of the contents of the list.
+	 *
+	 * @return a string of the elements
+	 */
+	@Override
+	public String toString() {
+		if (count == 0) {
+			return "The list is empty.";
+		}
+
+		StringBuilder str = new StringBuilder();
+		for (int current = head; current != NIL; current = nextOf(current)) {
+			if (current != head) {
+				str.append(", ");
+			}
+			str.append(element(current));
+		}
+		return str.toString();
+	}
+
+	/*******************************************************
+	 *
+	 * Storage
+	 *
+	 ********************************************************/
+
+	/**
+	 * Rewrites the list so that slot i holds the element at index i and the free
+	 * list is empty. Afterwards, iterating the list walks memory sequentially.
+	 * A file-backed list is rewritten into a new file that replaces the old one.
+	 *
+	 * @throws IOException if the new file could not be written
+	 */
+	public void compact() throws IOException {
+		int chunkSlots = 1 << chunkShift;
+		int needed = (count + chunkSlots - 1) >>> chunkShift;
+		ByteBuffer[] fresh = new ByteBuffer[Math.max(4, needed)];
+		int chunkBytes = recordBytes << chunkShift;
+		Path temp = null;
+		FileChannel freshFile = null;
+		if (file != null) {
+			temp = path.resolveSibling(path.getFileName() + ".compact");
+			freshFile = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		}
+		for (int i = 0; i < needed; i++) {
+			fresh[i] = (freshFile == null) ? ByteBuffer.allocateDirect(chunkBytes)
+					: freshFile.map(FileChannel.MapMode.READ_WRITE, HEADER_BYTES + (long) i * chunkBytes, chunkBytes);
+		}
+
+		// Copies the records in list order, relinking them as neighbours.
+		int slot = 0;
+		for (int current = head; current != NIL; current = nextOf(current), slot++) {
+			ByteBuffer to = fresh[slot >>> chunkShift];
+			int offset = offset(slot);
+			to.put(offset + PAYLOAD, chunks[current >>> chunkShift], offset(current) + PAYLOAD, width);
+			to.putInt(offset + PREVIOUS, slot - 1);
+			to.putInt(offset + NEXT, (slot == count - 1) ? NIL : slot + 1);
+		}
+
+		chunks = fresh;
+		chunkCount = needed;
+		head = (count == 0) ? NIL : 0;
+		tail = count - 1;
+		freeHead = NIL;
+		used = count;
+		finger = NIL;
+		modCount++;
+
+		// Writes the new file completely before it replaces the old one.
+		if (freshFile != null) {
+			ByteBuffer freshHeader = freshFile.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES);
+			for (int i = 0; i < H_NAME + header.getInt(H_NAME_LENGTH); i++) {
+				freshHeader.put(i, header.get(i));
+			}
+			file.close();
+			file = freshFile;
+			header = freshHeader;
+			dirty = true;
+			force();
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			MutationJournal.syncDirectory(path.toAbsolutePath().getParent());
+		}
+	}
+
+	/**
+	 * Writes the bookkeeping of a file-backed list into its header.
+	 */
+	private void writeHeader() {
+		header.putInt(H_COUNT, count).putInt(H_HEAD, head).putInt(H_TAIL, tail).putInt(H_FREE_HEAD, freeHead)
+				.putInt(H_USED, used).putInt(H_CHUNKS, chunkCount);
+	}
+
+	/**
+	 * Forces a file-backed list to disk with its header, so the file can be
+	 * reopened as it is now. Does nothing for a list in direct buffers.
+	 *
+	 * @throws IOException if the file could not be forced
+	 */
+	public void force() throws IOException {
+		if (file == null) {
+			return;
+		}
+		writeHeader();
+		for (int i = 0; i < chunkCount; i++) {
+			((MappedByteBuffer) chunks[i]).force();
+		}
+		((MappedByteBuffer) header).force();
+
+		// Only a header written after the records marks the file clean.
+		header.putInt(H_DIRTY, 0);
+		((MappedByteBuffer) header).force();
+		dirty = false;
+	}
+
+	/**
+	 * Forces a file-backed list to disk and closes the file. The list must not
+	 * be used afterwards. Direct buffers are left to the garbage collector.
+	 *
+	 * @throws IOException if the file could not be forced
+	 */
+	@Override
+	public void close() throws IOException {
+		if (file == null) {
+			return;
+		}
+		force();
+		file.close();
+		file = null;
+	}
+
+	/*******************************************************
+	 *
+	 * Iterators
+	 *
+	 ********************************************************/
+
+	@Override
+	public Iterator<T> iterator() {
+		return listIterator();
+	}
+
+	/**
+	 * Returns a new List Iterator object starting at the starting index.
+	 *
+	 * @param startingIndex the index that the new List Iterator starts at.
+	 *
+	 * @return listIterator the new list iterator object at the specified index
+	 */
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new OffHeapListIterator(startingIndex);
+	}
+
+	/**
+	 * @return a new ListIterator object.
+	 *
+	 */
+	@Override
+	public ListIterator<T> listIterator() {
+		return new OffHeapListIterator(0);
+	}
+
+	/*******************************************************
+	 *
+	 * ListIterator class
+	 *
+	 ********************************************************/
+	private class OffHeapListIterator implements ListIterator<T> {
+
+		private int nextSlot; // slot returned by next(), NIL at the end
+		private int position; // index of nextSlot
+		private int iteratorModCount; // modCount expected by the iterator
+		private int lastSlot; // last returned slot, NIL if none
+
+		/**
+		 * Constructor that starts the iterator at the given index.
+		 *
+		 * @param startIndex the index the new List Iterator starts at.
+		 */
+		public OffHeapListIterator(int startIndex) {
+			if (startIndex < 0 || startIndex > count) {
+				throw new IndexOutOfBoundsException("Source: listIterator(startingIndex)");
+			}
+			nextSlot = (startIndex == count) ? NIL : getSlot(startIndex);
+			position = startIndex;
+			iteratorModCount = modCount;
+			lastSlot = NIL;
+		}
+
+		/**
+		 * Throws an exception if the list was changed outside the iterator.
+		 */
+		private void checkForComodification() {
+			if (modCount != iteratorModCount) {
+				throw new ConcurrentModificationException("Source: OffHeapListIterator");
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < count;
+		}
+
+		@Override
+		public T next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException("Iterator - next - end of list");
+			}
+			lastSlot = nextSlot;
+			nextSlot = nextOf(nextSlot);
+			position++;
+			return element(lastSlot);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return position > 0;
+		}
+
+		@Override
+		public T previous() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException("Iterator - previous - end of list");
+			}
+			nextSlot = (nextSlot == NIL) ? tail : previousOf(nextSlot);
+			position--;
+			lastSlot = nextSlot;
+			return element(lastSlot);
+		}
+
+		@Override
+		public int nextIndex() {
+			return position;
+		}
+
+		@Override
+		public int previousIndex() {
+			return position - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (lastSlot == NIL) {
+				throw new IllegalStateException("Source: List Iterator remove method");
+			}
+			checkForComodification();
+
+			// The cursor moves back if the removed slot was before it, otherwise the
+			// removed slot was the next one.
+			if (lastSlot == nextSlot) {
+				nextSlot = nextOf(nextSlot);
+			} else {
+				position--;
+			}
+			unlink(lastSlot);
+			lastSlot = NIL;
+			iteratorModCount = modCount;
+		}
+
+		@Override
+		public void set(T e) {
+			if (lastSlot == NIL) {
+				throw new IllegalStateException("Source: List Iterator set method");
+			}
+			checkForComodification();
+			setElement(lastSlot, e);
+			changed();
+			iteratorModCount = modCount;
+		}
+
+		@Override
+		public void add(T e) {
+			checkForComodification();
+			linkBefore(nextSlot, e);
+			position++;
+			lastSlot = NIL;
+			iteratorModCount = modCount;
+		}
+	}
+}
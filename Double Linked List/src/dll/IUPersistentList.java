@@ -0,0 +1,724 @@
+package dll;
+
+import java.util.ArrayDeque;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class implements the IndexedUnsortedList interface on top of a
+ * persistent balanced tree (an AVL tree ordered by position, with subtree
+ * sizes for indexing).
+ *
+ * Nodes are never changed. A mutation copies only the path from the root to
+ * the changed position, O(log n) new nodes, and shares everything else with
+ * the previous version; it then installs the new root with a compare-and-set,
+ * retrying if another thread installed one first. Indexed operations are
+ * O(log n).
+ *
+ * Because old versions stay intact, snapshot() is O(1), and iterators walk the
+ * version that was current when they were created. Readers never block or get
+ * a ConcurrentModificationException because of other threads' updates, and
+ * never pay for them. A list iterator's own remove, set and add only succeed
+ * if the list is still at the iterator's version, and throw
+ * ConcurrentModificationException otherwise.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class IUPersistentList<T> implements IndexedUnsortedList<T> {
+
+	private final AtomicReference<PersistentNode<T>> root; // current version, null if empty
+
+	/**
+	 * Default constructor
+	 */
+	public IUPersistentList() {
+		this(null);
+	}
+
+	/**
+	 * Constructor that starts at a given version.
+	 *
+	 * @param version the root of the version, null if empty
+	 */
+	private IUPersistentList(PersistentNode<T> version) {
+		root = new AtomicReference<PersistentNode<T>>(version);
+	}
+
+	/**
+	 * Returns a new list that starts with the current contents of this list. The
+	 * two lists share all nodes and change independently afterwards.
+	 *
+	 * @return a snapshot of this list
+	 */
+	public IUPersistentList<T> snapshot() {
+		return new IUPersistentList<T>(root.get());
+	}
+
+	/*******************************************************
+	 *
+	 * Tree operations
+	 *
+	 ********************************************************/
+
+	/**
+	 * Builds a node from two subtrees whose heights differ by at most two,
+	 * rotating once or twice if they differ by two.
+	 *
+	 * @param left    subtree before the element
+	 * @param element the element of the node
+	 * @param right   subtree after the element
+	 * @return a balanced subtree holding left, element and right in order
+	 */
+	private static <T> PersistentNode<T> balance(PersistentNode<T> left, T element, PersistentNode<T> right) {
+		int leftHeight = PersistentNode.heightOf(left);
+		int rightHeight = PersistentNode.heightOf(right);
+
+		if (leftHeight > rightHeight + 1) {
+			PersistentNode<T> ll = left.getLeft();
+			PersistentNode<T> lr = left.getRight();
+			if (PersistentNode.heightOf(ll) >= PersistentNode.heightOf(lr)) {
+				// Rotates right.
+				return new PersistentNode<T>(ll, left.getElement(), new PersistentNode<T>(lr, element, right));
+			}
+			// Rotates left around the left child, then right.
+			return new PersistentNode<T>(new PersistentNode<T>(ll, left.getElement(), lr.getLeft()), lr.getElement(),
+					new PersistentNode<T>(lr.getRight(), element, right));
+		}
+
+		if (rightHeight > leftHeight + 1) {
+			PersistentNode<T> rl = right.getLeft();
+			PersistentNode<T> rr = right.getRight();
+			if (PersistentNode.heightOf(rr) >= PersistentNode.heightOf(rl)) {
+				// Rotates left.
+				return new PersistentNode<T>(new PersistentNode<T>(left, element, rl), right.getElement(), rr);
+			}
+			// Rotates right around the right child, then left.
+			return new PersistentNode<T>(new PersistentNode<T>(left, element, rl.getLeft()), rl.getElement(),
+					new PersistentNode<T>(rl.getRight(), right.getElement(), rr));
+		}
+
+		return new PersistentNode<T>(left, element, right);
+	}
+
+	/**
+	 * Returns a version with the element inserted at the index.
+	 *
+	 * @param node    root of the version
+	 * @param index   the index of the new element (0 <= index <= size)
+	 * @param element the element to be inserted
+	 * @return root of the new version
+	 */
+	private static <T> PersistentNode<T> insert(PersistentNode<T> node, int index, T element) {
+		if (node == null) {
+			return new PersistentNode<T>(null, element, null);
+		}
+		int leftSize = PersistentNode.sizeOf(node.getLeft());
+		if (index <= leftSize) {
+			return balance(insert(node.getLeft(), index, element), node.getElement(), node.getRight());
+		}
+		return balance(node.getLeft(), node.getElement(), insert(node.getRight(), index - leftSize - 1, element));
+	}
+
+	/**
+	 * Returns a version without the element at the index.
+	 *
+	 * @param node  root of the version
+	 * @param index the index of the element (0 <= index < size)
+	 * @return root of the new version
+	 */
+	private static <T> PersistentNode<T> delete(PersistentNode<T> node, int index) {
+		int leftSize = PersistentNode.sizeOf(node.getLeft());
+		if (index < leftSize) {
+			return balance(delete(node.getLeft(), index), node.getElement(), node.getRight());
+		}
+		if (index > leftSize) {
+			return balance(node.getLeft(), node.getElement(), delete(node.getRight(), index - leftSize - 1));
+		}
+
+		// Replaces the node by the first node of its right subtree.
+		if (node.getLeft() == null) {
+			return node.getRight();
+		}
+		if (node.getRight() == null) {
+			return node.getLeft();
+		}
+		return balance(node.getLeft(), elementAt(node.getRight(), 0), delete(node.getRight(), 0));
+	}
+
+	/**
+	 * Returns a version with the element at the index replaced.
+	 *
+	 * @param node    root of the version
+	 * @param index   the index of the element (0 <= index < size)
+	 * @param element the new element
+	 * @return root of the new version
+	 */
+	private static <T> PersistentNode<T> replace(PersistentNode<T> node, int index, T element) {
+		int leftSize = PersistentNode.sizeOf(node.getLeft());
+		if (index < leftSize) {
+			return new PersistentNode<T>(replace(node.getLeft(), index, element), node.getElement(), node.getRight());
+		}
+		if (index > leftSize) {
+			return new PersistentNode<T>(node.getLeft(), node.getElement(),
+					replace(node.getRight(), index - leftSize - 1, element));
+		}
+		return new PersistentNode<T>(node.getLeft(), element, node.getRight());
+	}
+
+	/**
+	 * Returns the element at the index of a version.
+	 *
+	 * @param node  root of the version
+	 * @param index the index of the element (0 <= index < size)
+	 * @return the element at the index
+	 */
+	private static <T> T elementAt(PersistentNode<T> node, int index) {
+		while (true) {
+			int leftSize = PersistentNode.sizeOf(node.getLeft());
+			if (index < leftSize) {
+				node = node.getLeft();
+			} else if (index > leftSize) {
+				index -= leftSize + 1;
+				node = node.getRight();
+			} else {
+				return node.getElement();
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the first occurrence of an element in a version.
+	 *
+	 * @param node    root of the version
+	 * @param element the element being looked for
+	 * @return the index of the element, or -1 if it is not in the version
+	 */
+	private static <T> int indexOf(PersistentNode<T> node, T element) {
+		int index = 0;
+		for (Iterator<T> it = new InOrderIterator<T>(node); it.hasNext(); index++) {
+			if (Objects.equals(it.next(), element)) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	/*******************************************************
+	 *
+	 * List operations
+	 *
+	 ********************************************************/
+
+	/**
+	 * Adds the specified element to the front of this list.
+	 *
+	 * @param element the element to be added to the front of this list
+	 */
+	@Override
+	public void addToFront(T element) {
+		PersistentNode<T> current;
+		do {
+			current = root.get();
+		} while (!root.compareAndSet(current, insert(current, 0, element)));
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of this list
+	 */
+	@Override
+	public void addToRear(T element) {
+		PersistentNode<T> current;
+		do {
+			current = root.get();
+		} while (!root.compareAndSet(current, insert(current, PersistentNode.sizeOf(current), element)));
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of the list
+	 */
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	/**
+	 * Adds the specified element after the first occurrence of the specified
+	 * target.
+	 *
+	 * @param element the element to be added after the target
+	 * @param target  the target is the item that the element will be added after
+	 * @throws NoSuchElementException if target element is not in this list
+	 */
+	@Override
+	public void addAfter(T element, T target) {
+		while (true) {
+			PersistentNode<T> current = root.get();
+			int index = indexOf(current, target);
+			if (index == -1) {
+				throw new NoSuchElementException("Source: addAfter(element, target)");
+			}
+			if (root.compareAndSet(current, insert(current, index + 1, element))) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Inserts the specified element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be
+	 *                inserted.
+	 * @param element the element to be inserted into the array
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index > size)
+	 */
+	@Override
+	public void add(int index, T element) {
+		while (true) {
+			PersistentNode<T> current = root.get();
+			if (index < 0 || index > PersistentNode.sizeOf(current)) {
+				throw new IndexOutOfBoundsException("Source: add(index, element)");
+			}
+			if (root.compareAndSet(current, insert(current, index, element))) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the first element from this list.
+	 *
+	 * @return the first element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeFirst() {
+		while (true) {
+			PersistentNode<T> current = root.get();
+			if (current == null) {
+				throw new NoSuchElementException("Source: removeFirst");
+			}
+			T element = elementAt(current, 0);
+			if (root.compareAndSet(current, delete(current, 0))) {
+				return element;
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the last element from this list.
+	 *
+	 * @return the last element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeLast() {
+		while (true) {
+			PersistentNode<T> current = root.get();
+			if (current == null) {
+				throw new NoSuchElementException("Source: removeLast");
+			}
+			int index = current.getSize() - 1;
+			T element = elementAt(current, index);
+			if (root.compareAndSet(current, delete(current, index))) {
+				return element;
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the first occurrence of the specified element.
+	 *
+	 * @param element the element to be removed from the list
+	 *
+	 * @return the element that is removed.
+	 *
+	 * @throws NoSuchElementException if element is not in this list
+	 */
+	@Override
+	public T remove(T element) {
+		while (true) {
+			PersistentNode<T> current = root.get();
+			int index = indexOf(current, element);
+			if (index == -1) {
+				throw new NoSuchElementException("Source: remove(element)");
+			}
+			T removed = elementAt(current, index);
+			if (root.compareAndSet(current, delete(current, index))) {
+				return removed;
+			}
+		}
+	}
+
+	/**
+	 * Removes and returns the element at the specified index.
+	 *
+	 * @param index the index of the element to be retrieved
+	 * @return the element that is removed.
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T remove(int index) {
+		while (true) {
+			PersistentNode<T> current = root.get();
+			if (index < 0 || index >= PersistentNode.sizeOf(current)) {
+				throw new IndexOutOfBoundsException("Source: remove(index)");
+			}
+			T element = elementAt(current, index);
+			if (root.compareAndSet(current, delete(current, index))) {
+				return element;
+			}
+		}
+	}
+
+	/**
+	 * Sets the element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be set
+	 * @param element the element to be set into the list
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public void set(int index, T element) {
+		while (true) {
+			PersistentNode<T> current = root.get();
+			if (index < 0 || index >= PersistentNode.sizeOf(current)) {
+				throw new IndexOutOfBoundsException("Source: set(index, element)");
+			}
+			if (root.compareAndSet(current, replace(current, index, element))) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Returns a reference to the element at the specified index.
+	 *
+	 * @param index the index to which the reference is to be retrieved from
+	 * @return the element at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T get(int index) {
+		PersistentNode<T> current = root.get();
+		if (index < 0 || index >= PersistentNode.sizeOf(current)) {
+			throw new IndexOutOfBoundsException("Source: get(index)");
+		}
+		return elementAt(current, index);
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the specified element.
+	 *
+	 * @param element the element for the index is to be retrieved
+	 * @return the integer index for this element or -1 if element is not in the
+	 *         list
+	 */
+	@Override
+	public int indexOf(T element) {
+		return indexOf(root.get(), element);
+	}
+
+	/**
+	 * Returns a reference to the first element in this list.
+	 *
+	 * @return a reference to the first element in this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T first() {
+		PersistentNode<T> current = root.get();
+		if (current == null) {
+			throw new NoSuchElementException("Source: first() method.");
+		}
+		return elementAt(current, 0);
+	}
+
+	/**
+	 * Returns a reference to the last element in this list.
+	 *
+	 * @return a reference to the last element in this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T last() {
+		PersistentNode<T> current = root.get();
+		if (current == null) {
+			throw new NoSuchElementException("Source: last() method.");
+		}
+		return elementAt(current, current.getSize() - 1);
+	}
+
+	/**
+	 * Returns true if this list contains the specified target element.
+	 *
+	 * @param target the target that is being looked for.
+	 * @return true if this list contains the target
+	 */
+	@Override
+	public boolean contains(T target) {
+		return indexOf(target) != -1;
+	}
+
+	/**
+	 * Returns true if this list contains no elements.
+	 *
+	 * @return true if this list contains no elements
+	 */
+	@Override
+	public boolean isEmpty() {
+		return root.get() == null;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the integer representation of number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return PersistentNode.sizeOf(root.get());
+	}
+
+	/**
+	 * Returns a string representation of the contents of the list.
+	 *
+	 * @return a string of the elements
+	 */
+	@Override
+	public String toString() {
+		PersistentNode<T> current = root.get();
+		if (current == null) {
+			return "The list is empty.";
+		}
+
+		StringBuilder str = new StringBuilder();
+		for (Iterator<T> it = new InOrderIterator<T>(current); it.hasNext();) {
+			str.append(it.next());
+			if (it.hasNext()) {
+				str.append(", ");
+			}
+		}
+		return str.toString();
+	}
+
+	/**
+	 * Returns an iterator over the current version. Its remove fails with
+	 * ConcurrentModificationException if the list has changed since.
+	 *
+	 * @return an iterator over the elements in list order
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return listIterator();
+	}
+
+	/**
+	 * Returns a new List Iterator over the current version, starting at the
+	 * starting index.
+	 *
+	 * @param startingIndex the index that the new List Iterator starts at.
+	 *
+	 * @return listIterator the new list iterator object at the specified index
+	 */
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new VersionIterator(root.get(), startingIndex);
+	}
+
+	/**
+	 * @return a new ListIterator object over the current version.
+	 *
+	 */
+	@Override
+	public ListIterator<T> listIterator() {
+		return listIterator(0);
+	}
+
+	/**
+	 * Returns a spliterator over the current version.
+	 *
+	 * @return a sized spliterator over the elements in list order
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		PersistentNode<T> current = root.get();
+		return Spliterators.spliterator(new InOrderIterator<T>(current), PersistentNode.sizeOf(current),
+				Spliterator.ORDERED | Spliterator.IMMUTABLE);
+	}
+
+	/*******************************************************
+	 *
+	 * Iterator classes
+	 *
+	 ********************************************************/
+
+	/**
+	 * Walks a version in order with a stack of the nodes whose left subtree is
+	 * being walked, so each step is O(1) amortized.
+	 */
+	private static class InOrderIterator<T> implements Iterator<T> {
+
+		private final ArrayDeque<PersistentNode<T>> stack; // path to the next node
+
+		/**
+		 * Constructor that starts at the first element of a version.
+		 *
+		 * @param node root of the version, null if empty
+		 */
+		public InOrderIterator(PersistentNode<T> node) {
+			stack = new ArrayDeque<PersistentNode<T>>();
+			pushLeft(node);
+		}
+
+		/**
+		 * Pushes a node and its chain of left children.
+		 *
+		 * @param node the node to start from
+		 */
+		private void pushLeft(PersistentNode<T> node) {
+			while (node != null) {
+				stack.push(node);
+				node = node.getLeft();
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return !stack.isEmpty();
+		}
+
+		@Override
+		public T next() {
+			if (stack.isEmpty()) {
+				throw new NoSuchElementException("Source: Iterator next method");
+			}
+			PersistentNode<T> node = stack.pop();
+			pushLeft(node.getRight());
+			return node.getElement();
+		}
+	}
+
+	/**
+	 * List iterator over one version of the list.
+	 */
+	private class VersionIterator implements ListIterator<T> {
+
+		private PersistentNode<T> version; // version being walked
+		private int position; // index of the element returned by next()
+		private int lastIndex; // index of the last returned element, -1 if none
+
+		/**
+		 * Constructor that starts the iterator at the given index.
+		 *
+		 * @param version    the version to walk
+		 * @param startIndex the index the new List Iterator starts at.
+		 */
+		public VersionIterator(PersistentNode<T> version, int startIndex) {
+			if (startIndex < 0 || startIndex > PersistentNode.sizeOf(version)) {
+				throw new IndexOutOfBoundsException("Source: ListIterator constructor");
+			}
+			this.version = version;
+			position = startIndex;
+			lastIndex = -1;
+		}
+
+		/**
+		 * Installs a new version made from the iterator's version.
+		 *
+		 * @param newVersion the new version
+		 * @throws ConcurrentModificationException if the list is no longer at the
+		 *                                         iterator's version
+		 */
+		private void commit(PersistentNode<T> newVersion) {
+			if (!root.compareAndSet(version, newVersion)) {
+				throw new ConcurrentModificationException("Source: List Iterator");
+			}
+			version = newVersion;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < PersistentNode.sizeOf(version);
+		}
+
+		@Override
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException("Source: List Iterator next method");
+			}
+			lastIndex = position++;
+			return elementAt(version, lastIndex);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return position > 0;
+		}
+
+		@Override
+		public T previous() {
+			if (!hasPrevious()) {
+				throw new NoSuchElementException("Source: List Iterator previous method");
+			}
+			lastIndex = --position;
+			return elementAt(version, lastIndex);
+		}
+
+		@Override
+		public int nextIndex() {
+			return position;
+		}
+
+		@Override
+		public int previousIndex() {
+			return position - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (lastIndex == -1) {
+				throw new IllegalStateException("Source: List Iterator remove method");
+			}
+			commit(delete(version, lastIndex));
+			if (lastIndex < position) {
+				position--;
+			}
+			lastIndex = -1;
+		}
+
+		@Override
+		public void set(T e) {
+			if (lastIndex == -1) {
+				throw new IllegalStateException("Source: List Iterator set method");
+			}
+			commit(replace(version, lastIndex, e));
+		}
+
+		@Override
+		public void add(T e) {
+			commit(insert(version, position, e));
+			position++;
+			lastIndex = -1;
+		}
+	}
+}
@@ -0,0 +1,649 @@
+package dll;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * This class implements the IndexedUnsortedList interface as an indexable skip
+ * list. Every link remembers how many positions it skips, so get, set,
+ * add(index, element), remove(index) and listIterator(index) find their
+ * position in expected O(log n) time.
+ *
+ * The last node of every level and its index are tracked as well, so adding or
+ * removing at either end only touches the levels of the nodes involved.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class IUSkipList<T> implements IndexedUnsortedList<T> {
+	private static final int MAX_LEVEL = 32; // highest possible node height
+
+	private int count; // size of the list
+	private int modCount; // tracks changes to the list
+	private int level; // number of levels in use
+	private SkipListNode<T> header; // dummy node in front of the first element
+	private SkipListNode<T>[] last; // last node of every level, null if empty
+	private int[] lastIndex; // index of the last node of every level
+	private SkipListNode<T>[] preds; // predecessors found by the last search
+	private int[] predIndex; // indexes of those predecessors, -1 for the header
+	private Random random; // source of node heights
+
+	/**
+	 * Default constructor
+	 */
+	public IUSkipList() {
+		header = new SkipListNode<T>(null, MAX_LEVEL);
+		last = SkipListNode.newArray(MAX_LEVEL);
+		lastIndex = new int[MAX_LEVEL];
+		preds = SkipListNode.newArray(MAX_LEVEL);
+		predIndex = new int[MAX_LEVEL];
+		random = new Random();
+		level = 1;
+		count = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * Picks a height for a new node: 1 with probability 1/2, 2 with probability
+	 * 1/4, and so on up to MAX_LEVEL.
+	 *
+	 * @return the height of the new node
+	 */
+	private int randomHeight() {
+		return Integer.numberOfTrailingZeros(random.nextInt() | (1 << (MAX_LEVEL - 1))) + 1;
+	}
+
+	/**
+	 * Fills preds and predIndex with the last node before the given index on
+	 * every level in use.
+	 *
+	 * @param index the index the predecessors are searched for (0 <= index <=
+	 *              size)
+	 */
+	private void findPredecessors(int index) {
+
+		// Inserting after the tail: the predecessors are the last nodes.
+		if (index == count) {
+			for (int l = 0; l < level; l++) {
+				preds[l] = (last[l] == null) ? header : last[l];
+				predIndex[l] = (last[l] == null) ? -1 : lastIndex[l];
+			}
+			return;
+		}
+
+		SkipListNode<T> target = (index == count - 1) ? last[0] : null;
+		SkipListNode<T> current = header;
+		int position = -1;
+
+		for (int l = level - 1; l >= 0; l--) {
+			if (target != null && last[l] != target) {
+				// Removing the tail: the last node of a level without the tail precedes it.
+				current = (last[l] == null) ? header : last[l];
+				position = (last[l] == null) ? -1 : lastIndex[l];
+			} else {
+				// Moves forward while the link stays in front of the index.
+				while (current.getNext(l) != null && position + current.getWidth(l) < index) {
+					position += current.getWidth(l);
+					current = current.getNext(l);
+				}
+			}
+			preds[l] = current;
+			predIndex[l] = position;
+		}
+	}
+
+	/**
+	 * Returns the node at the specified index.
+	 *
+	 * @param index the index of the node, must be in range (0 <= index < size)
+	 * @return the node at the given index
+	 */
+	private SkipListNode<T> getNode(int index) {
+		if (index == count - 1) {
+			return last[0];
+		}
+
+		SkipListNode<T> current = header;
+		int position = -1;
+		for (int l = level - 1; l >= 0; l--) {
+			while (current.getNext(l) != null && position + current.getWidth(l) <= index) {
+				position += current.getWidth(l);
+				current = current.getNext(l);
+			}
+		}
+		return current;
+	}
+
+	/**
+	 * Inserts an element so that it ends up at the given index.
+	 *
+	 * @param index   the index of the new element (0 <= index <= size)
+	 * @param element the element to be inserted
+	 */
+	private void insert(int index, T element) {
+		findPredecessors(index);
+
+		// Raises the number of levels in use if the new node is taller.
+		int height = randomHeight();
+		if (height > level) {
+			for (int l = level; l < height; l++) {
+				preds[l] = header;
+				predIndex[l] = -1;
+			}
+			level = height;
+		}
+
+		SkipListNode<T> newNode = new SkipListNode<T>(element, height);
+
+		// Splices the new node in on its own levels.
+		for (int l = 0; l < height; l++) {
+			SkipListNode<T> successor = preds[l].getNext(l);
+			newNode.setNext(l, successor);
+			if (successor != null) {
+				newNode.setWidth(l, predIndex[l] + preds[l].getWidth(l) + 1 - index);
+			}
+			preds[l].setNext(l, newNode);
+			preds[l].setWidth(l, index - predIndex[l]);
+		}
+
+		// Links above the new node now skip one more position.
+		for (int l = height; l < level; l++) {
+			if (preds[l].getNext(l) != null) {
+				preds[l].setWidth(l, preds[l].getWidth(l) + 1);
+			}
+		}
+
+		// Fixes the backward link on the bottom level.
+		newNode.setPrevious((preds[0] == header) ? null : preds[0]);
+		if (newNode.getNext(0) != null) {
+			newNode.getNext(0).setPrevious(newNode);
+		}
+
+		// Shifts the last nodes behind the new node, then records new last nodes.
+		for (int l = 0; l < level; l++) {
+			if (last[l] != null && lastIndex[l] >= index) {
+				lastIndex[l]++;
+			}
+		}
+		for (int l = 0; l < height; l++) {
+			if (newNode.getNext(l) == null) {
+				last[l] = newNode;
+				lastIndex[l] = index;
+			}
+		}
+
+		count++;
+		modCount++;
+	}
+
+	/**
+	 * Removes the element at the given index.
+	 *
+	 * @param index the index of the element (0 <= index < size)
+	 * @return the removed element
+	 */
+	private T removeAt(int index) {
+		findPredecessors(index);
+		SkipListNode<T> target = preds[0].getNext(0);
+
+		// Unlinks the node on its own levels and shortens the links above it.
+		for (int l = 0; l < level; l++) {
+			SkipListNode<T> predecessor = preds[l];
+			if (predecessor.getNext(l) == target) {
+				SkipListNode<T> successor = target.getNext(l);
+				predecessor.setNext(l, successor);
+				predecessor.setWidth(l,
+						(successor == null) ? 0 : predecessor.getWidth(l) + target.getWidth(l) - 1);
+			} else if (predecessor.getNext(l) != null) {
+				predecessor.setWidth(l, predecessor.getWidth(l) - 1);
+			}
+		}
+
+		// Fixes the backward link on the bottom level.
+		if (target.getNext(0) != null) {
+			target.getNext(0).setPrevious(target.getPrevious());
+		}
+		target.setPrevious(null);
+
+		// Replaces the removed node where it was last, shifts the ones behind it.
+		for (int l = 0; l < level; l++) {
+			if (last[l] == target) {
+				last[l] = (preds[l] == header) ? null : preds[l];
+				lastIndex[l] = predIndex[l];
+			} else if (last[l] != null && lastIndex[l] > index) {
+				lastIndex[l]--;
+			}
+		}
+
+		// Drops levels that became empty.
+		while (level > 1 && header.getNext(level - 1) == null) {
+			level--;
+		}
+
+		count--;
+		modCount++;
+		return target.getElement();
+	}
+
+	/**
+	 * Adds the specified element to the front of this list.
+	 *
+	 * @param element the element to be added to the front of this list
+	 */
+	@Override
+	public void addToFront(T element) {
+		insert(0, element);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of this list
+	 */
+	@Override
+	public void addToRear(T element) {
+		insert(count, element);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of the list
+	 */
+	@Override
+	public void add(T element) {
+		insert(count, element);
+	}
+
+	/**
+	 * Adds the specified element after the specified target.
+	 *
+	 * @param element the element to be added after the target
+	 *
+	 * @param target  the target is the item that the element will be added after
+	 *
+	 * @throws NoSuchElementException if target element is not in this list
+	 */
+	@Override
+	public void addAfter(T element, T target) {
+		int targetIndex = indexOf(target);
+		if (targetIndex == -1) {
+			throw new NoSuchElementException("Source: addAfter(T element, T target)");
+		}
+		insert(targetIndex + 1, element);
+	}
+
+	/**
+	 * Inserts the specified element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be
+	 *                inserted.
+	 * @param element the element to be inserted into the array
+	 *
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index > size)
+	 */
+	@Override
+	public void add(int index, T element) {
+		if (index < 0 || index > count) {
+			throw new IndexOutOfBoundsException("Source: add(index, element)");
+		}
+		insert(index, element);
+	}
+
+	/**
+	 * Removes and returns the first element from this list.
+	 *
+	 * @return the first element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeFirst() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: removeFirst");
+		}
+		return removeAt(0);
+	}
+
+	/**
+	 * Removes and returns the last element from this list.
+	 *
+	 * @return the last element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeLast() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: removeLast");
+		}
+		return removeAt(count - 1);
+	}
+
+	/**
+	 * Removes and returns the specified element from this list.
+	 *
+	 * @param element the element to be removed from the list
+	 *
+	 * @return the element that is removed.
+	 *
+	 * @throws NoSuchElementException if element is not in this list
+	 */
+	@Override
+	public T remove(T element) {
+		int index = indexOf(element);
+		if (index == -1) {
+			throw new NoSuchElementException("Source: remove(element)");
+		}
+		return removeAt(index);
+	}
+
+	/**
+	 * Removes and returns the element at the specified index.
+	 *
+	 * @param index the index of the element to be retrieved
+	 * @return the element that is removed.
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: remove(index)");
+		}
+		return removeAt(index);
+	}
+
+	/**
+	 * Sets the element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be set
+	 * @param element the element to be set into the list
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: set(index, element)");
+		}
+		getNode(index).setElement(element);
+		modCount++;
+	}
+
+	/**
+	 * Returns a reference to the element at the specified index.
+	 *
+	 * @param index the index to which the reference is to be retrieved from
+	 * @return the element at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: get(index)");
+		}
+		return getNode(index).getElement();
+	}
+
+	/**
+	 * Returns the index of the specified element.
+	 *
+	 * @param element the element for the index is to be retrieved
+	 * @return the integer index for this element or -1 if element is not in the
+	 *         list
+	 */
+	@Override
+	public int indexOf(T element) {
+		int index = 0;
+		for (SkipListNode<T> current = header.getNext(0); current != null; current = current.getNext(0)) {
+			if (Objects.equals(current.getElement(), element)) {
+				return index;
+			}
+			index++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns a reference to the first element in this list.
+	 *
+	 * @return a reference to the first element in this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T first() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: first() method.");
+		}
+		return header.getNext(0).getElement();
+	}
+
+	/**
+	 * Returns a reference to the last element in this list.
+	 *
+	 * @return a reference to the last element in this list
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T last() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: last() method.");
+		}
+		return last[0].getElement();
+	}
+
+	/**
+	 * Returns true if this list contains the specified target element.
+	 *
+	 * @param target the target that is being sought in the list
+	 * @return true if the list contains this element, else false
+	 */
+	@Override
+	public boolean contains(T target) {
+		return indexOf(target) != -1;
+	}
+
+	/**
+	 * Returns true if this list contains no elements.
+	 *
+	 * @return true if this list contains no elements
+	 */
+	@Override
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return count the integer representation of number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns a string representation of the contents of the list.
+	 *
+	 * @return a string of the elements
+	 */
+	@Override
+	public String toString() {
+		if (count == 0) {
+			return "The list is empty.";
+		}
+
+		StringBuilder str = new StringBuilder();
+		for (SkipListNode<T> current = header.getNext(0); current != null; current = current.getNext(0)) {
+			if (current != header.getNext(0)) {
+				str.append(", ");
+			}
+			str.append(current.getElement());
+		}
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return listIterator();
+	}
+
+	/**
+	 * Returns a new List Iterator object starting at the starting index.
+	 *
+	 * @param startingIndex the index that the new List Iterator starts at.
+	 *
+	 * @return listIterator the new list iterator object at the specified index
+	 */
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new SkipListIterator(startingIndex);
+	}
+
+	/**
+	 * @return a new ListIterator object.
+	 *
+	 */
+	@Override
+	public ListIterator<T> listIterator() {
+		return new SkipListIterator(0);
+	}
+
+	/*******************************************************
+	 *
+	 * ListIterator class
+	 *
+	 ********************************************************/
+	private class SkipListIterator implements ListIterator<T> {
+
+		private SkipListNode<T> nextNode; // node returned by next(), null at the end
+		private int position; // index of nextNode
+		private int iteratorModCount; // modCount expected by the iterator
+		private SkipListNode<T> lastNode; // last returned node
+		private int lastIndex; // index of the last returned node, -1 if none
+
+		/**
+		 * Constructor that starts the iterator at the given index.
+		 *
+		 * @param startIndex the index the new List Iterator starts at.
+		 */
+		public SkipListIterator(int startIndex) {
+			if (startIndex < 0 || startIndex > count) {
+				throw new IndexOutOfBoundsException("Source: listIterator(startingIndex)");
+			}
+			nextNode = (startIndex == count) ? null : getNode(startIndex);
+			position = startIndex;
+			lastIndex = -1;
+			iteratorModCount = modCount;
+		}
+
+		/**
+		 * Throws an exception if the list was changed outside the iterator.
+		 */
+		private void checkForComodification() {
+			if (modCount != iteratorModCount) {
+				throw new ConcurrentModificationException("Source: SkipListIterator");
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < count;
+		}
+
+		@Override
+		public T next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException("Iterator - next - end of list");
+			}
+			lastNode = nextNode;
+			lastIndex = position;
+			nextNode = nextNode.getNext(0);
+			position++;
+			return lastNode.getElement();
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return position > 0;
+		}
+
+		@Override
+		public T previous() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException("Iterator - previous - end of list");
+			}
+			nextNode = (nextNode == null) ? last[0] : nextNode.getPrevious();
+			position--;
+			lastNode = nextNode;
+			lastIndex = position;
+			return lastNode.getElement();
+		}
+
+		@Override
+		public int nextIndex() {
+			return position;
+		}
+
+		@Override
+		public int previousIndex() {
+			return position - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (lastIndex == -1) {
+				throw new IllegalStateException("Source: List Iterator remove method");
+			}
+			checkForComodification();
+
+			SkipListNode<T> successor = lastNode.getNext(0);
+			removeAt(lastIndex);
+
+			// The cursor moves back if the removed node was before it, otherwise the
+			// removed node was the next one.
+			if (lastIndex < position) {
+				position--;
+			} else {
+				nextNode = successor;
+			}
+			lastIndex = -1;
+			iteratorModCount = modCount;
+		}
+
+		@Override
+		public void set(T e) {
+			if (lastIndex == -1) {
+				throw new IllegalStateException("Source: List Iterator set method");
+			}
+			checkForComodification();
+
+			lastNode.setElement(e);
+			modCount++;
+			iteratorModCount = modCount;
+		}
+
+		@Override
+		public void add(T e) {
+			checkForComodification();
+
+			// The new node goes in front of nextNode, which stays the next one.
+			insert(position, e);
+			position++;
+			lastIndex = -1;
+			iteratorModCount = modCount;
+		}
+	}
+}
@@ -0,0 +1,434 @@
+package dll;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A thread-safe IndexedUnsortedList for read-mostly use, wrapping an
+ * IUDoubleLinkedList behind a StampedLock.
+ *
+ * Reads (get, first, last, size, isEmpty, contains, indexOf) first run without
+ * any lock on an optimistic stamp and only keep the result if no writer took
+ * the lock in the meantime. If a writer interfered, or the unlocked read threw
+ * because it saw the list half changed, the read is repeated under the read
+ * lock. Readers never write to shared memory on the optimistic path, so they
+ * do not contend with each other. The reads use the finger-free methods of
+ * IUDoubleLinkedList, because moving the finger would be a write.
+ *
+ * Writes take the write lock. Several writes can share one acquisition through
+ * writeBatch.
+ *
+ * Iterators walk a snapshot copied under the read lock and do not support
+ * remove, set or add.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class IUStampedLockList<T> implements IndexedUnsortedList<T> {
+
+	private final IUDoubleLinkedList<T> list; // wrapped list, only touched under the lock
+	private final StampedLock lock; // guards list
+
+	/**
+	 * Default constructor
+	 */
+	public IUStampedLockList() {
+		this(new IUDoubleLinkedList<T>());
+	}
+
+	/**
+	 * Constructor that wraps a given list. The list must not be used directly
+	 * afterwards.
+	 *
+	 * @param list the list to be guarded
+	 */
+	public IUStampedLockList(IUDoubleLinkedList<T> list) {
+		if (list == null) {
+			throw new IllegalArgumentException("Source: IUStampedLockList(list)");
+		}
+		this.list = list;
+		lock = new StampedLock();
+	}
+
+	/**
+	 * Runs a read optimistically and falls back to the read lock.
+	 *
+	 * @param reader the read to run
+	 * @return the result of the read
+	 */
+	private <R> R read(Supplier<R> reader) {
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0L) {
+			try {
+				R result = reader.get();
+				if (lock.validate(stamp)) {
+					return result;
+				}
+			} catch (RuntimeException e) {
+				// The read may have seen a half done write; it is repeated under the lock,
+				// which also rethrows exceptions that were not caused by a writer.
+			}
+		}
+
+		stamp = lock.readLock();
+		try {
+			return reader.get();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Runs several writes under one acquisition of the write lock. The list
+	 * passed to the batch must not be kept after it returns.
+	 *
+	 * @param batch the writes to run on the wrapped list
+	 */
+	public void writeBatch(Consumer<? super IUDoubleLinkedList<T>> batch) {
+		long stamp = lock.writeLock();
+		try {
+			batch.accept(list);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Adds the specified element to the front of this list.
+	 *
+	 * @param element the element to be added to the front of this list
+	 */
+	@Override
+	public void addToFront(T element) {
+		long stamp = lock.writeLock();
+		try {
+			list.addToFront(element);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of this list
+	 */
+	@Override
+	public void addToRear(T element) {
+		long stamp = lock.writeLock();
+		try {
+			list.addToRear(element);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of the list
+	 */
+	@Override
+	public void add(T element) {
+		long stamp = lock.writeLock();
+		try {
+			list.add(element);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Adds the specified element after the specified target.
+	 *
+	 * @param element the element to be added after the target
+	 * @param target  the target is the item that the element will be added after
+	 * @throws NoSuchElementException if target element is not in this list
+	 */
+	@Override
+	public void addAfter(T element, T target) {
+		long stamp = lock.writeLock();
+		try {
+			list.addAfter(element, target);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Inserts the specified element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be
+	 *                inserted.
+	 * @param element the element to be inserted into the array
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index > size)
+	 */
+	@Override
+	public void add(int index, T element) {
+		long stamp = lock.writeLock();
+		try {
+			list.add(index, element);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Removes and returns the first element from this list.
+	 *
+	 * @return the first element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeFirst() {
+		long stamp = lock.writeLock();
+		try {
+			return list.removeFirst();
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Removes and returns the last element from this list.
+	 *
+	 * @return the last element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeLast() {
+		long stamp = lock.writeLock();
+		try {
+			return list.removeLast();
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Removes and returns the specified element from this list.
+	 *
+	 * @param element the element to be removed from the list
+	 *
+	 * @return the element that is removed.
+	 *
+	 * @throws NoSuchElementException if element is not in this list
+	 */
+	@Override
+	public T remove(T element) {
+		long stamp = lock.writeLock();
+		try {
+			return list.remove(element);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Removes and returns the element at the specified index.
+	 *
+	 * @param index the index of the element to be retrieved
+	 * @return the element that is removed.
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T remove(int index) {
+		long stamp = lock.writeLock();
+		try {
+			return list.remove(index);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Sets the element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be set
+	 * @param element the element to be set into the list
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public void set(int index, T element) {
+		long stamp = lock.writeLock();
+		try {
+			list.set(index, element);
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Returns a reference to the element at the specified index.
+	 *
+	 * @param index the index to which the reference is to be retrieved from
+	 * @return the element at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T get(int index) {
+		return read(() -> list.peek(index));
+	}
+
+	/**
+	 * Returns the index of the specified element.
+	 *
+	 * @param element the element for the index is to be retrieved
+	 * @return the integer index for this element or -1 if element is not in the
+	 *         list
+	 */
+	@Override
+	public int indexOf(T element) {
+		return read(() -> list.peekIndexOf(element));
+	}
+
+	/**
+	 * Returns a reference to the first element in this list.
+	 *
+	 * @return a reference to the first element in this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T first() {
+		return read(list::first);
+	}
+
+	/**
+	 * Returns a reference to the last element in this list.
+	 *
+	 * @return a reference to the last element in this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T last() {
+		return read(list::last);
+	}
+
+	/**
+	 * Returns true if this list contains the specified target element.
+	 *
+	 * @param target the target that is being looked for.
+	 * @return true if this list contains the target
+	 */
+	@Override
+	public boolean contains(T target) {
+		return read(() -> list.peekContains(target));
+	}
+
+	/**
+	 * Returns true if this list contains no elements.
+	 *
+	 * @return true if this list contains no elements
+	 */
+	@Override
+	public boolean isEmpty() {
+		return read(list::isEmpty);
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the integer representation of number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return read(list::size);
+	}
+
+	/**
+	 * Returns a string representation of the contents of the list.
+	 *
+	 * @return a string of the elements
+	 */
+	@Override
+	public String toString() {
+		long stamp = lock.readLock();
+		try {
+			return list.toString();
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Copies the elements under the read lock.
+	 *
+	 * @return the elements in list order
+	 */
+	private Object[] snapshot() {
+		long stamp = lock.readLock();
+		try {
+			Object[] elements = new Object[list.size()];
+			int i = 0;
+			for (T element : list) {
+				elements[i++] = element;
+			}
+			return elements;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	/**
+	 * Returns an iterator over a snapshot of the list.
+	 *
+	 * @return an iterator that does not support remove
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return listIterator(0);
+	}
+
+	/**
+	 * Returns a list iterator over a snapshot of the list, starting at the given
+	 * index. It does not support remove, set or add.
+	 *
+	 * @param startingIndex the index that the new List Iterator starts at.
+	 * @return the new list iterator at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public ListIterator<T> listIterator(int startingIndex) {
+		return Collections.unmodifiableList(Arrays.asList((T[]) snapshot())).listIterator(startingIndex);
+	}
+
+	/**
+	 * Returns a list iterator over a snapshot of the list. It does not support
+	 * remove, set or add.
+	 *
+	 * @return a new ListIterator object.
+	 */
+	@Override
+	public ListIterator<T> listIterator() {
+		return listIterator(0);
+	}
+
+	/**
+	 * Returns a spliterator over a snapshot of the list.
+	 *
+	 * @return a sized spliterator over the elements in list order
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Spliterator<T> spliterator() {
+		return (Spliterator<T>) Spliterators.spliterator(snapshot(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+	}
+}
@@ -0,0 +1,850 @@
+package dll;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * This class implements the IndexedUnsortedList interface as an unrolled
+ * double linked list. Every node holds a small array of elements, so a scan
+ * touches far fewer objects and an indexed seek skips whole nodes at a time.
+ *
+ * A full node is split in half when an element is inserted into it, and a node
+ * that drops below half of its capacity is merged with a neighbor when their
+ * elements fit into one node.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class IUUnrolledLinkedList<T> implements IndexedUnsortedList<T> {
+	public static final int DEFAULT_NODE_CAPACITY = 32; // elements per node
+
+	private int count; // size of the list
+	private int modCount; // tracks changes to the list
+	private int nodeCapacity; // maximum number of elements in a node
+	private ULLNode<T> head, tail; // head and tail nodes
+	private int seekOffset; // offset inside the node found by the last seek
+	private ULLNode<T> cursorNode; // node of the element the last insert placed or the last removal moved up
+	private int cursorOffset; // offset of that element inside cursorNode
+
+	/**
+	 * Default constructor
+	 */
+	public IUUnrolledLinkedList() {
+		this(DEFAULT_NODE_CAPACITY);
+	}
+
+	/**
+	 * Constructor with a given number of elements per node.
+	 *
+	 * @param nodeCapacity the maximum number of elements stored in a node
+	 *
+	 * @throws IllegalArgumentException if nodeCapacity is less than 2
+	 */
+	public IUUnrolledLinkedList(int nodeCapacity) {
+		if (nodeCapacity < 2) {
+			throw new IllegalArgumentException("Source: IUUnrolledLinkedList(nodeCapacity)");
+		}
+		this.nodeCapacity = nodeCapacity;
+		head = tail = null;
+		count = 0;
+		modCount = 0;
+	}
+
+	/**
+	 * Returns the node holding the element at the specified index and leaves the
+	 * offset of the element inside that node in seekOffset. The walk starts from
+	 * the closer end and skips whole nodes.
+	 *
+	 * @param index the index of the element, must be in range (0 <= index < size)
+	 * @return the node holding the element
+	 */
+	private ULLNode<T> seek(int index) {
+		ULLNode<T> current;
+
+		if (index < count / 2) {
+			// Skips whole nodes from the head.
+			current = head;
+			while (index >= current.getSize()) {
+				index -= current.getSize();
+				current = current.getNext();
+			}
+		} else {
+			// Skips whole nodes from the tail.
+			current = tail;
+			int remaining = count - 1 - index;
+			while (remaining >= current.getSize()) {
+				remaining -= current.getSize();
+				current = current.getPrevious();
+			}
+			index = current.getSize() - 1 - remaining;
+		}
+
+		seekOffset = index;
+		return current;
+	}
+
+	/**
+	 * Inserts an element at the given offset of a node, making room first when
+	 * the node is full. Leaves the node and offset the element ended up at in
+	 * cursorNode and cursorOffset.
+	 *
+	 * @param node    the node receiving the element, null if the list is empty
+	 * @param offset  the offset inside the node (0 <= offset <= node size)
+	 * @param element the element to be inserted
+	 */
+	private void insert(ULLNode<T> node, int offset, T element) {
+
+		// Creates the first node of an empty list.
+		if (node == null) {
+			node = new ULLNode<T>(nodeCapacity);
+			head = tail = node;
+			offset = 0;
+
+		} else if (node.isFull()) {
+
+			if (offset == node.getSize()) {
+				// Appending to a full node starts a new node after it.
+				node = linkAfter(node);
+				offset = 0;
+
+			} else if (offset == 0) {
+				// Prepending to a full node starts a new node before it.
+				node = linkBefore(node);
+
+			} else {
+				// Splits the node in half and inserts into the proper half.
+				int half = node.getSize() / 2;
+				ULLNode<T> newNode = linkAfter(node);
+				node.moveElementsTo(half, newNode);
+				if (offset > half) {
+					node = newNode;
+					offset -= half;
+				}
+			}
+		}
+
+		node.insertElement(offset, element);
+		cursorNode = node;
+		cursorOffset = offset;
+		count++;
+		modCount++;
+	}
+
+	/**
+	 * Removes the element at the given offset of a node, then unlinks or merges
+	 * the node if it got too small. Leaves where the element that followed the
+	 * removed one now is in cursorNode and cursorOffset; past the last element
+	 * that is the end of the tail.
+	 *
+	 * @param node   the node holding the element
+	 * @param offset the offset inside the node
+	 * @return the removed element
+	 */
+	private T removeAt(ULLNode<T> node, int offset) {
+		T element = node.removeElement(offset);
+		count--;
+		modCount++;
+
+		// Unless nodes are merged or dropped, the following element moved up by one.
+		cursorNode = node;
+		cursorOffset = offset;
+
+		int half = nodeCapacity / 2;
+		if (node.getSize() == 0) {
+			// Drops the empty node.
+			if (node.getNext() != null) {
+				cursorNode = node.getNext();
+				cursorOffset = 0;
+			} else {
+				cursorNode = node.getPrevious();
+				cursorOffset = (cursorNode == null) ? 0 : cursorNode.getSize();
+			}
+			unlink(node);
+
+		} else if (node.getSize() < half) {
+			ULLNode<T> next = node.getNext();
+			ULLNode<T> previous = node.getPrevious();
+
+			// Merges with a neighbor when both fit into one node.
+			if (next != null && node.getSize() + next.getSize() <= nodeCapacity) {
+				next.moveElementsTo(0, node);
+				unlink(next);
+			} else if (previous != null && previous.getSize() + node.getSize() <= nodeCapacity) {
+				cursorNode = previous;
+				cursorOffset = previous.getSize() + offset;
+				node.moveElementsTo(0, previous);
+				unlink(node);
+			}
+		}
+		return element;
+	}
+
+	/**
+	 * Creates an empty node and links it after the given node.
+	 *
+	 * @param node the node the new node follows
+	 * @return the new node
+	 */
+	private ULLNode<T> linkAfter(ULLNode<T> node) {
+		ULLNode<T> newNode = new ULLNode<T>(nodeCapacity);
+		newNode.setPrevious(node);
+		newNode.setNext(node.getNext());
+		if (node == tail) {
+			tail = newNode;
+		} else {
+			node.getNext().setPrevious(newNode);
+		}
+		node.setNext(newNode);
+		return newNode;
+	}
+
+	/**
+	 * Creates an empty node and links it before the given node.
+	 *
+	 * @param node the node the new node precedes
+	 * @return the new node
+	 */
+	private ULLNode<T> linkBefore(ULLNode<T> node) {
+		ULLNode<T> newNode = new ULLNode<T>(nodeCapacity);
+		newNode.setNext(node);
+		newNode.setPrevious(node.getPrevious());
+		if (node == head) {
+			head = newNode;
+		} else {
+			node.getPrevious().setNext(newNode);
+		}
+		node.setPrevious(newNode);
+		return newNode;
+	}
+
+	/**
+	 * Unlinks a node from the list.
+	 *
+	 * @param node the node to be unlinked
+	 */
+	private void unlink(ULLNode<T> node) {
+		if (node == head) {
+			head = node.getNext();
+		} else {
+			node.getPrevious().setNext(node.getNext());
+		}
+		if (node == tail) {
+			tail = node.getPrevious();
+		} else {
+			node.getNext().setPrevious(node.getPrevious());
+		}
+		node.setNext(null);
+		node.setPrevious(null);
+	}
+
+	/**
+	 * Adds the specified element to the front of this list.
+	 *
+	 * @param element the element to be added to the front of this list
+	 */
+	@Override
+	public void addToFront(T element) {
+		insert(head, 0, element);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of this list
+	 */
+	@Override
+	public void addToRear(T element) {
+		insert(tail, (tail == null) ? 0 : tail.getSize(), element);
+	}
+
+	/**
+	 * Adds the specified element to the rear of this list.
+	 *
+	 * @param element the element to be added to the rear of the list
+	 */
+	@Override
+	public void add(T element) {
+		addToRear(element);
+	}
+
+	/**
+	 * Adds the specified element after the specified target.
+	 *
+	 * @param element the element to be added after the target
+	 *
+	 * @param target  the target is the item that the element will be added after
+	 *
+	 * @throws NoSuchElementException if target element is not in this list
+	 */
+	@Override
+	public void addAfter(T element, T target) {
+
+		// Finds the node holding the target.
+		for (ULLNode<T> current = head; current != null; current = current.getNext()) {
+			for (int i = 0; i < current.getSize(); i++) {
+				if (Objects.equals(current.getElement(i), target)) {
+					insert(current, i + 1, element);
+					return;
+				}
+			}
+		}
+
+		throw new NoSuchElementException("Source: addAfter(T element, T target)");
+	}
+
+	/**
+	 * Inserts the specified element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be
+	 *                inserted.
+	 * @param element the element to be inserted into the array
+	 *
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index > size)
+	 */
+	@Override
+	public void add(int index, T element) {
+
+		// Checks if the index is valid.
+		if (index < 0 || index > count) {
+			throw new IndexOutOfBoundsException("Source: add(index, element)");
+		}
+
+		if (index == count) {
+			addToRear(element);
+		} else {
+			ULLNode<T> node = seek(index);
+			insert(node, seekOffset, element);
+		}
+	}
+
+	/**
+	 * Removes and returns the first element from this list.
+	 *
+	 * @return the first element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeFirst() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: removeFirst");
+		}
+		return removeAt(head, 0);
+	}
+
+	/**
+	 * Removes and returns the last element from this list.
+	 *
+	 * @return the last element from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T removeLast() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: removeLast");
+		}
+		return removeAt(tail, tail.getSize() - 1);
+	}
+
+	/**
+	 * Removes and returns the specified element from this list.
+	 *
+	 * @param element the element to be removed from the list
+	 *
+	 * @return the element that is removed.
+	 *
+	 * @throws NoSuchElementException if element is not in this list
+	 */
+	@Override
+	public T remove(T element) {
+
+		// Finds the node holding the element.
+		for (ULLNode<T> current = head; current != null; current = current.getNext()) {
+			for (int i = 0; i < current.getSize(); i++) {
+				if (Objects.equals(current.getElement(i), element)) {
+					return removeAt(current, i);
+				}
+			}
+		}
+
+		throw new NoSuchElementException("Source: remove(element)");
+	}
+
+	/**
+	 * Removes and returns the element at the specified index.
+	 *
+	 * @param index the index of the element to be retrieved
+	 * @return the element that is removed.
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T remove(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: remove(index)");
+		}
+		ULLNode<T> node = seek(index);
+		return removeAt(node, seekOffset);
+	}
+
+	/**
+	 * Sets the element at the specified index.
+	 *
+	 * @param index   the index into the array to which the element is to be set
+	 * @param element the element to be set into the list
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public void set(int index, T element) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: set(index, element)");
+		}
+		ULLNode<T> node = seek(index);
+		node.setElement(seekOffset, element);
+		modCount++;
+	}
+
+	/**
+	 * Returns a reference to the element at the specified index.
+	 *
+	 * @param index the index to which the reference is to be retrieved from
+	 * @return the element at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	@Override
+	public T get(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: get(index)");
+		}
+		ULLNode<T> node = seek(index);
+		return node.getElement(seekOffset);
+	}
+
+	/**
+	 * Returns the index of the specified element.
+	 *
+	 * @param element the element for the index is to be retrieved
+	 * @return the integer index for this element or -1 if element is not in the
+	 *         list
+	 */
+	@Override
+	public int indexOf(T element) {
+		int index = 0;
+
+		// Scans the nodes in order, one array at a time.
+		for (ULLNode<T> current = head; current != null; current = current.getNext()) {
+			for (int i = 0; i < current.getSize(); i++) {
+				if (Objects.equals(current.getElement(i), element)) {
+					return index + i;
+				}
+			}
+			index += current.getSize();
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns a reference to the first element in this list.
+	 *
+	 * @return a reference to the first element in this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T first() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: first() method.");
+		}
+		return head.getElement(0);
+	}
+
+	/**
+	 * Returns a reference to the last element in this list.
+	 *
+	 * @return a reference to the last element in this list
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	@Override
+	public T last() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: last() method.");
+		}
+		return tail.getElement(tail.getSize() - 1);
+	}
+
+	/**
+	 * Returns true if this list contains the specified target element.
+	 *
+	 * @param target the target that is being sought in the list
+	 * @return true if the list contains this element, else false
+	 */
+	@Override
+	public boolean contains(T target) {
+		return indexOf(target) != -1;
+	}
+
+	/**
+	 * Returns true if this list contains no elements.
+	 *
+	 * @return true if this list contains no elements
+	 */
+	@Override
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return count the integer representation of number of elements in this list
+	 */
+	@Override
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns a string representation of the contents of the list.
+	 *
+	 * @return a string of the elements
+	 */
+	@Override
+	public String toString() {
+		if (count == 0) {
+			return "The list is empty.";
+		}
+
+		StringBuilder str = new StringBuilder();
+		for (ULLNode<T> current = head; current != null; current = current.getNext()) {
+			for (int i = 0; i < current.getSize(); i++) {
+				if (str.length() > 0) {
+					str.append(", ");
+				}
+				str.append(current.getElement(i));
+			}
+		}
+		return str.toString();
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return listIterator();
+	}
+
+	/**
+	 * Returns a new List Iterator object starting at the starting index.
+	 *
+	 * @param startingIndex the index that the new List Iterator starts at.
+	 *
+	 * @return listIterator the new list iterator object at the specified index
+	 */
+	@Override
+	public ListIterator<T> listIterator(int startingIndex) {
+		return new ULListIterator(startingIndex);
+	}
+
+	/**
+	 * @return a new ListIterator object.
+	 *
+	 */
+	@Override
+	public ListIterator<T> listIterator() {
+		return new ULListIterator(0);
+	}
+
+	/**
+	 * Returns a Spliterator that knows its exact size and splits by skipping
+	 * whole nodes to the middle of its range.
+	 *
+	 * @return a new Spliterator over the elements of the list
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return new ULSpliterator(head, 0, count, modCount);
+	}
+
+	/*******************************************************
+	 *
+	 * Spliterator class
+	 *
+	 ********************************************************/
+	private class ULSpliterator implements Spliterator<T> {
+
+		private ULLNode<T> node; // node holding the next element
+		private int offset; // offset of the next element inside the node
+		private int remaining; // number of elements left in this range
+		private int expectedModCount; // modCount when the spliterator was created
+
+		/**
+		 * Constructor for a range of elements.
+		 *
+		 * @param node             the node holding the first element
+		 * @param offset           the offset of the first element inside the node
+		 * @param remaining        the number of elements in the range
+		 * @param expectedModCount the modCount the range is valid for
+		 */
+		public ULSpliterator(ULLNode<T> node, int offset, int remaining, int expectedModCount) {
+			this.node = node;
+			this.offset = offset;
+			this.remaining = remaining;
+			this.expectedModCount = expectedModCount;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			if (remaining <= 0) {
+				return false;
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException("Source: ULSpliterator tryAdvance");
+			}
+			if (offset == node.getSize()) {
+				node = node.getNext();
+				offset = 0;
+			}
+			T element = node.getElement(offset);
+			offset++;
+			remaining--;
+			action.accept(element);
+			return true;
+		}
+
+		@Override
+		public void forEachRemaining(Consumer<? super T> action) {
+			ULLNode<T> current = node;
+			int i = offset;
+			int left = remaining;
+
+			// Hands out the rest of the range one node array at a time, checking
+			// for changes once at the end.
+			remaining = 0;
+			while (left > 0) {
+				if (i == current.getSize()) {
+					current = current.getNext();
+					i = 0;
+				}
+				int end = Math.min(current.getSize(), i + left);
+				left -= end - i;
+				for (; i < end; i++) {
+					action.accept(current.getElement(i));
+				}
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException("Source: ULSpliterator forEachRemaining");
+			}
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			if (remaining < 2) {
+				return null;
+			}
+			if (modCount != expectedModCount) {
+				throw new ConcurrentModificationException("Source: ULSpliterator trySplit");
+			}
+
+			// Skips whole nodes to the middle; the first half is split off.
+			int half = remaining / 2;
+			ULLNode<T> startNode = node;
+			int startOffset = offset;
+			int skip = half;
+			while (skip >= node.getSize() - offset) {
+				skip -= node.getSize() - offset;
+				node = node.getNext();
+				offset = 0;
+			}
+			offset += skip;
+			remaining -= half;
+			return new ULSpliterator(startNode, startOffset, half, expectedModCount);
+		}
+
+		@Override
+		public long estimateSize() {
+			return remaining;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * ListIterator class
+	 *
+	 ********************************************************/
+	private class ULListIterator implements ListIterator<T> {
+
+		private ULLNode<T> node; // node holding the element returned by next()
+		private int offset; // offset of that element inside the node
+		private int position; // index of the element returned by next()
+		private int iteratorModCount; // modCount expected by the iterator
+		private ULLNode<T> lastNode; // node of the last returned element
+		private int lastOffset; // offset of the last returned element
+		private int lastIndex; // index of the last returned element, -1 if none
+
+		/**
+		 * Constructor that starts the iterator at the given index.
+		 *
+		 * @param startIndex the index the new List Iterator starts at.
+		 */
+		public ULListIterator(int startIndex) {
+			if (startIndex < 0 || startIndex > count) {
+				throw new IndexOutOfBoundsException("Source: listIterator(startingIndex)");
+			}
+			position = startIndex;
+			lastIndex = -1;
+			iteratorModCount = modCount;
+			seekCursor();
+		}
+
+		/**
+		 * Places the cursor in front of the element at position.
+		 */
+		private void seekCursor() {
+			if (position < count) {
+				node = seek(position);
+				offset = seekOffset;
+			} else {
+				// Past the last element the cursor rests at the end of the tail.
+				node = tail;
+				offset = (tail == null) ? 0 : tail.getSize();
+			}
+		}
+
+		/**
+		 * Throws an exception if the list was changed outside the iterator.
+		 */
+		private void checkForComodification() {
+			if (modCount != iteratorModCount) {
+				throw new ConcurrentModificationException("Source: ULListIterator");
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < count;
+		}
+
+		@Override
+		public T next() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException("Iterator - next - end of list");
+			}
+
+			// Moves to the next node once the current one is used up.
+			if (offset == node.getSize()) {
+				node = node.getNext();
+				offset = 0;
+			}
+
+			lastNode = node;
+			lastOffset = offset;
+			lastIndex = position;
+			offset++;
+			position++;
+			return lastNode.getElement(lastOffset);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return position > 0;
+		}
+
+		@Override
+		public T previous() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException("Iterator - previous - end of list");
+			}
+
+			// Moves to the previous node once the start of the current one is reached.
+			if (offset == 0) {
+				node = node.getPrevious();
+				offset = node.getSize();
+			}
+
+			offset--;
+			position--;
+			lastNode = node;
+			lastOffset = offset;
+			lastIndex = position;
+			return lastNode.getElement(lastOffset);
+		}
+
+		@Override
+		public int nextIndex() {
+			return position;
+		}
+
+		@Override
+		public int previousIndex() {
+			return position - 1;
+		}
+
+		@Override
+		public void remove() {
+			if (lastIndex == -1) {
+				throw new IllegalStateException("Source: List Iterator remove method");
+			}
+			checkForComodification();
+
+			removeAt(lastNode, lastOffset);
+
+			// The cursor moves back if the removed element was before it.
+			if (lastIndex < position) {
+				position--;
+			}
+			lastIndex = -1;
+			iteratorModCount = modCount;
+
+			// The element after the removed one is now next, wherever merging put it.
+			node = cursorNode;
+			offset = cursorOffset;
+		}
+
+		@Override
+		public void set(T e) {
+			if (lastIndex == -1) {
+				throw new IllegalStateException("Source: List Iterator set method");
+			}
+			checkForComodification();
+
+			lastNode.setElement(lastOffset, e);
+			modCount++;
+			iteratorModCount = modCount;
+		}
+
+		@Override
+		public void add(T e) {
+			checkForComodification();
+
+			// Inserts in front of the cursor; past the current node, the element goes
+			// to the start of the next one.
+			if (node != null && offset == node.getSize() && node.getNext() != null) {
+				node = node.getNext();
+				offset = 0;
+			}
+			insert(node, offset, e);
+			position++;
+			lastIndex = -1;
+			iteratorModCount = modCount;
+
+			// The cursor stays right behind the new element, wherever a split put it.
+			node = cursorNode;
+			offset = cursorOffset + 1;
+		}
+	}
+}
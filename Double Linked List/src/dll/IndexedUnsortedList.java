@@ -1,4 +1,8 @@
+package dll;
+
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  *  Interface for an Iterable, Indexed, Unsorted List ADT.
@@ -180,4 +184,35 @@ public interface IndexedUnsortedList<T> extends Iterable<T>
       * @throws UnsupportedOperationException if not implemented
      */
     public ListIterator<T> listIterator(int startingIndex);
+
+    /**  
+     * Returns a Spliterator over the elements in this list. The default
+     * splits off batches of the iterator and reports the list size.
+     *
+     * @return a Spliterator over the elements in this list
+     */
+    public default Spliterator<T> spliterator()
+    {
+        return Spliterators.spliterator(iterator(), size(), Spliterator.ORDERED);
+    }
+
+    /**  
+     * Returns a sequential Stream over the elements in this list. 
+     *
+     * @return a Stream over the elements in this list
+     */
+    public default Stream<T> stream()
+    {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**  
+     * Returns a possibly parallel Stream over the elements in this list. 
+     *
+     * @return a parallel Stream over the elements in this list
+     */
+    public default Stream<T> parallelStream()
+    {
+        return StreamSupport.stream(spliterator(), true);
+    }
 }
@@ -0,0 +1,79 @@
+package dll;
+
+/**
+ * Node of a double linked list that stores a primitive int element.
+ *
+ * @author Joshua McKerracher
+ */
+public class IntDLLNode {
+
+	private IntDLLNode next; // reference to next node
+	private IntDLLNode previous; // reference to previous node
+	private int element; // value stored in node
+
+	/**
+	 * Constructor - with given element
+	 *
+	 * @param element - int value
+	 */
+	public IntDLLNode(int element) {
+		setElement(element);
+		setNext(null);
+		setPrevious(null);
+	}
+
+	/**
+	 * Returns reference to next node.
+	 *
+	 * @return - ref to IntDLLNode object.
+	 */
+	public IntDLLNode getNext() {
+		return next;
+	}
+
+	/**
+	 * Returns a reference to the previous node.
+	 *
+	 * @return - reference to IntDLLNode object.
+	 */
+	public IntDLLNode getPrevious() {
+		return previous;
+	}
+
+	/**
+	 * Assign reference to next node
+	 *
+	 * @param next - ref to IntDLLNode object
+	 */
+	public void setNext(IntDLLNode next) {
+		this.next = next;
+	}
+
+	/**
+	 * Assign a reference to the previous node.
+	 *
+	 * @param previous - reference to IntDLLNode object
+	 */
+	public void setPrevious(IntDLLNode previous) {
+		this.previous = previous;
+	}
+
+	/**
+	 * Returns the value stored in node
+	 *
+	 * @return - int value
+	 */
+	public int getElement() {
+		return element;
+	}
+
+	/**
+	 * Sets the value stored at node
+	 *
+	 * @param element - int value
+	 */
+	public void setElement(int element) {
+		this.element = element;
+	}
+
+}
@@ -0,0 +1,562 @@
+package dll;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A double linked list of primitive int values. It mirrors the
+ * IndexedUnsortedList methods with int-typed parameters and results, so
+ * values are never boxed into Integer objects on the way in or out.
+ *
+ * Methods whose names would clash with their index-based counterparts are
+ * named after the element type: getInt(index) and removeInt(index) work
+ * by index, removeElement(element) works by value.
+ *
+ * @author Joshua McKerracher
+ */
+public class IntDoubleLinkedList {
+	private int count; // size of the list
+	private int modCount; // tracks changes to the list
+	private IntDLLNode head, tail; // head and tail nodes
+	private IntDLLNode finger; // most recently used node of an indexed operation
+	private int fingerIndex; // index of the finger node
+	private int fingerModCount; // modCount at the time the finger was set
+
+	/**
+	 * Default constructor
+	 */
+	public IntDoubleLinkedList() {
+		head = tail = null;
+		count = 0;
+		modCount = 0;
+		finger = null;
+	}
+
+	/**
+	 * Returns true if two values are the same element.
+	 *
+	 * @param a the first value
+	 * @param b the second value
+	 * @return true if the values are equal
+	 */
+	private static boolean same(int a, int b) {
+		return a == b;
+	}
+
+	/**
+	 * Returns the node at the specified index. The walk starts from whichever of
+	 * head, tail or the finger is closest to the index.
+	 *
+	 * @param index the index of the node, must be in range (0 <= index < size)
+	 * @return the node at the given index
+	 */
+	private IntDLLNode getNode(int index) {
+		IntDLLNode current = head;
+		int position = 0;
+		if (index > (count - 1) - index) {
+			current = tail;
+			position = count - 1;
+		}
+
+		// The finger is only used while no modification happened since it was set.
+		if (finger != null && fingerModCount == modCount
+				&& Math.abs(fingerIndex - index) < Math.abs(position - index)) {
+			current = finger;
+			position = fingerIndex;
+		}
+
+		while (position < index) {
+			current = current.getNext();
+			position++;
+		}
+		while (position > index) {
+			current = current.getPrevious();
+			position--;
+		}
+
+		finger = current;
+		fingerIndex = index;
+		fingerModCount = modCount;
+		return current;
+	}
+
+	/**
+	 * Returns the first node holding the given value.
+	 *
+	 * @param element the value to look for
+	 * @return the node, or null if the value is not in the list
+	 */
+	private IntDLLNode findNode(int element) {
+		for (IntDLLNode current = head; current != null; current = current.getNext()) {
+			if (same(current.getElement(), element)) {
+				return current;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Links a new node in front of the given node, or at the rear if the given
+	 * node is null.
+	 *
+	 * @param successor the node the new node precedes, null to add at the rear
+	 * @param element   the value of the new node
+	 */
+	private void linkBefore(IntDLLNode successor, int element) {
+		IntDLLNode newNode = new IntDLLNode(element);
+		IntDLLNode predecessor = (successor == null) ? tail : successor.getPrevious();
+
+		newNode.setPrevious(predecessor);
+		newNode.setNext(successor);
+		if (predecessor == null) {
+			head = newNode;
+		} else {
+			predecessor.setNext(newNode);
+		}
+		if (successor == null) {
+			tail = newNode;
+		} else {
+			successor.setPrevious(newNode);
+		}
+		count++;
+		modCount++;
+	}
+
+	/**
+	 * Unlinks a node from the list.
+	 *
+	 * @param node the node to be removed
+	 * @return the value of the removed node
+	 */
+	private int unlink(IntDLLNode node) {
+		if (node.getPrevious() == null) {
+			head = node.getNext();
+		} else {
+			node.getPrevious().setNext(node.getNext());
+		}
+		if (node.getNext() == null) {
+			tail = node.getPrevious();
+		} else {
+			node.getNext().setPrevious(node.getPrevious());
+		}
+		node.setNext(null);
+		node.setPrevious(null);
+		count--;
+		modCount++;
+		return node.getElement();
+	}
+
+	/**
+	 * Adds the specified value to the front of this list.
+	 *
+	 * @param element the value to be added to the front of this list
+	 */
+	public void addToFront(int element) {
+		linkBefore(head, element);
+	}
+
+	/**
+	 * Adds the specified value to the rear of this list.
+	 *
+	 * @param element the value to be added to the rear of this list
+	 */
+	public void addToRear(int element) {
+		linkBefore(null, element);
+	}
+
+	/**
+	 * Adds the specified value to the rear of this list.
+	 *
+	 * @param element the value to be added to the rear of the list
+	 */
+	public void add(int element) {
+		linkBefore(null, element);
+	}
+
+	/**
+	 * Adds the specified value after the specified target.
+	 *
+	 * @param element the value to be added after the target
+	 * @param target  the value that the element will be added after
+	 *
+	 * @throws NoSuchElementException if target value is not in this list
+	 */
+	public void addAfter(int element, int target) {
+		IntDLLNode targetNode = findNode(target);
+		if (targetNode == null) {
+			throw new NoSuchElementException("Source: addAfter(element, target)");
+		}
+		linkBefore(targetNode.getNext(), element);
+	}
+
+	/**
+	 * Inserts the specified value at the specified index.
+	 *
+	 * @param index   the index at which the value is to be inserted
+	 * @param element the value to be inserted
+	 *
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index > size)
+	 */
+	public void add(int index, int element) {
+		if (index < 0 || index > count) {
+			throw new IndexOutOfBoundsException("Source: add(index, element)");
+		}
+		linkBefore((index == count) ? null : getNode(index), element);
+	}
+
+	/**
+	 * Removes and returns the first value from this list.
+	 *
+	 * @return the first value from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	public int removeFirst() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: removeFirst");
+		}
+		return unlink(head);
+	}
+
+	/**
+	 * Removes and returns the last value from this list.
+	 *
+	 * @return the last value from this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	public int removeLast() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: removeLast");
+		}
+		return unlink(tail);
+	}
+
+	/**
+	 * Removes the first occurrence of the specified value from this list.
+	 *
+	 * @param element the value to be removed from the list
+	 * @return the removed value
+	 *
+	 * @throws NoSuchElementException if the value is not in this list
+	 */
+	public int removeElement(int element) {
+		IntDLLNode node = findNode(element);
+		if (node == null) {
+			throw new NoSuchElementException("Source: removeElement(element)");
+		}
+		return unlink(node);
+	}
+
+	/**
+	 * Removes and returns the value at the specified index.
+	 *
+	 * @param index the index of the value to be removed
+	 * @return the removed value
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	public int removeInt(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: removeInt(index)");
+		}
+		return unlink(getNode(index));
+	}
+
+	/**
+	 * Sets the value at the specified index.
+	 *
+	 * @param index   the index of the value to be replaced
+	 * @param element the new value
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	public void set(int index, int element) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: set(index, element)");
+		}
+		IntDLLNode node = getNode(index);
+		node.setElement(element);
+		modCount++;
+
+		// The structure didn't change, so the finger is still valid.
+		fingerModCount = modCount;
+	}
+
+	/**
+	 * Returns the value at the specified index.
+	 *
+	 * @param index the index of the value
+	 * @return the value at the specified index
+	 * @throws IndexOutOfBoundsException if the index is out of range (index < 0 ||
+	 *                                   index >= size)
+	 */
+	public int getInt(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException("Source: getInt(index)");
+		}
+		return getNode(index).getElement();
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the specified value.
+	 *
+	 * @param element the value to look for
+	 * @return the index of the value or -1 if it is not in the list
+	 */
+	public int indexOf(int element) {
+		int index = 0;
+		for (IntDLLNode current = head; current != null; current = current.getNext()) {
+			if (same(current.getElement(), element)) {
+				return index;
+			}
+			index++;
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the first value in this list.
+	 *
+	 * @return the first value in this list
+	 *
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	public int first() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: first() method.");
+		}
+		return head.getElement();
+	}
+
+	/**
+	 * Returns the last value in this list.
+	 *
+	 * @return the last value in this list
+	 * @throws NoSuchElementException if list contains no elements
+	 */
+	public int last() {
+		if (count == 0) {
+			throw new NoSuchElementException("Source: last() method.");
+		}
+		return tail.getElement();
+	}
+
+	/**
+	 * Returns true if this list contains the specified value.
+	 *
+	 * @param target the value that is being sought in the list
+	 * @return true if the list contains this value, else false
+	 */
+	public boolean contains(int target) {
+		return findNode(target) != null;
+	}
+
+	/**
+	 * Returns true if this list contains no elements.
+	 *
+	 * @return true if this list contains no elements
+	 */
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return count the integer representation of number of elements in this list
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Returns a string representation of the contents of the list.
+	 *
+	 * @return a string of the values
+	 */
+	@Override
+	public String toString() {
+		if (count == 0) {
+			return "The list is empty.";
+		}
+
+		StringBuilder str = new StringBuilder();
+		for (IntDLLNode current = head; current != null; current = current.getNext()) {
+			if (current != head) {
+				str.append(", ");
+			}
+			str.append(current.getElement());
+		}
+		return str.toString();
+	}
+
+	/**
+	 * @return a new IntListIterator positioned before the first value.
+	 */
+	public IntListIterator iterator() {
+		return new IntListIterator(0);
+	}
+
+	/**
+	 * @return a new IntListIterator positioned before the first value.
+	 */
+	public IntListIterator listIterator() {
+		return new IntListIterator(0);
+	}
+
+	/**
+	 * Returns a new IntListIterator positioned before the given index.
+	 *
+	 * @param startingIndex the index that the new iterator starts at.
+	 * @return the new iterator
+	 */
+	public IntListIterator listIterator(int startingIndex) {
+		return new IntListIterator(startingIndex);
+	}
+
+	/*******************************************************
+	 *
+	 * ListIterator-style cursor over primitive values
+	 *
+	 ********************************************************/
+	public class IntListIterator implements PrimitiveIterator.OfInt {
+
+		private IntDLLNode nextNode; // node returned by nextInt(), null at the end
+		private int position; // index of nextNode
+		private int iteratorModCount; // modCount expected by the iterator
+		private IntDLLNode lastNode; // last returned node, null if none
+
+		/**
+		 * Constructor that starts the iterator at the given index.
+		 *
+		 * @param startIndex the index the new iterator starts at.
+		 */
+		private IntListIterator(int startIndex) {
+			if (startIndex < 0 || startIndex > count) {
+				throw new IndexOutOfBoundsException("Source: listIterator(startingIndex)");
+			}
+			nextNode = (startIndex == count) ? null : getNode(startIndex);
+			position = startIndex;
+			iteratorModCount = modCount;
+			lastNode = null;
+		}
+
+		/**
+		 * Throws an exception if the list was changed outside the iterator.
+		 */
+		private void checkForComodification() {
+			if (modCount != iteratorModCount) {
+				throw new ConcurrentModificationException("Source: IntListIterator");
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return position < count;
+		}
+
+		@Override
+		public int nextInt() {
+			checkForComodification();
+			if (!hasNext()) {
+				throw new NoSuchElementException("Iterator - next - end of list");
+			}
+			lastNode = nextNode;
+			nextNode = nextNode.getNext();
+			position++;
+			return lastNode.getElement();
+		}
+
+		/**
+		 * Returns true if previousInt() would return a value.
+		 *
+		 * @return true if there is a value before the cursor
+		 */
+		public boolean hasPrevious() {
+			return position > 0;
+		}
+
+		/**
+		 * Returns the value before the cursor and moves the cursor backwards.
+		 *
+		 * @return the previous value
+		 */
+		public int previousInt() {
+			checkForComodification();
+			if (!hasPrevious()) {
+				throw new NoSuchElementException("Iterator - previous - end of list");
+			}
+			nextNode = (nextNode == null) ? tail : nextNode.getPrevious();
+			position--;
+			lastNode = nextNode;
+			return lastNode.getElement();
+		}
+
+		/**
+		 * @return the index of the value returned by the next call to nextInt()
+		 */
+		public int nextIndex() {
+			return position;
+		}
+
+		/**
+		 * @return the index of the value returned by the next call to previousInt()
+		 */
+		public int previousIndex() {
+			return position - 1;
+		}
+
+		/**
+		 * Removes the value last returned by nextInt() or previousInt().
+		 */
+		@Override
+		public void remove() {
+			if (lastNode == null) {
+				throw new IllegalStateException("Source: IntListIterator remove method");
+			}
+			checkForComodification();
+
+			// The cursor moves back if the removed node was before it, otherwise the
+			// removed node was the next one.
+			if (lastNode == nextNode) {
+				nextNode = nextNode.getNext();
+			} else {
+				position--;
+			}
+			unlink(lastNode);
+			lastNode = null;
+			iteratorModCount = modCount;
+		}
+
+		/**
+		 * Replaces the value last returned by nextInt() or previousInt().
+		 *
+		 * @param e the new value
+		 */
+		public void set(int e) {
+			if (lastNode == null) {
+				throw new IllegalStateException("Source: IntListIterator set method");
+			}
+			checkForComodification();
+			lastNode.setElement(e);
+			modCount++;
+			iteratorModCount = modCount;
+		}
+
+		/**
+		 * Inserts a value in front of the cursor.
+		 *
+		 * @param e the new value
+		 */
+		public void add(int e) {
+			checkForComodification();
+			linkBefore(nextNode, e);
+			position++;
+			lastNode = null;
+			iteratorModCount = modCount;
+		}
+	}
+}
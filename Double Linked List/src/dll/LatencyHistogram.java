@@ -0,0 +1,135 @@
+package dll;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Histogram of latencies in nanoseconds with log-linear buckets, in the style
+ * of HdrHistogram. Every power of two is split into 8 buckets, so a recorded
+ * value is reported at most 12.5% above its true value. Recording is lock free
+ * and may happen concurrently with reading.
+ *
+ * @author Joshua McKerracher
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 3; // log2 of the buckets per power of two
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS; // buckets per power of two
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS; // enough for any long
+
+	private final AtomicLongArray counts; // number of values per bucket
+	private final LongAccumulator max; // largest value recorded
+
+	/**
+	 * Default constructor
+	 */
+	public LatencyHistogram() {
+		counts = new AtomicLongArray(BUCKETS);
+		max = new LongAccumulator(Math::max, 0L);
+	}
+
+	/**
+	 * Returns the bucket a value falls into.
+	 *
+	 * @param value a value, at least 0
+	 * @return the index of its bucket
+	 */
+	private static int bucketOf(long value) {
+		// Small values get a bucket each.
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		// The top bit picks the power of two, the bits below it the sub bucket.
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * Returns the largest value that falls into a bucket.
+	 *
+	 * @param bucket the index of a bucket
+	 * @return the highest value of the bucket
+	 */
+	private static long highestValueOf(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+		long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BUCKET_BITS);
+		return lowest + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+	}
+
+	/**
+	 * Records a value. Negative values are recorded as 0.
+	 *
+	 * @param nanos the latency in nanoseconds
+	 */
+	public void record(long nanos) {
+		long value = Math.max(0L, nanos);
+		counts.incrementAndGet(bucketOf(value));
+		max.accumulate(value);
+	}
+
+	/**
+	 * Returns a copy of the bucket counts.
+	 *
+	 * @return the number of values per bucket
+	 */
+	public long[] counts() {
+		long[] copy = new long[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			copy[i] = counts.get(i);
+		}
+		return copy;
+	}
+
+	/**
+	 * Returns the largest value recorded.
+	 *
+	 * @return the largest value, or 0 if nothing was recorded
+	 */
+	public long max() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the value at the given percentile of a copy of the bucket counts.
+	 * The value is the highest value of the bucket the percentile falls into.
+	 *
+	 * @param counts     bucket counts returned by counts()
+	 * @param percentile the percentile, from 0 to 100
+	 * @return the value at the percentile, or 0 if the counts are empty
+	 */
+	public static long valueAtPercentile(long[] counts, double percentile) {
+		long total = 0;
+		for (long c : counts) {
+			total += c;
+		}
+		if (total == 0) {
+			return 0L;
+		}
+
+		// Finds the first bucket at which the running total reaches the rank.
+		long rank = Math.max(1L, (long) Math.ceil(percentile / 100.0 * total));
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return highestValueOf(i);
+			}
+		}
+		return highestValueOf(counts.length - 1);
+	}
+
+	/**
+	 * Forgets all recorded values. Values recorded concurrently may or may not
+	 * survive.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0L);
+		}
+		max.reset();
+	}
+}
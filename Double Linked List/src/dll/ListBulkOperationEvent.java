@@ -0,0 +1,32 @@
+package dll;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a bulk structural change of an IUDoubleLinkedList:
+ * appendAll, splitAt or removeRange. The event is timed from the start of the
+ * operation, and its stack trace shows the call site.
+ *
+ * @author Joshua McKerracher
+ */
+@Name("IUDoubleLinkedList.BulkOperation")
+@Label("List Bulk Operation")
+@Category({ "Data Structures", "IUDoubleLinkedList" })
+@Description("A bulk operation moved or removed a run of nodes")
+public class ListBulkOperationEvent extends jdk.jfr.Event {
+
+	@Label("Operation")
+	String operation; // the list operation
+
+	@Label("List Size")
+	int size; // size of the list after the operation
+
+	@Label("Elements")
+	int elements; // elements moved or removed
+
+	@Label("Nodes Walked")
+	long nodesWalked; // nodes the operation walked
+}
@@ -0,0 +1,32 @@
+package dll;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for a ConcurrentModificationException thrown by the
+ * list iterator of an IUDoubleLinkedList. The stack trace of the event shows
+ * the iterating call site.
+ *
+ * @author Joshua McKerracher
+ */
+@Name("IUDoubleLinkedList.ConcurrentModification")
+@Label("List Concurrent Modification")
+@Category({ "Data Structures", "IUDoubleLinkedList" })
+@Description("A list iterator found the list changed behind its back")
+public class ListConcurrentModificationEvent extends jdk.jfr.Event {
+
+	@Label("Operation")
+	String operation; // the iterator method that noticed the change
+
+	@Label("List Size")
+	int size; // size of the list
+
+	@Label("Expected Mod Count")
+	int expectedModCount; // modCount the iterator expected
+
+	@Label("Mod Count")
+	int modCount; // modCount of the list
+}
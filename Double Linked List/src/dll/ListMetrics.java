@@ -0,0 +1,163 @@
+package dll;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Snapshot of the metrics an IUDoubleLinkedList recorded: per operation, the
+ * number of calls, the number of nodes the calls walked and latency
+ * percentiles. A snapshot never changes after it was taken.
+ *
+ * @author Joshua McKerracher
+ */
+public class ListMetrics {
+
+	/**
+	 * The list operations that are recorded.
+	 */
+	public enum Operation {
+		GET, SET, ADD_AT, REMOVE_AT, INDEX_OF, CONTAINS, ADD_AFTER, REMOVE_ELEMENT, LIST_ITERATOR
+	}
+
+	/**
+	 * Metrics of one operation.
+	 */
+	public static final class OperationStats {
+		private final long calls; // number of calls recorded
+		private final long nodesTraversed; // nodes walked by all calls
+		private final long p50Nanos, p90Nanos, p99Nanos, maxNanos; // latency percentiles
+
+		/**
+		 * Constructor - from counters and a copy of the latency histogram
+		 *
+		 * @param calls          - number of calls recorded
+		 * @param nodesTraversed - nodes walked by all calls
+		 * @param latencies      - bucket counts of the latency histogram
+		 * @param maxNanos       - largest latency recorded
+		 */
+		OperationStats(long calls, long nodesTraversed, long[] latencies, long maxNanos) {
+			this.calls = calls;
+			this.nodesTraversed = nodesTraversed;
+			// A bucket's highest value can lie above the largest value recorded.
+			p50Nanos = Math.min(maxNanos, LatencyHistogram.valueAtPercentile(latencies, 50.0));
+			p90Nanos = Math.min(maxNanos, LatencyHistogram.valueAtPercentile(latencies, 90.0));
+			p99Nanos = Math.min(maxNanos, LatencyHistogram.valueAtPercentile(latencies, 99.0));
+			this.maxNanos = maxNanos;
+		}
+
+		/**
+		 * Returns the number of calls recorded.
+		 *
+		 * @return - number of calls
+		 */
+		public long getCalls() {
+			return calls;
+		}
+
+		/**
+		 * Returns the number of nodes all recorded calls walked.
+		 *
+		 * @return - number of nodes
+		 */
+		public long getNodesTraversed() {
+			return nodesTraversed;
+		}
+
+		/**
+		 * Returns the average number of nodes a call walked. An average close to
+		 * half the list size points at an O(n) access pattern.
+		 *
+		 * @return - nodes per call, or 0 if nothing was recorded
+		 */
+		public double getMeanNodesTraversed() {
+			return (calls == 0) ? 0.0 : (double) nodesTraversed / calls;
+		}
+
+		/**
+		 * Returns the median latency.
+		 *
+		 * @return - latency in nanoseconds
+		 */
+		public long getP50Nanos() {
+			return p50Nanos;
+		}
+
+		/**
+		 * Returns the 90th percentile latency.
+		 *
+		 * @return - latency in nanoseconds
+		 */
+		public long getP90Nanos() {
+			return p90Nanos;
+		}
+
+		/**
+		 * Returns the 99th percentile latency.
+		 *
+		 * @return - latency in nanoseconds
+		 */
+		public long getP99Nanos() {
+			return p99Nanos;
+		}
+
+		/**
+		 * Returns the largest latency recorded.
+		 *
+		 * @return - latency in nanoseconds
+		 */
+		public long getMaxNanos() {
+			return maxNanos;
+		}
+	}
+
+	private final Map<Operation, OperationStats> stats; // metrics of every operation
+
+	/**
+	 * Constructor - with the metrics of every operation
+	 *
+	 * @param stats - metrics per operation
+	 */
+	ListMetrics(EnumMap<Operation, OperationStats> stats) {
+		this.stats = Collections.unmodifiableMap(stats);
+	}
+
+	/**
+	 * Returns the metrics of an operation.
+	 *
+	 * @param operation the operation
+	 * @return the metrics of the operation
+	 */
+	public OperationStats get(Operation operation) {
+		return stats.get(operation);
+	}
+
+	/**
+	 * Returns the metrics of all operations.
+	 *
+	 * @return an unmodifiable map from operation to its metrics
+	 */
+	public Map<Operation, OperationStats> asMap() {
+		return stats;
+	}
+
+	/**
+	 * Returns a table with one line per operation that was called.
+	 *
+	 * @return a string of the metrics
+	 */
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder(String.format("%-15s %10s %14s %10s %10s %10s %10s%n",
+				"operation", "calls", "nodes/call", "p50 ns", "p90 ns", "p99 ns", "max ns"));
+		for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+			OperationStats s = entry.getValue();
+			if (s.getCalls() > 0) {
+				str.append(String.format("%-15s %10d %14.1f %10d %10d %10d %10d%n", entry.getKey(), s.getCalls(),
+						s.getMeanNodesTraversed(), s.getP50Nanos(), s.getP90Nanos(), s.getP99Nanos(),
+						s.getMaxNanos()));
+			}
+		}
+		return str.toString();
+	}
+}
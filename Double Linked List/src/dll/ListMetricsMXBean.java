@@ -0,0 +1,59 @@
+package dll;
+
+import java.util.Map;
+
+/**
+ * JMX view of the metrics of an IUDoubleLinkedList. Every map goes from the
+ * name of an operation to its value, for the operations that were called.
+ *
+ * @author Joshua McKerracher
+ */
+public interface ListMetricsMXBean {
+
+	/**
+	 * Returns the number of calls per operation.
+	 *
+	 * @return calls per operation
+	 */
+	Map<String, Long> getCalls();
+
+	/**
+	 * Returns the number of nodes walked per operation.
+	 *
+	 * @return nodes walked per operation
+	 */
+	Map<String, Long> getNodesTraversed();
+
+	/**
+	 * Returns the average number of nodes a call walked per operation.
+	 *
+	 * @return nodes per call per operation
+	 */
+	Map<String, Double> getMeanNodesTraversed();
+
+	/**
+	 * Returns the median latency per operation.
+	 *
+	 * @return latency in nanoseconds per operation
+	 */
+	Map<String, Long> getP50Nanos();
+
+	/**
+	 * Returns the 99th percentile latency per operation.
+	 *
+	 * @return latency in nanoseconds per operation
+	 */
+	Map<String, Long> getP99Nanos();
+
+	/**
+	 * Returns the largest latency per operation.
+	 *
+	 * @return latency in nanoseconds per operation
+	 */
+	Map<String, Long> getMaxNanos();
+
+	/**
+	 * Forgets everything recorded so far.
+	 */
+	void reset();
+}
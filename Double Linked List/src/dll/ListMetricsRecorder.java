@@ -0,0 +1,175 @@
+package dll;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Records the metrics of an IUDoubleLinkedList while they are enabled. The list
+ * calls record() once per operation; snapshots and the JMX view can be read
+ * from any thread while the list is in use.
+ *
+ * @author Joshua McKerracher
+ */
+public class ListMetricsRecorder implements ListMetricsMXBean {
+
+	/**
+	 * Counters of one operation.
+	 */
+	private static final class Counters {
+		private final LongAdder calls = new LongAdder(); // number of calls
+		private final LongAdder nodes = new LongAdder(); // nodes walked by all calls
+		private final LatencyHistogram latencies = new LatencyHistogram(); // latency of every call
+	}
+
+	private final EnumMap<ListMetrics.Operation, Counters> counters; // counters of every operation
+	private ObjectName objectName; // name the recorder is registered under, null if not registered
+
+	/**
+	 * Default constructor
+	 */
+	public ListMetricsRecorder() {
+		counters = new EnumMap<ListMetrics.Operation, Counters>(ListMetrics.Operation.class);
+		for (ListMetrics.Operation operation : ListMetrics.Operation.values()) {
+			counters.put(operation, new Counters());
+		}
+	}
+
+	/**
+	 * Records one call of an operation.
+	 *
+	 * @param operation the operation
+	 * @param nodes     the number of nodes the call walked
+	 * @param nanos     the latency of the call in nanoseconds
+	 */
+	public void record(ListMetrics.Operation operation, long nodes, long nanos) {
+		Counters c = counters.get(operation);
+		c.calls.increment();
+		c.nodes.add(nodes);
+		c.latencies.record(nanos);
+	}
+
+	/**
+	 * Returns a snapshot of everything recorded so far.
+	 *
+	 * @return the metrics of every operation
+	 */
+	public ListMetrics snapshot() {
+		EnumMap<ListMetrics.Operation, ListMetrics.OperationStats> stats = new EnumMap<ListMetrics.Operation, ListMetrics.OperationStats>(
+				ListMetrics.Operation.class);
+		for (Map.Entry<ListMetrics.Operation, Counters> entry : counters.entrySet()) {
+			Counters c = entry.getValue();
+			stats.put(entry.getKey(), new ListMetrics.OperationStats(c.calls.sum(), c.nodes.sum(),
+					c.latencies.counts(), c.latencies.max()));
+		}
+		return new ListMetrics(stats);
+	}
+
+	/**
+	 * Forgets everything recorded so far.
+	 */
+	@Override
+	public void reset() {
+		for (Counters c : counters.values()) {
+			c.calls.reset();
+			c.nodes.reset();
+			c.latencies.reset();
+		}
+	}
+
+	/**
+	 * Registers the recorder with the platform MBean server under
+	 * "IUDoubleLinkedList:type=ListMetrics,name=" followed by the given name.
+	 *
+	 * @param name the name of the list
+	 * @throws IllegalStateException if the recorder could not be registered
+	 */
+	public synchronized void register(String name) {
+		try {
+			ObjectName newName = new ObjectName("IUDoubleLinkedList:type=ListMetrics,name=" + ObjectName.quote(name));
+			unregister();
+			ManagementFactory.getPlatformMBeanServer().registerMBean(this, newName);
+			objectName = newName;
+		} catch (JMException e) {
+			throw new IllegalStateException("Source: register(name)", e);
+		}
+	}
+
+	/**
+	 * Removes the recorder from the platform MBean server, if it is registered.
+	 */
+	public synchronized void unregister() {
+		if (objectName == null) {
+			return;
+		}
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		try {
+			if (server.isRegistered(objectName)) {
+				server.unregisterMBean(objectName);
+			}
+		} catch (JMException e) {
+			throw new IllegalStateException("Source: unregister()", e);
+		}
+		objectName = null;
+	}
+
+	/*******************************************************
+	 *
+	 * JMX view
+	 *
+	 ********************************************************/
+
+	/**
+	 * Maps the name of every operation that was called to a value of its
+	 * metrics.
+	 *
+	 * @param value reads the value from the metrics of an operation
+	 * @return the value per operation
+	 */
+	private <V> Map<String, V> perOperation(Function<ListMetrics.OperationStats, V> value) {
+		Map<String, V> map = new LinkedHashMap<String, V>();
+		for (Map.Entry<ListMetrics.Operation, ListMetrics.OperationStats> entry : snapshot().asMap().entrySet()) {
+			if (entry.getValue().getCalls() > 0) {
+				map.put(entry.getKey().name(), value.apply(entry.getValue()));
+			}
+		}
+		return map;
+	}
+
+	@Override
+	public Map<String, Long> getCalls() {
+		return perOperation(ListMetrics.OperationStats::getCalls);
+	}
+
+	@Override
+	public Map<String, Long> getNodesTraversed() {
+		return perOperation(ListMetrics.OperationStats::getNodesTraversed);
+	}
+
+	@Override
+	public Map<String, Double> getMeanNodesTraversed() {
+		return perOperation(ListMetrics.OperationStats::getMeanNodesTraversed);
+	}
+
+	@Override
+	public Map<String, Long> getP50Nanos() {
+		return perOperation(ListMetrics.OperationStats::getP50Nanos);
+	}
+
+	@Override
+	public Map<String, Long> getP99Nanos() {
+		return perOperation(ListMetrics.OperationStats::getP99Nanos);
+	}
+
+	@Override
+	public Map<String, Long> getMaxNanos() {
+		return perOperation(ListMetrics.OperationStats::getMaxNanos);
+	}
+}
@@ -0,0 +1,29 @@
+package dll;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for an IUDoubleLinkedList operation that walked at
+ * least the list's traversal event threshold of nodes. The stack trace of the
+ * event shows the call site.
+ *
+ * @author Joshua McKerracher
+ */
+@Name("IUDoubleLinkedList.Traversal")
+@Label("List Traversal")
+@Category({ "Data Structures", "IUDoubleLinkedList" })
+@Description("An operation walked more nodes than the traversal event threshold")
+public class ListTraversalEvent extends jdk.jfr.Event {
+
+	@Label("Operation")
+	String operation; // the list operation
+
+	@Label("List Size")
+	int size; // size of the list after the operation
+
+	@Label("Nodes Walked")
+	long nodesWalked; // nodes the operation walked
+}
@@ -0,0 +1,79 @@
+package dll;
+
+/**
+ * Node of a double linked list that stores a primitive long element.
+ *
+ * @author Joshua McKerracher
+ */
+public class LongDLLNode {
+
+	private LongDLLNode next; // reference to next node
+	private LongDLLNode previous; // reference to previous node
+	private long element; // value stored in node
+
+	/**
+	 * Constructor - with given element
+	 *
+	 * @param element - long value
+	 */
+	public LongDLLNode(long element) {
+		setElement(element);
+		setNext(null);
+		setPrevious(null);
+	}
+
+	/**
+	 * Returns reference to next node.
+	 *
+	 * @return - ref to LongDLLNode object.
+	 */
+	public LongDLLNode getNext() {
+		return next;
+	}
+
+	/**
+	 * Returns a reference to the previous node.
+	 *
+	 * @return - reference to LongDLLNode object.
+	 */
+	public LongDLLNode getPrevious() {
+		return previous;
+	}
+
+	/**
+	 * Assign reference to next node
+	 *
+	 * @param next - ref to LongDLLNode object
+	 */
+	public void setNext(LongDLLNode next) {
+		this.next = next;
+	}
+
+	/**
+	 * Assign a reference to the previous node.
+	 *
+	 * @param previous - reference to LongDLLNode object
+	 */
+	public void setPrevious(LongDLLNode previous) {
+		this.previous = previous;
+	}
+
+	/**
+	 * Returns the value stored in node
+	 *
+	 * @return - long value
+	 */
+	public long getElement() {
+		return element;
+	}
+
+	/**
+	 * Sets the value stored at node
+	 *
+	 * @param element - long value
+	 */
+	public void setElement(long element) {
+		this.element = element;
+	}
+
+}
@@ -0,0 +1,338 @@
+package dll;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache that evicts its least recently used entry. Entries sit in a
+ * chain of DLLNodes ordered from most to least recently used, and a HashMap
+ * finds the node of a key. A hit relinks its node at the front and an eviction
+ * unlinks the tail, both in O(1), without searching the chain or allocating a
+ * node.
+ *
+ * The cache counts hits, misses and evictions. It is not thread safe; see
+ * ConcurrentLruCache for a cache shared between threads.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class LruCache<K, V> {
+
+	private final Map<K, DLLNode<Entry<K, V>>> nodes; // node of each key
+	private final Chain<K, V> chain; // entries from most to least recently used
+	private int maxSize; // most entries kept
+	private long hits, misses, evictions; // statistics since the last reset
+
+	/**
+	 * A key with its value, the element of a node of the chain. The value is
+	 * volatile so that ConcurrentLruCache can read it without its lock.
+	 *
+	 * @param <K> the type of the key
+	 * @param <V> the type of the value
+	 */
+	static final class Entry<K, V> {
+		final K key; // key of the entry
+		volatile V value; // value of the entry
+		boolean linked; // true while the node is in the chain, guarded by the owner
+
+		/**
+		 * Constructor - with given key and value
+		 *
+		 * @param key   - the key
+		 * @param value - the value
+		 */
+		Entry(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * Constructor for a cache that keeps at most maxSize entries.
+	 *
+	 * @param maxSize the most entries kept
+	 * @throws IllegalArgumentException if maxSize is not positive
+	 */
+	public LruCache(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Source: LruCache - maxSize must be positive");
+		}
+		this.maxSize = maxSize;
+		nodes = new HashMap<K, DLLNode<Entry<K, V>>>();
+		chain = new Chain<K, V>();
+	}
+
+	/*******************************************************
+	 *
+	 * Chain
+	 *
+	 ********************************************************/
+
+	/**
+	 * The DLLNode chain of a cache, from its most recently used entry at the head
+	 * to its least recently used entry at the tail. Shared with
+	 * ConcurrentLruCache, which only touches it under its lock.
+	 *
+	 * @param <K> the type of the keys
+	 * @param <V> the type of the values
+	 */
+	static final class Chain<K, V> {
+		DLLNode<Entry<K, V>> head, tail; // most and least recently used nodes
+
+		/**
+		 * Links a node at the front of the chain.
+		 *
+		 * @param node the node to be linked
+		 */
+		void linkFirst(DLLNode<Entry<K, V>> node) {
+			node.setPrevious(null);
+			node.setNext(head);
+			if (head == null) {
+				tail = node;
+			} else {
+				head.setPrevious(node);
+			}
+			head = node;
+			node.getElement().linked = true;
+		}
+
+		/**
+		 * Unlinks a node from the chain.
+		 *
+		 * @param node the node to be unlinked
+		 */
+		void unlink(DLLNode<Entry<K, V>> node) {
+			if (node.getPrevious() == null) {
+				head = node.getNext();
+			} else {
+				node.getPrevious().setNext(node.getNext());
+			}
+			if (node.getNext() == null) {
+				tail = node.getPrevious();
+			} else {
+				node.getNext().setPrevious(node.getPrevious());
+			}
+			node.setNext(null);
+			node.setPrevious(null);
+			node.getElement().linked = false;
+		}
+
+		/**
+		 * Moves a node of the chain to its front.
+		 *
+		 * @param node the node to be moved
+		 */
+		void moveToFront(DLLNode<Entry<K, V>> node) {
+			if (node != head) {
+				unlink(node);
+				linkFirst(node);
+			}
+		}
+
+		/**
+		 * Removes all nodes from the chain.
+		 */
+		void clear() {
+			for (DLLNode<Entry<K, V>> current = head; current != null; current = current.getNext()) {
+				current.getElement().linked = false;
+			}
+			head = tail = null;
+		}
+
+		/**
+		 * Returns the entries from most to least recently used.
+		 *
+		 * @return a string of key=value pairs
+		 */
+		@Override
+		public String toString() {
+			if (head == null) {
+				return "The cache is empty.";
+			}
+
+			StringBuilder str = new StringBuilder();
+			for (DLLNode<Entry<K, V>> current = head; current != null; current = current.getNext()) {
+				if (current != head) {
+					str.append(", ");
+				}
+				str.append(current.getElement().key).append('=').append(current.getElement().value);
+			}
+			return str.toString();
+		}
+	}
+
+	/**
+	 * Evicts least recently used entries until the cache fits its maximum size.
+	 */
+	private void evict() {
+		while (nodes.size() > maxSize) {
+			DLLNode<Entry<K, V>> victim = chain.tail;
+			chain.unlink(victim);
+			nodes.remove(victim.getElement().key);
+			evictions++;
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Cache operations
+	 *
+	 ********************************************************/
+
+	/**
+	 * Returns the value of a key and marks the entry as most recently used.
+	 *
+	 * @param key the key
+	 * @return the value of the key, or null if it is not cached
+	 */
+	public V get(K key) {
+		DLLNode<Entry<K, V>> node = nodes.get(key);
+		if (node == null) {
+			misses++;
+			return null;
+		}
+		hits++;
+		chain.moveToFront(node);
+		return node.getElement().value;
+	}
+
+	/**
+	 * Caches a value as the most recently used entry, evicting the least recently
+	 * used entry if the cache is full.
+	 *
+	 * @param key   the key
+	 * @param value the value
+	 * @return the previous value of the key, or null if it was not cached
+	 * @throws NullPointerException if the key or the value is null
+	 */
+	public V put(K key, V value) {
+		if (key == null || value == null) {
+			throw new NullPointerException("Source: LruCache put(key, value)");
+		}
+		DLLNode<Entry<K, V>> node = nodes.get(key);
+		if (node != null) {
+			V previous = node.getElement().value;
+			node.getElement().value = value;
+			chain.moveToFront(node);
+			return previous;
+		}
+		node = new DLLNode<Entry<K, V>>(new Entry<K, V>(key, value));
+		nodes.put(key, node);
+		chain.linkFirst(node);
+		evict();
+		return null;
+	}
+
+	/**
+	 * Removes the entry of a key.
+	 *
+	 * @param key the key
+	 * @return the value of the key, or null if it was not cached
+	 */
+	public V remove(K key) {
+		DLLNode<Entry<K, V>> node = nodes.remove(key);
+		if (node == null) {
+			return null;
+		}
+		chain.unlink(node);
+		return node.getElement().value;
+	}
+
+	/**
+	 * Returns true if a key is cached, without marking it as used or counting a
+	 * hit or miss.
+	 *
+	 * @param key the key
+	 * @return true if the key is cached
+	 */
+	public boolean containsKey(K key) {
+		return nodes.containsKey(key);
+	}
+
+	/**
+	 * Removes all entries. The statistics are kept.
+	 */
+	public void clear() {
+		nodes.clear();
+		chain.clear();
+	}
+
+	/**
+	 * Returns the number of cached entries.
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		return nodes.size();
+	}
+
+	/**
+	 * Returns the most entries the cache keeps.
+	 *
+	 * @return the maximum size
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Changes the most entries the cache keeps, evicting least recently used
+	 * entries if it shrinks below the current size.
+	 *
+	 * @param maxSize the most entries kept
+	 * @throws IllegalArgumentException if maxSize is not positive
+	 */
+	public void setMaxSize(int maxSize) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("Source: LruCache setMaxSize - maxSize must be positive");
+		}
+		this.maxSize = maxSize;
+		evict();
+	}
+
+	/*******************************************************
+	 *
+	 * Statistics
+	 *
+	 ********************************************************/
+
+	/**
+	 * @return the number of get calls that found their key
+	 */
+	public long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * @return the number of get calls that did not find their key
+	 */
+	public long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * @return the number of entries evicted to respect the maximum size
+	 */
+	public long getEvictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * Sets the hit, miss and eviction counts back to zero.
+	 */
+	public void resetStatistics() {
+		hits = misses = evictions = 0;
+	}
+
+	/**
+	 * Returns the entries from most to least recently used.
+	 *
+	 * @return a string of key=value pairs
+	 */
+	@Override
+	public String toString() {
+		return chain.toString();
+	}
+}
@@ -0,0 +1,62 @@
+package dll;
+
+/**
+ * A FIFO queue for many producer threads and one consumer thread, for the
+ * common pipeline where producers call addToRear and a single consumer calls
+ * removeFirst or drain.
+ *
+ * addToRear is wait-free: a producer swaps its node in as the new rear with a
+ * single atomic exchange, then links the old rear to it with a release write.
+ * There is no retry loop, so producers never spin against each other, and the
+ * consumer takes elements with plain reads and one release write per poll (or
+ * per drained batch) without any CAS at all.
+ *
+ * Between the exchange and the link, the new node is not reachable yet. poll,
+ * removeFirst and first wait for that link to appear; drain leaves such an
+ * element for its next call instead.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class MpscLinkedQueue<T> extends AbstractLinkedQueue<T> {
+
+	/**
+	 * Adds the specified element to the rear of this queue. May be called by any
+	 * number of threads at once.
+	 *
+	 * @param element the element to be added to the rear of this queue
+	 * @throws NullPointerException if element is null
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void addToRear(T element) {
+		if (element == null) {
+			throw new NullPointerException("Source: addToRear(element)");
+		}
+		QueueNode<T> node = new QueueNode<T>(element);
+
+		// Claims the rear, then links the previous rear to the new node.
+		QueueNode<T> previous = (QueueNode<T>) PRODUCER.getAndSet(this, node);
+		previous.setNext(node);
+	}
+
+	/**
+	 * Waits for a producer that has claimed the rear after the given node to link
+	 * it.
+	 *
+	 * @param node the current consumer node
+	 * @return the next node, or null if the queue is empty
+	 */
+	@Override
+	protected QueueNode<T> awaitNext(QueueNode<T> node) {
+		if (node == producerNode) {
+			return null;
+		}
+		QueueNode<T> next;
+		while ((next = node.getNext()) == null) {
+			Thread.onSpinWait();
+		}
+		return next;
+	}
+}
@@ -0,0 +1,463 @@
+package dll;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal of list mutations, split into segment files. Every
+ * mutation gets the next sequence number. Records collect in a buffer and
+ * reach the disk by group commit: one write and one fsync for all records
+ * since the last sync, once syncEvery records are pending, or when the
+ * interval flusher runs, or on sync().
+ *
+ * A segment is named after the sequence number of its first record, so
+ * segments sort in journal order. A record is
+ *
+ * <pre>
+ * int    payload length
+ * int    CRC32C of the payload
+ * payload: byte operation, long sequence number, int index,
+ *          int element length (-1 for null) and the element's codec bytes,
+ *          the element only for operations that carry one
+ * </pre>
+ *
+ * Replay stops at the first record that is cut short or fails its checksum,
+ * which is where a crash interrupted the last write, and cuts the journal
+ * there.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class MutationJournal<T> implements Closeable {
+	public static final byte ADD_TO_FRONT = 1; // addToFront(element)
+	public static final byte ADD_TO_REAR = 2; // addToRear(element)
+	public static final byte ADD_AT = 3; // add(index, element)
+	public static final byte REMOVE_FIRST = 4; // removeFirst()
+	public static final byte REMOVE_LAST = 5; // removeLast()
+	public static final byte REMOVE_AT = 6; // remove(index)
+	public static final byte SET = 7; // set(index, element)
+
+	private static final String SEGMENT_PREFIX = "journal-"; // file name of a segment before its sequence number
+	private static final String SEGMENT_SUFFIX = ".log"; // file name of a segment after its sequence number
+	private static final int HEADER_BYTES = 2 * Integer.BYTES; // payload length and checksum
+	private static final int FIXED_PAYLOAD_BYTES = 1 + Long.BYTES + 2 * Integer.BYTES; // payload without element
+	private static final int NULL_LENGTH = -1; // element length written for null
+
+	private final Path directory; // directory holding the segments
+	private final ElementCodec<T> codec; // codec of the elements
+	private final int syncEvery; // pending records that trigger a sync, 0 for none
+	private final long segmentBytes; // size at which a new segment is started
+	private final CRC32C crc = new CRC32C(); // checksum of the record being written
+	private ByteBuffer buffer = ByteBuffer.allocateDirect(IUListSerializer.BATCH_BYTES); // records not written yet
+	private FileChannel segment; // segment being appended to
+	private long segmentSize; // bytes in the current segment, written or not
+	private long nextSequence; // sequence number of the next record
+	private int pending; // records since the last sync
+	private ScheduledExecutorService flusher; // syncs on an interval, null if not configured
+	private IOException flusherFailure; // failure of the flusher, rethrown to the next writer
+
+	/**
+	 * Constructor - opens the journal in a directory, after replay() found its
+	 * end. Records are appended to a new segment starting at the given sequence
+	 * number.
+	 *
+	 * @param directory          - directory holding the segments
+	 * @param codec              - codec of the elements
+	 * @param nextSequence       - sequence number of the next record
+	 * @param syncEvery          - pending records that trigger a sync, 0 to only
+	 *                           sync on the interval or on sync()
+	 * @param syncIntervalMillis - milliseconds between syncs of a background
+	 *                           thread, 0 for no thread
+	 * @param segmentBytes       - size at which a new segment is started
+	 * @throws IOException if the segment could not be created
+	 */
+	public MutationJournal(Path directory, ElementCodec<T> codec, long nextSequence, int syncEvery,
+			long syncIntervalMillis, long segmentBytes) throws IOException {
+		if (syncEvery < 0 || syncIntervalMillis < 0 || segmentBytes <= 0) {
+			throw new IllegalArgumentException("Source: MutationJournal - negative option");
+		}
+		this.directory = directory;
+		this.codec = codec;
+		this.nextSequence = nextSequence;
+		this.syncEvery = syncEvery;
+		this.segmentBytes = segmentBytes;
+		openSegment();
+
+		if (syncIntervalMillis > 0) {
+			flusher = Executors.newSingleThreadScheduledExecutor(task -> {
+				Thread thread = new Thread(task, "MutationJournal flusher " + directory);
+				thread.setDaemon(true);
+				return thread;
+			});
+			flusher.scheduleAtFixedRate(this::flushOnInterval, syncIntervalMillis, syncIntervalMillis,
+					TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Returns the path of the segment whose first record has the given sequence
+	 * number.
+	 *
+	 * @param directory the journal directory
+	 * @param sequence  the sequence number
+	 * @return the path of the segment
+	 */
+	private static Path segmentPath(Path directory, long sequence) {
+		return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX));
+	}
+
+	/**
+	 * Starts a new segment at the next sequence number.
+	 *
+	 * @throws IOException if the segment could not be created
+	 */
+	private void openSegment() throws IOException {
+		// A segment of the same name can only hold records that replay cut off.
+		segment = FileChannel.open(segmentPath(directory, nextSequence), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		segmentSize = 0;
+		syncDirectory(directory);
+	}
+
+	/**
+	 * Appends a mutation to the journal. It is durable once the journal has been
+	 * synced.
+	 *
+	 * @param operation one of the operation constants
+	 * @param index     the index of the mutation, or -1 if it has none
+	 * @param element   the element of the mutation, ignored if the operation has
+	 *                  none
+	 * @return the sequence number of the record
+	 * @throws IOException if writing fails
+	 */
+	public synchronized long append(byte operation, int index, T element) throws IOException {
+		if (flusherFailure != null) {
+			throw flusherFailure;
+		}
+
+		// Works out the size of the record.
+		boolean hasElement = carriesElement(operation);
+		int elementBytes = 0;
+		if (hasElement && element != null) {
+			elementBytes = codec.encodedSize(element);
+		}
+		int payload = FIXED_PAYLOAD_BYTES + elementBytes;
+		int record = HEADER_BYTES + payload;
+		if (buffer.remaining() < record) {
+			write();
+			if (buffer.capacity() < record) {
+				buffer = ByteBuffer.allocateDirect(record);
+			}
+		}
+
+		// Writes the record with a placeholder for the checksum.
+		int start = buffer.position();
+		long sequence = nextSequence;
+		buffer.putInt(payload).putInt(0).put(operation).putLong(sequence).putInt(index);
+		if (!hasElement) {
+			buffer.putInt(0);
+		} else if (element == null) {
+			buffer.putInt(NULL_LENGTH);
+		} else {
+			buffer.putInt(elementBytes);
+			codec.encode(element, buffer);
+		}
+		if (buffer.position() - start != record) {
+			throw new IllegalStateException("Source: append - codec " + codec.name() + " wrote the wrong size");
+		}
+		crc.reset();
+		crc.update(buffer.duplicate().limit(start + record).position(start + HEADER_BYTES));
+		buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+
+		nextSequence++;
+		pending++;
+		segmentSize += record;
+
+		// Group commit: one write and one fsync for every pending record.
+		if (syncEvery > 0 && pending >= syncEvery) {
+			sync();
+		}
+		if (segmentSize >= segmentBytes) {
+			roll();
+		}
+		return sequence;
+	}
+
+	/**
+	 * Returns true if records of the operation carry an element.
+	 *
+	 * @param operation one of the operation constants
+	 * @return true for additions and set
+	 */
+	private static boolean carriesElement(byte operation) {
+		return operation == ADD_TO_FRONT || operation == ADD_TO_REAR || operation == ADD_AT || operation == SET;
+	}
+
+	/**
+	 * Writes the buffered records to the segment without forcing them to disk.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	private void write() throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			segment.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes the buffered records and forces them to disk.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	public synchronized void sync() throws IOException {
+		if (pending == 0 && buffer.position() == 0) {
+			return;
+		}
+		write();
+		segment.force(false);
+		pending = 0;
+	}
+
+	/**
+	 * Syncs from the flusher thread and keeps a failure for the next writer.
+	 */
+	private synchronized void flushOnInterval() {
+		if (segment == null || flusherFailure != null) {
+			return;
+		}
+		try {
+			sync();
+		} catch (IOException e) {
+			flusherFailure = e;
+		}
+	}
+
+	/**
+	 * Syncs the current segment and starts a new one at the next sequence
+	 * number.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	public synchronized void roll() throws IOException {
+		sync();
+		segment.close();
+		openSegment();
+	}
+
+	/**
+	 * Returns the sequence number of the last record appended.
+	 *
+	 * @return the sequence number, 0 before the first record
+	 */
+	public synchronized long lastSequence() {
+		return nextSequence - 1;
+	}
+
+	/**
+	 * Deletes the segments that only hold records up to the given sequence
+	 * number, for example after a checkpoint covered them. The current segment
+	 * is never deleted.
+	 *
+	 * @param sequence the last sequence number that is no longer needed
+	 * @throws IOException if a segment could not be deleted
+	 */
+	public synchronized void truncate(long sequence) throws IOException {
+		ArrayList<Long> firsts = segments(directory);
+		for (int i = 0; i + 1 < firsts.size(); i++) {
+			// A segment ends right before the next one starts.
+			if (firsts.get(i + 1) - 1 <= sequence) {
+				Files.deleteIfExists(segmentPath(directory, firsts.get(i)));
+			}
+		}
+	}
+
+	/**
+	 * Syncs the journal and closes it. Records appended later fail.
+	 *
+	 * @throws IOException if writing fails
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (segment == null) {
+			return;
+		}
+		if (flusher != null) {
+			flusher.shutdownNow();
+		}
+		try {
+			sync();
+		} finally {
+			segment.close();
+			segment = null;
+		}
+	}
+
+	/*******************************************************
+	 *
+	 * Replay
+	 *
+	 ********************************************************/
+
+	/**
+	 * Returns the first sequence numbers of the segments in a directory, in
+	 * order.
+	 *
+	 * @param directory the journal directory
+	 * @return the first sequence number of every segment
+	 * @throws IOException if the directory could not be listed
+	 */
+	private static ArrayList<Long> segments(Path directory) throws IOException {
+		ArrayList<Long> firsts = new ArrayList<Long>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory,
+				SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				firsts.add(Long.parseLong(
+						name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+			}
+		}
+		Collections.sort(firsts);
+		return firsts;
+	}
+
+	/**
+	 * Applies the journaled mutations after a sequence number to a list, in
+	 * order. A record that was cut short or fails its checksum ends the
+	 * journal: its segment is cut there and later segments are deleted.
+	 *
+	 * @param directory the journal directory
+	 * @param codec     the codec of the elements
+	 * @param after     the last sequence number the list already reflects
+	 * @param list      the list the mutations are applied to
+	 * @return the last sequence number in the journal, at least after
+	 * @throws IOException if the journal could not be read or has a gap
+	 */
+	public static <T> long replay(Path directory, ElementCodec<T> codec, long after, IUDoubleLinkedList<T> list)
+			throws IOException {
+		long last = after;
+		CRC32C crc = new CRC32C();
+		boolean ended = false;
+		for (long first : segments(directory)) {
+			Path path = segmentPath(directory, first);
+			if (ended) {
+				Files.delete(path);
+				continue;
+			}
+
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+				MappedByteBuffer in = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				while (in.remaining() >= HEADER_BYTES) {
+					int start = in.position();
+					int payload = in.getInt();
+					int checksum = in.getInt();
+					if (payload < FIXED_PAYLOAD_BYTES || payload > in.remaining()) {
+						in.position(start);
+						break;
+					}
+					crc.reset();
+					crc.update(in.duplicate().limit(in.position() + payload));
+					if ((int) crc.getValue() != checksum) {
+						in.position(start);
+						break;
+					}
+
+					byte operation = in.get();
+					long sequence = in.getLong();
+					int index = in.getInt();
+					int length = in.getInt();
+					T element = null;
+					if (carriesElement(operation) && length != NULL_LENGTH) {
+						int elementStart = in.position();
+						element = codec.decode(in, length);
+						in.position(elementStart + length);
+					}
+
+					// Records the list already reflects are skipped.
+					if (sequence > after) {
+						if (sequence != last + 1) {
+							throw new IOException("Source: replay - journal has a gap before " + sequence);
+						}
+						apply(list, operation, index, element);
+						last = sequence;
+					}
+				}
+
+				// Cuts a torn record off the end of the journal.
+				if (in.hasRemaining()) {
+					ended = true;
+					channel.truncate(in.position());
+					channel.force(true);
+				}
+			}
+		}
+		return last;
+	}
+
+	/**
+	 * Applies one journaled mutation to a list.
+	 *
+	 * @param list      the list
+	 * @param operation one of the operation constants
+	 * @param index     the index of the mutation
+	 * @param element   the element of the mutation
+	 * @throws IOException if the operation is unknown
+	 */
+	private static <T> void apply(IUDoubleLinkedList<T> list, byte operation, int index, T element)
+			throws IOException {
+		switch (operation) {
+		case ADD_TO_FRONT:
+			list.addToFront(element);
+			break;
+		case ADD_TO_REAR:
+			list.addToRear(element);
+			break;
+		case ADD_AT:
+			list.add(index, element);
+			break;
+		case REMOVE_FIRST:
+			list.removeFirst();
+			break;
+		case REMOVE_LAST:
+			list.removeLast();
+			break;
+		case REMOVE_AT:
+			list.remove(index);
+			break;
+		case SET:
+			list.set(index, element);
+			break;
+		default:
+			throw new IOException("Source: replay - unknown operation " + operation);
+		}
+	}
+
+	/**
+	 * Forces a directory, so that files created, renamed or deleted in it
+	 * survive a crash. Platforms that cannot open a directory skip this.
+	 *
+	 * @param directory the directory
+	 */
+	static void syncDirectory(Path directory) {
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException e) {
+			// Not supported on this platform; the file system orders the metadata itself.
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package dll;
+
+/**
+ * Immutable node of a persistent list, stored as a balanced binary tree in
+ * list order. Each node knows the size and height of its subtree, so positions
+ * can be found by size and the tree can be kept balanced. Because nodes never
+ * change, any number of list versions can share them.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public final class PersistentNode<T> {
+
+	private final PersistentNode<T> left; // subtree of the elements before this one
+	private final PersistentNode<T> right; // subtree of the elements after this one
+	private final T element; // reference to object stored in node
+	private final int size; // number of nodes in this subtree
+	private final int height; // height of this subtree, 1 for a leaf
+
+	/**
+	 * Constructor - with given subtrees and element
+	 *
+	 * @param left    - subtree before the element, may be null
+	 * @param element - object of type T
+	 * @param right   - subtree after the element, may be null
+	 */
+	public PersistentNode(PersistentNode<T> left, T element, PersistentNode<T> right) {
+		this.left = left;
+		this.right = right;
+		this.element = element;
+		size = sizeOf(left) + 1 + sizeOf(right);
+		height = Math.max(heightOf(left), heightOf(right)) + 1;
+	}
+
+	/**
+	 * Returns the size of a subtree.
+	 *
+	 * @param node - root of the subtree, may be null
+	 * @return - number of nodes in the subtree
+	 */
+	public static int sizeOf(PersistentNode<?> node) {
+		return (node == null) ? 0 : node.size;
+	}
+
+	/**
+	 * Returns the height of a subtree.
+	 *
+	 * @param node - root of the subtree, may be null
+	 * @return - height of the subtree, 0 if empty
+	 */
+	public static int heightOf(PersistentNode<?> node) {
+		return (node == null) ? 0 : node.height;
+	}
+
+	/**
+	 * Returns reference to the subtree before this node.
+	 *
+	 * @return - ref to PersistentNode<T> object.
+	 */
+	public PersistentNode<T> getLeft() {
+		return left;
+	}
+
+	/**
+	 * Returns reference to the subtree after this node.
+	 *
+	 * @return - ref to PersistentNode<T> object.
+	 */
+	public PersistentNode<T> getRight() {
+		return right;
+	}
+
+	/**
+	 * Returns reference to element stored in node
+	 *
+	 * @return - ref to object of type T
+	 */
+	public T getElement() {
+		return element;
+	}
+
+	/**
+	 * Returns the number of nodes in this subtree.
+	 *
+	 * @return - size of the subtree
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the height of this subtree.
+	 *
+	 * @return - height of the subtree
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+}
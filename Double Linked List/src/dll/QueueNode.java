@@ -0,0 +1,79 @@
+package dll;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Node of a singly linked queue that is shared between a producer and a
+ * consumer thread. The next link is written with release semantics and read
+ * with acquire semantics, so the consumer sees the element of every node it
+ * reaches.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class QueueNode<T> {
+
+	private static final VarHandle NEXT; // access to next with memory ordering
+
+	static {
+		try {
+			NEXT = MethodHandles.lookup().findVarHandle(QueueNode.class, "next", QueueNode.class);
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	private volatile QueueNode<T> next; // reference to next node
+	private T element; // reference to object stored in node
+
+	/**
+	 * Constructor - with given element
+	 *
+	 * @param element - object of type T
+	 */
+	public QueueNode(T element) {
+		setElement(element);
+	}
+
+	/**
+	 * Returns reference to next node, with acquire semantics.
+	 *
+	 * @return - ref to QueueNode<T> object.
+	 */
+	@SuppressWarnings("unchecked")
+	public QueueNode<T> getNext() {
+		return (QueueNode<T>) NEXT.getAcquire(this);
+	}
+
+	/**
+	 * Assign reference to next node, with release semantics. This is cheaper than
+	 * a volatile write and is all the consumer needs to see the new node's
+	 * element.
+	 *
+	 * @param next - ref to QueueNode<T> object
+	 */
+	public void setNext(QueueNode<T> next) {
+		NEXT.setRelease(this, next);
+	}
+
+	/**
+	 * Returns reference to element stored in node
+	 *
+	 * @return - ref to object of type T
+	 */
+	public T getElement() {
+		return element;
+	}
+
+	/**
+	 * Sets reference to element stored at node
+	 *
+	 * @param element - ref to object of type T
+	 */
+	public void setElement(T element) {
+		this.element = element;
+	}
+
+}
@@ -0,0 +1,129 @@
+package dll;
+
+/**
+ * Node of an indexable skip list. Each node has a forward link and the width of
+ * that link (how many positions it skips) on every level up to its height, and
+ * a backward link on the bottom level.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class SkipListNode<T> {
+
+	private SkipListNode<T>[] next; // references to next nodes, one per level
+	private int[] width; // number of positions skipped by each next reference
+	private SkipListNode<T> previous; // reference to previous node on the bottom level
+	private T element; // reference to object stored in node
+
+	/**
+	 * Constructor - with given element and height
+	 *
+	 * @param element - object of type T
+	 * @param height  - number of levels the node takes part in
+	 */
+	public SkipListNode(T element, int height) {
+		next = newArray(height);
+		width = new int[height];
+		setElement(element);
+		setPrevious(null);
+	}
+
+	/**
+	 * Creates an array of node references. Generic arrays cannot be created
+	 * directly, so this is the one place that casts.
+	 *
+	 * @param length - number of references
+	 * @return - an array of nulls
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> SkipListNode<T>[] newArray(int length) {
+		return (SkipListNode<T>[]) new SkipListNode<?>[length];
+	}
+
+	/**
+	 * Returns the number of levels the node takes part in.
+	 *
+	 * @return - height of the node
+	 */
+	public int getHeight() {
+		return next.length;
+	}
+
+	/**
+	 * Returns reference to next node on the given level.
+	 *
+	 * @param level - level of the link
+	 * @return - ref to SkipListNode<T> object.
+	 */
+	public SkipListNode<T> getNext(int level) {
+		return next[level];
+	}
+
+	/**
+	 * Assign reference to next node on the given level
+	 *
+	 * @param level - level of the link
+	 * @param next  - ref to SkipListNode<T> object
+	 */
+	public void setNext(int level, SkipListNode<T> next) {
+		this.next[level] = next;
+	}
+
+	/**
+	 * Returns the number of positions skipped by the link on the given level.
+	 *
+	 * @param level - level of the link
+	 * @return - width of the link
+	 */
+	public int getWidth(int level) {
+		return width[level];
+	}
+
+	/**
+	 * Assign the number of positions skipped by the link on the given level.
+	 *
+	 * @param level - level of the link
+	 * @param width - width of the link
+	 */
+	public void setWidth(int level, int width) {
+		this.width[level] = width;
+	}
+
+	/**
+	 * Returns a reference to the previous node on the bottom level.
+	 *
+	 * @return - reference to SkipListNode<T> object.
+	 */
+	public SkipListNode<T> getPrevious() {
+		return previous;
+	}
+
+	/**
+	 * Assign a reference to the previous node on the bottom level.
+	 *
+	 * @param previous - reference to SkipListNode<T> object
+	 */
+	public void setPrevious(SkipListNode<T> previous) {
+		this.previous = previous;
+	}
+
+	/**
+	 * Returns reference to element stored in node
+	 *
+	 * @return - ref to object of type T
+	 */
+	public T getElement() {
+		return element;
+	}
+
+	/**
+	 * Sets reference to element stored at node
+	 *
+	 * @param element - ref to object of type T
+	 */
+	public void setElement(T element) {
+		this.element = element;
+	}
+
+}
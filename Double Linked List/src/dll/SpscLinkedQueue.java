@@ -0,0 +1,40 @@
+package dll;
+
+/**
+ * A FIFO queue for exactly one producer thread and one consumer thread.
+ *
+ * Neither side uses an atomic read-modify-write: the producer links its node
+ * to the rear and publishes it with release writes, and the consumer advances
+ * with acquire reads and a release write. Each element costs one allocation and
+ * no CAS, and a drained batch publishes the consumer position only once.
+ *
+ * Calling addToRear from more than one thread at a time corrupts the queue;
+ * use MpscLinkedQueue for several producers.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class SpscLinkedQueue<T> extends AbstractLinkedQueue<T> {
+
+	/**
+	 * Adds the specified element to the rear of this queue. Must only be called
+	 * by the producer thread.
+	 *
+	 * @param element the element to be added to the rear of this queue
+	 * @throws NullPointerException if element is null
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public void addToRear(T element) {
+		if (element == null) {
+			throw new NullPointerException("Source: addToRear(element)");
+		}
+		QueueNode<T> node = new QueueNode<T>(element);
+
+		// Only this thread writes the rear, so a plain read of it is current.
+		QueueNode<T> previous = (QueueNode<T>) PRODUCER.get(this);
+		previous.setNext(node);
+		PRODUCER.setRelease(this, node);
+	}
+}
@@ -0,0 +1,159 @@
+package dll;
+
+/**
+ * Node of an unrolled linked list. Each node holds a small array of elements
+ * instead of a single one.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class ULLNode<T> {
+
+	private ULLNode<T> next; // reference to next node
+	private ULLNode<T> previous; // reference to previous node
+	private Object[] elements; // objects stored in node
+	private int size; // number of elements in use
+
+	/**
+	 * Constructor - with given capacity
+	 *
+	 * @param capacity - maximum number of elements the node can hold
+	 */
+	public ULLNode(int capacity) {
+		elements = new Object[capacity];
+		size = 0;
+		setNext(null);
+		setPrevious(null);
+	}
+
+	/**
+	 * Returns reference to next node.
+	 *
+	 * @return - ref to ULLNode<T> object.
+	 */
+	public ULLNode<T> getNext() {
+		return next;
+	}
+
+	/**
+	 * Returns a reference to the previous node.
+	 *
+	 * @return - reference to ULLNode<T> object.
+	 */
+	public ULLNode<T> getPrevious() {
+		return previous;
+	}
+
+	/**
+	 * Assign reference to next node
+	 *
+	 * @param next - ref to ULLNode<T> object
+	 */
+	public void setNext(ULLNode<T> next) {
+		this.next = next;
+	}
+
+	/**
+	 * Assign a reference to the previous node.
+	 *
+	 * @param previous - reference to ULLNode<T> object
+	 */
+	public void setPrevious(ULLNode<T> previous) {
+		this.previous = previous;
+	}
+
+	/**
+	 * Returns the number of elements stored in the node.
+	 *
+	 * @return - number of elements
+	 */
+	public int getSize() {
+		return size;
+	}
+
+	/**
+	 * Returns the maximum number of elements the node can hold.
+	 *
+	 * @return - capacity of the node
+	 */
+	public int getCapacity() {
+		return elements.length;
+	}
+
+	/**
+	 * Returns true if no more elements fit in the node.
+	 *
+	 * @return - true if the node is full
+	 */
+	public boolean isFull() {
+		return size == elements.length;
+	}
+
+	/**
+	 * Returns reference to element stored at the given offset
+	 *
+	 * @param offset - position inside the node
+	 * @return - ref to object of type T
+	 */
+	@SuppressWarnings("unchecked")
+	public T getElement(int offset) {
+		return (T) elements[offset];
+	}
+
+	/**
+	 * Sets reference to element stored at the given offset
+	 *
+	 * @param offset  - position inside the node
+	 * @param element - ref to object of type T
+	 */
+	public void setElement(int offset, T element) {
+		elements[offset] = element;
+	}
+
+	/**
+	 * Inserts an element at the given offset, shifting later elements right. The
+	 * node must not be full.
+	 *
+	 * @param offset  - position inside the node (0 <= offset <= size)
+	 * @param element - ref to object of type T
+	 */
+	public void insertElement(int offset, T element) {
+		System.arraycopy(elements, offset, elements, offset + 1, size - offset);
+		elements[offset] = element;
+		size++;
+	}
+
+	/**
+	 * Removes the element at the given offset, shifting later elements left.
+	 *
+	 * @param offset - position inside the node (0 <= offset < size)
+	 * @return - the removed element
+	 */
+	public T removeElement(int offset) {
+		T element = getElement(offset);
+		System.arraycopy(elements, offset + 1, elements, offset, size - offset - 1);
+		size--;
+		// Clears the freed slot so the element can be collected.
+		elements[size] = null;
+		return element;
+	}
+
+	/**
+	 * Moves the elements from the given offset onward to the end of another node.
+	 * The other node must have room for them.
+	 *
+	 * @param offset - first position inside this node to move
+	 * @param other  - node that receives the elements
+	 */
+	public void moveElementsTo(int offset, ULLNode<T> other) {
+		int moved = size - offset;
+		System.arraycopy(elements, offset, other.elements, other.size, moved);
+		other.size += moved;
+		for (int i = offset; i < size; i++) {
+			elements[i] = null;
+		}
+		size = offset;
+	}
+
+}
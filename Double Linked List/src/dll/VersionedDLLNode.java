@@ -0,0 +1,161 @@
+package dll;
+
+/**
+ * Node of a versioned IUDoubleLinkedList. While snapshots of the list are open,
+ * the node remembers the values its next link and element had before each
+ * change, tagged with the version of the change, so a snapshot can still read
+ * them as they were when it was taken.
+ *
+ * @author Joshua McKerracher
+ *
+ * @param <T>
+ */
+public class VersionedDLLNode<T> extends DLLNode<T> {
+
+	private final IUDoubleLinkedList<T> list; // list whose snapshots the node serves
+	private final int born; // list version when the node was created
+	private Change nextChanges; // earlier next links, newest first
+	private Change elementChanges; // earlier elements, newest first
+
+	/**
+	 * One overwritten value and the version that overwrote it.
+	 */
+	private static final class Change {
+		private final int version; // version of the write that replaced the value
+		private final Object value; // the value before that write
+		private Change older; // the change before this one
+
+		private Change(int version, Object value, Change older) {
+			this.version = version;
+			this.value = value;
+			this.older = older;
+		}
+	}
+
+	/**
+	 * Constructor - with given element and owning list
+	 *
+	 * @param element - object of type T
+	 * @param list    - list the node belongs to
+	 */
+	public VersionedDLLNode(T element, IUDoubleLinkedList<T> list) {
+		super(element);
+		this.list = list;
+		born = list.currentVersion();
+	}
+
+	/**
+	 * Puts the current value in front of a change chain if an open snapshot may
+	 * still need it, and drops changes no open snapshot needs anymore.
+	 *
+	 * @param changes the change chain
+	 * @param value   the value about to be overwritten
+	 * @return the new change chain
+	 */
+	private Change record(Change changes, Object value) {
+		// The list is null while the superclass constructor sets the first values.
+		if (list == null || !list.snapshotMayReach(born)) {
+			return prune(changes, list == null ? Integer.MAX_VALUE : list.oldestSnapshotVersion());
+		}
+
+		int version = list.currentVersion();
+		if (changes == null || changes.version != version) {
+			// Only the first write of a version needs to be kept.
+			changes = new Change(version, value, changes);
+		}
+		return prune(changes, list.oldestSnapshotVersion());
+	}
+
+	/**
+	 * Cuts a change chain after the last change an open snapshot can need. A
+	 * snapshot needs a change only if the change is newer than the snapshot.
+	 *
+	 * @param changes the change chain
+	 * @param oldest  the version of the oldest open snapshot
+	 * @return the pruned chain
+	 */
+	private static Change prune(Change changes, int oldest) {
+		if (changes == null || changes.version <= oldest) {
+			return null;
+		}
+		Change temp = changes;
+		while (temp.older != null && temp.older.version > oldest) {
+			temp = temp.older;
+		}
+		temp.older = null;
+		return changes;
+	}
+
+	/**
+	 * Returns the value a chain says a field had at the given version.
+	 *
+	 * @param changes the change chain
+	 * @param current the current value of the field
+	 * @param version the version of the snapshot
+	 * @return the value at that version
+	 */
+	private static Object valueAt(Change changes, Object current, int version) {
+		// The value at the version is the one replaced by the oldest newer change.
+		Object value = current;
+		for (Change temp = changes; temp != null && temp.version > version; temp = temp.older) {
+			value = temp.value;
+		}
+		return value;
+	}
+
+	/**
+	 * Drops all changes no open snapshot needs.
+	 */
+	void reclaim() {
+		int oldest = list.oldestSnapshotVersion();
+		nextChanges = prune(nextChanges, oldest);
+		elementChanges = prune(elementChanges, oldest);
+	}
+
+	/**
+	 * Returns the next node as it was at the given version.
+	 *
+	 * @param version - version of a snapshot
+	 * @return - ref to DLLNode<T> object.
+	 */
+	@SuppressWarnings("unchecked")
+	public DLLNode<T> getNextAt(int version) {
+		return (DLLNode<T>) valueAt(nextChanges, getNext(), version);
+	}
+
+	/**
+	 * Returns the element as it was at the given version.
+	 *
+	 * @param version - version of a snapshot
+	 * @return - ref to object of type T
+	 */
+	@SuppressWarnings("unchecked")
+	public T getElementAt(int version) {
+		return (T) valueAt(elementChanges, getElement(), version);
+	}
+
+	/**
+	 * Assign reference to next node, remembering the old one if a snapshot may
+	 * need it.
+	 *
+	 * @param next - ref to DLLNode<T> object
+	 */
+	@Override
+	public void setNext(DLLNode<T> next) {
+		nextChanges = record(nextChanges, getNext());
+		super.setNext(next);
+	}
+
+	/**
+	 * Sets reference to element stored at node, remembering the old one if a
+	 * snapshot may need it.
+	 *
+	 * @param element - ref to object of type T
+	 */
+	@Override
+	public void setElement(T element) {
+		elementChanges = record(elementChanges, getElement());
+		super.setElement(element);
+	}
+
+}
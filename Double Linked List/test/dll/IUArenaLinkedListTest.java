@@ -0,0 +1,51 @@
+package dll;
+
+import static dll.IUDoubleLinkedListHashIndexTest.contents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for IUArenaLinkedList.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUArenaLinkedListTest {
+
+	@Test
+	public void operationsAgreeWithArrayList() {
+		ListFuzz.run(IUArenaLinkedList::new, 5000, 300, 200);
+		ListFuzz.run(() -> new IUArenaLinkedList<Integer>(0), 6000, 100, 200);
+	}
+
+	@Test
+	public void listIteratorAgreesWithArrayList() {
+		ListFuzz.runIterator(IUArenaLinkedList::new, 5000, 500, 40);
+	}
+
+	@Test
+	public void churnReusesFreedSlots() {
+		IUArenaLinkedList<Integer> list = new IUArenaLinkedList<Integer>(4);
+		for (int i = 0; i < 4; i++) {
+			list.addToRear(i);
+		}
+
+		// Every removal frees the slot the next add takes, in a different place.
+		for (int i = 4; i < 1000; i++) {
+			list.removeFirst();
+			if (i % 2 == 0) {
+				list.addToRear(i);
+			} else {
+				list.add(1, i);
+			}
+		}
+		assertEquals(4, list.size());
+		assertEquals("[994, 999, 996, 998]", contents(list));
+	}
+
+	@Test
+	public void rejectsNegativeCapacity() {
+		assertThrows(IllegalArgumentException.class, () -> new IUArenaLinkedList<Integer>(-1));
+	}
+}
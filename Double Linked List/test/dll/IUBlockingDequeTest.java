@@ -0,0 +1,120 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for IUBlockingDeque.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUBlockingDequeTest {
+
+	@Test
+	public void bothEndsWithinTheCapacity() throws InterruptedException {
+		IUBlockingDeque<String> deque = new IUBlockingDeque<String>(3);
+		assertTrue(deque.offerLast("b"));
+		assertTrue(deque.offerFirst("a"));
+		deque.putLast("c");
+		assertFalse(deque.offerLast("d"));
+		assertFalse(deque.offerFirst("d"));
+		assertFalse(deque.offerLast("d", 10, TimeUnit.MILLISECONDS));
+		assertEquals(0, deque.remainingCapacity());
+
+		assertEquals("c", deque.takeLast());
+		assertEquals("a", deque.takeFirst());
+		assertEquals("b", deque.pollLast());
+		assertTrue(deque.isEmpty());
+		assertNull(deque.pollFirst());
+		assertNull(deque.pollFirst(10, TimeUnit.MILLISECONDS));
+		assertThrows(NullPointerException.class, () -> deque.offerLast(null));
+		assertThrows(IllegalArgumentException.class, () -> new IUBlockingDeque<String>(0));
+	}
+
+	@Test
+	public void drainToMovesFromTheFront() {
+		IUBlockingDeque<Integer> deque = new IUBlockingDeque<Integer>();
+		for (int i = 0; i < 10; i++) {
+			deque.offerLast(i);
+		}
+		List<Integer> drained = new ArrayList<Integer>();
+		assertEquals(3, deque.drainTo(drained, 3));
+		assertEquals(7, deque.drainTo(drained));
+		assertEquals(List.of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9), drained);
+		assertEquals(0, deque.drainTo(drained));
+	}
+
+	@Test
+	public void takesWaitForPuts() throws InterruptedException {
+		IUBlockingDeque<Integer> deque = new IUBlockingDeque<Integer>(1);
+		List<Integer> taken = new CopyOnWriteArrayList<Integer>();
+		Thread consumer = new Thread(() -> {
+			try {
+				taken.add(deque.takeFirst());
+				taken.add(deque.takeLast());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		consumer.start();
+		deque.putLast(1);
+		deque.putFirst(2);
+		consumer.join(10000);
+		assertFalse(consumer.isAlive());
+		assertEquals(List.of(1, 2), taken);
+		assertTrue(deque.isEmpty());
+	}
+
+	@Test
+	public void producersAndConsumersAtAllEnds() throws InterruptedException {
+		int perThread = 20000;
+		IUBlockingDeque<Long> deque = new IUBlockingDeque<Long>(64);
+		AtomicLong sum = new AtomicLong();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			boolean front = t % 2 == 0;
+			threads.add(new Thread(() -> {
+				try {
+					for (long i = 1; i <= perThread; i++) {
+						if (front) {
+							deque.putFirst(i);
+						} else {
+							deque.putLast(i);
+						}
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+			threads.add(new Thread(() -> {
+				try {
+					for (int i = 0; i < perThread; i++) {
+						sum.addAndGet(front ? deque.takeFirst() : deque.takeLast());
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}));
+		}
+		for (Thread thread : threads) {
+			thread.start();
+		}
+		for (Thread thread : threads) {
+			thread.join(60000);
+			assertFalse(thread.isAlive());
+		}
+		assertEquals(4L * perThread * (perThread + 1) / 2, sum.get());
+		assertTrue(deque.isEmpty());
+	}
+}
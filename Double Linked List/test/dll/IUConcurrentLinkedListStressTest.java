@@ -0,0 +1,222 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Multi-threaded stress tests of IUConcurrentLinkedList. Producers add at both
+ * ends while consumers remove from both ends, and the tests check what any
+ * linearizable deque guarantees:
+ * - every element added is removed exactly once,
+ * - a consumer at one end sees the elements of a producer at the other end in
+ *   the order they were added, because they sit in the list in that order.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUConcurrentLinkedListStressTest {
+
+	private static final int PRODUCERS = 4; // half add to the front, half to the rear
+	private static final int CONSUMERS = 4; // half remove from the front, half from the rear
+	private static final int PER_PRODUCER = 20000; // elements each producer adds
+	private static final int ROUNDS = 5; // independent runs per test
+
+	/**
+	 * Encodes a producer and its sequence number as one element.
+	 */
+	private static int element(int producer, int sequence) {
+		return producer * PER_PRODUCER + sequence;
+	}
+
+	private static boolean addsToFront(int producer) {
+		return producer % 2 == 0;
+	}
+
+	private static boolean removesFromFront(int consumer) {
+		return consumer % 2 == 0;
+	}
+
+	/**
+	 * Starts the given tasks together and fails the test if any of them throws.
+	 */
+	private static void runTogether(List<Runnable> tasks) throws InterruptedException {
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (Runnable task : tasks) {
+			Thread thread = new Thread(() -> {
+				try {
+					start.await();
+					task.run();
+				} catch (Throwable e) {
+					failure.compareAndSet(null, e);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join(60000);
+			assertFalse(thread.isAlive(), "a thread did not finish");
+		}
+		if (failure.get() != null) {
+			fail(failure.get());
+		}
+	}
+
+	@Test
+	public void endOperationsLoseNothingAndKeepProducerOrder() throws InterruptedException {
+		for (int round = 0; round < ROUNDS; round++) {
+			IUConcurrentLinkedList<Integer> list = new IUConcurrentLinkedList<Integer>();
+			int total = PRODUCERS * PER_PRODUCER;
+			AtomicInteger removed = new AtomicInteger();
+			List<List<Integer>> taken = new ArrayList<List<Integer>>();
+			List<Runnable> tasks = new ArrayList<Runnable>();
+
+			for (int p = 0; p < PRODUCERS; p++) {
+				int producer = p;
+				tasks.add(() -> {
+					for (int i = 0; i < PER_PRODUCER; i++) {
+						if (addsToFront(producer)) {
+							list.addToFront(element(producer, i));
+						} else {
+							list.addToRear(element(producer, i));
+						}
+					}
+				});
+			}
+			for (int c = 0; c < CONSUMERS; c++) {
+				int consumer = c;
+				List<Integer> mine = new ArrayList<Integer>();
+				taken.add(mine);
+				tasks.add(() -> {
+					while (removed.get() < total) {
+						try {
+							mine.add(removesFromFront(consumer) ? list.removeFirst() : list.removeLast());
+							removed.incrementAndGet();
+						} catch (NoSuchElementException e) {
+							Thread.yield();
+						}
+					}
+				});
+			}
+			runTogether(tasks);
+
+			assertTrue(list.isEmpty());
+			assertEquals(0, list.size());
+			boolean[] seen = new boolean[total];
+			for (int c = 0; c < CONSUMERS; c++) {
+				int[] lastSequence = new int[PRODUCERS];
+				java.util.Arrays.fill(lastSequence, -1);
+				for (int element : taken.get(c)) {
+					assertFalse(seen[element], "element " + element + " removed twice");
+					seen[element] = true;
+
+					int producer = element / PER_PRODUCER;
+					int sequence = element % PER_PRODUCER;
+					if (addsToFront(producer) != removesFromFront(c)) {
+						assertTrue(sequence > lastSequence[producer], "consumer " + c + " saw producer " + producer
+								+ " out of order: " + sequence + " after " + lastSequence[producer]);
+						lastSequence[producer] = sequence;
+					}
+				}
+			}
+			for (int element = 0; element < total; element++) {
+				assertTrue(seen[element], "element " + element + " was lost");
+			}
+		}
+	}
+
+	@Test
+	public void middleOperationsAndIteratorsDuringEndTraffic() throws InterruptedException {
+		for (int round = 0; round < ROUNDS; round++) {
+			IUConcurrentLinkedList<Integer> list = new IUConcurrentLinkedList<Integer>();
+			AtomicInteger added = new AtomicInteger();
+			AtomicInteger removed = new AtomicInteger();
+			List<Runnable> tasks = new ArrayList<Runnable>();
+
+			// Appends a rising sequence; walkers must see it in order.
+			tasks.add(() -> {
+				for (int i = 0; i < PER_PRODUCER; i++) {
+					list.addToRear(i);
+					added.incrementAndGet();
+				}
+			});
+
+			// Inserts negative elements in the middle and removes them again.
+			tasks.add(() -> {
+				for (int i = 1; i <= PER_PRODUCER / 4; i++) {
+					try {
+						list.add(list.size() / 2, -i);
+						added.incrementAndGet();
+					} catch (IndexOutOfBoundsException e) {
+						list.addToFront(-i);
+						added.incrementAndGet();
+					}
+					try {
+						list.remove(Integer.valueOf(-i));
+						removed.incrementAndGet();
+					} catch (NoSuchElementException e) {
+						// A consumer took it first.
+					}
+				}
+			});
+
+			// Takes from both ends.
+			tasks.add(() -> {
+				for (int i = 0; i < PER_PRODUCER / 2; i++) {
+					try {
+						list.removeFirst();
+						removed.incrementAndGet();
+					} catch (NoSuchElementException e) {
+						Thread.yield();
+					}
+					try {
+						list.removeLast();
+						removed.incrementAndGet();
+					} catch (NoSuchElementException e) {
+						Thread.yield();
+					}
+				}
+			});
+
+			// Walks the list over and over.
+			tasks.add(() -> {
+				for (int walk = 0; walk < 200; walk++) {
+					int last = -1;
+					for (Iterator<Integer> it = list.iterator(); it.hasNext();) {
+						int element = it.next();
+						if (element >= 0) {
+							assertTrue(element > last, "walk saw " + element + " after " + last);
+							last = element;
+						}
+					}
+				}
+			});
+			runTogether(tasks);
+
+			int left = 0;
+			for (Iterator<Integer> it = list.iterator(); it.hasNext(); it.next()) {
+				left++;
+			}
+			assertEquals(added.get() - removed.get(), left);
+			assertEquals(left, list.size());
+			while (!list.isEmpty()) {
+				list.removeLast();
+			}
+			assertTrue(list.isEmpty());
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package dll;
+
+import static dll.IUDoubleLinkedListHashIndexTest.contents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Single threaded tests of IUConcurrentLinkedList against the
+ * IndexedUnsortedList contract, including the operations in the middle of the
+ * list.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUConcurrentLinkedListTest {
+
+	private static IUConcurrentLinkedList<String> list(String... elements) {
+		IUConcurrentLinkedList<String> list = new IUConcurrentLinkedList<String>();
+		for (String element : elements) {
+			list.addToRear(element);
+		}
+		return list;
+	}
+
+	@Test
+	public void endOperations() {
+		IUConcurrentLinkedList<String> list = list();
+		assertTrue(list.isEmpty());
+		assertThrows(NoSuchElementException.class, list::removeFirst);
+		assertThrows(NoSuchElementException.class, list::removeLast);
+
+		list.addToRear("b");
+		list.addToFront("a");
+		list.add("c");
+		assertEquals("[a, b, c]", contents(list));
+		assertEquals(3, list.size());
+		assertEquals("a", list.first());
+		assertEquals("c", list.last());
+
+		assertEquals("c", list.removeLast());
+		assertEquals("a", list.removeFirst());
+		assertEquals("b", list.removeLast());
+		assertTrue(list.isEmpty());
+		assertEquals(0, list.size());
+
+		list.addToRear("d");
+		assertEquals("d", list.first());
+		assertEquals("d", list.last());
+	}
+
+	@Test
+	public void insertsInTheMiddle() {
+		IUConcurrentLinkedList<String> list = list("a", "c");
+		list.addAfter("b", "a");
+		list.add(3, "e");
+		list.add(3, "d");
+		list.add(0, "z");
+		assertEquals("[z, a, b, c, d, e]", contents(list));
+		assertEquals("e", list.last());
+		assertThrows(NoSuchElementException.class, () -> list.addAfter("x", "y"));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.add(7, "x"));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.add(-1, "x"));
+	}
+
+	@Test
+	public void indexedOperations() {
+		IUConcurrentLinkedList<String> list = list("a", "b", "c", "b");
+		assertEquals(1, list.indexOf("b"));
+		assertEquals("c", list.get(2));
+		list.set(2, "x");
+		assertEquals("b", list.remove(3));
+		assertEquals("b", list.remove("b"));
+		assertEquals("[a, x]", contents(list));
+		assertEquals("x", list.last());
+		assertFalse(list.contains("b"));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.get(2));
+		assertThrows(IndexOutOfBoundsException.class, () -> list.remove(2));
+		assertThrows(NoSuchElementException.class, () -> list.remove("b"));
+	}
+
+	@Test
+	public void listIteratorWalksBothWays() {
+		IUConcurrentLinkedList<String> list = list("a", "b", "c");
+		ListIterator<String> it = list.listIterator(1);
+		assertEquals(1, it.nextIndex());
+		assertEquals("b", it.next());
+		assertEquals("c", it.next());
+		assertFalse(it.hasNext());
+		assertEquals("c", it.previous());
+		assertEquals("b", it.previous());
+		assertEquals("a", it.previous());
+		assertFalse(it.hasPrevious());
+		assertEquals(-1, it.previousIndex());
+		assertThrows(NoSuchElementException.class, it::previous);
+		assertThrows(IndexOutOfBoundsException.class, () -> list.listIterator(4));
+	}
+
+	@Test
+	public void listIteratorChangesTheList() {
+		IUConcurrentLinkedList<String> list = list("a", "b", "c");
+		ListIterator<String> it = list.listIterator();
+		assertThrows(IllegalStateException.class, it::remove);
+
+		it.next();
+		it.set("A");
+		it.add("x");
+		assertThrows(IllegalStateException.class, it::remove);
+		assertEquals("b", it.next());
+		it.remove();
+		assertEquals("[A, x, c]", contents(list));
+
+		assertEquals("x", it.previous());
+		it.remove();
+		assertEquals("[A, c]", contents(list));
+		assertEquals(1, it.nextIndex());
+
+		it.next();
+		it.add("d");
+		assertFalse(it.hasNext());
+		assertEquals("[A, c, d]", contents(list));
+		assertEquals("d", list.last());
+
+		ListIterator<String> back = list.listIterator(3);
+		assertEquals("d", back.previous());
+		back.remove();
+		assertEquals("c", list.last());
+		list.addToRear("e");
+		assertEquals("[A, c, e]", contents(list));
+	}
+
+	@Test
+	public void iteratorRemovesEverything() {
+		IUConcurrentLinkedList<String> list = list("a", "b", "c");
+		for (ListIterator<String> it = list.listIterator(); it.hasNext();) {
+			it.next();
+			it.remove();
+		}
+		assertTrue(list.isEmpty());
+		assertThrows(NoSuchElementException.class, list::last);
+		list.addToRear("d");
+		assertEquals("[d]", contents(list));
+	}
+}
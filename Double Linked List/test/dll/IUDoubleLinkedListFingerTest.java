@@ -0,0 +1,99 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ListIterator;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the finger search behind the positional operations of
+ * IUDoubleLinkedList.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUDoubleLinkedListFingerTest {
+
+	private static final int SIZE = 10000;
+
+	private static IUDoubleLinkedList<Integer> list(int size) {
+		IUDoubleLinkedList<Integer> list = new IUDoubleLinkedList<Integer>();
+		for (int i = 0; i < size; i++) {
+			list.addToRear(i);
+		}
+		return list;
+	}
+
+	@Test
+	public void positionalOperationsAgreeWithArrayList() {
+		ListFuzz.run(IUDoubleLinkedList::new, 1, 300, 200);
+	}
+
+	@Test
+	public void sequentialGetWalksOneNodePerCall() {
+		IUDoubleLinkedList<Integer> list = list(SIZE);
+		list.enableMetrics();
+		for (int i = 0; i < SIZE; i++) {
+			assertEquals(i, list.get(i));
+		}
+		for (int i = SIZE - 1; i >= 0; i--) {
+			assertEquals(i, list.get(i));
+		}
+
+		// Without the finger each call would walk up to SIZE / 2 nodes.
+		long walked = list.metrics().get(ListMetrics.Operation.GET).getNodesTraversed();
+		assertTrue(walked <= 2L * SIZE, "walked " + walked);
+	}
+
+	@Test
+	public void nearbyAccessStartsFromTheFinger() {
+		IUDoubleLinkedList<Integer> list = list(SIZE);
+		list.get(SIZE / 2);
+		list.enableMetrics();
+		list.set(SIZE / 2 + 3, -1);
+		list.get(SIZE / 2 - 2);
+		assertEquals(3, list.metrics().get(ListMetrics.Operation.SET).getNodesTraversed());
+		assertEquals(5, list.metrics().get(ListMetrics.Operation.GET).getNodesTraversed());
+		assertEquals(-1, list.get(SIZE / 2 + 3));
+	}
+
+	@Test
+	public void modificationsInvalidateTheFinger() {
+		IUDoubleLinkedList<Integer> list = list(100);
+		assertEquals(50, list.get(50));
+
+		list.addToFront(-1);
+		assertEquals(49, list.get(50));
+		list.removeFirst();
+		list.removeFirst();
+		assertEquals(51, list.get(50));
+		list.add(50, -2);
+		assertEquals(-2, list.get(50));
+		assertEquals(51, list.get(51));
+		assertEquals(-2, list.remove(50));
+		assertEquals(51, list.get(50));
+
+		ListIterator<Integer> it = list.listIterator(50);
+		it.next();
+		it.remove();
+		assertEquals(52, list.get(50));
+		assertEquals(99, list.get(list.size() - 1));
+	}
+
+	@Test
+	public void listIteratorStartsAtTheIndex() {
+		IUDoubleLinkedList<Integer> list = list(1000);
+		list.get(700);
+		for (int start : new int[] { 0, 1, 699, 700, 701, 999, 1000 }) {
+			ListIterator<Integer> it = list.listIterator(start);
+			assertEquals(start, it.nextIndex());
+			if (start < 1000) {
+				assertEquals(start, it.next());
+			}
+			if (start > 0) {
+				assertEquals(start - 1, list.listIterator(start).previous());
+			}
+		}
+	}
+}
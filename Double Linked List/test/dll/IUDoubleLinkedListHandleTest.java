@@ -0,0 +1,95 @@
+package dll;
+
+import static dll.IUDoubleLinkedListHashIndexTest.contents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the node handles of IUDoubleLinkedList.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUDoubleLinkedListHandleTest {
+
+	@Test
+	public void insertAroundHandles() {
+		IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>();
+		IUDoubleLinkedList.Handle<String> c = list.addToRearHandle("c");
+		IUDoubleLinkedList.Handle<String> a = list.addToFrontHandle("a");
+		IUDoubleLinkedList.Handle<String> b = list.insertAfter(a, "b");
+		IUDoubleLinkedList.Handle<String> d = list.insertAfter(c, "d");
+		list.insertBefore(a, "z");
+		IUDoubleLinkedList.Handle<String> x = list.addHandle(2, "x");
+
+		assertEquals("[z, a, x, b, c, d]", contents(list));
+		assertEquals("x", x.getElement());
+		assertEquals("b", b.getElement());
+		assertEquals("d", list.last());
+		list.addToRear("e");
+		assertEquals("d", d.getElement());
+		assertEquals("[z, a, x, b, c, d, e]", contents(list));
+	}
+
+	@Test
+	public void removedNodesMakeTheirHandlesStale() {
+		IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>();
+		IUDoubleLinkedList.Handle<String> a = list.addToRearHandle("a");
+		IUDoubleLinkedList.Handle<String> b = list.addToRearHandle("b");
+		IUDoubleLinkedList.Handle<String> c = list.addToRearHandle("c");
+
+		assertEquals("b", list.removeHandle(b));
+		assertFalse(b.isValid());
+		assertThrows(NoSuchElementException.class, b::getElement);
+		assertThrows(NoSuchElementException.class, () -> list.removeHandle(b));
+		assertThrows(NoSuchElementException.class, () -> list.insertAfter(b, "x"));
+
+		// Removal by any other route makes the handle stale too.
+		list.removeFirst();
+		assertFalse(a.isValid());
+		list.remove("c");
+		assertFalse(c.isValid());
+		assertTrue(list.isEmpty());
+	}
+
+	@Test
+	public void moveToFrontKeepsTheHandle() {
+		IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>();
+		IUDoubleLinkedList.Handle<String> a = list.addToRearHandle("a");
+		list.addToRear("b");
+		IUDoubleLinkedList.Handle<String> c = list.addToRearHandle("c");
+
+		list.moveToFront(c);
+		assertEquals("[c, a, b]", contents(list));
+		assertEquals("b", list.last());
+		list.moveToFront(c);
+		list.moveToFront(a);
+		assertEquals("[a, c, b]", contents(list));
+		assertTrue(c.isValid());
+		assertEquals("c", list.get(1));
+
+		// The new tail is still followed by the end node.
+		list.addToRear("d");
+		assertEquals("[a, c, b, d]", contents(list));
+	}
+
+	@Test
+	public void handlesBelongToOneList() {
+		IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>();
+		IUDoubleLinkedList<String> other = new IUDoubleLinkedList<String>();
+		IUDoubleLinkedList.Handle<String> a = list.addToRearHandle("a");
+		other.addToRear("b");
+		assertThrows(IllegalArgumentException.class, () -> other.removeHandle(a));
+		assertThrows(IllegalArgumentException.class, () -> other.moveToFront(a));
+
+		// Handles follow their nodes into the other list.
+		other.appendAll(list);
+		assertEquals("a", other.removeHandle(a));
+		assertEquals("[b]", contents(other));
+	}
+}
@@ -0,0 +1,127 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the hash indexed mode of IUDoubleLinkedList.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUDoubleLinkedListHashIndexTest {
+
+	private static IUDoubleLinkedList<String> indexedList(String... elements) {
+		IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>(true);
+		for (String element : elements) {
+			list.addToRear(element);
+		}
+		return list;
+	}
+
+	@Test
+	public void containsComparesWithEquals() {
+		IUDoubleLinkedList<String> list = indexedList("a", "b");
+		assertTrue(list.contains(new String("b")));
+		assertEquals(1, list.indexOf(new String("b")));
+		assertFalse(list.contains("c"));
+	}
+
+	@Test
+	public void duplicatesUseTheNewestOccurrence() {
+		IUDoubleLinkedList<String> list = indexedList("x", "a", "x", "b");
+		assertEquals(2, list.indexOf("x"));
+
+		list.addAfter("y", "x");
+		assertEquals("[x, a, x, y, b]", contents(list));
+
+		assertEquals("x", list.remove("x"));
+		assertEquals("[x, a, y, b]", contents(list));
+		assertEquals(0, list.indexOf("x"));
+
+		list.remove("x");
+		assertFalse(list.contains("x"));
+		assertThrows(NoSuchElementException.class, () -> list.remove("x"));
+	}
+
+	@Test
+	public void removingAnyDuplicateKeepsTheOthersIndexed() {
+		IUDoubleLinkedList<String> list = indexedList("x", "x", "x");
+		list.remove(1);
+		assertEquals(1, list.indexOf("x"));
+		list.removeFirst();
+		assertEquals(0, list.indexOf("x"));
+		list.removeLast();
+		assertFalse(list.contains("x"));
+		assertTrue(list.isEmpty());
+	}
+
+	@Test
+	public void setByIndexReindexes() {
+		IUDoubleLinkedList<String> list = indexedList("a", "b", "c");
+		list.set(1, "z");
+		assertFalse(list.contains("b"));
+		assertEquals(1, list.indexOf("z"));
+	}
+
+	@Test
+	public void iteratorSetAfterNextReplacesTheReturnedElement() {
+		IUDoubleLinkedList<String> list = indexedList("a", "b", "c");
+		ListIterator<String> it = list.listIterator();
+		it.next();
+		it.next();
+		it.set("z");
+		assertEquals("[a, z, c]", contents(list));
+		assertFalse(list.contains("b"));
+		assertEquals(1, list.indexOf("z"));
+	}
+
+	@Test
+	public void iteratorSetAfterPreviousReplacesTheReturnedElement() {
+		IUDoubleLinkedList<String> list = indexedList("a", "b", "c");
+		ListIterator<String> it = list.listIterator(2);
+		assertEquals("b", it.previous());
+		it.set("z");
+		assertEquals("[a, z, c]", contents(list));
+		assertEquals(1, list.indexOf("z"));
+		assertEquals(2, list.indexOf("c"));
+		assertFalse(list.contains("b"));
+	}
+
+	@Test
+	public void iteratorSetAfterPreviousAtTheTailLeavesTheEndNodeAlone() {
+		IUDoubleLinkedList<String> list = indexedList("a", "b");
+		ListIterator<String> it = list.listIterator(2);
+		assertEquals("b", it.previous());
+		it.set("z");
+		assertEquals("[a, z]", contents(list));
+		assertFalse(list.contains("b"));
+		assertEquals(1, list.indexOf("z"));
+
+		// The end node was never indexed, so by-value operations stay inside the list.
+		assertEquals("z", list.remove("z"));
+		list.addAfter("c", "a");
+		assertEquals("[a, c]", contents(list));
+		assertEquals("c", list.last());
+	}
+
+	/**
+	 * Renders the list by walking it forwards.
+	 */
+	static String contents(IndexedUnsortedList<?> list) {
+		StringBuilder str = new StringBuilder("[");
+		for (Object element : list) {
+			if (str.length() > 1) {
+				str.append(", ");
+			}
+			str.append(element);
+		}
+		return str.append(']').toString();
+	}
+}
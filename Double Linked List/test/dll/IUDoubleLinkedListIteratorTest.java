@@ -0,0 +1,101 @@
+package dll;
+
+import static dll.IUDoubleLinkedListHashIndexTest.contents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ListIterator;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the list iterator of IUDoubleLinkedList, in particular that
+ * removing through it keeps the end node linked to the tail.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUDoubleLinkedListIteratorTest {
+
+	private static IUDoubleLinkedList<String> list(String... elements) {
+		IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>();
+		for (String element : elements) {
+			list.addToRear(element);
+		}
+		return list;
+	}
+
+	@Test
+	public void removeAfterPreviousAtTheTail() {
+		IUDoubleLinkedList<String> list = list("a", "b", "c");
+		ListIterator<String> it = list.listIterator(3);
+		assertEquals("c", it.previous());
+		it.remove();
+
+		assertEquals("[a, b]", contents(list));
+		assertEquals("b", list.last());
+		assertFalse(it.hasNext());
+		assertEquals("b", it.previous());
+
+		list.addToRear("d");
+		assertEquals("[a, b, d]", contents(list));
+		assertEquals("d", list.get(2));
+	}
+
+	@Test
+	public void removeAfterNextAtTheTail() {
+		IUDoubleLinkedList<String> list = list("a", "b", "c");
+		ListIterator<String> it = list.listIterator(2);
+		assertEquals("c", it.next());
+		it.remove();
+
+		assertEquals("[a, b]", contents(list));
+		assertEquals("b", list.last());
+		assertEquals("b", it.previous());
+
+		list.addToRear("d");
+		assertEquals("[a, b, d]", contents(list));
+	}
+
+	@Test
+	public void removeTheOnlyElementAfterPrevious() {
+		IUDoubleLinkedList<String> list = list("a");
+		ListIterator<String> it = list.listIterator(1);
+		assertEquals("a", it.previous());
+		it.remove();
+
+		assertTrue(list.isEmpty());
+		list.addToRear("b");
+		assertEquals("[b]", contents(list));
+		assertEquals("b", list.first());
+		assertEquals("b", list.last());
+	}
+
+	@Test
+	public void removeTheOnlyElementAfterNext() {
+		IUDoubleLinkedList<String> list = list("a");
+		ListIterator<String> it = list.listIterator();
+		assertEquals("a", it.next());
+		it.remove();
+
+		assertTrue(list.isEmpty());
+		list.addToRear("b");
+		assertEquals("[b]", contents(list));
+		assertEquals("b", list.last());
+	}
+
+	@Test
+	public void removeInTheMiddleInBothDirections() {
+		IUDoubleLinkedList<String> list = list("a", "b", "c", "d");
+		ListIterator<String> it = list.listIterator(1);
+		assertEquals("b", it.next());
+		it.remove();
+		assertEquals("[a, c, d]", contents(list));
+		assertEquals("c", it.next());
+		assertEquals("c", it.previous());
+		it.remove();
+		assertEquals("[a, d]", contents(list));
+		assertEquals("d", it.next());
+		assertEquals(2, it.nextIndex());
+	}
+}
@@ -0,0 +1,90 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the parallel scans of IUDoubleLinkedList. The lists are large
+ * enough to be split into segments, and the answers have to be the ones the
+ * sequential methods give.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUDoubleLinkedListParallelTest {
+
+	private static final int SIZE = 100000;
+
+	private final String[] elements = new String[SIZE]; // elements of the list, for lookups by reference
+	private final IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>();
+
+	public IUDoubleLinkedListParallelTest() {
+		for (int i = 0; i < SIZE; i++) {
+			elements[i] = "e" + (i % 1000);
+			list.addToRear(elements[i]);
+		}
+	}
+
+	@Test
+	public void indexOfAndContainsMatchTheSequentialScans() {
+		for (int i : new int[] { 0, 1, 4095, 50000, SIZE - 1 }) {
+			assertEquals(list.indexOf(elements[i]), list.parallelIndexOf(elements[i]));
+			assertTrue(list.parallelContains(elements[i]));
+		}
+		String missing = "missing";
+		assertEquals(-1, list.parallelIndexOf(missing));
+		assertFalse(list.parallelContains(missing));
+
+		// Lookups compare references, so an equal copy is not found.
+		assertFalse(list.parallelContains(new String(elements[7])));
+	}
+
+	@Test
+	public void findFirstReturnsTheEarliestMatch() {
+		list.set(70000, "needle 2");
+		list.set(30000, "needle 1");
+		assertEquals(Optional.of("needle 1"), list.parallelFindFirst(e -> e.startsWith("needle")));
+		assertEquals(Optional.empty(), list.parallelFindFirst(e -> e.isEmpty()));
+		assertEquals(Optional.of("e0"), list.parallelFindFirst(e -> e.startsWith("e")));
+	}
+
+	@Test
+	public void countAndForEachSeeEveryElement() {
+		assertEquals(SIZE / 1000, list.parallelCount(e -> e.equals("e5")));
+		assertEquals(SIZE, list.parallelCount(e -> true));
+
+		AtomicLong length = new AtomicLong();
+		list.parallelForEach(e -> length.addAndGet(e.length()));
+		long expected = 0;
+		for (String element : elements) {
+			expected += element.length();
+		}
+		assertEquals(expected, length.get());
+	}
+
+	@Test
+	public void smallListsScanSequentially() {
+		IUDoubleLinkedList<String> small = new IUDoubleLinkedList<String>();
+		small.addToRear("a");
+		small.addToRear("b");
+		assertEquals(1, small.parallelIndexOf("b"));
+		assertEquals(Optional.of("b"), small.parallelFindFirst(e -> e.equals("b")));
+		assertEquals(2, small.parallelCount(e -> true));
+	}
+
+	@Test
+	public void changesDuringAScanAreReported() {
+		assertThrows(ConcurrentModificationException.class, () -> list.parallelForEach(e -> {
+			if (e == elements[SIZE - 1]) {
+				list.addToFront("x");
+			}
+		}));
+	}
+}
@@ -0,0 +1,148 @@
+package dll;
+
+import static dll.IUDoubleLinkedListHashIndexTest.contents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the snapshot iterators of a versioned IUDoubleLinkedList.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUDoubleLinkedListSnapshotTest {
+
+	private static IUDoubleLinkedList<String> versionedList(String... elements) {
+		IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>(false, true);
+		for (String element : elements) {
+			list.addToRear(element);
+		}
+		return list;
+	}
+
+	@Test
+	public void snapshotIgnoresLaterWrites() {
+		IUDoubleLinkedList<String> list = versionedList("a", "b", "c");
+		IUDoubleLinkedList<String>.SnapshotIterator snapshot = list.snapshotIterator();
+		assertEquals("a", snapshot.next());
+
+		list.set(1, "B");
+		list.removeLast();
+		list.addToRear("d");
+		list.add(1, "x");
+		ListIterator<String> it = list.listIterator();
+		it.next();
+		it.remove();
+
+		assertEquals("b", snapshot.next());
+		assertEquals("c", snapshot.next());
+		assertFalse(snapshot.hasNext());
+		assertEquals("[x, B, d]", contents(list));
+	}
+
+	@Test
+	public void snapshotsOfDifferentVersions() {
+		IUDoubleLinkedList<String> list = versionedList("a");
+		IUDoubleLinkedList<String>.SnapshotIterator first = list.snapshotIterator();
+		list.addToRear("b");
+		IUDoubleLinkedList<String>.SnapshotIterator second = list.snapshotIterator();
+		list.removeFirst();
+		list.set(0, "B");
+
+		assertEquals("a", second.next());
+		assertEquals("b", second.next());
+		assertFalse(second.hasNext());
+		assertEquals("a", first.next());
+		assertFalse(first.hasNext());
+
+		// Closing the last snapshot drops the history, the list stays as it is.
+		try (IUDoubleLinkedList<String>.SnapshotIterator third = list.snapshotIterator()) {
+			list.addToFront("z");
+			assertEquals("B", third.next());
+		}
+		assertEquals("[z, B]", contents(list));
+	}
+
+	@Test
+	public void snapshotsAgreeWithCopiesUnderRandomWrites() {
+		Random random = new Random(16);
+		IUDoubleLinkedList<String> list = versionedList();
+		List<String> reference = new ArrayList<String>();
+		List<Iterator<String>> snapshots = new ArrayList<Iterator<String>>();
+		List<Iterator<String>> expected = new ArrayList<Iterator<String>>();
+		for (int step = 0; step < 5000; step++) {
+			String element = "e" + step;
+			int size = reference.size();
+			switch (size == 0 ? random.nextInt(2) : random.nextInt(7)) {
+			case 0:
+				list.addToFront(element);
+				reference.add(0, element);
+				break;
+			case 1:
+				list.addToRear(element);
+				reference.add(element);
+				break;
+			case 2:
+				assertEquals(reference.remove(0), list.removeFirst());
+				break;
+			case 3:
+				assertEquals(reference.remove(size - 1), list.removeLast());
+				break;
+			case 4: {
+				int index = random.nextInt(size);
+				list.set(index, element);
+				reference.set(index, element);
+				break;
+			}
+			case 5: {
+				int index = random.nextInt(size + 1);
+				list.add(index, element);
+				reference.add(index, element);
+				break;
+			}
+			default: {
+				int index = random.nextInt(size);
+				assertEquals(reference.remove(index), list.remove(index));
+				break;
+			}
+			}
+
+			if (step % 100 == 0) {
+				snapshots.add(list.snapshotIterator());
+				expected.add(new ArrayList<String>(reference).iterator());
+			}
+
+			// Advances a random open snapshot by one element.
+			if (!snapshots.isEmpty()) {
+				int s = random.nextInt(snapshots.size());
+				assertEquals(expected.get(s).hasNext(), snapshots.get(s).hasNext());
+				if (expected.get(s).hasNext()) {
+					assertEquals(expected.get(s).next(), snapshots.get(s).next());
+				}
+			}
+		}
+		for (int s = 0; s < snapshots.size(); s++) {
+			while (expected.get(s).hasNext()) {
+				assertTrue(snapshots.get(s).hasNext());
+				assertEquals(expected.get(s).next(), snapshots.get(s).next());
+			}
+			assertFalse(snapshots.get(s).hasNext());
+		}
+		assertEquals(reference.toString(), contents(list));
+	}
+
+	@Test
+	public void onlyVersionedListsTakeSnapshots() {
+		IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>();
+		assertThrows(UnsupportedOperationException.class, list::snapshotIterator);
+	}
+}
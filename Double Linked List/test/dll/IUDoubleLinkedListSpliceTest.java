@@ -0,0 +1,125 @@
+package dll;
+
+import static dll.IUDoubleLinkedListHashIndexTest.contents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ListIterator;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for appendAll, splitAt and removeRange of IUDoubleLinkedList. After
+ * every splice the end node has to follow the new tail, which the tests check
+ * by adding at the rear and walking back from the end.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUDoubleLinkedListSpliceTest {
+
+	private static IUDoubleLinkedList<String> list(boolean hashIndexed, String... elements) {
+		IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>(hashIndexed);
+		for (String element : elements) {
+			list.addToRear(element);
+		}
+		return list;
+	}
+
+	/**
+	 * Checks that the list holds the expected elements read both ways and that
+	 * the rear of the list is still linked correctly.
+	 */
+	private static void assertLinked(String expected, IUDoubleLinkedList<String> list) {
+		assertEquals(expected, contents(list));
+		StringBuilder backwards = new StringBuilder();
+		for (ListIterator<String> it = list.listIterator(list.size()); it.hasPrevious();) {
+			backwards.insert(0, it.previous()).insert(0, it.hasPrevious() ? ", " : "");
+		}
+		assertEquals(expected, "[" + backwards + "]");
+
+		list.addToRear("end");
+		assertEquals("end", list.last());
+		assertEquals("end", list.get(list.size() - 1));
+		assertEquals("end", list.removeLast());
+	}
+
+	@Test
+	public void appendAllMovesTheNodes() {
+		for (boolean hashIndexed : new boolean[] { false, true }) {
+			IUDoubleLinkedList<String> list = list(hashIndexed, "a", "b");
+			IUDoubleLinkedList<String> other = list(hashIndexed, "c", "d");
+			list.appendAll(other);
+			assertLinked("[a, b, c, d]", list);
+			assertLinked("[]", other);
+			assertTrue(other.isEmpty());
+			assertTrue(list.contains("d"));
+			assertFalse(other.contains("d"));
+
+			IUDoubleLinkedList<String> empty = list(hashIndexed);
+			empty.appendAll(list);
+			assertLinked("[a, b, c, d]", empty);
+			empty.appendAll(list);
+			assertLinked("[a, b, c, d]", empty);
+		}
+		IUDoubleLinkedList<String> list = list(false, "a");
+		assertThrows(IllegalArgumentException.class, () -> list.appendAll(list));
+	}
+
+	@Test
+	public void splitAtCutsTheList() {
+		for (boolean hashIndexed : new boolean[] { false, true }) {
+			IUDoubleLinkedList<String> list = list(hashIndexed, "a", "b", "c", "d", "e");
+			IUDoubleLinkedList<String> rest = list.splitAt(2);
+			assertLinked("[a, b]", list);
+			assertLinked("[c, d, e]", rest);
+			assertEquals(2, rest.indexOf("e"));
+			assertFalse(list.contains("c"));
+
+			IUDoubleLinkedList<String> all = rest.splitAt(0);
+			assertLinked("[]", rest);
+			assertLinked("[c, d, e]", all);
+			assertLinked("[]", all.splitAt(3));
+			assertThrows(IndexOutOfBoundsException.class, () -> all.splitAt(4));
+		}
+	}
+
+	@Test
+	public void removeRangeUnlinksTheRange() {
+		for (boolean hashIndexed : new boolean[] { false, true }) {
+			IUDoubleLinkedList<String> list = list(hashIndexed, "a", "b", "c", "d", "e", "f");
+			list.removeRange(1, 3);
+			assertLinked("[a, d, e, f]", list);
+			assertFalse(list.contains("b"));
+			list.removeRange(2, 4);
+			assertLinked("[a, d]", list);
+			list.removeRange(0, 1);
+			assertLinked("[d]", list);
+			list.removeRange(1, 1);
+			list.removeRange(0, 1);
+			assertLinked("[]", list);
+			assertThrows(IndexOutOfBoundsException.class, () -> list.removeRange(0, 1));
+		}
+	}
+
+	@Test
+	public void splicesKeepHandles() {
+		IUDoubleLinkedList<String> list = list(false, "a");
+		IUDoubleLinkedList.Handle<String> b = list.addToRearHandle("b");
+		IUDoubleLinkedList.Handle<String> c = list.addToRearHandle("c");
+		IUDoubleLinkedList<String> rest = list.splitAt(1);
+		assertEquals("b", rest.removeHandle(b));
+		assertThrows(IllegalArgumentException.class, () -> list.removeHandle(c));
+		rest.removeRange(0, 1);
+		assertFalse(c.isValid());
+	}
+
+	@Test
+	public void versionedListsCannotSplice() {
+		IUDoubleLinkedList<String> versioned = new IUDoubleLinkedList<String>(false, true);
+		versioned.addToRear("a");
+		assertThrows(UnsupportedOperationException.class, () -> versioned.splitAt(0));
+		assertThrows(UnsupportedOperationException.class, () -> versioned.appendAll(list(false, "b")));
+	}
+}
@@ -0,0 +1,66 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for writeTo and toString of IUDoubleLinkedList.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUDoubleLinkedListWriteToTest {
+
+	private static IUDoubleLinkedList<Integer> list(int size) {
+		IUDoubleLinkedList<Integer> list = new IUDoubleLinkedList<Integer>();
+		for (int i = 0; i < size; i++) {
+			list.addToRear(i);
+		}
+		return list;
+	}
+
+	@Test
+	public void writesEveryElement() throws IOException {
+		StringWriter out = new StringWriter();
+		list(3).writeTo(out);
+		assertEquals("0, 1, 2", out.toString());
+
+		StringBuilder all = new StringBuilder();
+		list(5000).writeTo(all);
+		assertTrue(all.toString().endsWith(", 4998, 4999"));
+
+		StringBuilder empty = new StringBuilder();
+		list(0).writeTo(empty);
+		assertEquals("The list is empty.", empty.toString());
+	}
+
+	@Test
+	public void limitCountsTheRest() throws IOException {
+		StringBuilder out = new StringBuilder();
+		list(5).writeTo(out, "|", 2);
+		assertEquals("0|1|... and 3 more", out.toString());
+
+		out.setLength(0);
+		list(5).writeTo(out, "|", 0);
+		assertEquals("... and 5 more", out.toString());
+
+		out.setLength(0);
+		list(5).writeTo(out, "|", 5);
+		assertEquals("0|1|2|3|4", out.toString());
+		assertThrows(IllegalArgumentException.class, () -> list(1).writeTo(new StringBuilder(), ", ", -1));
+	}
+
+	@Test
+	public void toStringShowsTheFirstThousand() {
+		assertEquals("0, 1, 2", list(3).toString());
+		assertEquals("The list is empty.", list(0).toString());
+		String text = list(1500).toString();
+		assertTrue(text.startsWith("0, 1, 2, "));
+		assertTrue(text.endsWith(", 998, 999, ... and 500 more"), text.substring(text.length() - 40));
+	}
+}
@@ -0,0 +1,180 @@
+package dll;
+
+import static dll.IUDoubleLinkedListHashIndexTest.contents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for IUJournaledList and the MutationJournal behind it. Every test
+ * closes or abandons a list and opens its directory again, and the list has to
+ * come back as it was.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUJournaledListTest {
+
+	@TempDir
+	Path directory;
+
+	private IUJournaledList<String> open(long checkpointEvery) throws IOException {
+		return new IUJournaledList<String>(directory, ElementCodec.STRING, 0, 0L, 4096, checkpointEvery);
+	}
+
+	/**
+	 * Applies random mutations, through the list and through list iterators, to
+	 * the list and to a reference list.
+	 */
+	private static void mutate(IUJournaledList<String> list, List<String> reference, Random random, int steps) {
+		for (int step = 0; step < steps; step++) {
+			String element = "e" + Long.toHexString(random.nextLong());
+			int size = reference.size();
+			switch (size == 0 ? random.nextInt(3) : random.nextInt(10)) {
+			case 0:
+				list.addToFront(element);
+				reference.add(0, element);
+				break;
+			case 1:
+				list.addToRear(element);
+				reference.add(element);
+				break;
+			case 2: {
+				int index = random.nextInt(size + 1);
+				list.add(index, element);
+				reference.add(index, element);
+				break;
+			}
+			case 3:
+				assertEquals(reference.remove(0), list.removeFirst());
+				break;
+			case 4:
+				assertEquals(reference.remove(size - 1), list.removeLast());
+				break;
+			case 5: {
+				int index = random.nextInt(size);
+				assertEquals(reference.remove(index), list.remove(index));
+				break;
+			}
+			case 6: {
+				int index = random.nextInt(size);
+				list.set(index, element);
+				reference.set(index, element);
+				break;
+			}
+			case 7: {
+				String target = reference.get(random.nextInt(size));
+				list.addAfter(element, target);
+				reference.add(reference.indexOf(target) + 1, element);
+				break;
+			}
+			case 8: {
+				String target = reference.get(random.nextInt(size));
+				reference.remove(target);
+				list.remove(target);
+				break;
+			}
+			default: {
+				int index = random.nextInt(size);
+				ListIterator<String> it = list.listIterator(index);
+				ListIterator<String> expected = reference.listIterator(index);
+				assertEquals(expected.next(), it.next());
+				expected.set(element);
+				it.set(element);
+				expected.add(element + "+");
+				it.add(element + "+");
+				assertEquals(expected.previous(), it.previous());
+				expected.remove();
+				it.remove();
+				break;
+			}
+			}
+		}
+		assertEquals(reference.toString(), contents(list));
+	}
+
+	@Test
+	public void reopenedListMatches() throws IOException {
+		Random random = new Random(23);
+		List<String> reference = new ArrayList<String>();
+		for (int round = 0; round < 5; round++) {
+			try (IUJournaledList<String> list = open(0)) {
+				assertEquals(reference.toString(), contents(list));
+				mutate(list, reference, random, 300);
+			}
+		}
+	}
+
+	@Test
+	public void checkpointsTruncateTheJournal() throws IOException {
+		Random random = new Random(24);
+		List<String> reference = new ArrayList<String>();
+		try (IUJournaledList<String> list = open(100)) {
+			mutate(list, reference, random, 1050);
+			list.checkpoint();
+			mutate(list, reference, random, 20);
+		}
+
+		// One checkpoint is left, and journal segments from before it are gone.
+		int checkpoints = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "checkpoint-*")) {
+			for (Path file : files) {
+				checkpoints++;
+			}
+		}
+		assertEquals(1, checkpoints);
+		try (IUJournaledList<String> list = open(100)) {
+			assertEquals(reference.toString(), contents(list));
+		}
+	}
+
+	@Test
+	public void tornTailIsDropped() throws IOException {
+		IUJournaledList<String> list = open(0);
+		list.addToRear("a");
+		list.addToRear("b");
+		list.sync();
+
+		// A record cut short by a crash ends the journal.
+		Path last = null;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "journal-*")) {
+			for (Path file : files) {
+				if (last == null || file.getFileName().toString().compareTo(last.getFileName().toString()) > 0) {
+					last = file;
+				}
+			}
+		}
+		Files.write(last, new byte[] { 0, 0, 0, 42, 7 }, StandardOpenOption.APPEND);
+
+		try (IUJournaledList<String> reopened = open(0)) {
+			assertEquals("[a, b]", contents(reopened));
+			reopened.addToRear("c");
+		}
+		try (IUJournaledList<String> reopened = open(0)) {
+			assertEquals("[a, b, c]", contents(reopened));
+		}
+		list.close();
+	}
+
+	@Test
+	public void closedListRefusesMutations() throws IOException {
+		IUJournaledList<String> list = open(0);
+		list.addToRear("a");
+		list.close();
+		assertEquals("a", list.first());
+		assertThrows(IllegalStateException.class, () -> list.addToRear("b"));
+		assertTrue(list.contains("a"));
+	}
+}
@@ -0,0 +1,112 @@
+package dll;
+
+import static dll.IUDoubleLinkedListHashIndexTest.contents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for IUListSerializer.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUListSerializerTest {
+
+	@TempDir
+	Path directory;
+
+	private static <T> byte[] bytesOf(IUDoubleLinkedList<T> list, ElementCodec<T> codec) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		IUListSerializer.write(list, Channels.newChannel(out), codec);
+		return out.toByteArray();
+	}
+
+	private static <T> IUDoubleLinkedList<T> listOf(byte[] bytes, ElementCodec<T> codec) throws IOException {
+		IUDoubleLinkedList<T> list = new IUDoubleLinkedList<T>();
+		IUListSerializer.read(Channels.newChannel(new ByteArrayInputStream(bytes)), codec, list);
+		return list;
+	}
+
+	@Test
+	public void savesAndLoadsAListLargerThanABatch() throws IOException {
+		IUDoubleLinkedList<Integer> list = new IUDoubleLinkedList<Integer>();
+		int size = IUListSerializer.BATCH_BYTES;
+		for (int i = 0; i < size; i++) {
+			list.addToRear(i * 7);
+		}
+		Path file = directory.resolve("list.bin");
+		IUListSerializer.save(list, file, ElementCodec.INTEGER);
+		assertFalse(Files.exists(directory.resolve("list.bin.tmp")));
+
+		IUDoubleLinkedList<Integer> loaded = IUListSerializer.load(file, ElementCodec.INTEGER);
+		assertEquals(size, loaded.size());
+		for (int i = 0; i < size; i += 997) {
+			assertEquals(i * 7, loaded.get(i));
+		}
+		assertEquals((size - 1) * 7, loaded.last());
+		loaded.addToRear(-1);
+		assertEquals(-1, loaded.last());
+	}
+
+	@Test
+	public void variableWidthElementsAndNulls() throws IOException {
+		IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>();
+		list.addToRear("plain");
+		list.addToRear(null);
+		list.addToRear("");
+		list.addToRear("ünïcødé ✓");
+		list.addToRear("x".repeat(IUListSerializer.BATCH_BYTES * 2));
+		IUDoubleLinkedList<String> loaded = listOf(bytesOf(list, ElementCodec.STRING), ElementCodec.STRING);
+		assertEquals(contents(list), contents(loaded));
+	}
+
+	@Test
+	public void loadsIntoAHashIndexedList() throws IOException {
+		IUDoubleLinkedList<String> list = new IUDoubleLinkedList<String>();
+		list.addToRear("a");
+		list.addToRear("b");
+		Path file = directory.resolve("indexed.bin");
+		IUListSerializer.save(list, file, ElementCodec.STRING);
+
+		IUDoubleLinkedList<String> indexed = new IUDoubleLinkedList<String>(true);
+		indexed.addToRear("z");
+		IUListSerializer.load(file, ElementCodec.STRING, indexed);
+		assertEquals("[z, a, b]", contents(indexed));
+		assertEquals(2, indexed.indexOf("b"));
+		assertTrue(indexed.contains("a"));
+	}
+
+	@Test
+	public void rejectsDamagedOrForeignFiles() throws IOException {
+		IUDoubleLinkedList<Long> list = new IUDoubleLinkedList<Long>();
+		list.addToRear(1L);
+		list.addToRear(2L);
+		byte[] bytes = bytesOf(list, ElementCodec.LONG);
+
+		assertThrows(IOException.class, () -> listOf(bytes, ElementCodec.INTEGER));
+
+		byte[] flipped = bytes.clone();
+		flipped[flipped.length - 6] ^= 1;
+		assertThrows(IOException.class, () -> listOf(flipped, ElementCodec.LONG));
+
+		byte[] truncated = Arrays.copyOf(bytes, bytes.length - 3);
+		assertThrows(IOException.class, () -> listOf(truncated, ElementCodec.LONG));
+
+		byte[] foreign = bytes.clone();
+		foreign[0] = 0;
+		assertThrows(IOException.class, () -> listOf(foreign, ElementCodec.LONG));
+		assertEquals("[1, 2]", contents(listOf(bytes, ElementCodec.LONG)));
+	}
+}
@@ -0,0 +1,107 @@
+package dll;
+
+import static dll.IUDoubleLinkedListHashIndexTest.contents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests for IUOffHeapList, in direct buffers and on a memory-mapped file.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUOffHeapListTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	public void operationsAgreeWithArrayList() {
+		ListFuzz.run(() -> new IUOffHeapList<Integer>(ElementCodec.INTEGER, 4), 24000, 300, 200);
+		ListFuzz.run(() -> new IUOffHeapList<Integer>(ElementCodec.INTEGER), 25000, 50, 200);
+	}
+
+	@Test
+	public void listIteratorAgreesWithArrayList() {
+		ListFuzz.runIterator(() -> new IUOffHeapList<Integer>(ElementCodec.INTEGER, 4), 24000, 500, 40);
+	}
+
+	@Test
+	public void elementsCompareByTheirBytes() {
+		IUOffHeapList<Long> list = new IUOffHeapList<Long>(ElementCodec.LONG, 2);
+		for (long i = 0; i < 10; i++) {
+			list.addToRear(i * 1000000007L);
+		}
+		assertEquals(3, list.indexOf(3000000021L));
+		assertTrue(list.contains(9000000063L));
+		assertEquals(5000000035L, list.remove(Long.valueOf(5000000035L)));
+		assertEquals(-1, list.indexOf(5000000035L));
+		assertThrows(IllegalArgumentException.class, () -> new IUOffHeapList<String>(ElementCodec.STRING));
+		assertThrows(IllegalArgumentException.class, () -> new IUOffHeapList<Long>(ElementCodec.LONG, 3));
+	}
+
+	@Test
+	public void compactKeepsTheOrder() throws IOException {
+		IUOffHeapList<Integer> list = new IUOffHeapList<Integer>(ElementCodec.INTEGER, 4);
+		for (int i = 0; i < 20; i++) {
+			list.addToFront(i);
+		}
+		for (int i = 0; i < 5; i++) {
+			list.remove(3);
+		}
+		String before = contents(list);
+		list.compact();
+		assertEquals(before, contents(list));
+		list.add(2, -1);
+		assertEquals(-1, list.get(2));
+		assertEquals(19, list.remove(0));
+	}
+
+	@Test
+	public void fileBackedListIsReopened() throws IOException {
+		Path file = directory.resolve("list.iuoh");
+		try (IUOffHeapList<Integer> list = new IUOffHeapList<Integer>(file, ElementCodec.INTEGER, 8)) {
+			for (int i = 0; i < 100; i++) {
+				list.addToRear(i);
+			}
+			list.removeFirst();
+			list.add(50, -1);
+		}
+		try (IUOffHeapList<Integer> list = new IUOffHeapList<Integer>(file, ElementCodec.INTEGER, 8)) {
+			assertEquals(100, list.size());
+			assertEquals(1, list.first());
+			assertEquals(-1, list.get(50));
+			assertEquals(99, list.last());
+			list.compact();
+			list.addToRear(100);
+		}
+		try (IUOffHeapList<Integer> list = new IUOffHeapList<Integer>(file, ElementCodec.INTEGER, 8)) {
+			assertEquals(101, list.size());
+			assertEquals(100, list.last());
+			assertEquals(-1, list.get(50));
+		}
+		assertThrows(IOException.class, () -> new IUOffHeapList<Long>(file, ElementCodec.LONG, 8));
+	}
+
+	@Test
+	public void fileChangedWithoutForceIsRefused() throws IOException {
+		Path file = directory.resolve("dirty.iuoh");
+		IUOffHeapList<Integer> list = new IUOffHeapList<Integer>(file, ElementCodec.INTEGER, 8);
+		list.addToRear(1);
+		list.force();
+		list.addToRear(2);
+
+		// The list is abandoned without close, as in a crash.
+		assertThrows(IOException.class, () -> new IUOffHeapList<Integer>(file, ElementCodec.INTEGER, 8));
+		list.close();
+		try (IUOffHeapList<Integer> reopened = new IUOffHeapList<Integer>(file, ElementCodec.INTEGER, 8)) {
+			assertEquals("[1, 2]", contents(reopened));
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package dll;
+
+import static dll.IUDoubleLinkedListHashIndexTest.contents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for IUPersistentList.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUPersistentListTest {
+
+	@Test
+	public void operationsAgreeWithArrayList() {
+		ListFuzz.run(IUPersistentList::new, 15000, 300, 200);
+	}
+
+	@Test
+	public void listIteratorAgreesWithArrayList() {
+		ListFuzz.runIterator(IUPersistentList::new, 15000, 500, 40);
+	}
+
+	@Test
+	public void snapshotsChangeIndependently() {
+		IUPersistentList<String> list = new IUPersistentList<String>();
+		list.addToRear("a");
+		list.addToRear("b");
+		IUPersistentList<String> snapshot = list.snapshot();
+		list.set(0, "x");
+		list.addToRear("c");
+		snapshot.removeLast();
+
+		assertEquals("[x, b, c]", contents(list));
+		assertEquals("[a]", contents(snapshot));
+		assertEquals(1, snapshot.snapshot().size());
+	}
+
+	@Test
+	public void iteratorsWalkTheirVersion() {
+		IUPersistentList<Integer> list = new IUPersistentList<Integer>();
+		for (int i = 0; i < 100; i++) {
+			list.addToRear(i);
+		}
+		Iterator<Integer> it = list.iterator();
+		ListIterator<Integer> writer = list.listIterator(50);
+		list.removeFirst();
+		list.addToRear(100);
+
+		// The iterator keeps returning the version it started on.
+		List<Integer> seen = new ArrayList<Integer>();
+		it.forEachRemaining(seen::add);
+		assertEquals(100, seen.size());
+		assertEquals(0, seen.get(0));
+		assertEquals(99, seen.get(99));
+
+		// Writes through an outdated list iterator are refused.
+		writer.next();
+		assertThrows(ConcurrentModificationException.class, writer::remove);
+		assertEquals(100, list.size());
+		assertFalse(list.contains(0));
+	}
+
+	@Test
+	public void concurrentWritersAllSucceed() throws InterruptedException {
+		IUPersistentList<Integer> list = new IUPersistentList<Integer>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int t = 0; t < 4; t++) {
+			int base = t * 10000;
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 10000; i++) {
+					list.addToRear(base + i);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertEquals(40000, list.size());
+		boolean[] seen = new boolean[40000];
+		for (int element : list) {
+			assertFalse(seen[element]);
+			seen[element] = true;
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for IUSkipList.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUSkipListTest {
+
+	@Test
+	public void operationsAgreeWithArrayList() {
+		ListFuzz.run(IUSkipList::new, 3000, 300, 200);
+	}
+
+	@Test
+	public void listIteratorAgreesWithArrayList() {
+		ListFuzz.runIterator(IUSkipList::new, 3000, 500, 40);
+	}
+
+	@Test
+	public void indexedAccessOnALargeList() {
+		IUSkipList<Integer> list = new IUSkipList<Integer>();
+		for (int i = 0; i < 50000; i++) {
+			list.addToRear(i);
+		}
+		for (int i = 0; i < 50000; i += 7) {
+			assertEquals(i, list.get(i));
+		}
+
+		// Removes every other element from the front half.
+		for (int i = 0; i < 12500; i++) {
+			assertEquals(2 * i + 1, list.remove(i + 1));
+		}
+		assertEquals(37500, list.size());
+		assertEquals(24998, list.get(12499));
+		assertEquals(25000, list.get(12500));
+		list.add(12500, -1);
+		assertEquals(-1, list.get(12500));
+		assertEquals(49999, list.last());
+	}
+
+	@Test
+	public void iteratorsFailFast() {
+		IUSkipList<Integer> list = new IUSkipList<Integer>();
+		for (int i = 0; i < 10; i++) {
+			list.addToRear(i);
+		}
+		Iterator<Integer> it = list.iterator();
+		it.next();
+		list.remove(3);
+		assertThrows(ConcurrentModificationException.class, it::next);
+
+		ListIterator<Integer> listIt = list.listIterator(5);
+		list.set(0, -1);
+		assertThrows(ConcurrentModificationException.class, listIt::previous);
+	}
+}
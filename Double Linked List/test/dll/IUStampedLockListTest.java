@@ -0,0 +1,83 @@
+package dll;
+
+import static dll.IUDoubleLinkedListHashIndexTest.contents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ListIterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for IUStampedLockList.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUStampedLockListTest {
+
+	@Test
+	public void operationsAgreeWithArrayList() {
+		ListFuzz.run(IUStampedLockList::new, 12000, 200, 200);
+	}
+
+	@Test
+	public void iteratorsWalkASnapshot() {
+		IUStampedLockList<String> list = new IUStampedLockList<String>();
+		list.addToRear("a");
+		list.addToRear("b");
+		ListIterator<String> it = list.listIterator(1);
+		list.addToRear("c");
+		list.removeFirst();
+
+		assertEquals("b", it.next());
+		assertFalse(it.hasNext());
+		assertEquals("b", it.previous());
+		assertEquals("a", it.previous());
+		assertThrows(UnsupportedOperationException.class, it::remove);
+		assertEquals("[b, c]", contents(list));
+	}
+
+	@Test
+	public void batchesAreSeenWhole() throws InterruptedException {
+		IUStampedLockList<Integer> list = new IUStampedLockList<Integer>();
+		AtomicBoolean done = new AtomicBoolean();
+		AtomicReference<String> failure = new AtomicReference<String>();
+
+		// Every batch adds a pair, so readers must never see an odd size.
+		Thread writer = new Thread(() -> {
+			for (int i = 0; i < 20000; i++) {
+				int element = i;
+				list.writeBatch(l -> {
+					l.addToRear(element);
+					l.addToRear(-element);
+				});
+			}
+			done.set(true);
+		});
+		Thread reader = new Thread(() -> {
+			while (!done.get()) {
+				int size = list.size();
+				if (size % 2 != 0) {
+					failure.compareAndSet(null, "odd size " + size);
+				}
+				if (size > 0) {
+					int first = list.get(0);
+					if (first != 0 || list.last() > 0) {
+						failure.compareAndSet(null, "first " + first + ", last " + list.last());
+					}
+				}
+			}
+		});
+		writer.start();
+		reader.start();
+		writer.join();
+		reader.join();
+
+		assertEquals(null, failure.get());
+		assertEquals(40000, list.size());
+		assertEquals(-19999, list.last());
+	}
+}
@@ -0,0 +1,93 @@
+package dll;
+
+import static dll.IUDoubleLinkedListHashIndexTest.contents;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for IUUnrolledLinkedList. Small node capacities make every few
+ * operations split or merge a node.
+ *
+ * @author Joshua McKerracher
+ */
+public class IUUnrolledLinkedListTest {
+
+	@Test
+	public void operationsAgreeWithArrayList() {
+		for (int capacity : new int[] { 2, 3, 4, 32 }) {
+			ListFuzz.run(() -> new IUUnrolledLinkedList<Integer>(capacity), capacity * 1000, 200, 200);
+		}
+	}
+
+	@Test
+	public void listIteratorAgreesWithArrayList() {
+		for (int capacity : new int[] { 2, 3, 4 }) {
+			ListFuzz.runIterator(() -> new IUUnrolledLinkedList<Integer>(capacity), capacity * 1000, 500, 40);
+		}
+	}
+
+	@Test
+	public void insertsSplitFullNodes() {
+		IUUnrolledLinkedList<Integer> list = new IUUnrolledLinkedList<Integer>(4);
+		for (int i = 0; i < 20; i += 2) {
+			list.addToRear(i);
+		}
+		for (int i = 1; i < 20; i += 2) {
+			list.add(i, i);
+		}
+		for (int i = 0; i < 20; i++) {
+			assertEquals(i, list.get(i));
+		}
+		for (int i = 19; i >= 0; i -= 2) {
+			assertEquals(i, list.remove(i));
+		}
+		assertEquals("[0, 2, 4, 6, 8, 10, 12, 14, 16, 18]", contents(list));
+	}
+
+	@Test
+	public void rejectsTinyNodes() {
+		assertThrows(IllegalArgumentException.class, () -> new IUUnrolledLinkedList<Integer>(1));
+	}
+
+	@Test
+	public void iteratorsFailFast() {
+		IUUnrolledLinkedList<Integer> list = new IUUnrolledLinkedList<Integer>(4);
+		for (int i = 0; i < 10; i++) {
+			list.addToRear(i);
+		}
+		Iterator<Integer> it = list.iterator();
+		it.next();
+		list.addToFront(-1);
+		assertThrows(ConcurrentModificationException.class, it::next);
+
+		ListIterator<Integer> listIt = list.listIterator(5);
+		list.removeLast();
+		assertThrows(ConcurrentModificationException.class, listIt::previous);
+	}
+
+	@Test
+	public void spliteratorSplitsWithExactSizes() {
+		IUUnrolledLinkedList<Integer> list = new IUUnrolledLinkedList<Integer>(4);
+		for (int i = 0; i < 1000; i++) {
+			list.addToRear(i);
+		}
+		Spliterator<Integer> right = list.spliterator();
+		assertEquals(1000, right.getExactSizeIfKnown());
+		Spliterator<Integer> left = right.trySplit();
+		assertEquals(1000, left.estimateSize() + right.estimateSize());
+		int[] next = { 0 };
+		left.forEachRemaining(e -> assertEquals(next[0]++, e));
+		right.forEachRemaining(e -> assertEquals(next[0]++, e));
+		assertEquals(1000, next[0]);
+
+		assertEquals(999 * 1000 / 2, (long) list.parallelStream().collect(Collectors.summingLong(e -> e)));
+	}
+}
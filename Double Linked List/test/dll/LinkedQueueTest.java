@@ -0,0 +1,110 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for MpscLinkedQueue and SpscLinkedQueue.
+ *
+ * @author Joshua McKerracher
+ */
+public class LinkedQueueTest {
+
+	private static final int PER_PRODUCER = 50000; // elements each producer adds
+
+	@Test
+	public void singleThreadedFifo() {
+		for (AbstractLinkedQueue<String> queue : List.of(new MpscLinkedQueue<String>(),
+				new SpscLinkedQueue<String>())) {
+			assertTrue(queue.isEmpty());
+			assertNull(queue.poll());
+			assertThrows(NoSuchElementException.class, queue::removeFirst);
+			assertThrows(NoSuchElementException.class, queue::first);
+			assertThrows(NullPointerException.class, () -> queue.addToRear(null));
+
+			queue.addToRear("a");
+			queue.addToRear("b");
+			queue.addToRear("c");
+			assertEquals(3, queue.size());
+			assertEquals("a", queue.first());
+			assertEquals("a", queue.removeFirst());
+
+			List<String> drained = new ArrayList<String>();
+			assertEquals(1, queue.drain(drained::add, 1));
+			queue.addToRear("d");
+			assertEquals(2, queue.drain(drained::add, 10));
+			assertEquals(List.of("b", "c", "d"), drained);
+			assertTrue(queue.isEmpty());
+			assertEquals(0, queue.size());
+			assertThrows(IllegalArgumentException.class, () -> queue.drain(drained::add, -1));
+		}
+	}
+
+	@Test
+	public void spscKeepsOrderAcrossThreads() throws InterruptedException {
+		SpscLinkedQueue<Integer> queue = new SpscLinkedQueue<Integer>();
+		Thread producer = new Thread(() -> {
+			for (int i = 0; i < PER_PRODUCER; i++) {
+				queue.addToRear(i);
+			}
+		});
+		producer.start();
+		for (int expected = 0; expected < PER_PRODUCER;) {
+			Integer element = queue.poll();
+			if (element == null) {
+				Thread.yield();
+			} else {
+				assertEquals(expected++, element);
+			}
+		}
+		producer.join();
+		assertTrue(queue.isEmpty());
+	}
+
+	@Test
+	public void mpscLosesNothingAndKeepsProducerOrder() throws InterruptedException {
+		int producers = 4;
+		MpscLinkedQueue<Integer> queue = new MpscLinkedQueue<Integer>();
+		List<Thread> threads = new ArrayList<Thread>();
+		for (int p = 0; p < producers; p++) {
+			int producer = p;
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < PER_PRODUCER; i++) {
+					queue.addToRear(producer * PER_PRODUCER + i);
+				}
+			});
+			thread.start();
+			threads.add(thread);
+		}
+
+		int[] lastSequence = new int[producers];
+		Arrays.fill(lastSequence, -1);
+		int[] taken = { 0 };
+		while (taken[0] < producers * PER_PRODUCER) {
+			int drained = queue.drain(element -> {
+				int producer = element / PER_PRODUCER;
+				int sequence = element % PER_PRODUCER;
+				assertEquals(lastSequence[producer] + 1, sequence);
+				lastSequence[producer] = sequence;
+				taken[0]++;
+			}, 64);
+			if (drained == 0) {
+				Thread.yield();
+			}
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		assertTrue(queue.isEmpty());
+		assertNull(queue.poll());
+	}
+}
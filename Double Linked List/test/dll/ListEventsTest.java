@@ -0,0 +1,98 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests for the Flight Recorder events of IUDoubleLinkedList.
+ *
+ * @author Joshua McKerracher
+ */
+public class ListEventsTest {
+
+	/**
+	 * Runs the action while recording the list events and returns the events of
+	 * the given type.
+	 */
+	private static List<RecordedEvent> record(String eventName, Runnable action) throws IOException {
+		Path file = Files.createTempFile("list-events", ".jfr");
+		try (Recording recording = new Recording()) {
+			recording.enable(eventName);
+			recording.start();
+			action.run();
+			recording.stop();
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file).stream()
+					.filter(e -> e.getEventType().getName().equals(eventName)).collect(Collectors.toList());
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+
+	private static IUDoubleLinkedList<Integer> list(int size) {
+		IUDoubleLinkedList<Integer> list = new IUDoubleLinkedList<Integer>();
+		for (int i = 0; i < size; i++) {
+			list.addToRear(i);
+		}
+		return list;
+	}
+
+	@Test
+	public void longWalksEmitTraversalEvents() throws IOException {
+		IUDoubleLinkedList<Integer> list = list(1000);
+		list.setTraversalEventThreshold(100);
+		List<RecordedEvent> events = record("IUDoubleLinkedList.Traversal", () -> {
+			list.get(10);
+			list.get(500);
+		});
+
+		// Only the walk to the middle reaches the threshold.
+		assertEquals(1, events.size());
+		assertEquals("GET", events.get(0).getString("operation"));
+		assertEquals(1000, events.get(0).getInt("size"));
+		assertEquals(490, events.get(0).getLong("nodesWalked"));
+		assertThrows(IllegalArgumentException.class, () -> list.setTraversalEventThreshold(0));
+	}
+
+	@Test
+	public void bulkOperationsEmitEvents() throws IOException {
+		IUDoubleLinkedList<Integer> list = list(100);
+		List<RecordedEvent> events = record("IUDoubleLinkedList.BulkOperation", () -> {
+			IUDoubleLinkedList<Integer> rest = list.splitAt(60);
+			list.removeRange(0, 10);
+			list.appendAll(rest);
+		});
+		assertEquals(List.of("splitAt", "removeRange", "appendAll"),
+				events.stream().map(e -> e.getString("operation")).collect(Collectors.toList()));
+		assertEquals(List.of(40, 10, 40), events.stream().map(e -> e.getInt("elements")).collect(Collectors.toList()));
+		assertEquals(90, events.get(2).getInt("size"));
+	}
+
+	@Test
+	public void iteratorsEmitConcurrentModificationEvents() throws IOException {
+		IUDoubleLinkedList<Integer> list = list(10);
+		List<RecordedEvent> events = record("IUDoubleLinkedList.ConcurrentModification", () -> {
+			Iterator<Integer> it = list.iterator();
+			it.next();
+			list.addToRear(10);
+			assertThrows(ConcurrentModificationException.class, it::next);
+		});
+		assertEquals(1, events.size());
+		assertEquals("next", events.get(0).getString("operation"));
+		assertEquals(11, events.get(0).getInt("size"));
+	}
+}
@@ -0,0 +1,374 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Differential test of an IndexedUnsortedList against java.util.ArrayList.
+ * Random operations are applied to both, and after each one the results, the
+ * thrown exceptions and the contents have to agree.
+ *
+ * Every element added is a distinct object, so implementations that compare
+ * with == and those that compare with equals give the same answers.
+ *
+ * @author Joshua McKerracher
+ */
+final class ListFuzz {
+
+	private static final int MAX_SIZE = 48; // lists are kept around this size
+
+	private final IndexedUnsortedList<Integer> list; // list under test
+	private final List<Integer> reference; // what the list should hold
+	private final Random random; // source of operations
+	private final StringBuilder log; // operations applied so far, for the failure message
+	private int nextElement; // value of the next element created
+
+	private ListFuzz(IndexedUnsortedList<Integer> list, long seed) {
+		this.list = list;
+		this.reference = new ArrayList<Integer>();
+		this.random = new Random(seed);
+		this.log = new StringBuilder("seed " + seed + ":");
+		this.nextElement = 1000;
+	}
+
+	/**
+	 * Runs the given number of random operation sequences, each on a new list.
+	 *
+	 * @param factory    creates an empty list to test
+	 * @param seed       seed of the first sequence
+	 * @param sequences  number of sequences
+	 * @param operations operations per sequence
+	 */
+	static void run(Supplier<? extends IndexedUnsortedList<Integer>> factory, long seed, int sequences,
+			int operations) {
+		for (int s = 0; s < sequences; s++) {
+			ListFuzz fuzz = new ListFuzz(factory.get(), seed + s);
+			for (int i = 0; i < operations; i++) {
+				fuzz.step();
+			}
+		}
+	}
+
+	/**
+	 * Runs the given number of random list iterator sequences. Each fills a new
+	 * list, opens a list iterator at a random index and applies random iterator
+	 * operations to it and to an ArrayList iterator.
+	 *
+	 * @param factory    creates an empty list to test
+	 * @param seed       seed of the first sequence
+	 * @param sequences  number of sequences
+	 * @param operations iterator operations per sequence
+	 */
+	static void runIterator(Supplier<? extends IndexedUnsortedList<Integer>> factory, long seed, int sequences,
+			int operations) {
+		for (int s = 0; s < sequences; s++) {
+			ListFuzz fuzz = new ListFuzz(factory.get(), seed + s);
+			int size = fuzz.random.nextInt(12);
+			for (int i = 0; i < size; i++) {
+				Integer element = fuzz.fresh();
+				fuzz.list.addToRear(element);
+				fuzz.reference.add(element);
+			}
+			int start = fuzz.random.nextInt(size + 1);
+			fuzz.log.append(" size ").append(size).append(" listIterator(").append(start).append(')');
+			ListIterator<Integer> it = fuzz.list.listIterator(start);
+			ListIterator<Integer> expected = fuzz.reference.listIterator(start);
+			for (int i = 0; i < operations; i++) {
+				fuzz.iteratorStep(it, expected);
+			}
+		}
+	}
+
+	private void iteratorStep(ListIterator<Integer> it, ListIterator<Integer> expected) {
+		switch (random.nextInt(7)) {
+		case 0:
+		case 1:
+			compare("next", it::next, expected::next);
+			break;
+		case 2:
+		case 3:
+			compare("previous", it::previous, expected::previous);
+			break;
+		case 4:
+			compare("remove", () -> {
+				it.remove();
+				return null;
+			}, () -> {
+				expected.remove();
+				return null;
+			});
+			break;
+		case 5: {
+			Integer element = fresh();
+			compare("set(" + element + ")", () -> {
+				it.set(element);
+				return null;
+			}, () -> {
+				expected.set(element);
+				return null;
+			});
+			break;
+		}
+		default: {
+			Integer element = fresh();
+			compare("add(" + element + ")", () -> {
+				it.add(element);
+				return null;
+			}, () -> {
+				expected.add(element);
+				return null;
+			});
+			break;
+		}
+		}
+		assertEquals(expected.hasNext(), it.hasNext(), log::toString);
+		assertEquals(expected.hasPrevious(), it.hasPrevious(), log::toString);
+		assertEquals(expected.nextIndex(), it.nextIndex(), log::toString);
+		assertEquals(expected.previousIndex(), it.previousIndex(), log::toString);
+		checkContents();
+	}
+
+	/**
+	 * Returns a new element object that is not in the list.
+	 */
+	private Integer fresh() {
+		return Integer.valueOf(nextElement++);
+	}
+
+	/**
+	 * Returns an element of the list, or a new one if the list is empty or by
+	 * chance.
+	 */
+	private Integer someElement() {
+		if (reference.isEmpty() || random.nextInt(8) == 0) {
+			return fresh();
+		}
+		return reference.get(random.nextInt(reference.size()));
+	}
+
+	/**
+	 * Returns an index, sometimes one out of range.
+	 *
+	 * @param bound the first index past the valid range
+	 */
+	private int someIndex(int bound) {
+		if (random.nextInt(10) == 0) {
+			return random.nextBoolean() ? -1 : bound + random.nextInt(2);
+		}
+		return (bound == 0) ? 0 : random.nextInt(bound);
+	}
+
+	private void step() {
+		// Leans towards removing once the list is large.
+		boolean shrink = reference.size() > MAX_SIZE;
+		int operation = random.nextInt(shrink ? 8 : 16);
+		switch (operation) {
+		case 0:
+			compare("removeFirst", () -> list.removeFirst(), () -> {
+				if (reference.isEmpty()) {
+					throw new NoSuchElementException();
+				}
+				return reference.remove(0);
+			});
+			break;
+		case 1:
+			compare("removeLast", () -> list.removeLast(), () -> {
+				if (reference.isEmpty()) {
+					throw new NoSuchElementException();
+				}
+				return reference.remove(reference.size() - 1);
+			});
+			break;
+		case 2: {
+			Integer element = someElement();
+			compare("remove(" + element + ")", () -> list.remove(element), () -> {
+				if (!reference.remove(element)) {
+					throw new NoSuchElementException();
+				}
+				return element;
+			});
+			break;
+		}
+		case 3: {
+			int index = someIndex(reference.size());
+			compare("remove(" + index + ")", () -> list.remove(index), () -> reference.remove(index));
+			break;
+		}
+		case 4: {
+			int index = someIndex(reference.size());
+			compare("get(" + index + ")", () -> list.get(index), () -> reference.get(index));
+			break;
+		}
+		case 5: {
+			Integer element = someElement();
+			compare("indexOf(" + element + ")", () -> list.indexOf(element), () -> reference.indexOf(element));
+			compare("contains(" + element + ")", () -> list.contains(element), () -> reference.contains(element));
+			break;
+		}
+		case 6: {
+			int index = someIndex(reference.size());
+			Integer element = fresh();
+			compare("set(" + index + ", " + element + ")", () -> {
+				list.set(index, element);
+				return null;
+			}, () -> {
+				reference.set(index, element);
+				return null;
+			});
+			break;
+		}
+		case 7:
+			compare("first/last", () -> list.first() + "/" + list.last(), () -> {
+				if (reference.isEmpty()) {
+					throw new NoSuchElementException();
+				}
+				return reference.get(0) + "/" + reference.get(reference.size() - 1);
+			});
+			walkBackwards();
+			break;
+		case 8:
+		case 9: {
+			Integer element = fresh();
+			compare("addToFront(" + element + ")", () -> {
+				list.addToFront(element);
+				return null;
+			}, () -> {
+				reference.add(0, element);
+				return null;
+			});
+			break;
+		}
+		case 10:
+		case 11: {
+			Integer element = fresh();
+			compare("addToRear(" + element + ")", () -> {
+				list.addToRear(element);
+				return null;
+			}, () -> {
+				reference.add(element);
+				return null;
+			});
+			break;
+		}
+		case 12:
+		case 13: {
+			int index = someIndex(reference.size() + 1);
+			Integer element = fresh();
+			compare("add(" + index + ", " + element + ")", () -> {
+				list.add(index, element);
+				return null;
+			}, () -> {
+				reference.add(index, element);
+				return null;
+			});
+			break;
+		}
+		default: {
+			Integer target = someElement();
+			Integer element = fresh();
+			compare("addAfter(" + element + ", " + target + ")", () -> {
+				list.addAfter(element, target);
+				return null;
+			}, () -> {
+				int index = reference.indexOf(target);
+				if (index == -1) {
+					throw new NoSuchElementException();
+				}
+				reference.add(index + 1, element);
+				return null;
+			});
+			break;
+		}
+		}
+		checkContents();
+	}
+
+	/**
+	 * An operation that returns a result or throws.
+	 */
+	private interface Operation {
+		Object apply();
+	}
+
+	/**
+	 * Applies an operation to the list and to the reference and compares the
+	 * outcome: the same result, or the same type of exception.
+	 */
+	private void compare(String name, Operation onList, Operation onReference) {
+		log.append(' ').append(name);
+		Object expected = null;
+		Object actual = null;
+		Class<?> expectedFailure = null;
+		Class<?> actualFailure = null;
+		try {
+			expected = onReference.apply();
+		} catch (RuntimeException e) {
+			expectedFailure = failureType(e);
+		}
+		try {
+			actual = onList.apply();
+		} catch (RuntimeException e) {
+			actualFailure = failureType(e);
+			if (actualFailure == null) {
+				fail(log + " threw " + e, e);
+			}
+		}
+		assertEquals(expectedFailure, actualFailure, log::toString);
+		assertEquals(expected, actual, log::toString);
+	}
+
+	/**
+	 * Returns the contract exception type a failure belongs to, or null for any
+	 * other exception.
+	 */
+	private static Class<?> failureType(RuntimeException e) {
+		if (e instanceof IndexOutOfBoundsException) {
+			return IndexOutOfBoundsException.class;
+		}
+		if (e instanceof NoSuchElementException) {
+			return NoSuchElementException.class;
+		}
+		if (e instanceof IllegalStateException) {
+			return IllegalStateException.class;
+		}
+		return null;
+	}
+
+	/**
+	 * Checks size, isEmpty and the order of the elements seen by the iterator.
+	 */
+	private void checkContents() {
+		assertEquals(reference.size(), list.size(), log::toString);
+		assertEquals(reference.isEmpty(), list.isEmpty(), log::toString);
+		Iterator<Integer> it = list.iterator();
+		for (Integer element : reference) {
+			if (!it.hasNext()) {
+				fail(log + " iterator ended early, expected " + reference);
+			}
+			assertEquals(element, it.next(), log::toString);
+		}
+		if (it.hasNext()) {
+			fail(log + " iterator has more than " + reference);
+		}
+	}
+
+	/**
+	 * Walks a list iterator from a random index back to the front.
+	 */
+	private void walkBackwards() {
+		int start = random.nextInt(reference.size() + 1);
+		ListIterator<Integer> it = list.listIterator(start);
+		for (int i = start - 1; i >= 0; i--) {
+			assertEquals(i, it.previousIndex(), log::toString);
+			assertEquals(reference.get(i), it.previous(), log::toString);
+		}
+	}
+}
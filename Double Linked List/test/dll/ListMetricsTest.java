@@ -0,0 +1,94 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the operation metrics of IUDoubleLinkedList and the latency
+ * histogram behind them.
+ *
+ * @author Joshua McKerracher
+ */
+public class ListMetricsTest {
+
+	@Test
+	public void metricsCountCallsAndNodes() {
+		IUDoubleLinkedList<Integer> list = new IUDoubleLinkedList<Integer>();
+		for (int i = 0; i < 100; i++) {
+			list.addToRear(i);
+		}
+		assertNull(list.metrics());
+
+		list.enableMetrics();
+		list.get(10);
+		list.get(12);
+		list.set(50, -1);
+		list.indexOf(-1);
+		ListMetrics metrics = list.metrics();
+
+		ListMetrics.OperationStats get = metrics.get(ListMetrics.Operation.GET);
+		assertEquals(2, get.getCalls());
+		assertEquals(12, get.getNodesTraversed());
+		assertEquals(6.0, get.getMeanNodesTraversed());
+		assertTrue(get.getP50Nanos() <= get.getP99Nanos());
+		assertTrue(get.getP99Nanos() <= get.getMaxNanos());
+		assertEquals(1, metrics.get(ListMetrics.Operation.SET).getCalls());
+		assertEquals(1, metrics.get(ListMetrics.Operation.INDEX_OF).getCalls());
+		assertEquals(0, metrics.get(ListMetrics.Operation.REMOVE_AT).getCalls());
+
+		// A snapshot does not change afterwards.
+		list.get(0);
+		assertEquals(2, get.getCalls());
+		assertEquals(3, list.metrics().get(ListMetrics.Operation.GET).getCalls());
+
+		list.disableMetrics();
+		assertNull(list.metrics());
+	}
+
+	@Test
+	public void recorderRegistersWithJmx() throws JMException {
+		IUDoubleLinkedList<Integer> list = new IUDoubleLinkedList<Integer>();
+		list.addToRear(1);
+		ListMetricsRecorder recorder = list.enableMetrics();
+		recorder.register("metrics test");
+		ObjectName name = new ObjectName("IUDoubleLinkedList:type=ListMetrics,name=" + ObjectName.quote("metrics test"));
+		assertTrue(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+
+		list.get(0);
+		assertEquals(1L, recorder.getCalls().get("GET"));
+		assertFalse(recorder.getCalls().containsKey("SET"));
+
+		list.disableMetrics();
+		assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+	}
+
+	@Test
+	public void histogramPercentilesStayWithinABucket() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, LatencyHistogram.valueAtPercentile(histogram.counts(), 50.0));
+		for (long value = 1; value <= 1000; value++) {
+			histogram.record(value * 1000);
+		}
+		histogram.record(-5);
+		assertEquals(1000000, histogram.max());
+
+		long[] counts = histogram.counts();
+		long p50 = LatencyHistogram.valueAtPercentile(counts, 50.0);
+		long p99 = LatencyHistogram.valueAtPercentile(counts, 99.0);
+		assertTrue(p50 >= 500000 && p50 <= 500000 * 1.125, "p50 " + p50);
+		assertTrue(p99 >= 990000 && p99 <= 990000 * 1.125, "p99 " + p99);
+		assertEquals(0, LatencyHistogram.valueAtPercentile(counts, 0.0));
+
+		histogram.reset();
+		assertEquals(0, LatencyHistogram.valueAtPercentile(histogram.counts(), 100.0));
+	}
+}
@@ -0,0 +1,107 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for LruCache and ConcurrentLruCache.
+ *
+ * @author Joshua McKerracher
+ */
+public class LruCacheTest {
+
+	@Test
+	public void evictsTheLeastRecentlyUsedEntry() {
+		LruCache<String, Integer> cache = new LruCache<String, Integer>(3);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.put("c", 3);
+		assertEquals(1, cache.get("a"));
+		assertNull(cache.put("d", 4));
+		assertFalse(cache.containsKey("b"));
+		assertEquals("d=4, a=1, c=3", cache.toString());
+
+		assertEquals(3, cache.put("c", 30));
+		cache.setMaxSize(2);
+		assertEquals("c=30, d=4", cache.toString());
+		assertNull(cache.get("a"));
+		assertEquals(4, cache.remove("d"));
+		assertNull(cache.remove("d"));
+		assertEquals(1, cache.size());
+
+		assertEquals(1, cache.getHitCount());
+		assertEquals(1, cache.getMissCount());
+		assertEquals(2, cache.getEvictionCount());
+		cache.resetStatistics();
+		assertEquals(0, cache.getHitCount());
+
+		cache.clear();
+		assertEquals("The cache is empty.", cache.toString());
+		assertThrows(NullPointerException.class, () -> cache.put("x", null));
+		assertThrows(IllegalArgumentException.class, () -> new LruCache<String, Integer>(0));
+	}
+
+	@Test
+	public void concurrentCacheKeepsTheSameOrderOnOneThread() {
+		ConcurrentLruCache<String, Integer> cache = new ConcurrentLruCache<String, Integer>(3);
+		cache.put("a", 1);
+		cache.put("b", 2);
+		cache.put("c", 3);
+		assertEquals(1, cache.get("a"));
+		assertNull(cache.put("d", 4));
+		assertFalse(cache.containsKey("b"));
+		assertEquals("d=4, a=1, c=3", cache.toString());
+
+		cache.setMaxSize(1);
+		assertEquals("d=4", cache.toString());
+		assertEquals(1, cache.getHitCount());
+		assertEquals(3, cache.getEvictionCount());
+		cache.clear();
+		assertEquals(0, cache.size());
+		assertNull(cache.get("d"));
+		assertEquals(1, cache.getMissCount());
+	}
+
+	@Test
+	public void concurrentCacheStaysBoundedAndCountsExactly() throws InterruptedException {
+		int maxSize = 100;
+		int threads = 4;
+		int perThread = 50000;
+		ConcurrentLruCache<Integer, Integer> cache = new ConcurrentLruCache<Integer, Integer>(maxSize);
+		AtomicReference<String> failure = new AtomicReference<String>();
+		List<Thread> workers = new ArrayList<Thread>();
+		for (int t = 0; t < threads; t++) {
+			int seed = t;
+			Thread worker = new Thread(() -> {
+				for (int i = 0; i < perThread; i++) {
+					int key = (i * 37 + seed) % (2 * maxSize);
+					Integer value = cache.get(key);
+					if (value == null) {
+						cache.put(key, -key);
+					} else if (value != -key) {
+						failure.compareAndSet(null, "key " + key + " had value " + value);
+					}
+				}
+			});
+			worker.start();
+			workers.add(worker);
+		}
+		for (Thread worker : workers) {
+			worker.join();
+		}
+
+		assertNull(failure.get());
+		assertEquals((long) threads * perThread, cache.getHitCount() + cache.getMissCount());
+		assertTrue(cache.getEvictionCount() > 0);
+		assertEquals(maxSize, cache.size());
+	}
+}
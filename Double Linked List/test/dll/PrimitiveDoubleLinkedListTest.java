@@ -0,0 +1,118 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the int, long and double specialized double linked lists.
+ *
+ * @author Joshua McKerracher
+ */
+public class PrimitiveDoubleLinkedListTest {
+
+	@Test
+	public void intListOperations() {
+		IntDoubleLinkedList list = new IntDoubleLinkedList();
+		assertTrue(list.isEmpty());
+		assertThrows(NoSuchElementException.class, list::removeFirst);
+
+		for (int i = 0; i < 10; i++) {
+			list.addToRear(i);
+		}
+		list.addToFront(-1);
+		list.addAfter(42, 4);
+		list.add(3, 7);
+		assertEquals("-1, 0, 1, 7, 2, 3, 4, 42, 5, 6, 7, 8, 9", list.toString());
+		assertEquals(3, list.indexOf(7));
+		assertTrue(list.contains(42));
+		assertEquals(42, list.getInt(7));
+		assertEquals(7, list.removeElement(7));
+		assertEquals(42, list.removeInt(6));
+		list.set(0, 100);
+		assertEquals(100, list.first());
+		assertEquals(9, list.last());
+		assertEquals(9, list.removeLast());
+		assertEquals(100, list.removeFirst());
+		assertEquals("0, 1, 2, 3, 4, 5, 6, 7, 8", list.toString());
+		assertThrows(IndexOutOfBoundsException.class, () -> list.getInt(9));
+		assertThrows(NoSuchElementException.class, () -> list.removeElement(42));
+	}
+
+	@Test
+	public void intIteratorWalksAndChangesTheList() {
+		IntDoubleLinkedList list = new IntDoubleLinkedList();
+		for (int i = 0; i < 5; i++) {
+			list.addToRear(i);
+		}
+		IntDoubleLinkedList.IntListIterator it = list.listIterator(2);
+		assertEquals(2, it.nextInt());
+		it.remove();
+		assertEquals(1, it.previousInt());
+		it.set(10);
+		it.add(20);
+		assertEquals(2, it.nextIndex());
+		assertEquals(10, it.nextInt());
+		assertEquals("0, 20, 10, 3, 4", list.toString());
+
+		int sum = 0;
+		for (IntDoubleLinkedList.IntListIterator all = list.iterator(); all.hasNext();) {
+			sum += all.nextInt();
+		}
+		assertEquals(37, sum);
+
+		list.addToRear(5);
+		assertThrows(ConcurrentModificationException.class, it::nextInt);
+		assertThrows(IllegalStateException.class, () -> list.iterator().remove());
+	}
+
+	@Test
+	public void longListOperations() {
+		LongDoubleLinkedList list = new LongDoubleLinkedList();
+		list.addToRear(Long.MAX_VALUE);
+		list.addToFront(Long.MIN_VALUE);
+		list.add(1, 0L);
+		assertEquals(1, list.indexOf(0L));
+		assertEquals(Long.MAX_VALUE, list.getLong(2));
+		assertEquals(0L, list.removeLong(1));
+		assertEquals(Long.MIN_VALUE, list.removeElement(Long.MIN_VALUE));
+		assertEquals(1, list.size());
+
+		LongDoubleLinkedList.LongListIterator it = list.listIterator(1);
+		assertEquals(Long.MAX_VALUE, it.previousLong());
+		it.set(7L);
+		assertEquals(7L, list.first());
+	}
+
+	@Test
+	public void doubleListComparesBitPatterns() {
+		DoubleDoubleLinkedList list = new DoubleDoubleLinkedList();
+		list.addToRear(0.0);
+		list.addToRear(Double.NaN);
+		list.addToRear(-0.0);
+		list.addToRear(1.5);
+
+		// NaN finds itself, and 0.0 and -0.0 are told apart.
+		assertEquals(1, list.indexOf(Double.NaN));
+		assertEquals(2, list.indexOf(-0.0));
+		assertEquals(0, list.indexOf(0.0));
+		assertFalse(list.contains(2.5));
+		assertEquals(-0.0, list.removeElement(-0.0));
+		assertEquals(1.5, list.getDouble(2));
+
+		double sum = 0;
+		for (DoubleDoubleLinkedList.DoubleListIterator it = list.iterator(); it.hasNext();) {
+			double value = it.nextDouble();
+			if (!Double.isNaN(value)) {
+				sum += value;
+			}
+		}
+		assertEquals(1.5, sum);
+	}
+}
@@ -0,0 +1,99 @@
+package dll;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the sized spliterators and the stream methods of
+ * IndexedUnsortedList.
+ *
+ * @author Joshua McKerracher
+ */
+public class SpliteratorTest {
+
+	private static final int SIZE = 10000;
+
+	private static <L extends IndexedUnsortedList<Integer>> L fill(L list) {
+		for (int i = 0; i < SIZE; i++) {
+			list.addToRear(i);
+		}
+		return list;
+	}
+
+	private static List<IndexedUnsortedList<Integer>> lists() {
+		List<IndexedUnsortedList<Integer>> lists = new ArrayList<IndexedUnsortedList<Integer>>();
+		lists.add(fill(new IUDoubleLinkedList<Integer>()));
+		lists.add(fill(new IUUnrolledLinkedList<Integer>()));
+		lists.add(fill(new IUSkipList<Integer>()));
+		lists.add(fill(new IUArenaLinkedList<Integer>()));
+		return lists;
+	}
+
+	@Test
+	public void spliteratorsReportTheSize() {
+		for (IndexedUnsortedList<Integer> list : lists()) {
+			Spliterator<Integer> spliterator = list.spliterator();
+			assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED), list.getClass().getSimpleName());
+			assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+			assertEquals(SIZE, spliterator.getExactSizeIfKnown());
+		}
+	}
+
+	@Test
+	public void streamsSeeEveryElementInOrder() {
+		List<Integer> expected = new ArrayList<Integer>();
+		for (int i = 0; i < SIZE; i++) {
+			expected.add(i);
+		}
+		for (IndexedUnsortedList<Integer> list : lists()) {
+			String name = list.getClass().getSimpleName();
+			assertEquals(expected, list.stream().collect(Collectors.toList()), name);
+			assertEquals(expected, list.parallelStream().collect(Collectors.toList()), name);
+			assertEquals(SIZE / 2, list.parallelStream().filter(e -> e % 2 == 0).count(), name);
+		}
+	}
+
+	@Test
+	public void splitsCoverTheListExactlyOnce() {
+		IUDoubleLinkedList<Integer> list = fill(new IUDoubleLinkedList<Integer>());
+		Spliterator<Integer> right = list.spliterator();
+		Spliterator<Integer> left = right.trySplit();
+		assertTrue(right.hasCharacteristics(Spliterator.SUBSIZED));
+		assertEquals(SIZE / 2, left.getExactSizeIfKnown());
+		assertEquals(SIZE / 2, right.getExactSizeIfKnown());
+
+		int[] next = { 0 };
+		left.forEachRemaining(e -> assertEquals(next[0]++, e));
+		while (right.tryAdvance(e -> assertEquals(next[0]++, e))) {
+			// Checks each element in the action.
+		}
+		assertEquals(SIZE, next[0]);
+
+		Spliterator<Integer> single = fill(new IUDoubleLinkedList<Integer>()).spliterator();
+		while (single.estimateSize() > 1) {
+			single.trySplit();
+		}
+		assertNull(single.trySplit());
+	}
+
+	@Test
+	public void spliteratorsFailFast() {
+		IUDoubleLinkedList<Integer> list = fill(new IUDoubleLinkedList<Integer>());
+		Spliterator<Integer> spliterator = list.spliterator();
+		spliterator.tryAdvance(e -> {
+		});
+		list.removeLast();
+		assertThrows(ConcurrentModificationException.class, () -> spliterator.tryAdvance(e -> {
+		}));
+	}
+}